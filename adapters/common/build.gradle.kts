@@ -0,0 +1,12 @@
+dependencies {
+    implementation(project(":application"))
+
+    api("org.springframework.boot:spring-boot-starter-web") {
+        exclude(module = "spring-boot-starter-tomcat")
+    }
+    api("org.springframework:spring-webflux")
+    implementation("io.projectreactor.netty:reactor-netty")
+    implementation("org.apache.httpcomponents:httpclient")
+    implementation("io.micrometer:micrometer-core")
+    implementation("org.springframework.boot:spring-boot-actuator")
+}
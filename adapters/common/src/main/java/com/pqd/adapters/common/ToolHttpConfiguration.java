@@ -0,0 +1,134 @@
+package com.pqd.adapters.common;
+
+import com.pqd.adapters.common.cache.ToolResponseCache;
+import com.pqd.adapters.common.circuit.ToolCircuitBreaker;
+import com.pqd.adapters.common.circuit.ToolCircuitsEndpoint;
+import com.pqd.adapters.common.limit.ToolHostLimiter;
+import com.pqd.adapters.common.retry.ToolRequestRetry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RestTemplate shared by the tool adapters
+ */
+@Configuration
+public class ToolHttpConfiguration {
+
+    /**
+     * Retries, the circuit breaker and host limits apply to the requests leaving the application, responses served
+     * from the cache skip them while the background cache refreshes go through them. Every retry passes the circuit
+     * breaker again, and open circuits fail before a request waits for the host limits.
+     */
+    @Bean
+    public RestTemplate restTemplate(ToolHttpProperties properties, ToolCircuitBreaker circuitBreaker,
+                                     ToolHostLimiter hostLimiter, CloseableHttpClient toolHttpClient) {
+        ClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(toolHttpClient);
+        List<ClientHttpRequestInterceptor> outboundInterceptors = new ArrayList<>();
+        if (properties.getRetry().isEnabled()) {
+            outboundInterceptors.add(new ToolRequestRetry(properties.getRetry()));
+        }
+        if (properties.getCircuitBreaker().isEnabled()) {
+            outboundInterceptors.add(circuitBreaker);
+        }
+        if (properties.getLimit().isEnabled()) {
+            outboundInterceptors.add(hostLimiter);
+        }
+        if (!outboundInterceptors.isEmpty()) {
+            requestFactory = new InterceptingClientHttpRequestFactory(requestFactory, outboundInterceptors);
+        }
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        if (properties.getCache().isEnabled()) {
+            restTemplate.setInterceptors(List.of(new ToolResponseCache(properties.getCache(),
+                                                                       requestFactory,
+                                                                       cacheRefreshExecutor(),
+                                                                       Clock.systemUTC())));
+        }
+        return restTemplate;
+    }
+
+    /**
+     * Connections to the tool servers are pooled and kept alive, so the requests of a collection reuse one TLS
+     * session instead of a handshake per request. The pool statistics are published as the
+     * httpcomponents.httpclient.pool.* metrics tagged httpclient=tools.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager toolConnectionManager(ToolHttpProperties properties,
+                                                                    MeterRegistry meterRegistry) {
+        ToolHttpProperties.Client client = properties.getClient();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(client.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(client.getMaxConnectionsPerHost());
+        connectionManager.setValidateAfterInactivity((int) client.getValidateAfterInactivity().toMillis());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "tools").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /**
+     * Failed requests are retried by ToolRequestRetry only, within the budget of the collection
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient toolHttpClient(ToolHttpProperties properties,
+                                              PoolingHttpClientConnectionManager toolConnectionManager) {
+        ToolHttpProperties.Client client = properties.getClient();
+        RequestConfig requestConfig =
+                RequestConfig.custom()
+                             .setConnectTimeout((int) client.getConnectTimeout().toMillis())
+                             .setSocketTimeout((int) client.getReadTimeout().toMillis())
+                             .setConnectionRequestTimeout((int) client.getConnectionRequestTimeout().toMillis())
+                             .build();
+        return HttpClients.custom()
+                          .setConnectionManager(toolConnectionManager)
+                          .setDefaultRequestConfig(requestConfig)
+                          .setKeepAliveStrategy(new ToolKeepAliveStrategy(client.getKeepAlive()))
+                          .evictExpiredConnections()
+                          .evictIdleConnections(client.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS)
+                          .disableAutomaticRetries()
+                          .build();
+    }
+
+    @Bean
+    public ToolCircuitBreaker toolCircuitBreaker(ToolHttpProperties properties, MeterRegistry meterRegistry) {
+        return new ToolCircuitBreaker(properties.getCircuitBreaker(), meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * Shared by the RestTemplate and the reactive client, so both count against the same host limits
+     */
+    @Bean
+    public ToolHostLimiter toolHostLimiter(ToolHttpProperties properties, MeterRegistry meterRegistry) {
+        return new ToolHostLimiter(properties.getLimit(), meterRegistry);
+    }
+
+    @Bean
+    public ToolCircuitsEndpoint toolCircuitsEndpoint(ToolCircuitBreaker toolCircuitBreaker) {
+        return new ToolCircuitsEndpoint(toolCircuitBreaker);
+    }
+
+    private ExecutorService cacheRefreshExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "ToolCacheRefresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
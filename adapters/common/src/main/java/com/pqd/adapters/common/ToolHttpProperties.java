@@ -0,0 +1,212 @@
+package com.pqd.adapters.common;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of the HTTP requests made to tool servers (Sonarqube, Jira), bound from the pqd.tools.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "pqd.tools")
+public class ToolHttpProperties {
+
+    /**
+     * Use the non-blocking gateway implementations on a reactive client instead of the RestTemplate ones. The
+     * response cache applies to the RestTemplate only.
+     */
+    private boolean reactive = false;
+
+    private Client client = new Client();
+
+    private Cache cache = new Cache();
+
+    private Limit limit = new Limit();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Retry retry = new Retry();
+
+    @Data
+    public static class Client {
+
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Longest time between two packets of a response
+         */
+        private Duration readTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Time a request waits for a free pooled connection
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(10);
+
+        private int maxConnections = 100;
+
+        /**
+         * Pooled connections to one tool host, keep at least pqd.tools.limit.max-in-flight
+         */
+        private int maxConnectionsPerHost = 20;
+
+        /**
+         * Time an idle connection is kept open, shorter if the tool server asks for it
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        /**
+         * Idle time after which a pooled connection is checked before it is reused
+         */
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+        /**
+         * Largest response body the reactive client reads into memory
+         */
+        private DataSize maxResponseSize = DataSize.ofMegabytes(16);
+    }
+
+    @Data
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        /**
+         * Time a response is served from the cache without asking the tool server
+         */
+        private Duration ttl = Duration.ZERO;
+
+        /**
+         * Time after the ttl a response is still served from the cache while it is refreshed in the background.
+         * Older responses are revalidated before they are served.
+         */
+        private Duration staleWhileRevalidate = Duration.ZERO;
+
+        /**
+         * Ant-style paths whose stale responses may be served while they are refreshed, by default the Sonarqube
+         * measure history. Other paths are revalidated once the ttl passed, so a collection triggered by a webhook
+         * does not get the data of the previous collection.
+         */
+        private List<String> staleWhileRevalidatePaths = new ArrayList<>(List.of("/**/api/measures/search_history"));
+
+        /**
+         * Total size of the cached response bodies, least recently used responses are dropped first
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Ant-style paths whose responses are never cached, by default the Jira issue pages, which are large, change
+         * with every issue update and are read once per collection, and the Sonarqube analysis probe and measures,
+         * which are only fetched once a new analysis ran and must not be answered with the measures of the old one
+         */
+        private List<String> excludedPaths = new ArrayList<>(List.of("/**/rest/api/*/search",
+                                                                     "/**/rest/agile/*/sprint/*/issue",
+                                                                     "/**/rest/agile/*/board/*/issue",
+                                                                     "/**/api/project_analyses/search",
+                                                                     "/**/api/measures/component",
+                                                                     "/**/api/measures/search"));
+    }
+
+    @Data
+    public static class Limit {
+
+        private boolean enabled = true;
+
+        /**
+         * Requests to one tool host running at the same time
+         */
+        private int maxInFlight = 8;
+
+        /**
+         * Requests started per second against one tool host
+         */
+        private double requestsPerSecond = 10;
+
+        /**
+         * Time a request waits for its turn before it fails, shorter than the tool timeouts of a collection so the
+         * request fails before its fetch times out
+         */
+        private Duration maxWait = Duration.ofSeconds(20);
+
+        /**
+         * Limits of single hosts, overriding the limits above. Keyed by host name, like "[mycompany.atlassian.net]".
+         */
+        private Map<String, HostLimit> hosts = new HashMap<>();
+
+        public int getMaxInFlight(String host) {
+            HostLimit hostLimit = hosts.get(host);
+            return hostLimit != null && hostLimit.getMaxInFlight() != null ? hostLimit.getMaxInFlight() : maxInFlight;
+        }
+
+        public double getRequestsPerSecond(String host) {
+            HostLimit hostLimit = hosts.get(host);
+            return hostLimit != null && hostLimit.getRequestsPerSecond() != null ? hostLimit.getRequestsPerSecond()
+                                                                                 : requestsPerSecond;
+        }
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        /**
+         * Consecutive failures (connection errors, 5xx responses) of a tool base URL opening its circuit
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * Time requests fail at once before probe requests are let through
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Probe requests let through at the same time when the circuit is half-open
+         */
+        private int halfOpenProbes = 1;
+    }
+
+    @Data
+    public static class Retry {
+
+        private boolean enabled = true;
+
+        /**
+         * Attempts of one GET request, the first one included
+         */
+        private int maxAttempts = 3;
+
+        private Duration initialBackoff = Duration.ofMillis(500);
+
+        private Duration maxBackoff = Duration.ofSeconds(10);
+
+        private double multiplier = 2;
+
+        /**
+         * Share of the backoff taken off at random, so requests failed together are not retried together
+         */
+        private double jitter = 0.5;
+
+        /**
+         * Response statuses retried, connection errors are always retried
+         */
+        private Set<Integer> statuses = new HashSet<>(Set.of(429, 500, 502, 503, 504));
+    }
+
+    @Data
+    public static class HostLimit {
+
+        private Integer maxInFlight;
+
+        private Double requestsPerSecond;
+    }
+}
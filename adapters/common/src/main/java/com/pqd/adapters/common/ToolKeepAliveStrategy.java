@@ -0,0 +1,27 @@
+package com.pqd.adapters.common;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.protocol.HttpContext;
+
+import java.time.Duration;
+
+/**
+ * Keeps connections to tool servers open for the configured time, or shorter when the Keep-Alive header of the tool
+ * server asks for it
+ */
+class ToolKeepAliveStrategy implements ConnectionKeepAliveStrategy {
+
+    private final Duration keepAlive;
+
+    ToolKeepAliveStrategy(Duration keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    @Override
+    public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+        long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+        return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive.toMillis()) : keepAlive.toMillis();
+    }
+}
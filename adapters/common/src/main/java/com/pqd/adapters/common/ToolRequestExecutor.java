@@ -0,0 +1,98 @@
+package com.pqd.adapters.common;
+
+import com.pqd.application.usecase.VirtualThreads;
+import com.pqd.application.usecase.collection.CollectionQueueProperties;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
+import com.pqd.application.usecase.release.CollectionProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Runs several blocking tool requests of one gateway call concurrently, like the pages of a Jira sprint. The budget
+ * of the tool fetch calling it is bound to the request threads as well. Platform threads are limited to the max
+ * in-flight requests of a host for every collection worker, requests beyond it wait for a free thread. With virtual
+ * threads enabled every request gets a new virtual thread instead.
+ */
+@Component
+public class ToolRequestExecutor implements DisposableBean {
+
+    private final ExecutorService executorService;
+
+    public ToolRequestExecutor(ToolHttpProperties httpProperties, CollectionProperties collectionProperties,
+                               CollectionQueueProperties queueProperties) {
+        int threads = Math.max(1, queueProperties.getWorkers() * httpProperties.getLimit().getMaxInFlight());
+        this.executorService = collectionProperties.isVirtualThreads()
+                               ? VirtualThreads.newThreadPerTaskExecutor("ToolRequest-")
+                                               .orElseGet(() -> newPlatformThreadPool(threads))
+                               : newPlatformThreadPool(threads);
+    }
+
+    /**
+     * Runs the requests with at most the given number at a time and waits for all of them. Requests not started yet
+     * when one fails are skipped.
+     * @return results in the order of the requests
+     * @throws RuntimeException first exception thrown by a request
+     */
+    public <T> List<T> invokeAll(List<Supplier<T>> requests, int concurrency) {
+        AtomicReferenceArray<T> results = new AtomicReferenceArray<>(requests.size());
+        AtomicInteger nextRequest = new AtomicInteger();
+        Optional<ToolRequestBudget> budget = ToolRequestBudget.current();
+        Runnable worker = () -> {
+            for (int i = nextRequest.getAndIncrement(); i < requests.size(); i = nextRequest.getAndIncrement()) {
+                Supplier<T> request = requests.get(i);
+                try {
+                    results.set(i, budget.isPresent() ? budget.get().call(request) : request.get());
+                } catch (RuntimeException e) {
+                    // Remaining requests are skipped by the other workers
+                    nextRequest.set(requests.size());
+                    throw e;
+                }
+            }
+        };
+        int workers = Math.max(1, Math.min(concurrency, requests.size()));
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(CompletableFuture.runAsync(worker, executorService));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        List<T> ordered = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ordered.add(results.get(i));
+        }
+        return ordered;
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    private static ExecutorService newPlatformThreadPool(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "ToolRequest-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,105 @@
+package com.pqd.adapters.common.cache;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Tool server response kept in the {@link ToolResponseCache}
+ */
+@Getter
+class CachedResponse {
+
+    private final int status;
+
+    private final String statusText;
+
+    private final HttpHeaders headers;
+
+    private final byte[] body;
+
+    /**
+     * Time the response was received or last confirmed unchanged by the tool server
+     */
+    private final Instant validatedAt;
+
+    CachedResponse(int status, String statusText, HttpHeaders headers, byte[] body, Instant validatedAt) {
+        this.status = status;
+        this.statusText = statusText;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.validatedAt = validatedAt;
+    }
+
+    CachedResponse revalidated(Instant now) {
+        return new CachedResponse(status, statusText, headers, body, now);
+    }
+
+    Duration age(Instant now) {
+        return Duration.between(validatedAt, now);
+    }
+
+    boolean hasValidators() {
+        return headers.getETag() != null || headers.getLastModified() != -1;
+    }
+
+    /**
+     * @return whether the tool server asked to revalidate the response before every use, with no-cache or
+     * must-revalidate
+     */
+    boolean mustRevalidate() {
+        return mustRevalidate(headers);
+    }
+
+    static boolean mustRevalidate(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return false;
+        }
+        return Arrays.stream(cacheControl.split(","))
+                     .map(directive -> directive.split("=", 2)[0].trim().toLowerCase(Locale.ROOT))
+                     .anyMatch(directive -> directive.equals("no-cache") || directive.equals("must-revalidate"));
+    }
+
+    ClientHttpResponse toResponse() {
+        return new ClientHttpResponse() {
+
+            @Override
+            public HttpStatus getStatusCode() {
+                return HttpStatus.valueOf(status);
+            }
+
+            @Override
+            public int getRawStatusCode() {
+                return status;
+            }
+
+            @Override
+            public String getStatusText() {
+                return statusText;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
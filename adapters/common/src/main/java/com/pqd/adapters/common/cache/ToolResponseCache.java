@@ -0,0 +1,225 @@
+package com.pqd.adapters.common.cache;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Caches successful GET responses of tool servers by URL and credentials. Within the ttl a response is served from
+ * the cache, within the stale-while-revalidate window after it the cached response of the stale-while-revalidate
+ * paths is served while a background request refreshes it. Other responses are revalidated with If-None-Match /
+ * If-Modified-Since when the tool server sent an ETag or Last-Modified, so an unchanged response is not downloaded
+ * again, and so are responses the tool server marked no-cache or must-revalidate. Responses of the excluded paths
+ * and responses larger than the cache are passed through without being buffered.
+ */
+@Slf4j
+public class ToolResponseCache implements ClientHttpRequestInterceptor {
+
+    private final ToolHttpProperties.Cache properties;
+
+    /**
+     * Creates the background refresh requests, must go through the same interceptors as the requests after the cache
+     */
+    private final ClientHttpRequestFactory refreshRequestFactory;
+
+    private final Executor refreshExecutor;
+
+    private final Clock clock;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    // Access ordered, guarded by this
+    private final Map<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public ToolResponseCache(ToolHttpProperties.Cache properties,
+                             ClientHttpRequestFactory refreshRequestFactory,
+                             Executor refreshExecutor,
+                             Clock clock) {
+        this.properties = properties;
+        this.refreshRequestFactory = refreshRequestFactory;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET || isExcluded(request.getURI())) {
+            return execution.execute(request, body);
+        }
+        String key = keyOf(request);
+        CachedResponse cached = get(key);
+        if (cached != null && !cached.mustRevalidate()) {
+            Duration age = cached.age(clock.instant());
+            if (age.compareTo(properties.getTtl()) < 0) {
+                return cached.toResponse();
+            }
+            if (age.compareTo(properties.getTtl().plus(staleWhileRevalidate(request.getURI()))) < 0) {
+                refreshInBackground(key, request, cached);
+                return cached.toResponse();
+            }
+        }
+        if (cached != null) {
+            addValidators(request.getHeaders(), cached);
+        }
+        return store(key, request.getURI(), cached, execution.execute(request, body));
+    }
+
+    private ClientHttpResponse store(String key, URI uri, CachedResponse cached, ClientHttpResponse response)
+            throws IOException {
+        if (cached != null && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            response.close();
+            CachedResponse revalidated = cached.revalidated(clock.instant());
+            put(key, revalidated);
+            return revalidated.toResponse();
+        }
+        if (response.getRawStatusCode() != HttpStatus.OK.value() || !isCacheable(uri, response.getHeaders())) {
+            return response;
+        }
+
+        int status = response.getRawStatusCode();
+        String statusText = response.getStatusText();
+        HttpHeaders headers = response.getHeaders();
+        byte[] responseBody;
+        try (response) {
+            responseBody = StreamUtils.copyToByteArray(response.getBody());
+        }
+        CachedResponse received = new CachedResponse(status, statusText, headers, responseBody, clock.instant());
+        put(key, received);
+        return received.toResponse();
+    }
+
+    private boolean isExcluded(URI uri) {
+        return properties.getExcludedPaths().stream().anyMatch(path -> pathMatcher.match(path, uri.getPath()));
+    }
+
+    /**
+     * @return stale-while-revalidate window of the path, zero for the paths that are revalidated once the ttl passed
+     */
+    private Duration staleWhileRevalidate(URI uri) {
+        boolean matches = properties.getStaleWhileRevalidatePaths()
+                                    .stream()
+                                    .anyMatch(path -> pathMatcher.match(path, uri.getPath()));
+        return matches ? properties.getStaleWhileRevalidate() : Duration.ZERO;
+    }
+
+    private boolean isCacheable(URI uri, HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && cacheControl.contains("no-store")) {
+            return false;
+        }
+        if (headers.getContentLength() > properties.getMaxSize().toBytes()) {
+            return false;
+        }
+        return headers.getETag() != null
+               || headers.getLastModified() != -1
+               || !CachedResponse.mustRevalidate(headers)
+                  && properties.getTtl().plus(staleWhileRevalidate(uri)).compareTo(Duration.ZERO) > 0;
+    }
+
+    private void refreshInBackground(String key, HttpRequest request, CachedResponse cached) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        URI uri = request.getURI();
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    ClientHttpRequest refresh = refreshRequestFactory.createRequest(uri, HttpMethod.GET);
+                    refresh.getHeaders().putAll(headers);
+                    addValidators(refresh.getHeaders(), cached);
+                    store(key, uri, cached, refresh.execute()).close();
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Refreshing cached response of {} failed: {}", uri.getHost(), e.toString());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private void addValidators(HttpHeaders headers, CachedResponse cached) {
+        if (cached.getHeaders().getETag() != null) {
+            headers.setIfNoneMatch(cached.getHeaders().getETag());
+        }
+        if (cached.getHeaders().getLastModified() != -1) {
+            headers.setIfModifiedSince(cached.getHeaders().getLastModified());
+        }
+    }
+
+    /**
+     * Credentials are part of the key as a hash, so tool users never see responses fetched with other credentials
+     */
+    private String keyOf(HttpRequest request) {
+        String authorization = Objects.toString(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION), "");
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return request.getURI() + " " + Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JDK", e);
+        }
+    }
+
+    private synchronized CachedResponse get(String key) {
+        return responses.get(key);
+    }
+
+    private synchronized void put(String key, CachedResponse response) {
+        long maxSize = properties.getMaxSize().toBytes();
+        CachedResponse replaced = responses.remove(key);
+        if (replaced != null) {
+            size -= replaced.getBody().length;
+        }
+        if (response.getBody().length > maxSize) {
+            return;
+        }
+        responses.put(key, response);
+        size += response.getBody().length;
+        Iterator<CachedResponse> leastRecentlyUsed = responses.values().iterator();
+        while (size > maxSize && leastRecentlyUsed.hasNext()) {
+            size -= leastRecentlyUsed.next().getBody().length;
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    synchronized int getEntryCount() {
+        return responses.size();
+    }
+}
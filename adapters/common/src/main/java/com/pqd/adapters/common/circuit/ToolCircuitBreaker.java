@@ -0,0 +1,225 @@
+package com.pqd.adapters.common.circuit;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breaker per tool base URL (scheme, host and port). After failure-threshold consecutive failures (connection
+ * errors or 5xx responses) the circuit opens and requests to the tool fail at once. When open-duration has passed the
+ * circuit is half-open and lets half-open-probes requests through: a successful probe closes the circuit, a failed
+ * one opens it again.
+ */
+@Slf4j
+public class ToolCircuitBreaker implements ClientHttpRequestInterceptor {
+
+    private final ToolHttpProperties.CircuitBreaker properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Clock clock;
+
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public ToolCircuitBreaker(ToolHttpProperties.CircuitBreaker properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        URI uri = request.getURI();
+        acquire(uri);
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            onFailure(uri);
+            throw e;
+        } catch (RuntimeException e) {
+            onIgnored(uri);
+            throw e;
+        }
+        onResponse(uri, response.getRawStatusCode());
+        return response;
+    }
+
+    /**
+     * Lets a request to the tool through, or fails it if the circuit of its base URL is open. Every request let
+     * through must be followed by exactly one of onResponse, onFailure or onIgnored.
+     */
+    public void acquire(URI uri) throws ToolCircuitOpenException {
+        Circuit circuit = circuitOf(uri);
+        if (circuit != null && !circuit.tryAcquire()) {
+            throw new ToolCircuitOpenException(String.format("Circuit of %s is open after repeated failures",
+                                                             baseUrlOf(uri)));
+        }
+    }
+
+    public void onResponse(URI uri, int status) {
+        if (status >= 500) {
+            onFailure(uri);
+        } else {
+            Circuit circuit = circuitOf(uri);
+            if (circuit != null) {
+                circuit.onSuccess();
+            }
+        }
+    }
+
+    /**
+     * Request failed without a response (connection error, timeout)
+     */
+    public void onFailure(URI uri) {
+        Circuit circuit = circuitOf(uri);
+        if (circuit != null) {
+            circuit.onFailure();
+        }
+    }
+
+    /**
+     * Request failed before reaching the tool or was cancelled, it tells nothing about the tool
+     */
+    public void onIgnored(URI uri) {
+        Circuit circuit = circuitOf(uri);
+        if (circuit != null) {
+            circuit.onIgnored();
+        }
+    }
+
+    /**
+     * @return current state of every tool base URL called since the start, sorted by base URL
+     */
+    public Map<String, CircuitSnapshot> getCircuits() {
+        Map<String, CircuitSnapshot> snapshots = new TreeMap<>();
+        circuits.forEach((baseUrl, circuit) -> snapshots.put(baseUrl, circuit.snapshot()));
+        return snapshots;
+    }
+
+    private Circuit circuitOf(URI uri) {
+        String baseUrl = baseUrlOf(uri);
+        return baseUrl == null ? null : circuits.computeIfAbsent(baseUrl, Circuit::new);
+    }
+
+    private static String baseUrlOf(URI uri) {
+        if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+            return null;
+        }
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    @Value
+    @Builder
+    public static class CircuitSnapshot {
+        State state;
+
+        int consecutiveFailures;
+
+        Instant openedAt;
+
+        Instant halfOpenAt;
+    }
+
+    private class Circuit {
+
+        private final String baseUrl;
+
+        private State state = State.CLOSED;
+
+        private int consecutiveFailures;
+
+        private Instant openedAt;
+
+        private int probesInFlight;
+
+        Circuit(String baseUrl) {
+            this.baseUrl = baseUrl;
+            Gauge.builder("pqd.tools.circuit.state", this, circuit -> circuit.currentState().ordinal())
+                 .description("Circuit state of a tool base URL: 0 closed, 1 half-open, 2 open")
+                 .tag("base_url", baseUrl)
+                 .register(meterRegistry);
+        }
+
+        synchronized boolean tryAcquire() {
+            State current = currentState();
+            if (current == State.CLOSED) {
+                return true;
+            }
+            if (current == State.HALF_OPEN && probesInFlight < properties.getHalfOpenProbes()) {
+                probesInFlight++;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void onSuccess() {
+            if (state == State.HALF_OPEN) {
+                log.info("Circuit of {} closed, probe request succeeded", baseUrl);
+                probesInFlight = 0;
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= properties.getFailureThreshold()) {
+                if (state != State.OPEN) {
+                    log.warn("Circuit of {} opened after {} consecutive failures, requests fail for {} seconds",
+                             baseUrl, consecutiveFailures, properties.getOpenDuration().toSeconds());
+                }
+                state = State.OPEN;
+                openedAt = clock.instant();
+                probesInFlight = 0;
+            }
+        }
+
+        synchronized void onIgnored() {
+            if (state == State.HALF_OPEN && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        }
+
+        synchronized State currentState() {
+            if (state == State.OPEN && !clock.instant().isBefore(halfOpenAt())) {
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+            }
+            return state;
+        }
+
+        synchronized CircuitSnapshot snapshot() {
+            return CircuitSnapshot.builder()
+                                  .state(currentState())
+                                  .consecutiveFailures(consecutiveFailures)
+                                  .openedAt(openedAt)
+                                  .halfOpenAt(state == State.CLOSED ? null : halfOpenAt())
+                                  .build();
+        }
+
+        private Instant halfOpenAt() {
+            return openedAt.plus(properties.getOpenDuration());
+        }
+    }
+}
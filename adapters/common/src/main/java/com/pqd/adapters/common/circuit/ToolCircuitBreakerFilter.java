@@ -0,0 +1,51 @@
+package com.pqd.adapters.common.circuit;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies the circuits of ToolCircuitBreaker to the requests of the reactive tool client
+ */
+public class ToolCircuitBreakerFilter implements ExchangeFilterFunction {
+
+    private final ToolCircuitBreaker circuitBreaker;
+
+    public ToolCircuitBreakerFilter(ToolCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        URI uri = request.url();
+        return Mono.defer(() -> {
+            try {
+                circuitBreaker.acquire(uri);
+            } catch (ToolCircuitOpenException e) {
+                return Mono.error(e);
+            }
+            AtomicBoolean finished = new AtomicBoolean();
+            return next.exchange(request)
+                       .doOnNext(response -> {
+                           if (finished.compareAndSet(false, true)) {
+                               circuitBreaker.onResponse(uri, response.rawStatusCode());
+                           }
+                       })
+                       .doOnError(e -> {
+                           if (finished.compareAndSet(false, true)) {
+                               circuitBreaker.onFailure(uri);
+                           }
+                       })
+                       .doOnCancel(() -> {
+                           if (finished.compareAndSet(false, true)) {
+                               circuitBreaker.onIgnored(uri);
+                           }
+                       });
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.pqd.adapters.common.circuit;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of calling a tool server whose circuit is open. It is an IOException, so the RestTemplate reports it
+ * as a ResourceAccessException like any other unreachable server.
+ */
+public class ToolCircuitOpenException extends IOException {
+    public ToolCircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.pqd.adapters.common.circuit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint /actuator/toolcircuits listing the circuit state of every tool base URL
+ */
+@Endpoint(id = "toolcircuits")
+public class ToolCircuitsEndpoint {
+
+    private final ToolCircuitBreaker circuitBreaker;
+
+    public ToolCircuitsEndpoint(ToolCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @ReadOperation
+    public Map<String, ToolCircuitBreaker.CircuitSnapshot> circuits() {
+        return circuitBreaker.getCircuits();
+    }
+}
@@ -0,0 +1,354 @@
+package com.pqd.adapters.common.limit;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the requests to every tool host, shared by all tool adapters: at most max-in-flight requests run at the same
+ * time and requests start at most requests-per-second apart. Requests over the limit wait for their turn, the waiting
+ * time is published as the pqd.tools.requests.wait timer and the waiting requests as the pqd.tools.requests.queued
+ * gauge, both tagged with the host. A 429 response pauses the host for the time given in its Retry-After header.
+ */
+@Slf4j
+public class ToolHostLimiter implements ClientHttpRequestInterceptor {
+
+    private final ToolHttpProperties.Limit properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, HostLimit> hostLimits = new ConcurrentHashMap<>();
+
+    public ToolHostLimiter(ToolHttpProperties.Limit properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost();
+        if (host == null) {
+            return execution.execute(request, body);
+        }
+        HostLimit hostLimit = hostLimits.computeIfAbsent(host, HostLimit::new);
+        hostLimit.acquire();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            hostLimit.release();
+            throw e;
+        }
+        onResponse(host, response.getRawStatusCode(), response.getHeaders());
+        return new ReleasingResponse(response, hostLimit);
+    }
+
+    /**
+     * Waits for an in-flight permit and the next start slot of the host without holding a thread, for reactive
+     * clients that release the permit themselves when their request ends. Fails with
+     * {@link ToolHostLimitExceededException} when the request waited over max-wait.
+     */
+    public Mono<Permit> acquireAsync(String host) {
+        return hostLimits.computeIfAbsent(host, HostLimit::new).acquireAsync();
+    }
+
+    /**
+     * Pauses the host when it answered with 429
+     */
+    public void onResponse(String host, int status, HttpHeaders headers) {
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            hostLimits.computeIfAbsent(host, HostLimit::new).pause(retryAfterSeconds(headers));
+        }
+    }
+
+    public int getMaxInFlight(String host) {
+        return properties.getMaxInFlight(host);
+    }
+
+    private long retryAfterSeconds(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        try {
+            return retryAfter != null ? Math.max(0, Long.parseLong(retryAfter.trim())) : 1;
+        } catch (NumberFormatException e) {
+            // HTTP date form, rare for tool servers
+            return 1;
+        }
+    }
+
+    int getInFlight(String host) {
+        HostLimit hostLimit = hostLimits.get(host);
+        return hostLimit == null ? 0 : properties.getMaxInFlight(host) - hostLimit.inFlight.availablePermits();
+    }
+
+    private class HostLimit {
+
+        private final String host;
+
+        private final Semaphore inFlight;
+
+        private final long intervalNanos;
+
+        private final AtomicInteger queued = new AtomicInteger();
+
+        private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+        private final Timer waitTimer;
+
+        // Guarded by this
+        private long nextStartNanos = System.nanoTime();
+
+        HostLimit(String host) {
+            this.host = host;
+            this.inFlight = new Semaphore(properties.getMaxInFlight(host), true);
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRequestsPerSecond(host));
+            this.waitTimer = Timer.builder("pqd.tools.requests.wait")
+                                  .description("Time requests to a tool host waited for the host limits")
+                                  .tag("host", host)
+                                  .register(meterRegistry);
+            Gauge.builder("pqd.tools.requests.queued", queued, AtomicInteger::get)
+                 .description("Requests waiting for the limits of a tool host")
+                 .tag("host", host)
+                 .register(meterRegistry);
+        }
+
+        void acquire() {
+            long started = System.nanoTime();
+            long deadline = started + properties.getMaxWait().toNanos();
+            queued.incrementAndGet();
+            try {
+                if (!inFlight.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw limitExceeded();
+                }
+                long startAt = reserveStart(System.nanoTime());
+                if (startAt - deadline > 0) {
+                    inFlight.release();
+                    throw limitExceeded();
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.max(0, startAt - System.nanoTime()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ToolHostLimitExceededException(String.format("Interrupted while waiting for %s", host));
+            } finally {
+                queued.decrementAndGet();
+                waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        Mono<Permit> acquireAsync() {
+            return Mono.defer(() -> {
+                long started = System.nanoTime();
+                long deadline = started + properties.getMaxWait().toNanos();
+                return Mono.<Permit>create(sink -> {
+                               Waiter waiter = new Waiter(sink, this);
+                               queued.incrementAndGet();
+                               sink.onCancel(waiter::cancel);
+                               waiters.add(waiter);
+                               drain();
+                           })
+                           .timeout(properties.getMaxWait(), Mono.defer(() -> Mono.error(limitExceeded())))
+                           .flatMap(permit -> {
+                               long now = System.nanoTime();
+                               long startAt = reserveStart(now);
+                               if (startAt - now > 0 && startAt - deadline > 0) {
+                                   permit.release();
+                                   return Mono.error(limitExceeded());
+                               }
+                               return Mono.delay(Duration.ofNanos(Math.max(0, startAt - now)))
+                                          .thenReturn(permit)
+                                          .doOnCancel(permit::release);
+                           })
+                           .doFinally(signal -> waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+            });
+        }
+
+        /**
+         * Hands free permits to the waiting reactive requests. Runs after every release and every new waiter, so a
+         * permit freed while a waiter is added is not missed.
+         */
+        private void drain() {
+            while (!waiters.isEmpty() && inFlight.tryAcquire()) {
+                Waiter waiter = waiters.poll();
+                if (waiter == null || !waiter.grant()) {
+                    inFlight.release();
+                }
+            }
+        }
+
+        /**
+         * @return time the request may start at, every request gets the next free slot
+         */
+        private synchronized long reserveStart(long now) {
+            long startAt = Math.max(now, nextStartNanos);
+            nextStartNanos = startAt + intervalNanos;
+            return startAt;
+        }
+
+        synchronized void pause(long seconds) {
+            long pausedUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            if (pausedUntil - nextStartNanos > 0) {
+                nextStartNanos = pausedUntil;
+            }
+            log.warn("Tool host {} is rate limiting requests, pausing requests for {} seconds", host, seconds);
+        }
+
+        void release() {
+            inFlight.release();
+            drain();
+        }
+
+        private ToolHostLimitExceededException limitExceeded() {
+            return new ToolHostLimitExceededException(String.format("Request to %s waited over %s seconds for its turn",
+                                                                    host, properties.getMaxWait().toSeconds()));
+        }
+    }
+
+    /**
+     * Keeps the request in flight until its response is closed, after the body has been read
+     */
+    private static class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+
+        private final HostLimit hostLimit;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingResponse(ClientHttpResponse response, HostLimit hostLimit) {
+            this.response = response;
+            this.hostLimit = hostLimit;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    hostLimit.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reactive request waiting for an in-flight permit, either granted one or cancelled
+     */
+    private static class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+
+        private final HostLimit hostLimit;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private final Permit permit;
+
+        Waiter(MonoSink<Permit> sink, HostLimit hostLimit) {
+            this.sink = sink;
+            this.hostLimit = hostLimit;
+            this.permit = new Permit(hostLimit);
+        }
+
+        /**
+         * @return false if the waiter was cancelled, the caller keeps the permit
+         */
+        boolean grant() {
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+            hostLimit.queued.decrementAndGet();
+            sink.success(permit);
+            return true;
+        }
+
+        /**
+         * A waiter cancelled between its grant and the delivery of the permit gives the permit back
+         */
+        void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                hostLimit.queued.decrementAndGet();
+                hostLimit.waiters.remove(this);
+            } else if (state.get() == GRANTED) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * In-flight permit of a request, released once however often release is called
+     */
+    public static class Permit {
+
+        private final HostLimit hostLimit;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(HostLimit hostLimit) {
+            this.hostLimit = hostLimit;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                hostLimit.release();
+            }
+        }
+    }
+
+    public static class ToolHostLimitExceededException extends RuntimeException {
+        public ToolHostLimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.pqd.adapters.common.limit;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies the host limits to the requests of the reactive tool client. The request waits for its in-flight permit and
+ * start slot without holding a thread, at most max-wait, and holds the permit until its response body is read,
+ * released or cancelled, so the reactive and the blocking clients share the in-flight limit of the host.
+ */
+public class ToolHostLimiterFilter implements ExchangeFilterFunction {
+
+    private final ToolHostLimiter hostLimiter;
+
+    public ToolHostLimiterFilter(ToolHostLimiter hostLimiter) {
+        this.hostLimiter = hostLimiter;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String host = request.url().getHost();
+        if (host == null) {
+            return next.exchange(request);
+        }
+        return hostLimiter.acquireAsync(host)
+                          .flatMap(permit -> next.exchange(request)
+                                                 .doOnNext(response -> hostLimiter.onResponse(
+                                                         host, response.rawStatusCode(),
+                                                         response.headers().asHttpHeaders()))
+                                                 .map(response -> releasingBody(response, permit))
+                                                 .doOnError(e -> permit.release())
+                                                 .doOnCancel(permit::release));
+    }
+
+    /**
+     * Keeps the request in flight until its body completes, fails or is cancelled, like the blocking client does
+     * until its response is closed
+     */
+    private ClientResponse releasingBody(ClientResponse response, ToolHostLimiter.Permit permit) {
+        return ClientResponse.from(response)
+                             .body(response.bodyToFlux(DataBuffer.class)
+                                           .doFinally(signal -> permit.release()))
+                             .build();
+    }
+}
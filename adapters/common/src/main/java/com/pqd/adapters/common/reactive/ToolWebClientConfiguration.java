@@ -0,0 +1,72 @@
+package com.pqd.adapters.common.reactive;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.adapters.common.circuit.ToolCircuitBreaker;
+import com.pqd.adapters.common.circuit.ToolCircuitBreakerFilter;
+import com.pqd.adapters.common.limit.ToolHostLimiter;
+import com.pqd.adapters.common.limit.ToolHostLimiterFilter;
+import com.pqd.adapters.common.retry.ToolRequestRetryFilter;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking client of the reactive tool gateways, enabled by pqd.tools.reactive. Requests run on a few event loop
+ * threads, with the same pool limits, timeouts, retries, circuits and host limits as the RestTemplate.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pqd.tools", name = "reactive", havingValue = "true")
+public class ToolWebClientConfiguration {
+
+    /**
+     * Connections are pooled per host, the pool statistics are published as the reactor.netty.connection.provider.*
+     * metrics
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider toolConnectionProvider(ToolHttpProperties properties) {
+        ToolHttpProperties.Client client = properties.getClient();
+        return ConnectionProvider.builder("tools")
+                                 .maxConnections(client.getMaxConnectionsPerHost())
+                                 .pendingAcquireTimeout(client.getConnectionRequestTimeout())
+                                 .maxIdleTime(client.getKeepAlive())
+                                 .metrics(true)
+                                 .build();
+    }
+
+    @Bean
+    public WebClient toolWebClient(ToolHttpProperties properties, ConnectionProvider toolConnectionProvider,
+                                   ToolCircuitBreaker circuitBreaker, ToolHostLimiter hostLimiter) {
+        ToolHttpProperties.Client client = properties.getClient();
+        HttpClient httpClient =
+                HttpClient.create(toolConnectionProvider)
+                          .tcpConfiguration(tcpClient -> tcpClient
+                                  .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                                          (int) client.getConnectTimeout().toMillis())
+                                  .doOnConnected(connection -> connection.addHandlerLast(
+                                          new ReadTimeoutHandler(client.getReadTimeout().toMillis(),
+                                                                 TimeUnit.MILLISECONDS))));
+        WebClient.Builder builder =
+                WebClient.builder()
+                         .clientConnector(new ReactorClientHttpConnector(httpClient))
+                         .codecs(codecs -> codecs.defaultCodecs()
+                                                 .maxInMemorySize((int) client.getMaxResponseSize().toBytes()));
+        if (properties.getRetry().isEnabled()) {
+            builder.filter(new ToolRequestRetryFilter(properties.getRetry()));
+        }
+        if (properties.getCircuitBreaker().isEnabled()) {
+            builder.filter(new ToolCircuitBreakerFilter(circuitBreaker));
+        }
+        if (properties.getLimit().isEnabled()) {
+            builder.filter(new ToolHostLimiterFilter(hostLimiter));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.pqd.adapters.common.reactive;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
+import io.netty.channel.ChannelException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Helpers of the reactive tool gateways, whose gateway methods still return plain values to the use cases
+ */
+public final class ToolWebClients {
+
+    private ToolWebClients() {
+    }
+
+    /**
+     * Waits for the requests of one gateway call, at most until the deadline of the tool fetch running on this thread.
+     * The requests themselves run on the event loop, only this thread waits.
+     * @param errorMapper maps request errors to the exceptions of the gateway
+     */
+    public static <T> T await(Mono<T> requests, Function<Throwable, RuntimeException> errorMapper) {
+        Optional<ToolRequestBudget> budget = ToolRequestBudget.current().filter(ToolRequestBudget::hasDeadline);
+        try {
+            return budget.isPresent() ? requests.timeout(budget.get().getRemaining()).block() : requests.block();
+        } catch (RuntimeException e) {
+            throw errorMapper.apply(Exceptions.unwrap(e));
+        }
+    }
+
+    /**
+     * Parses a JSON response body while it is received, instead of joining it into one buffer before decoding it.
+     * Jackson's non-blocking parser tokenizes each buffer on the event loop as it arrives, so no thread waits for the
+     * body.
+     */
+    public static <T> Mono<T> readJson(Flux<DataBuffer> body, ObjectReader reader) {
+        return Mono.defer(() -> {
+            JsonTokens tokens;
+            try {
+                tokens = new JsonTokens(reader);
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+            return body.<Void>handle((buffer, sink) -> {
+                           try {
+                               tokens.feed(buffer);
+                           } catch (IOException e) {
+                               sink.error(e);
+                           }
+                       })
+                       .then(Mono.fromCallable(tokens::read));
+        });
+    }
+
+    /**
+     * @return whether the request failed without a response: connection errors, timeouts and open circuits
+     */
+    public static boolean isConnectionError(Throwable e) {
+        return e instanceof IOException || e instanceof ChannelException || e instanceof TimeoutException;
+    }
+
+    /**
+     * Tokens of a JSON body received so far, read into the response type once the body completes
+     */
+    private static class JsonTokens {
+
+        private final ObjectReader reader;
+
+        private final JsonParser parser;
+
+        private final ByteArrayFeeder feeder;
+
+        private final TokenBuffer tokens;
+
+        JsonTokens(ObjectReader reader) throws IOException {
+            this.reader = reader;
+            this.parser = reader.getFactory().createNonBlockingByteArrayParser();
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.tokens = new TokenBuffer(parser);
+        }
+
+        void feed(DataBuffer buffer) throws IOException {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            try {
+                buffer.read(bytes);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            feeder.feedInput(bytes, 0, bytes.length);
+            copyAvailableTokens();
+        }
+
+        <T> T read() throws IOException {
+            feeder.endOfInput();
+            copyAvailableTokens();
+            return reader.readValue(tokens.asParser());
+        }
+
+        private void copyAvailableTokens() throws IOException {
+            JsonToken token = parser.nextToken();
+            while (token != null && token != JsonToken.NOT_AVAILABLE) {
+                tokens.copyCurrentEvent(parser);
+                token = parser.nextToken();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.pqd.adapters.common.retry;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.adapters.common.circuit.ToolCircuitOpenException;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Retries GET requests to tool servers failed with a connection error or a transient status (like 503). The backoff
+ * grows exponentially with a random jitter, a Retry-After header of the tool server is used when it asks for longer.
+ * Retries are taken from the budget of the collection making the request and never start after its deadline, requests
+ * made outside of a collection are not retried.
+ */
+@Slf4j
+public class ToolRequestRetry implements ClientHttpRequestInterceptor {
+
+    private final ToolRetryPolicy policy;
+
+    private final Sleeper sleeper;
+
+    public ToolRequestRetry(ToolHttpProperties.Retry properties) {
+        this(properties, duration -> Thread.sleep(duration.toMillis()));
+    }
+
+    ToolRequestRetry(ToolHttpProperties.Retry properties, Sleeper sleeper) {
+        this.policy = new ToolRetryPolicy(properties);
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Optional<ToolRequestBudget> budget = ToolRequestBudget.current();
+        if (request.getMethod() != HttpMethod.GET || budget.isEmpty()) {
+            return execution.execute(request, body);
+        }
+        for (int attempt = 1; ; attempt++) {
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (ToolCircuitOpenException e) {
+                throw e;
+            } catch (IOException e) {
+                Duration delay = policy.backoff(attempt);
+                if (!policy.mayRetry(attempt, delay, budget.get())) {
+                    throw e;
+                }
+                log.info("Request to {} failed with {}, retry {} in {} ms",
+                         request.getURI().getHost(), e.toString(), attempt, delay.toMillis());
+                sleep(delay);
+                continue;
+            }
+            if (!policy.isRetryableStatus(response.getRawStatusCode())) {
+                return response;
+            }
+            Duration delay = policy.delay(attempt, response.getHeaders());
+            if (!policy.mayRetry(attempt, delay, budget.get())) {
+                return response;
+            }
+            log.info("Request to {} failed with status {}, retry {} in {} ms",
+                     request.getURI().getHost(), response.getRawStatusCode(), attempt, delay.toMillis());
+            response.close();
+            sleep(delay);
+        }
+    }
+
+    Duration backoff(int attempt) {
+        return policy.backoff(attempt);
+    }
+
+    private void sleep(Duration delay) throws IOException {
+        try {
+            sleeper.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to retry a tool request", e);
+        }
+    }
+
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+}
@@ -0,0 +1,102 @@
+package com.pqd.adapters.common.retry;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.adapters.common.circuit.ToolCircuitOpenException;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Retries the requests of the reactive tool client like ToolRequestRetry does for the RestTemplate. The budget of
+ * the collection is passed as a request attribute, as the retries do not run on the thread of the collection.
+ */
+@Slf4j
+public class ToolRequestRetryFilter implements ExchangeFilterFunction {
+
+    public static final String BUDGET_ATTRIBUTE = ToolRequestRetryFilter.class.getName() + ".budget";
+
+    private final ToolRetryPolicy policy;
+
+    public ToolRequestRetryFilter(ToolHttpProperties.Retry properties) {
+        this.policy = new ToolRetryPolicy(properties);
+    }
+
+    /**
+     * @return request attributes carrying the budget of the tool fetch running on this thread
+     */
+    public static Consumer<Map<String, Object>> currentBudget() {
+        Optional<ToolRequestBudget> budget = ToolRequestBudget.current();
+        return attributes -> budget.ifPresent(current -> attributes.put(BUDGET_ATTRIBUTE, current));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Optional<ToolRequestBudget> budget = request.attribute(BUDGET_ATTRIBUTE).map(ToolRequestBudget.class::cast);
+        if (request.method() != HttpMethod.GET || budget.isEmpty()) {
+            return next.exchange(request);
+        }
+        return attempt(request, next, budget.get(), 1);
+    }
+
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next, ToolRequestBudget budget,
+                                         int attempt) {
+        return next.exchange(request)
+                   .map(Attempt::response)
+                   .onErrorResume(e -> !(e instanceof ToolCircuitOpenException), e -> Mono.just(Attempt.error(e)))
+                   .flatMap(result -> {
+                       if (result.response != null && !policy.isRetryableStatus(result.response.rawStatusCode())) {
+                           return Mono.just(result.response);
+                       }
+                       Duration delay = result.response != null
+                                        ? policy.delay(attempt, result.response.headers().asHttpHeaders())
+                                        : policy.backoff(attempt);
+                       if (!policy.mayRetry(attempt, delay, budget)) {
+                           return result.toMono();
+                       }
+                       log.info("Request to {} failed with {}, retry {} in {} ms", request.url().getHost(),
+                                result.response != null ? "status " + result.response.rawStatusCode()
+                                                        : result.error.toString(),
+                                attempt, delay.toMillis());
+                       Mono<Void> release = result.response != null ? result.response.releaseBody() : Mono.empty();
+                       return release.then(Mono.delay(delay))
+                                     .then(Mono.defer(() -> attempt(request, next, budget, attempt + 1)));
+                   });
+    }
+
+    /**
+     * Outcome of one attempt, failed attempts are retried like responses with a retryable status
+     */
+    private static class Attempt {
+
+        private final ClientResponse response;
+
+        private final Throwable error;
+
+        private Attempt(ClientResponse response, Throwable error) {
+            this.response = response;
+            this.error = error;
+        }
+
+        static Attempt response(ClientResponse response) {
+            return new Attempt(response, null);
+        }
+
+        static Attempt error(Throwable error) {
+            return new Attempt(null, error);
+        }
+
+        Mono<ClientResponse> toMono() {
+            return response != null ? Mono.just(response) : Mono.error(error);
+        }
+    }
+}
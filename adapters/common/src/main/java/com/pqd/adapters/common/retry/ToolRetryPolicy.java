@@ -0,0 +1,61 @@
+package com.pqd.adapters.common.retry;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Backoff and retry decisions shared by the blocking and the reactive tool request retries
+ */
+class ToolRetryPolicy {
+
+    private final ToolHttpProperties.Retry properties;
+
+    ToolRetryPolicy(ToolHttpProperties.Retry properties) {
+        this.properties = properties;
+    }
+
+    boolean isRetryableStatus(int status) {
+        return properties.getStatuses().contains(status);
+    }
+
+    /**
+     * @return whether the failed attempt is retried, the retry is taken from the budget then
+     */
+    boolean mayRetry(int attempt, Duration delay, ToolRequestBudget budget) {
+        return attempt < properties.getMaxAttempts() && budget.tryRetry(delay);
+    }
+
+    /**
+     * @return backoff before retrying a response, the Retry-After of the tool server when it asks for longer
+     */
+    Duration delay(int attempt, HttpHeaders headers) {
+        Duration backoff = backoff(attempt);
+        return retryAfter(headers).filter(retryAfter -> retryAfter.compareTo(backoff) > 0).orElse(backoff);
+    }
+
+    /**
+     * @return backoff before the retry after the given attempt, reduced by a random share of up to the jitter
+     */
+    Duration backoff(int attempt) {
+        double backoffMillis = Math.min(properties.getMaxBackoff().toMillis(),
+                                        properties.getInitialBackoff().toMillis()
+                                        * Math.pow(properties.getMultiplier(), attempt - 1));
+        double jitterShare = properties.getJitter() * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofMillis((long) (backoffMillis * (1 - jitterShare)));
+    }
+
+    private static Optional<Duration> retryAfter(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        try {
+            return retryAfter == null ? Optional.empty()
+                                      : Optional.of(Duration.ofSeconds(Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
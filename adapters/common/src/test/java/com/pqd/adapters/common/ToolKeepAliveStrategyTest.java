@@ -0,0 +1,38 @@
+package com.pqd.adapters.common;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ToolKeepAliveStrategyTest {
+
+    private final ToolKeepAliveStrategy strategy = new ToolKeepAliveStrategy(Duration.ofSeconds(30));
+
+    @Test
+    void GIVEN_no_keep_alive_header_WHEN_keep_alive_duration_asked_THEN_configured_duration_returned() {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+
+        assertThat(strategy.getKeepAliveDuration(response, new BasicHttpContext())).isEqualTo(30_000);
+    }
+
+    @Test
+    void GIVEN_shorter_keep_alive_header_WHEN_keep_alive_duration_asked_THEN_server_duration_returned() {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.addHeader("Keep-Alive", "timeout=5, max=100");
+
+        assertThat(strategy.getKeepAliveDuration(response, new BasicHttpContext())).isEqualTo(5_000);
+    }
+
+    @Test
+    void GIVEN_longer_keep_alive_header_WHEN_keep_alive_duration_asked_THEN_configured_duration_returned() {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.addHeader("Keep-Alive", "timeout=300");
+
+        assertThat(strategy.getKeepAliveDuration(response, new BasicHttpContext())).isEqualTo(30_000);
+    }
+}
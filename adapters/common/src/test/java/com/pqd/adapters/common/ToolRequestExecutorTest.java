@@ -0,0 +1,106 @@
+package com.pqd.adapters.common;
+
+import com.pqd.application.usecase.collection.CollectionQueueProperties;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
+import com.pqd.application.usecase.release.CollectionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ToolRequestExecutorTest {
+
+    private ToolRequestExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        executor = new ToolRequestExecutor(new ToolHttpProperties(), new CollectionProperties(),
+                                           new CollectionQueueProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void GIVEN_requests_finishing_in_reverse_WHEN_invoked_THEN_results_in_request_order_and_concurrency_bounded() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Supplier<Integer>> requests = List.of(request(1, 80, inFlight, maxInFlight),
+                                                   request(2, 40, inFlight, maxInFlight),
+                                                   request(3, 20, inFlight, maxInFlight),
+                                                   request(4, 10, inFlight, maxInFlight));
+
+        List<Integer> actual = executor.invokeAll(requests, 2);
+
+        assertThat(actual).containsExactly(1, 2, 3, 4);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void GIVEN_budget_of_calling_thread_WHEN_invoked_THEN_requests_use_same_budget() {
+        ToolRequestBudget budget = ToolRequestBudget.of(3).withTimeout(Duration.ofMinutes(1));
+        Supplier<Optional<ToolRequestBudget>> request = ToolRequestBudget::current;
+
+        List<Optional<ToolRequestBudget>> actual = budget.call(() -> executor.invokeAll(List.of(request, request), 2));
+
+        assertThat(actual).containsExactly(Optional.of(budget), Optional.of(budget));
+    }
+
+    @Test
+    void GIVEN_failing_request_WHEN_invoked_THEN_exception_of_request_thrown() {
+        Supplier<Integer> failing = () -> {
+            throw new IllegalStateException("page failed");
+        };
+
+        assertThatThrownBy(() -> executor.invokeAll(List.of(() -> 1, failing), 2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("page failed");
+    }
+
+    @Test
+    void GIVEN_failing_first_request_WHEN_invoked_THEN_remaining_requests_skipped() {
+        AtomicInteger started = new AtomicInteger();
+        Supplier<Integer> failing = () -> {
+            started.incrementAndGet();
+            throw new IllegalStateException("page failed");
+        };
+        Supplier<Integer> slow = () -> {
+            started.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        };
+
+        assertThatThrownBy(() -> executor.invokeAll(List.of(failing, slow, slow, slow, slow), 2))
+                .isInstanceOf(IllegalStateException.class);
+        // At most the request the other worker started before the failure
+        assertThat(started.get()).isLessThanOrEqualTo(2);
+    }
+
+    private static Supplier<Integer> request(int result, long millis, AtomicInteger inFlight,
+                                             AtomicInteger maxInFlight) {
+        return () -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return result;
+        };
+    }
+}
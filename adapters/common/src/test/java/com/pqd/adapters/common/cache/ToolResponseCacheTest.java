@@ -0,0 +1,242 @@
+package com.pqd.adapters.common.cache;
+
+import com.pqd.adapters.common.MutableClock;
+import com.pqd.adapters.common.ToolHttpProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ToolResponseCacheTest {
+
+    private static final URI TOOL_URI =
+            URI.create("https://sonar.example.com/api/measures/search_history?component=pqd&metrics=bugs");
+
+    private ToolHttpProperties.Cache properties;
+    private ClientHttpRequestFactory refreshRequestFactory;
+    private ClientHttpRequestExecution execution;
+    private MutableClock clock;
+    private ToolResponseCache cache;
+
+    @BeforeEach
+    void setup() {
+        properties = new ToolHttpProperties.Cache();
+        refreshRequestFactory = mock(ClientHttpRequestFactory.class);
+        execution = mock(ClientHttpRequestExecution.class);
+        clock = new MutableClock();
+        cache = new ToolResponseCache(properties, refreshRequestFactory, Runnable::run, clock);
+    }
+
+    @Test
+    void GIVEN_cached_response_with_etag_WHEN_not_modified_THEN_cached_body_returned_and_validator_sent() throws IOException {
+        when(execution.execute(any(), any())).thenReturn(response("measures", "\"v1\""),
+                                                         new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED));
+        cache.intercept(request("token"), new byte[0], execution);
+        MockClientHttpRequest request = request("token");
+
+        ClientHttpResponse actual = cache.intercept(request, new byte[0], execution);
+
+        assertThat(request.getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(actual.getRawStatusCode()).isEqualTo(200);
+        assertThat(bodyOf(actual)).isEqualTo("measures");
+    }
+
+    @Test
+    void GIVEN_fresh_cached_response_WHEN_requested_again_THEN_tool_not_called() throws IOException {
+        properties.setTtl(Duration.ofMinutes(1));
+        when(execution.execute(any(), any())).thenReturn(response("measures", null));
+        cache.intercept(request("token"), new byte[0], execution);
+        clock.advance(Duration.ofSeconds(30));
+
+        ClientHttpResponse actual = cache.intercept(request("token"), new byte[0], execution);
+
+        verify(execution, times(1)).execute(any(), any());
+        assertThat(bodyOf(actual)).isEqualTo("measures");
+    }
+
+    @Test
+    void GIVEN_stale_cached_response_within_window_WHEN_requested_THEN_stale_returned_and_refreshed_in_background()
+            throws IOException {
+        properties.setStaleWhileRevalidate(Duration.ofMinutes(1));
+        when(execution.execute(any(), any())).thenReturn(response("old", "\"v1\""));
+        MockClientHttpRequest refreshRequest = new MockClientHttpRequest();
+        refreshRequest.setResponse(response("new", "\"v2\""));
+        when(refreshRequestFactory.createRequest(TOOL_URI, HttpMethod.GET)).thenReturn(refreshRequest);
+        cache.intercept(request("token"), new byte[0], execution);
+        clock.advance(Duration.ofSeconds(30));
+
+        ClientHttpResponse stale = cache.intercept(request("token"), new byte[0], execution);
+
+        assertThat(bodyOf(stale)).isEqualTo("old");
+        assertThat(refreshRequest.getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(refreshRequest.getHeaders().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("token");
+        assertThat(bodyOf(cache.intercept(request("token"), new byte[0], execution))).isEqualTo("new");
+        verify(execution, times(1)).execute(any(), any());
+    }
+
+    @Test
+    void GIVEN_response_marked_must_revalidate_WHEN_requested_within_stale_window_THEN_revalidated_before_use()
+            throws IOException {
+        properties.setStaleWhileRevalidate(Duration.ofMinutes(1));
+        MockClientHttpResponse old = response("old", "\"v1\"");
+        old.getHeaders().setCacheControl("max-age=0, must-revalidate");
+        when(execution.execute(any(), any())).thenReturn(old, response("new", "\"v2\""));
+        cache.intercept(request("token"), new byte[0], execution);
+        clock.advance(Duration.ofSeconds(10));
+        MockClientHttpRequest request = request("token");
+
+        ClientHttpResponse actual = cache.intercept(request, new byte[0], execution);
+
+        assertThat(bodyOf(actual)).isEqualTo("new");
+        assertThat(request.getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        verify(execution, times(2)).execute(any(), any());
+        verifyNoInteractions(refreshRequestFactory);
+    }
+
+    @Test
+    void GIVEN_path_without_stale_while_revalidate_WHEN_requested_within_stale_window_THEN_revalidated_before_use()
+            throws IOException {
+        properties.setStaleWhileRevalidate(Duration.ofMinutes(1));
+        URI sprintsUri = URI.create("https://jira.example.com/rest/agile/1.0/board/1/sprint?state=active");
+        when(execution.execute(any(), any())).thenReturn(response("old sprint", "\"v1\""),
+                                                         response("new sprint", "\"v2\""));
+        cache.intercept(new MockClientHttpRequest(HttpMethod.GET, sprintsUri), new byte[0], execution);
+        clock.advance(Duration.ofSeconds(10));
+
+        ClientHttpResponse actual =
+                cache.intercept(new MockClientHttpRequest(HttpMethod.GET, sprintsUri), new byte[0], execution);
+
+        assertThat(bodyOf(actual)).isEqualTo("new sprint");
+        verify(execution, times(2)).execute(any(), any());
+        verifyNoInteractions(refreshRequestFactory);
+    }
+
+    @Test
+    void GIVEN_response_cached_for_one_credential_WHEN_requested_with_other_credential_THEN_tool_called()
+            throws IOException {
+        properties.setTtl(Duration.ofMinutes(1));
+        when(execution.execute(any(), any())).thenReturn(response("first", null), response("second", null));
+        cache.intercept(request("token"), new byte[0], execution);
+
+        ClientHttpResponse actual = cache.intercept(request("other token"), new byte[0], execution);
+
+        verify(execution, times(2)).execute(any(), any());
+        assertThat(bodyOf(actual)).isEqualTo("second");
+    }
+
+    @Test
+    void GIVEN_response_without_validators_and_no_ttl_WHEN_received_THEN_not_cached() throws IOException {
+        when(execution.execute(any(), any())).thenReturn(response("measures", null));
+
+        cache.intercept(request("token"), new byte[0], execution);
+
+        assertThat(cache.getEntryCount()).isZero();
+    }
+
+    @Test
+    void GIVEN_jira_issue_page_WHEN_received_THEN_passed_through_without_caching() throws IOException {
+        properties.setTtl(Duration.ofMinutes(1));
+        MockClientHttpResponse response = response("issues", "\"v1\"");
+        when(execution.execute(any(), any())).thenReturn(response);
+        MockClientHttpRequest request = new MockClientHttpRequest(
+                HttpMethod.GET, URI.create("https://jira.example.com/rest/agile/1.0/sprint/5/issue?startAt=0"));
+
+        ClientHttpResponse actual = cache.intercept(request, new byte[0], execution);
+
+        assertThat(actual).isSameAs(response);
+        assertThat(cache.getEntryCount()).isZero();
+    }
+
+    @Test
+    void GIVEN_sonarqube_analysis_probe_WHEN_received_THEN_passed_through_without_caching() throws IOException {
+        properties.setTtl(Duration.ofMinutes(1));
+        MockClientHttpResponse response = response("analyses", "\"v1\"");
+        when(execution.execute(any(), any())).thenReturn(response);
+        MockClientHttpRequest request = new MockClientHttpRequest(
+                HttpMethod.GET, URI.create("https://sonar.example.com/api/project_analyses/search?project=pqd&ps=1"));
+
+        ClientHttpResponse actual = cache.intercept(request, new byte[0], execution);
+
+        assertThat(actual).isSameAs(response);
+        assertThat(cache.getEntryCount()).isZero();
+    }
+
+    @Test
+    void GIVEN_new_analysis_within_stale_window_WHEN_measures_requested_THEN_new_measures_fetched() throws IOException {
+        properties.setStaleWhileRevalidate(Duration.ofMinutes(1));
+        URI measuresUri = URI.create("https://sonar.example.com/api/measures/component?component=pqd");
+        when(execution.execute(any(), any())).thenReturn(response("old analysis", "\"v1\""),
+                                                         response("new analysis", "\"v2\""));
+        cache.intercept(new MockClientHttpRequest(HttpMethod.GET, measuresUri), new byte[0], execution);
+        clock.advance(Duration.ofSeconds(10));
+
+        ClientHttpResponse actual =
+                cache.intercept(new MockClientHttpRequest(HttpMethod.GET, measuresUri), new byte[0], execution);
+
+        verify(execution, times(2)).execute(any(), any());
+        assertThat(bodyOf(actual)).isEqualTo("new analysis");
+        verifyNoInteractions(refreshRequestFactory);
+    }
+
+    @Test
+    void GIVEN_response_larger_than_cache_WHEN_received_THEN_passed_through_without_buffering() throws IOException {
+        properties.setTtl(Duration.ofMinutes(1));
+        properties.setMaxSize(DataSize.ofBytes(4));
+        MockClientHttpResponse response = response("measures", null);
+        response.getHeaders().setContentLength(8);
+        when(execution.execute(any(), any())).thenReturn(response);
+
+        ClientHttpResponse actual = cache.intercept(request("token"), new byte[0], execution);
+
+        assertThat(actual).isSameAs(response);
+        assertThat(cache.getEntryCount()).isZero();
+    }
+
+    @Test
+    void GIVEN_cache_full_WHEN_response_received_THEN_least_recently_used_dropped() throws IOException {
+        properties.setTtl(Duration.ofMinutes(1));
+        properties.setMaxSize(DataSize.ofBytes(10));
+        when(execution.execute(any(), any())).thenReturn(response("123456", null), response("abcdef", null));
+        cache.intercept(request("token"), new byte[0], execution);
+
+        cache.intercept(request("other token"), new byte[0], execution);
+
+        assertThat(cache.getEntryCount()).isEqualTo(1);
+    }
+
+    private MockClientHttpRequest request(String authorization) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, TOOL_URI);
+        request.getHeaders().set(HttpHeaders.AUTHORIZATION, authorization);
+        return request;
+    }
+
+    private MockClientHttpResponse response(String body, String etag) {
+        MockClientHttpResponse response =
+                new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        if (etag != null) {
+            response.getHeaders().setETag(etag);
+        }
+        return response;
+    }
+
+    private String bodyOf(ClientHttpResponse response) throws IOException {
+        return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+    }
+}
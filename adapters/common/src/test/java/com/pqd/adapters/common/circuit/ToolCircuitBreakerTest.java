@@ -0,0 +1,126 @@
+package com.pqd.adapters.common.circuit;
+
+import com.pqd.adapters.common.MutableClock;
+import com.pqd.adapters.common.ToolHttpProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ToolCircuitBreakerTest {
+
+    private static final String BASE_URL = "https://sonar.example.com";
+
+    private ToolHttpProperties.CircuitBreaker properties;
+    private ClientHttpRequestExecution execution;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ToolCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setup() {
+        properties = new ToolHttpProperties.CircuitBreaker();
+        properties.setFailureThreshold(2);
+        properties.setOpenDuration(Duration.ofSeconds(30));
+        execution = mock(ClientHttpRequestExecution.class);
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new ToolCircuitBreaker(properties, meterRegistry, clock);
+    }
+
+    @Test
+    void GIVEN_consecutive_failures_WHEN_threshold_reached_THEN_requests_fail_without_calling_tool() throws IOException {
+        when(execution.execute(any(), any())).thenThrow(new ConnectException("Connection refused"));
+        failRequest(BASE_URL);
+        failRequest(BASE_URL);
+
+        assertThatThrownBy(() -> circuitBreaker.intercept(request(BASE_URL), new byte[0], execution))
+                .isInstanceOf(ToolCircuitOpenException.class);
+
+        verify(execution, times(2)).execute(any(), any());
+        assertThat(circuitBreaker.getCircuits().get(BASE_URL).getState()).isEqualTo(ToolCircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("pqd.tools.circuit.state").tag("base_url", BASE_URL).gauge().value())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void GIVEN_failure_between_successes_WHEN_requests_made_THEN_circuit_stays_closed() throws IOException {
+        when(execution.execute(any(), any())).thenReturn(new MockClientHttpResponse(new byte[0],
+                                                                                    HttpStatus.BAD_GATEWAY),
+                                                         new MockClientHttpResponse(new byte[0], HttpStatus.OK),
+                                                         new MockClientHttpResponse(new byte[0],
+                                                                                    HttpStatus.BAD_GATEWAY));
+
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.intercept(request(BASE_URL), new byte[0], execution);
+        }
+
+        assertThat(circuitBreaker.getCircuits().get(BASE_URL).getState()).isEqualTo(ToolCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getCircuits().get(BASE_URL).getConsecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void GIVEN_open_circuit_WHEN_open_duration_passed_and_probe_succeeds_THEN_circuit_closed() throws IOException {
+        when(execution.execute(any(), any())).thenThrow(new ConnectException("Connection refused"));
+        failRequest(BASE_URL);
+        failRequest(BASE_URL);
+        clock.advance(Duration.ofSeconds(30));
+        doReturn(new MockClientHttpResponse(new byte[0], HttpStatus.OK)).when(execution).execute(any(), any());
+
+        assertThat(circuitBreaker.getCircuits().get(BASE_URL).getState())
+                .isEqualTo(ToolCircuitBreaker.State.HALF_OPEN);
+        circuitBreaker.intercept(request(BASE_URL), new byte[0], execution);
+
+        assertThat(circuitBreaker.getCircuits().get(BASE_URL).getState()).isEqualTo(ToolCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void GIVEN_half_open_circuit_WHEN_probe_fails_THEN_circuit_opened_again() throws IOException {
+        when(execution.execute(any(), any())).thenThrow(new ConnectException("Connection refused"));
+        failRequest(BASE_URL);
+        failRequest(BASE_URL);
+        clock.advance(Duration.ofSeconds(30));
+
+        failRequest(BASE_URL);
+
+        ToolCircuitBreaker.CircuitSnapshot actual = circuitBreaker.getCircuits().get(BASE_URL);
+        assertThat(actual.getState()).isEqualTo(ToolCircuitBreaker.State.OPEN);
+        assertThat(actual.getHalfOpenAt()).isEqualTo(clock.instant().plus(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void GIVEN_open_circuit_of_one_base_url_WHEN_other_base_url_requested_THEN_request_made() throws IOException {
+        when(execution.execute(any(), any())).thenThrow(new ConnectException("Connection refused"));
+        failRequest(BASE_URL);
+        failRequest(BASE_URL);
+        doReturn(new MockClientHttpResponse(new byte[0], HttpStatus.OK)).when(execution).execute(any(), any());
+
+        circuitBreaker.intercept(request("https://jira.example.com"), new byte[0], execution);
+
+        assertThat(circuitBreaker.getCircuits().get("https://jira.example.com").getState())
+                .isEqualTo(ToolCircuitBreaker.State.CLOSED);
+    }
+
+    private void failRequest(String baseUrl) {
+        assertThatThrownBy(() -> circuitBreaker.intercept(request(baseUrl), new byte[0], execution))
+                .isInstanceOf(ConnectException.class);
+    }
+
+    private MockClientHttpRequest request(String baseUrl) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(baseUrl + "/api/measures/component"));
+    }
+}
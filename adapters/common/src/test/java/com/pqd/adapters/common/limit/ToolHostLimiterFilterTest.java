@@ -0,0 +1,139 @@
+package com.pqd.adapters.common.limit;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ToolHostLimiterFilterTest {
+
+    private static final String HOST = "sonar.example.com";
+
+    private ToolHttpProperties.Limit properties;
+    private ToolHostLimiter limiter;
+    private ToolHostLimiterFilter filter;
+
+    @BeforeEach
+    void setup() {
+        properties = new ToolHttpProperties.Limit();
+        properties.setRequestsPerSecond(1000);
+        properties.setMaxInFlight(1);
+        properties.setMaxWait(Duration.ofMillis(50));
+        limiter = new ToolHostLimiter(properties, new SimpleMeterRegistry());
+        filter = new ToolHostLimiterFilter(limiter);
+    }
+
+    @Test
+    void GIVEN_response_received_WHEN_body_streams_THEN_permit_held_until_body_completes() {
+        UnicastProcessor<DataBuffer> body = UnicastProcessor.create();
+        ExchangeFunction next = request -> Mono.just(ClientResponse.create(HttpStatus.OK).body(body).build());
+        List<String> received = new ArrayList<>();
+
+        ClientResponse response = filter.filter(request(), next).block();
+        response.bodyToFlux(DataBuffer.class)
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .subscribe(received::add);
+        body.onNext(buffer("first page"));
+
+        assertThat(received).containsExactly("first page");
+        assertThat(limiter.getInFlight(HOST)).isEqualTo(1);
+
+        body.onComplete();
+
+        assertThat(limiter.getInFlight(HOST)).isZero();
+    }
+
+    @Test
+    void GIVEN_response_body_released_WHEN_not_read_THEN_permit_released() {
+        ExchangeFunction next = request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE)
+                                                                   .body(Flux.just(buffer("down")))
+                                                                   .build());
+
+        filter.filter(request(), next).flatMap(ClientResponse::releaseBody).block();
+
+        assertThat(limiter.getInFlight(HOST)).isZero();
+    }
+
+    @Test
+    void GIVEN_exchange_in_flight_WHEN_next_exchange_waits_THEN_no_thread_held_and_permit_handed_over() {
+        UnicastProcessor<DataBuffer> body = UnicastProcessor.create();
+        properties.setMaxWait(Duration.ofSeconds(5));
+        ClientResponse first = filter.filter(request(), request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                                                                                           .body(body)
+                                                                                           .build())).block();
+        AtomicReference<ClientResponse> second = new AtomicReference<>();
+
+        filter.filter(request(), request -> Mono.just(ClientResponse.create(HttpStatus.OK).build()))
+              .subscribe(second::set);
+
+        assertThat(second.get()).isNull();
+
+        body.onNext(buffer("first page"));
+        body.onComplete();
+        first.releaseBody().block();
+
+        waitFor(() -> second.get() != null);
+        assertThat(second.get().statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(limiter.getInFlight(HOST)).isEqualTo(1);
+    }
+
+    @Test
+    void GIVEN_exchange_in_flight_WHEN_next_exchange_waits_over_max_wait_THEN_exception_thrown() {
+        Disposable running = filter.filter(request(), request -> Mono.never()).subscribe();
+        waitFor(() -> limiter.getInFlight(HOST) == 1);
+
+        assertThatThrownBy(() -> filter.filter(request(), request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                                                                                           .build())).block())
+                .isInstanceOf(ToolHostLimiter.ToolHostLimitExceededException.class);
+
+        running.dispose();
+    }
+
+    @Test
+    void GIVEN_exchange_in_flight_WHEN_cancelled_THEN_permit_released() {
+        Disposable running = filter.filter(request(), request -> Mono.never()).subscribe();
+        waitFor(() -> limiter.getInFlight(HOST) == 1);
+
+        running.dispose();
+
+        assertThat(limiter.getInFlight(HOST)).isZero();
+    }
+
+    private void waitFor(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private DataBuffer buffer(String content) {
+        return new DefaultDataBufferFactory().wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ClientRequest request() {
+        return ClientRequest.create(HttpMethod.GET, URI.create("https://" + HOST + "/api/measures/component")).build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.pqd.adapters.common.limit;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ToolHostLimiterTest {
+
+    private static final String HOST = "sonar.example.com";
+
+    private ToolHttpProperties.Limit properties;
+    private ClientHttpRequestExecution execution;
+    private SimpleMeterRegistry meterRegistry;
+    private ToolHostLimiter limiter;
+
+    @BeforeEach
+    void setup() throws IOException {
+        properties = new ToolHttpProperties.Limit();
+        properties.setRequestsPerSecond(1000);
+        execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenAnswer(invocation -> new MockClientHttpResponse(new byte[0],
+                                                                                                  HttpStatus.OK));
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new ToolHostLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void GIVEN_host_at_max_in_flight_WHEN_request_waits_over_max_wait_THEN_exception_thrown() throws IOException {
+        properties.setMaxInFlight(1);
+        properties.setMaxWait(Duration.ofMillis(50));
+        limiter.intercept(request(HOST), new byte[0], execution);
+
+        assertThatThrownBy(() -> limiter.intercept(request(HOST), new byte[0], execution))
+                .isInstanceOf(ToolHostLimiter.ToolHostLimitExceededException.class);
+    }
+
+    @Test
+    void GIVEN_host_at_max_in_flight_WHEN_response_closed_THEN_next_request_runs() throws IOException {
+        properties.setMaxInFlight(1);
+        properties.setMaxWait(Duration.ofMillis(50));
+        ClientHttpResponse first = limiter.intercept(request(HOST), new byte[0], execution);
+        first.close();
+        first.close();
+
+        limiter.intercept(request(HOST), new byte[0], execution);
+
+        assertThat(limiter.getInFlight(HOST)).isEqualTo(1);
+    }
+
+    @Test
+    void GIVEN_other_host_at_max_in_flight_WHEN_request_THEN_request_runs() throws IOException {
+        properties.setMaxInFlight(1);
+        properties.setMaxWait(Duration.ofMillis(50));
+        limiter.intercept(request(HOST), new byte[0], execution);
+
+        limiter.intercept(request("jira.example.com"), new byte[0], execution);
+
+        assertThat(limiter.getInFlight(HOST)).isEqualTo(1);
+        assertThat(limiter.getInFlight("jira.example.com")).isEqualTo(1);
+    }
+
+    @Test
+    void GIVEN_requests_per_second_WHEN_requests_made_THEN_requests_spaced_and_waiting_measured() throws IOException {
+        properties.setRequestsPerSecond(20);
+        long started = System.nanoTime();
+
+        for (int i = 0; i < 3; i++) {
+            limiter.intercept(request(HOST), new byte[0], execution).close();
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(95));
+        assertThat(meterRegistry.get("pqd.tools.requests.wait").tag("host", HOST).timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void GIVEN_host_override_WHEN_requests_made_THEN_host_limit_used() throws IOException {
+        ToolHttpProperties.HostLimit hostLimit = new ToolHttpProperties.HostLimit();
+        hostLimit.setMaxInFlight(2);
+        properties.getHosts().put(HOST, hostLimit);
+        properties.setMaxInFlight(1);
+        properties.setMaxWait(Duration.ofMillis(50));
+
+        limiter.intercept(request(HOST), new byte[0], execution);
+        limiter.intercept(request(HOST), new byte[0], execution);
+
+        assertThat(limiter.getInFlight(HOST)).isEqualTo(2);
+    }
+
+    @Test
+    void GIVEN_too_many_requests_response_WHEN_next_request_THEN_waits_for_retry_after() throws IOException {
+        MockClientHttpResponse tooManyRequests = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+        tooManyRequests.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        when(execution.execute(any(), any())).thenReturn(tooManyRequests,
+                                                         new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        limiter.intercept(request(HOST), new byte[0], execution).close();
+        long started = System.nanoTime();
+
+        ClientHttpResponse actual = limiter.intercept(request(HOST), new byte[0], execution);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        assertThat(actual.getRawStatusCode()).isEqualTo(200);
+    }
+
+    private MockClientHttpRequest request(String host) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("https://" + host + "/api/measures/component"));
+    }
+}
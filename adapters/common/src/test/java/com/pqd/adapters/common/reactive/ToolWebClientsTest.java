@@ -0,0 +1,43 @@
+package com.pqd.adapters.common.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ToolWebClientsTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void GIVEN_body_split_inside_tokens_WHEN_read_json_THEN_value_parsed() {
+        Flux<DataBuffer> body = Flux.just(buffer("{\"iss"), buffer("ues\": [{\"key\": \"PQD"),
+                                          buffer("-1\"}, {\"key\": \"PQD-2\"}], \"total\": 2"), buffer("}"));
+
+        Map<?, ?> actual = ToolWebClients.<Map<?, ?>>readJson(body, OBJECT_MAPPER.readerFor(Map.class)).block();
+
+        assertThat(actual.get("total")).isEqualTo(2);
+        assertThat(actual.get("issues")).isEqualTo(List.of(Map.of("key", "PQD-1"), Map.of("key", "PQD-2")));
+    }
+
+    @Test
+    void GIVEN_malformed_body_WHEN_read_json_THEN_exception_thrown() {
+        Flux<DataBuffer> body = Flux.just(buffer("{\"total\": "), buffer("]"));
+
+        assertThatThrownBy(() -> ToolWebClients.readJson(body, OBJECT_MAPPER.readerFor(Map.class)).block())
+                .hasCauseInstanceOf(JsonProcessingException.class);
+    }
+
+    private DataBuffer buffer(String content) {
+        return new DefaultDataBufferFactory().wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,103 @@
+package com.pqd.adapters.common.retry;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.adapters.common.circuit.ToolCircuitOpenException;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ToolRequestRetryFilterTest {
+
+    private ToolHttpProperties.Retry properties;
+    private AtomicInteger attempts;
+    private ToolRequestRetryFilter filter;
+
+    @BeforeEach
+    void setup() {
+        properties = new ToolHttpProperties.Retry();
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        attempts = new AtomicInteger();
+        filter = new ToolRequestRetryFilter(properties);
+    }
+
+    @Test
+    void GIVEN_transient_failures_WHEN_request_in_collection_THEN_retried_until_success() {
+        ExchangeFunction next = request -> attempts.incrementAndGet() == 1
+                                           ? Mono.error(new ConnectException("Connection reset"))
+                                           : Mono.just(response(attempts.get() == 2 ? HttpStatus.BAD_GATEWAY
+                                                                                   : HttpStatus.OK));
+
+        ClientResponse actual = filter.filter(request(ToolRequestBudget.of(5).withTimeout(Duration.ofMinutes(1))),
+                                              next).block();
+
+        assertThat(actual.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void GIVEN_max_attempts_reached_WHEN_request_keeps_failing_THEN_last_response_returned() {
+        ExchangeFunction next = request -> {
+            attempts.incrementAndGet();
+            return Mono.just(response(HttpStatus.SERVICE_UNAVAILABLE));
+        };
+
+        ClientResponse actual = filter.filter(request(ToolRequestBudget.of(5).withTimeout(Duration.ofMinutes(1))),
+                                              next).block();
+
+        assertThat(actual.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(attempts.get()).isEqualTo(properties.getMaxAttempts());
+    }
+
+    @Test
+    void GIVEN_open_circuit_WHEN_request_in_collection_THEN_not_retried() {
+        ExchangeFunction next = request -> {
+            attempts.incrementAndGet();
+            return Mono.error(new ToolCircuitOpenException("Circuit is open"));
+        };
+
+        assertThatThrownBy(() -> filter.filter(request(ToolRequestBudget.of(5).withTimeout(Duration.ofMinutes(1))),
+                                               next).block())
+                .hasCauseInstanceOf(ToolCircuitOpenException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void GIVEN_no_budget_WHEN_request_fails_THEN_not_retried() {
+        ExchangeFunction next = request -> {
+            attempts.incrementAndGet();
+            return Mono.just(response(HttpStatus.SERVICE_UNAVAILABLE));
+        };
+
+        ClientResponse actual = filter.filter(request(null), next).block();
+
+        assertThat(actual.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    private ClientRequest request(ToolRequestBudget budget) {
+        ClientRequest.Builder builder = ClientRequest.create(HttpMethod.GET,
+                                                             URI.create("https://sonar.example.com/api/measures"));
+        if (budget != null) {
+            builder.attribute(ToolRequestRetryFilter.BUDGET_ATTRIBUTE, budget);
+        }
+        return builder.build();
+    }
+
+    private ClientResponse response(HttpStatus status) {
+        return ClientResponse.create(status).build();
+    }
+}
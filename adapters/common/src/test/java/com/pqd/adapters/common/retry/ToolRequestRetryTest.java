@@ -0,0 +1,135 @@
+package com.pqd.adapters.common.retry;
+
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.adapters.common.circuit.ToolCircuitOpenException;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ToolRequestRetryTest {
+
+    private ToolHttpProperties.Retry properties;
+    private ClientHttpRequestExecution execution;
+    private List<Duration> sleeps;
+    private ToolRequestRetry retry;
+
+    @BeforeEach
+    void setup() {
+        properties = new ToolHttpProperties.Retry();
+        properties.setJitter(0);
+        execution = mock(ClientHttpRequestExecution.class);
+        sleeps = new ArrayList<>();
+        retry = new ToolRequestRetry(properties, sleeps::add);
+    }
+
+    @Test
+    void GIVEN_transient_failures_WHEN_request_in_collection_THEN_retried_with_exponential_backoff() throws IOException {
+        when(execution.execute(any(), any())).thenThrow(new ConnectException("Connection reset"))
+                                             .thenReturn(response(HttpStatus.SERVICE_UNAVAILABLE),
+                                                         response(HttpStatus.OK));
+
+        ClientHttpResponse actual = intercept(ToolRequestBudget.of(5).withTimeout(Duration.ofMinutes(1)));
+
+        assertThat(actual.getRawStatusCode()).isEqualTo(200);
+        assertThat(sleeps).containsExactly(Duration.ofMillis(500), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void GIVEN_retry_after_header_WHEN_request_rate_limited_THEN_retry_waits_for_retry_after() throws IOException {
+        MockClientHttpResponse tooManyRequests = response(HttpStatus.TOO_MANY_REQUESTS);
+        tooManyRequests.getHeaders().set(HttpHeaders.RETRY_AFTER, "3");
+        when(execution.execute(any(), any())).thenReturn(tooManyRequests, response(HttpStatus.OK));
+
+        intercept(ToolRequestBudget.of(5).withTimeout(Duration.ofMinutes(1)));
+
+        assertThat(sleeps).containsExactly(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void GIVEN_retry_after_beyond_deadline_WHEN_request_rate_limited_THEN_response_returned() throws IOException {
+        MockClientHttpResponse tooManyRequests = response(HttpStatus.TOO_MANY_REQUESTS);
+        tooManyRequests.getHeaders().set(HttpHeaders.RETRY_AFTER, "120");
+        when(execution.execute(any(), any())).thenReturn(tooManyRequests);
+
+        ClientHttpResponse actual = intercept(ToolRequestBudget.of(5).withTimeout(Duration.ofMinutes(1)));
+
+        assertThat(actual.getRawStatusCode()).isEqualTo(429);
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    void GIVEN_budget_used_up_WHEN_request_fails_THEN_not_retried() throws IOException {
+        when(execution.execute(any(), any())).thenReturn(response(HttpStatus.BAD_GATEWAY));
+        ToolRequestBudget budget = ToolRequestBudget.of(1).withTimeout(Duration.ofMinutes(1));
+
+        ClientHttpResponse actual = intercept(budget);
+
+        assertThat(actual.getRawStatusCode()).isEqualTo(502);
+        verify(execution, times(2)).execute(any(), any());
+        assertThat(budget.getRetriesLeft()).isZero();
+    }
+
+    @Test
+    void GIVEN_open_circuit_WHEN_request_in_collection_THEN_not_retried() throws IOException {
+        when(execution.execute(any(), any())).thenThrow(new ToolCircuitOpenException("Circuit is open"));
+
+        assertThatThrownBy(() -> intercept(ToolRequestBudget.of(5).withTimeout(Duration.ofMinutes(1))))
+                .hasCauseInstanceOf(ToolCircuitOpenException.class);
+        verify(execution, times(1)).execute(any(), any());
+    }
+
+    @Test
+    void GIVEN_no_collection_WHEN_request_fails_THEN_not_retried() throws IOException {
+        when(execution.execute(any(), any())).thenReturn(response(HttpStatus.SERVICE_UNAVAILABLE));
+
+        ClientHttpResponse actual = retry.intercept(request(), new byte[0], execution);
+
+        assertThat(actual.getRawStatusCode()).isEqualTo(503);
+        verify(execution, times(1)).execute(any(), any());
+    }
+
+    @Test
+    void GIVEN_attempts_WHEN_backoff_calculated_THEN_capped_at_max_backoff() {
+        assertThat(retry.backoff(1)).isEqualTo(Duration.ofMillis(500));
+        assertThat(retry.backoff(3)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(retry.backoff(10)).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    private ClientHttpResponse intercept(ToolRequestBudget budget) {
+        return budget.call(() -> {
+            try {
+                return retry.intercept(request(), new byte[0], execution);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private MockClientHttpRequest request() {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("https://sonar.example.com/api/measures/component"));
+    }
+
+    private MockClientHttpResponse response(HttpStatus status) {
+        return new MockClientHttpResponse(new byte[0], status);
+    }
+}
@@ -0,0 +1,165 @@
+package com.pqd.adapters.jira;
+
+import com.pqd.adapters.jira.model.JiraActiveSprintResponse;
+import com.pqd.adapters.jira.model.JiraIssuesPage;
+import com.pqd.application.domain.connection.ConnectionResult;
+import com.pqd.application.domain.jira.JiraInfo;
+import com.pqd.application.domain.jira.JiraIssue;
+import com.pqd.application.domain.jira.JiraSprint;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Jira REST API requests and response mapping shared by the Jira gateway implementations
+ */
+final class JiraApi {
+
+    static final int PAGE_SIZE = 100;
+
+    private JiraApi() {
+    }
+
+    static String activeSprintsUri(JiraInfo jiraInfo) {
+        return String.format("%s/rest/agile/1.0/board/%s/sprint?state=active",
+                             jiraInfo.getBaseUrl(),
+                             jiraInfo.getBoardId());
+    }
+
+    /**
+     * Only the issue type is requested, the other fields of an issue are large and not used.
+     * Jira may return fewer issues per page than asked, see {@link #remainingPageStarts(JiraIssuesPage)}
+     */
+    static String sprintIssuesUri(JiraInfo jiraInfo, Long sprintId, int startAt) {
+        return String.format("%s/rest/agile/1.0/sprint/%s/issue?fields=issuetype&startAt=%s&maxResults=%s",
+                             jiraInfo.getBaseUrl(),
+                             sprintId,
+                             startAt,
+                             PAGE_SIZE);
+    }
+
+    /**
+     * The first page tells the total number of issues and, by its size, the page size Jira actually uses
+     * @return start indexes of the pages after the first one, in order
+     */
+    static List<Integer> remainingPageStarts(JiraIssuesPage firstPage) {
+        int pageSize = firstPage.getIssues().size();
+        if (firstPage.getTotal() == null || pageSize == 0) {
+            return List.of();
+        }
+        List<Integer> pageStarts = new ArrayList<>();
+        for (int startAt = pageSize; startAt < firstPage.getTotal(); startAt += pageSize) {
+            pageStarts.add(startAt);
+        }
+        return pageStarts;
+    }
+
+    /**
+     * Issues of all open sprints of the board, with the sprint each of them belongs to
+     */
+    static String openSprintIssuesUri(JiraInfo jiraInfo, int startAt) {
+        return String.format("%s/rest/agile/1.0/board/%s/issue?jql=sprint in openSprints()&fields=issuetype,sprint"
+                             + "&startAt=%s&maxResults=%s",
+                             jiraInfo.getBaseUrl(),
+                             jiraInfo.getBoardId(),
+                             startAt,
+                             PAGE_SIZE);
+    }
+
+    /**
+     * Relative time in the query is resolved by Jira, so the time zone of the Jira user does not matter
+     */
+    static String boardIssuesUpdatedWithinUri(JiraInfo jiraInfo, Duration within) {
+        return String.format("%s/rest/agile/1.0/board/%s/issue?jql=updated>=-%sm&fields=issuetype,sprint"
+                             + "&maxResults=%s",
+                             jiraInfo.getBaseUrl(),
+                             jiraInfo.getBoardId(),
+                             within.toMinutes() + 1,
+                             PAGE_SIZE);
+    }
+
+    static String basicAuth(JiraInfo jiraInfo) {
+        String authBase = jiraInfo.getUserEmail() + ":" + jiraInfo.getToken();
+        return "Basic " + new String(Base64.getEncoder().encode(authBase.getBytes()));
+    }
+
+    /**
+     * @param request request to the Jira server, failing with the exceptions of JiraRestClient
+     */
+    static ConnectionResult testConnection(Runnable request) {
+        ConnectionResult connectionResult = ConnectionResult.builder()
+                                                            .connectionOk(true)
+                                                            .message("Connection successful")
+                                                            .build();
+        try {
+            request.run();
+        } catch (JiraRestClient.JiraConnectionRefusedException e) {
+            connectionResult.setConnectionOk(false);
+            connectionResult.setMessage("Could not connect to Jira server: " + e.getMessage());
+        } catch (JiraRestClient.JiraRestClientException e) {
+            connectionResult.setConnectionOk(false);
+            connectionResult.setMessage("Connection established, but something went wrong: " + e.getMessage());
+        } catch (Exception e) {
+            connectionResult.setConnectionOk(false);
+            connectionResult.setMessage(e.getMessage());
+        }
+
+        return connectionResult;
+    }
+
+    static List<JiraSprint> toJiraSprints(JiraInfo jiraInfo, JiraActiveSprintResponse response) {
+        return Arrays.stream(response.getActiveSprints())
+                     .map(res -> JiraSprint.builder()
+                                           .sprintId(res.getId())
+                                           .boardId(res.getBoardId())
+                                           .end(res.getEnd())
+                                           .start(res.getStart())
+                                           .goal(res.getGoal())
+                                           .name(res.getName())
+                                           .browserUrl(JiraSprint.createBrowserUrl(jiraInfo.getBaseUrl(), res.getId()))
+                                           .build())
+                     .collect(Collectors.toList());
+    }
+
+    /**
+     * @return issues of the page with their browser URL
+     */
+    static List<JiraIssue> toJiraIssues(JiraInfo jiraInfo, JiraIssuesPage page) {
+        return page.getIssues()
+                   .stream()
+                   .map(issue -> JiraIssue.builder()
+                                          .issueId(issue.getIssueId())
+                                          .key(issue.getKey())
+                                          .browserUrl(JiraIssue.createBrowserUrl(jiraInfo.getBaseUrl(), issue.getKey()))
+                                          .fields(issue.getFields())
+                                          .sprintId(issue.getSprintId())
+                                          .build())
+                   .collect(Collectors.toList());
+    }
+
+    /**
+     * @return issues per sprint id in the order the sprints first occur, issues without a sprint are left out
+     */
+    static Map<Long, List<JiraIssue>> groupBySprintId(List<JiraIssue> issues) {
+        return issues.stream()
+                     .filter(issue -> issue.getSprintId() != null)
+                     .collect(Collectors.groupingBy(JiraIssue::getSprintId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    /**
+     * @return empty if more issues were updated than fit into the response
+     */
+    static Optional<List<JiraIssue>> toUpdatedJiraIssues(JiraInfo jiraInfo, JiraIssuesPage response) {
+        if (response.getTotal() != null && response.getTotal() > response.getIssues().size()) {
+            return Optional.empty();
+        }
+        return Optional.of(toJiraIssues(jiraInfo, response));
+    }
+}
@@ -0,0 +1,186 @@
+package com.pqd.adapters.jira;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.adapters.common.circuit.ToolCircuitOpenException;
+import com.pqd.adapters.common.reactive.ToolWebClients;
+import com.pqd.adapters.common.retry.ToolRequestRetryFilter;
+import com.pqd.adapters.jira.model.JiraActiveSprintResponse;
+import com.pqd.adapters.jira.model.JiraIssuesPage;
+import com.pqd.application.domain.connection.ConnectionResult;
+import com.pqd.application.domain.jira.JiraInfo;
+import com.pqd.application.domain.jira.JiraIssue;
+import com.pqd.application.domain.jira.JiraSprint;
+import com.pqd.application.usecase.jira.JiraGateway;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+/**
+ * Non-blocking Jira gateway, enabled by pqd.tools.reactive. The issues of several sprints are requested
+ * concurrently on the event loop, up to the max in-flight requests of the Jira host, while the calling thread only
+ * waits for the result. Responses are parsed while they are received, not buffered whole.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pqd.tools", name = "reactive", havingValue = "true")
+@AllArgsConstructor
+public class JiraReactiveClient implements JiraGateway {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private final WebClient toolWebClient;
+
+    private final ToolHttpProperties properties;
+
+    @Override
+    public List<JiraSprint> getActiveSprints(JiraInfo jiraInfo) {
+        return await(jiraInfo, requestActiveSprints(jiraInfo).map(response -> JiraApi.toJiraSprints(jiraInfo,
+                                                                                                    response)));
+    }
+
+    @Override
+    public List<JiraIssue> getSprintIssues(JiraInfo jiraInfo, Long sprintId) {
+        return await(jiraInfo, requestSprintIssues(jiraInfo, sprintId));
+    }
+
+    /**
+     * The first pages of all sprints are requested first, then the remaining pages of all sprints, both with at most
+     * the max in-flight requests of the Jira host at a time
+     */
+    @Override
+    public Map<Long, List<JiraIssue>> getIssuesOfSprints(JiraInfo jiraInfo, List<Long> sprintIds) {
+        int maxInFlight = maxInFlight(jiraInfo);
+        Mono<Map<Long, List<JiraIssue>>> requests =
+                Flux.fromIterable(sprintIds)
+                    .flatMapSequential(sprintId -> get(jiraInfo, JiraApi.sprintIssuesUri(jiraInfo, sprintId, 0),
+                                                       JiraIssuesPage.class),
+                                       maxInFlight)
+                    .collectList()
+                    .flatMap(firstPages -> requestRemainingPages(jiraInfo, sprintIds, firstPages, maxInFlight));
+        return await(jiraInfo, requests);
+    }
+
+    private Mono<Map<Long, List<JiraIssue>>> requestRemainingPages(JiraInfo jiraInfo, List<Long> sprintIds,
+                                                                   List<JiraIssuesPage> firstPages, int maxInFlight) {
+        Map<Long, List<JiraIssue>> issuesBySprintId = new LinkedHashMap<>();
+        List<Map.Entry<Long, Integer>> remainingPages = new ArrayList<>();
+        for (int i = 0; i < sprintIds.size(); i++) {
+            Long sprintId = sprintIds.get(i);
+            issuesBySprintId.put(sprintId, new ArrayList<>(JiraApi.toJiraIssues(jiraInfo, firstPages.get(i))));
+            JiraApi.remainingPageStarts(firstPages.get(i))
+                   .forEach(startAt -> remainingPages.add(Map.entry(sprintId, startAt)));
+        }
+        return Flux.fromIterable(remainingPages)
+                   .flatMapSequential(page -> get(jiraInfo, JiraApi.sprintIssuesUri(jiraInfo, page.getKey(),
+                                                                                    page.getValue()),
+                                                  JiraIssuesPage.class)
+                                   .map(response -> Map.entry(page.getKey(), response)),
+                                      maxInFlight)
+                   .doOnNext(page -> issuesBySprintId.get(page.getKey())
+                                                     .addAll(JiraApi.toJiraIssues(jiraInfo, page.getValue())))
+                   .then(Mono.fromSupplier(() -> issuesBySprintId));
+    }
+
+    @Override
+    public Map<Long, List<JiraIssue>> getIssuesOfOpenSprints(JiraInfo jiraInfo) {
+        return await(jiraInfo, requestAllIssues(jiraInfo, startAt -> JiraApi.openSprintIssuesUri(jiraInfo, startAt))
+                .map(JiraApi::groupBySprintId));
+    }
+
+    @Override
+    public Optional<List<JiraIssue>> getIssuesUpdatedWithin(JiraInfo jiraInfo, Duration within) {
+        return await(jiraInfo, get(jiraInfo, JiraApi.boardIssuesUpdatedWithinUri(jiraInfo, within),
+                                   JiraIssuesPage.class)
+                .map(response -> JiraApi.toUpdatedJiraIssues(jiraInfo, response)));
+    }
+
+    @Override
+    public ConnectionResult testJiraConnection(JiraInfo jiraInfo) {
+        return JiraApi.testConnection(() -> await(jiraInfo, requestActiveSprints(jiraInfo)));
+    }
+
+    private Mono<JiraActiveSprintResponse> requestActiveSprints(JiraInfo jiraInfo) {
+        return get(jiraInfo, JiraApi.activeSprintsUri(jiraInfo), JiraActiveSprintResponse.class);
+    }
+
+    private Mono<List<JiraIssue>> requestSprintIssues(JiraInfo jiraInfo, Long sprintId) {
+        return requestAllIssues(jiraInfo, startAt -> JiraApi.sprintIssuesUri(jiraInfo, sprintId, startAt));
+    }
+
+    /**
+     * Pages after the first one are requested concurrently and assembled in page order
+     * @param pageUri URI of the page starting at the given index
+     */
+    private Mono<List<JiraIssue>> requestAllIssues(JiraInfo jiraInfo, IntFunction<String> pageUri) {
+        return get(jiraInfo, pageUri.apply(0), JiraIssuesPage.class)
+                .flatMap(firstPage -> Flux.fromIterable(JiraApi.remainingPageStarts(firstPage))
+                                          .flatMapSequential(startAt -> get(jiraInfo, pageUri.apply(startAt),
+                                                                            JiraIssuesPage.class),
+                                                             maxInFlight(jiraInfo))
+                                          .startWith(firstPage)
+                                          .concatMapIterable(page -> JiraApi.toJiraIssues(jiraInfo, page))
+                                          .collectList());
+    }
+
+    private int maxInFlight(JiraInfo jiraInfo) {
+        return properties.getLimit().getMaxInFlight(URI.create(jiraInfo.getBaseUrl()).getHost());
+    }
+
+    private <T> Mono<T> get(JiraInfo jiraInfo, String uri, Class<T> responseType) {
+        return toolWebClient.get()
+                            .uri(uri)
+                            .header(HttpHeaders.AUTHORIZATION, JiraApi.basicAuth(jiraInfo))
+                            .accept(MediaType.APPLICATION_JSON)
+                            .attributes(ToolRequestRetryFilter.currentBudget())
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class)
+                            .as(body -> ToolWebClients.readJson(body, OBJECT_MAPPER.readerFor(responseType)));
+    }
+
+    private <T> T await(JiraInfo jiraInfo, Mono<T> requests) {
+        return ToolWebClients.await(requests, e -> toGatewayException(jiraInfo, e));
+    }
+
+    /**
+     * Same exceptions as JiraRestClient throws
+     */
+    private static RuntimeException toGatewayException(JiraInfo jiraInfo, Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            WebClientResponseException responseException = (WebClientResponseException) e;
+            if (responseException.getStatusCode().equals(HttpStatus.UNAUTHORIZED)) {
+                return new JiraRestClient.JiraRestClientException(
+                        "Connection unauthorized, probably invalid Jira API token or user email");
+            }
+            if (responseException.getStatusCode().is4xxClientError()) {
+                return new JiraRestClient.JiraRestClientException(responseException.getMessage());
+            }
+            return responseException;
+        }
+        if (e instanceof ToolCircuitOpenException) {
+            return new JiraRestClient.JiraConnectionRefusedException(e.getMessage());
+        }
+        if (ToolWebClients.isConnectionError(e)) {
+            return new JiraRestClient.JiraConnectionRefusedException(String.format("Connection refused for baseurl %s",
+                                                                                   jiraInfo.getBaseUrl()));
+        }
+        return e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+    }
+}
@@ -1,8 +1,10 @@
 package com.pqd.adapters.jira;
 
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.adapters.common.ToolRequestExecutor;
+import com.pqd.adapters.common.circuit.ToolCircuitOpenException;
 import com.pqd.adapters.jira.model.JiraActiveSprintResponse;
-import com.pqd.adapters.jira.model.JiraIssueFieldsResponse;
-import com.pqd.adapters.jira.model.JiraSprintIssuesResponse;
+import com.pqd.adapters.jira.model.JiraIssuesPage;
 import com.pqd.application.domain.connection.ConnectionResult;
 import com.pqd.application.domain.jira.JiraInfo;
 import com.pqd.application.domain.jira.JiraIssue;
@@ -10,95 +12,101 @@ import com.pqd.application.domain.jira.JiraSprint;
 import com.pqd.application.usecase.jira.JiraGateway;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Arrays;
-import java.util.Base64;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Component
+@ConditionalOnProperty(prefix = "pqd.tools", name = "reactive", havingValue = "false", matchIfMissing = true)
 @AllArgsConstructor
 public class JiraRestClient implements JiraGateway {
 
     private final RestTemplate restTemplate;
 
+    private final ToolHttpProperties properties;
+
+    private final ToolRequestExecutor requestExecutor;
+
     @Override
     public List<JiraSprint> getActiveSprints(JiraInfo jiraInfo) {
         ResponseEntity<JiraActiveSprintResponse> response = requestActiveSprints(jiraInfo);
 
-        return Arrays.stream(Objects.requireNonNull(response.getBody()).getActiveSprints())
-                     .map(res -> JiraSprint.builder()
-                                           .sprintId(res.getId())
-                                           .boardId(res.getBoardId())
-                                           .end(res.getEnd())
-                                           .start(res.getStart())
-                                           .goal(res.getGoal())
-                                           .name(res.getName())
-                                           .browserUrl(JiraSprint.createBrowserUrl(jiraInfo.getBaseUrl(), res.getId()))
-                                           .build())
-                     .collect(Collectors.toList());
+        return JiraApi.toJiraSprints(jiraInfo, Objects.requireNonNull(response.getBody()));
     }
 
     @Override
     public List<JiraIssue> getSprintIssues(JiraInfo jiraInfo, Long sprintId) {
-        ResponseEntity<JiraSprintIssuesResponse> response = requestSprintIssues(jiraInfo, sprintId);
-
-        return Arrays.stream(Objects.requireNonNull(response.getBody())
-                                    .getIssues())
-                     .map(res -> JiraIssue.builder()
-                                          .issueId(res.getId())
-                                          .key(res.getKey())
-                                          .browserUrl(JiraIssue.createBrowserUrl(jiraInfo.getBaseUrl(), res.getKey()))
-                                          .fields(JiraIssueFieldsResponse.buildJiraIssueFields(res))
-                                          .build())
-                     .collect(Collectors.toList());
+        return requestAllIssues(jiraInfo, startAt -> JiraApi.sprintIssuesUri(jiraInfo, sprintId, startAt));
     }
 
     @Override
-    public ConnectionResult testJiraConnection(JiraInfo jiraInfo) {
-        ConnectionResult connectionResult = ConnectionResult.builder()
-                                                            .connectionOk(true)
-                                                            .message("Connection successful")
-                                                            .build();
-        try {
-            requestActiveSprints(jiraInfo);
-        } catch (JiraConnectionRefusedException e) {
-            connectionResult.setConnectionOk(false);
-            connectionResult.setMessage("Could not connect to Jira server: " + e.getMessage());
-        } catch (JiraRestClientException e) {
-            connectionResult.setConnectionOk(false);
-            connectionResult.setMessage("Connection established, but something went wrong: " + e.getMessage());
-        } catch (Exception e) {
-            connectionResult.setConnectionOk(false);
-            connectionResult.setMessage(e.getMessage());
-        }
+    public Map<Long, List<JiraIssue>> getIssuesOfOpenSprints(JiraInfo jiraInfo) {
+        return JiraApi.groupBySprintId(requestAllIssues(jiraInfo,
+                                                        startAt -> JiraApi.openSprintIssuesUri(jiraInfo, startAt)));
+    }
 
-        return connectionResult;
+    @Override
+    public Optional<List<JiraIssue>> getIssuesUpdatedWithin(JiraInfo jiraInfo, Duration within) {
+        return JiraApi.toUpdatedJiraIssues(jiraInfo,
+                                           Objects.requireNonNull(requestBoardIssuesUpdatedWithin(jiraInfo, within)
+                                                                          .getBody()));
     }
 
+    @Override
+    public ConnectionResult testJiraConnection(JiraInfo jiraInfo) {
+        return JiraApi.testConnection(() -> requestActiveSprints(jiraInfo));
+    }
 
     private ResponseEntity<JiraActiveSprintResponse> requestActiveSprints(JiraInfo jiraInfo) {
-        HttpEntity<String> entity = getAuthorizationHttpEntity(jiraInfo);
-        String uri = String.format("%s/rest/agile/1.0/board/%s/sprint?state=active",
-                                   jiraInfo.getBaseUrl(),
-                                   jiraInfo.getBoardId());
+        return makeHttpRequest(jiraInfo, getAuthorizationHttpEntity(jiraInfo), JiraApi.activeSprintsUri(jiraInfo),
+                               JiraActiveSprintResponse.class);
+    }
 
-        return makeHttpRequest(jiraInfo, entity, uri, JiraActiveSprintResponse.class);
+    /**
+     * Pages after the first one are requested concurrently, up to the max in-flight requests of the Jira host
+     * @param pageUri URI of the page starting at the given index
+     */
+    private List<JiraIssue> requestAllIssues(JiraInfo jiraInfo, IntFunction<String> pageUri) {
+        JiraIssuesPage firstPage = requestIssuesPage(jiraInfo, pageUri.apply(0));
+        List<Supplier<JiraIssuesPage>> remainingPages =
+                JiraApi.remainingPageStarts(firstPage)
+                       .stream()
+                       .map(startAt -> (Supplier<JiraIssuesPage>) () -> requestIssuesPage(jiraInfo,
+                                                                                          pageUri.apply(startAt)))
+                       .collect(Collectors.toList());
+
+        List<JiraIssue> issues = new ArrayList<>(JiraApi.toJiraIssues(jiraInfo, firstPage));
+        if (!remainingPages.isEmpty()) {
+            int maxInFlight = properties.getLimit().getMaxInFlight(URI.create(jiraInfo.getBaseUrl()).getHost());
+            requestExecutor.invokeAll(remainingPages, maxInFlight)
+                           .forEach(page -> issues.addAll(JiraApi.toJiraIssues(jiraInfo, page)));
+        }
+        return issues;
     }
 
-    private ResponseEntity<JiraSprintIssuesResponse> requestSprintIssues(JiraInfo jiraInfo, Long sprintId) {
-        HttpEntity<String> entity = getAuthorizationHttpEntity(jiraInfo);
-        String uri = String.format("%s/rest/agile/1.0/sprint/%s/issue?maxResults=100",
-                                   jiraInfo.getBaseUrl(),
-                                   sprintId);
+    private JiraIssuesPage requestIssuesPage(JiraInfo jiraInfo, String uri) {
+        return Objects.requireNonNull(makeHttpRequest(jiraInfo, getAuthorizationHttpEntity(jiraInfo), uri,
+                                                      JiraIssuesPage.class).getBody());
+    }
 
-        return makeHttpRequest(jiraInfo, entity, uri, JiraSprintIssuesResponse.class);
+    private ResponseEntity<JiraIssuesPage> requestBoardIssuesUpdatedWithin(JiraInfo jiraInfo, Duration within) {
+        return makeHttpRequest(jiraInfo, getAuthorizationHttpEntity(jiraInfo),
+                               JiraApi.boardIssuesUpdatedWithinUri(jiraInfo, within),
+                               JiraIssuesPage.class);
     }
 
     private <T> ResponseEntity<T> makeHttpRequest(JiraInfo jiraInfo,
@@ -109,6 +117,9 @@ public class JiraRestClient implements JiraGateway {
         try {
             response = restTemplate.exchange(uri, HttpMethod.GET, entity, responseType);
         } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof ToolCircuitOpenException) {
+                throw new JiraConnectionRefusedException(e.getCause().getMessage());
+            }
             throw new JiraConnectionRefusedException(String.format("Connection refused for baseurl %s",
                                                                    jiraInfo.getBaseUrl()));
         } catch (HttpClientErrorException exception) {
@@ -122,12 +133,9 @@ public class JiraRestClient implements JiraGateway {
     }
 
     private HttpEntity<String> getAuthorizationHttpEntity(JiraInfo jiraInfo) {
-        String authBase = jiraInfo.getUserEmail() + ":" + jiraInfo.getToken();
-        String basicAuth = "Basic " + new String(Base64.getEncoder().encode(authBase.getBytes()));
-
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set(HttpHeaders.AUTHORIZATION, basicAuth);
+        headers.set(HttpHeaders.AUTHORIZATION, JiraApi.basicAuth(jiraInfo));
         return new HttpEntity<>(headers);
     }
 
@@ -0,0 +1,20 @@
+package com.pqd.adapters.jira.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.pqd.application.domain.jira.JiraIssue;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Page of a Jira issue search. Issues are read straight from the response stream, only the fields used by PQD are
+ * kept and issues have no browser URL yet.
+ */
+@Value(staticConstructor = "of")
+@JsonDeserialize(using = JiraIssuesPageDeserializer.class)
+public class JiraIssuesPage {
+
+    Integer total;
+
+    List<JiraIssue> issues;
+}
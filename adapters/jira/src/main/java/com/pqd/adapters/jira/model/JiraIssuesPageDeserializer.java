@@ -0,0 +1,138 @@
+package com.pqd.adapters.jira.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.pqd.application.domain.jira.JiraIssue;
+import com.pqd.application.domain.jira.JiraIssueFields;
+import com.pqd.application.domain.jira.JiraIssueType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a Jira issue search response token by token into JiraIssues. Fields other than the issue type and sprint
+ * are skipped without being parsed into objects, and issues of the same type share one JiraIssueFields instance.
+ */
+public class JiraIssuesPageDeserializer extends StdDeserializer<JiraIssuesPage> {
+
+    public JiraIssuesPageDeserializer() {
+        super(JiraIssuesPage.class);
+    }
+
+    @Override
+    public JiraIssuesPage deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        expect(context, parser.currentToken(), JsonToken.START_OBJECT);
+        Integer total = null;
+        List<JiraIssue> issues = new ArrayList<>();
+        Map<JiraIssueType, JiraIssueFields> fieldsByIssueType = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("total".equals(name) && value != JsonToken.VALUE_NULL) {
+                total = parser.getValueAsInt();
+            } else if ("issues".equals(name) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    issues.add(readIssue(parser, context, fieldsByIssueType));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return JiraIssuesPage.of(total, issues);
+    }
+
+    private JiraIssue readIssue(JsonParser parser, DeserializationContext context,
+                                Map<JiraIssueType, JiraIssueFields> fieldsByIssueType) throws IOException {
+        expect(context, parser.currentToken(), JsonToken.START_OBJECT);
+        JiraIssue.JiraIssueBuilder issue = JiraIssue.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(name)) {
+                issue.issueId(readLong(parser));
+            } else if ("key".equals(name)) {
+                issue.key(parser.getValueAsString());
+            } else if ("fields".equals(name) && value == JsonToken.START_OBJECT) {
+                readFields(parser, issue, fieldsByIssueType);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return issue.build();
+    }
+
+    private void readFields(JsonParser parser, JiraIssue.JiraIssueBuilder issue,
+                            Map<JiraIssueType, JiraIssueFields> fieldsByIssueType) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("issuetype".equals(name) && value == JsonToken.START_OBJECT) {
+                JiraIssueType issueType = readIssueType(parser);
+                issue.fields(fieldsByIssueType.computeIfAbsent(
+                        issueType, type -> JiraIssueFields.builder().issueType(type).build()));
+            } else if ("sprint".equals(name) && value == JsonToken.START_OBJECT) {
+                issue.sprintId(readObjectId(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private JiraIssueType readIssueType(JsonParser parser) throws IOException {
+        JiraIssueType.JiraIssueTypeBuilder issueType = JiraIssueType.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "id":
+                    issueType.issueId(readLong(parser));
+                    break;
+                case "description":
+                    issueType.description(parser.getValueAsString());
+                    break;
+                case "iconUrl":
+                    issueType.iconUrl(parser.getValueAsString());
+                    break;
+                case "name":
+                    issueType.name(parser.getValueAsString());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return issueType.build();
+    }
+
+    private Long readObjectId(JsonParser parser) throws IOException {
+        Long id = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if ("id".equals(name)) {
+                id = readLong(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Jira sends ids as strings
+     */
+    private static Long readLong(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsLong();
+    }
+
+    private static void expect(DeserializationContext context, JsonToken actual, JsonToken expected)
+            throws IOException {
+        if (actual != expected) {
+            context.reportWrongTokenException(JiraIssuesPage.class, expected, "Unexpected Jira issue search response");
+        }
+    }
+}
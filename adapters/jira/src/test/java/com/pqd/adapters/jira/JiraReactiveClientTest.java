@@ -0,0 +1,207 @@
+package com.pqd.adapters.jira;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.adapters.jira.model.JiraActiveSprintResponse;
+import com.pqd.adapters.jira.model.JiraSprintIssuesResponse;
+import com.pqd.application.domain.jira.JiraInfo;
+import com.pqd.application.domain.jira.JiraIssue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JiraReactiveClientTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ToolHttpProperties properties;
+    private List<ClientRequest> requests;
+
+    @BeforeEach
+    void setup() {
+        properties = new ToolHttpProperties();
+        requests = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void GIVEN_active_sprints_response_WHEN_active_sprints_requested_THEN_sprints_returned() {
+        JiraReactiveClient client = client(request -> Mono.just(json(TestDataGenerator.generateActiveSprintsResponse())));
+
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        assertThat(client.getActiveSprints(jiraInfo)).isEqualTo(TestDataGenerator.generateActiveSprintList());
+        assertThat(requests.get(0).url().toString()).isEqualTo(JiraApi.activeSprintsUri(jiraInfo));
+        assertThat(requests.get(0).headers().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo(JiraApi.basicAuth(jiraInfo));
+    }
+
+    @Test
+    void GIVEN_several_sprints_WHEN_issues_of_sprints_requested_THEN_requested_concurrently_in_sprint_order() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        JiraReactiveClient client = client(request -> Mono.defer(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return Mono.delay(Duration.ofMillis(100))
+                       .map(tick -> json(TestDataGenerator.generateSprintIssuesResponse()))
+                       .doOnTerminate(inFlight::decrementAndGet);
+        }));
+
+        Map<Long, List<JiraIssue>> actual =
+                client.getIssuesOfSprints(TestDataGenerator.generateJiraInfo(), List.of(7L, 3L, 5L));
+
+        assertThat(actual).containsOnlyKeys(7L, 3L, 5L);
+        assertThat(actual.keySet()).containsExactly(7L, 3L, 5L);
+        assertThat(actual.get(3L)).isEqualTo(TestDataGenerator.generateSprintIssuesList());
+        assertThat(maxInFlight.get()).isEqualTo(3);
+    }
+
+    @Test
+    void GIVEN_max_in_flight_of_host_WHEN_issues_of_sprints_requested_THEN_concurrent_requests_bounded() {
+        properties.getLimit().setMaxInFlight(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        JiraReactiveClient client = client(request -> Mono.defer(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return Mono.delay(Duration.ofMillis(20))
+                       .map(tick -> json(TestDataGenerator.generateSprintIssuesResponse()))
+                       .doOnTerminate(inFlight::decrementAndGet);
+        }));
+
+        client.getIssuesOfSprints(TestDataGenerator.generateJiraInfo(), List.of(7L, 3L, 5L));
+
+        assertThat(maxInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    void GIVEN_several_sprints_with_several_pages_WHEN_issues_of_sprints_requested_THEN_requests_bounded_over_all_pages() {
+        properties.getLimit().setMaxInFlight(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        JiraReactiveClient client = client(request -> Mono.defer(() -> {
+            int startAt = Integer.parseInt(request.url().getQuery().replaceAll(".*startAt=(\\d+).*", "$1"));
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return Mono.delay(Duration.ofMillis(20))
+                       .map(tick -> json(TestDataGenerator.generateSprintIssuesPage(startAt, 2, 6)))
+                       .doOnTerminate(inFlight::decrementAndGet);
+        }));
+
+        Map<Long, List<JiraIssue>> actual =
+                client.getIssuesOfSprints(TestDataGenerator.generateJiraInfo(), List.of(7L, 3L, 5L));
+
+        assertThat(actual.keySet()).containsExactly(7L, 3L, 5L);
+        assertThat(actual.get(5L)).extracting(JiraIssue::getKey)
+                                  .containsExactly("PT-0", "PT-1", "PT-2", "PT-3", "PT-4", "PT-5");
+        assertThat(requests).hasSize(9);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void GIVEN_issue_page_received_in_chunks_WHEN_issues_of_sprint_requested_THEN_chunks_parsed_into_issues()
+            throws JsonProcessingException {
+        byte[] page = objectMapper.writeValueAsBytes(TestDataGenerator.generateSprintIssuesPage(0, 3, 3));
+        DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+        Flux<DataBuffer> chunks = Flux.range(0, (page.length + 15) / 16)
+                                      .map(chunk -> bufferFactory.wrap(Arrays.copyOfRange(
+                                              page, chunk * 16, Math.min(page.length, chunk * 16 + 16))));
+        JiraReactiveClient client = client(request -> Mono.just(
+                ClientResponse.create(HttpStatus.OK)
+                              .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                              .body(chunks)
+                              .build()));
+
+        List<JiraIssue> actual = client.getSprintIssues(TestDataGenerator.generateJiraInfo(), 1L);
+
+        assertThat(actual).extracting(JiraIssue::getKey).containsExactly("PT-0", "PT-1", "PT-2");
+    }
+
+    @Test
+    void GIVEN_more_issues_than_fit_into_page_WHEN_issues_of_sprint_requested_THEN_all_pages_returned_in_order() {
+        JiraReactiveClient client = client(request -> {
+            int startAt = Integer.parseInt(request.url().getQuery().replaceAll(".*startAt=(\\d+).*", "$1"));
+            // Later pages answer first
+            return Mono.delay(Duration.ofMillis(100L - startAt * 10L))
+                       .map(tick -> json(TestDataGenerator.generateSprintIssuesPage(startAt, 2, 5)));
+        });
+
+        List<JiraIssue> actual = client.getSprintIssues(TestDataGenerator.generateJiraInfo(), 1L);
+
+        assertThat(actual).extracting(JiraIssue::getKey).containsExactly("PT-0", "PT-1", "PT-2", "PT-3", "PT-4");
+        assertThat(requests).hasSize(3);
+    }
+
+    @Test
+    void GIVEN_issues_of_open_sprints_on_several_pages_WHEN_issues_of_open_sprints_requested_THEN_grouped_by_sprint() {
+        JiraReactiveClient client = client(request -> {
+            int startAt = Integer.parseInt(request.url().getQuery().replaceAll(".*startAt=(\\d+).*", "$1"));
+            JiraSprintIssuesResponse page = TestDataGenerator.generateSprintIssuesPage(startAt, 2, 4);
+            JiraActiveSprintResponse.JiraSprint sprint = new JiraActiveSprintResponse.JiraSprint();
+            sprint.setId(startAt == 0 ? 7L : 8L);
+            page.getIssues()[0].getFields().setSprint(sprint);
+            return Mono.just(json(page));
+        });
+
+        Map<Long, List<JiraIssue>> actual = client.getIssuesOfOpenSprints(TestDataGenerator.generateJiraInfo());
+
+        assertThat(actual.keySet()).containsExactly(7L, 8L);
+        assertThat(actual.get(8L)).extracting(JiraIssue::getKey).containsExactly("PT-2");
+        assertThat(requests).extracting(request -> request.url().getPath())
+                            .containsOnly("/rest/agile/1.0/board/1/issue");
+    }
+
+    @Test
+    void GIVEN_invalid_token_WHEN_jira_connection_tested_THEN_corresponding_result_returned() {
+        JiraReactiveClient client = client(request -> Mono.just(ClientResponse.create(HttpStatus.UNAUTHORIZED).build()));
+
+        assertThat(client.testJiraConnection(TestDataGenerator.generateJiraInfo()))
+                .isEqualTo(TestDataGenerator.generateConnectionResult_wrongToken());
+    }
+
+    @Test
+    void GIVEN_unreachable_server_WHEN_jira_connection_tested_THEN_corresponding_result_returned() {
+        JiraReactiveClient client = client(request -> Mono.error(new ConnectException("Connection refused")));
+
+        assertThat(client.testJiraConnection(TestDataGenerator.generateJiraInfo()))
+                .isEqualTo(TestDataGenerator.generateConnectionResult_wrongBaseUrl());
+    }
+
+    private JiraReactiveClient client(ExchangeFunction exchangeFunction) {
+        WebClient webClient = WebClient.builder()
+                                       .exchangeFunction(request -> {
+                                           requests.add(request);
+                                           return exchangeFunction.exchange(request);
+                                       })
+                                       .build();
+        return new JiraReactiveClient(webClient, properties);
+    }
+
+    private ClientResponse json(Object body) {
+        try {
+            return ClientResponse.create(HttpStatus.OK)
+                                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                 .body(objectMapper.writeValueAsString(body))
+                                 .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
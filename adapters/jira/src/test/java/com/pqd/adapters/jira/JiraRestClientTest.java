@@ -1,11 +1,15 @@
 package com.pqd.adapters.jira;
 
+import com.pqd.adapters.common.ToolHttpProperties;
+import com.pqd.adapters.common.ToolRequestExecutor;
 import com.pqd.adapters.jira.model.JiraActiveSprintResponse;
-import com.pqd.adapters.jira.model.JiraSprintIssuesResponse;
+import com.pqd.adapters.jira.model.JiraIssuesPage;
 import com.pqd.application.domain.connection.ConnectionResult;
 import com.pqd.application.domain.jira.JiraInfo;
 import com.pqd.application.domain.jira.JiraIssue;
 import com.pqd.application.domain.jira.JiraSprint;
+import com.pqd.application.usecase.collection.CollectionQueueProperties;
+import com.pqd.application.usecase.release.CollectionProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -18,12 +22,17 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class JiraRestClientTest {
@@ -34,7 +43,10 @@ public class JiraRestClientTest {
     @BeforeEach
     void setup() {
         restTemplate = mock(RestTemplate.class);
-        restClient = new JiraRestClient(restTemplate);
+        ToolRequestExecutor requestExecutor = new ToolRequestExecutor(new ToolHttpProperties(),
+                                                                      new CollectionProperties(),
+                                                                      new CollectionQueueProperties());
+        restClient = new JiraRestClient(restTemplate, new ToolHttpProperties(), requestExecutor);
         MockitoAnnotations.initMocks(this);
     }
 
@@ -58,15 +70,16 @@ public class JiraRestClientTest {
 
     @Test
     void GIVEN_all_good_WHEN_jira_sprint_issues_requested_THEN_active_sprints_returned() {
-        JiraSprintIssuesResponse jiraSprintIssuesResponse = TestDataGenerator.generateSprintIssuesResponse();
+        JiraIssuesPage jiraIssuesPage =
+                TestDataGenerator.toIssuesPage(TestDataGenerator.generateSprintIssuesResponse());
         List<JiraIssue> expected = TestDataGenerator.generateSprintIssuesList();
         JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
-        ResponseEntity<JiraSprintIssuesResponse> responseEntity =
-                new ResponseEntity<>(jiraSprintIssuesResponse, HttpStatus.OK);
+        ResponseEntity<JiraIssuesPage> responseEntity =
+                new ResponseEntity<>(jiraIssuesPage, HttpStatus.OK);
         when(restTemplate.exchange(ArgumentMatchers.anyString(),
                                    any(HttpMethod.class),
                                    any(),
-                                   ArgumentMatchers.<Class<JiraSprintIssuesResponse>>any()))
+                                   ArgumentMatchers.<Class<JiraIssuesPage>>any()))
                 .thenReturn(responseEntity);
 
         List<JiraIssue> actual = restClient.getSprintIssues(jiraInfo, 1L);
@@ -74,6 +87,87 @@ public class JiraRestClientTest {
         assertThat(expected).isEqualTo(actual);
     }
 
+    @Test
+    void GIVEN_more_issues_than_fit_into_page_WHEN_jira_sprint_issues_requested_THEN_all_pages_returned_in_order() {
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        when(restTemplate.exchange(ArgumentMatchers.anyString(),
+                                   any(HttpMethod.class),
+                                   any(),
+                                   ArgumentMatchers.<Class<JiraIssuesPage>>any()))
+                .thenAnswer(invocation -> {
+                    String uri = invocation.getArgument(0);
+                    int startAt = Integer.parseInt(uri.replaceAll(".*startAt=(\\d+).*", "$1"));
+                    // Later pages answer first
+                    Thread.sleep(100L - startAt * 10L);
+                    return new ResponseEntity<>(TestDataGenerator.toIssuesPage(
+                            TestDataGenerator.generateSprintIssuesPage(startAt, 2, 5)),
+                                                HttpStatus.OK);
+                });
+
+        List<JiraIssue> actual = restClient.getSprintIssues(jiraInfo, 1L);
+
+        assertThat(actual).extracting(JiraIssue::getKey).containsExactly("PT-0", "PT-1", "PT-2", "PT-3", "PT-4");
+        verify(restTemplate).exchange(eq("https://pqdunittest.atlassian.net/rest/agile/1.0/sprint/1/issue"
+                                         + "?fields=issuetype&startAt=4&maxResults=100"),
+                                      eq(HttpMethod.GET), any(), eq(JiraIssuesPage.class));
+    }
+
+    @Test
+    void GIVEN_issues_of_open_sprints_WHEN_issues_of_open_sprints_requested_THEN_one_board_query_grouped_by_sprint() {
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        when(restTemplate.exchange(ArgumentMatchers.anyString(),
+                                   any(HttpMethod.class),
+                                   any(),
+                                   ArgumentMatchers.<Class<JiraIssuesPage>>any()))
+                .thenReturn(new ResponseEntity<>(TestDataGenerator.toIssuesPage(
+                        TestDataGenerator.generateUpdatedBoardIssuesResponse(2)),
+                                                 HttpStatus.OK));
+
+        Map<Long, List<JiraIssue>> actual = restClient.getIssuesOfOpenSprints(jiraInfo);
+
+        verify(restTemplate).exchange(eq(String.format("%s/rest/agile/1.0/board/%s/issue?jql=sprint in openSprints()"
+                                                       + "&fields=issuetype,sprint&startAt=0&maxResults=100",
+                                                       jiraInfo.getBaseUrl(), jiraInfo.getBoardId())),
+                                      eq(HttpMethod.GET), any(), eq(JiraIssuesPage.class));
+        assertThat(actual).containsOnlyKeys(4L);
+        assertThat(actual.get(4L)).extracting(JiraIssue::getKey).containsExactly("PT-1");
+    }
+
+    @Test
+    void GIVEN_updated_issues_WHEN_board_issues_updated_within_requested_THEN_issues_with_sprints_returned() {
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        when(restTemplate.exchange(ArgumentMatchers.anyString(),
+                                   any(HttpMethod.class),
+                                   any(),
+                                   ArgumentMatchers.<Class<JiraIssuesPage>>any()))
+                .thenReturn(new ResponseEntity<>(TestDataGenerator.toIssuesPage(
+                        TestDataGenerator.generateUpdatedBoardIssuesResponse(2)),
+                                                 HttpStatus.OK));
+
+        Optional<List<JiraIssue>> actual = restClient.getIssuesUpdatedWithin(jiraInfo, Duration.ofSeconds(630));
+
+        verify(restTemplate).exchange(eq(String.format("%s/rest/agile/1.0/board/%s/issue?jql=updated>=-11m"
+                                                       + "&fields=issuetype,sprint&maxResults=100",
+                                                       jiraInfo.getBaseUrl(), jiraInfo.getBoardId())),
+                                      eq(HttpMethod.GET), any(), eq(JiraIssuesPage.class));
+        assertThat(actual).isPresent();
+        assertThat(actual.get()).extracting(JiraIssue::getSprintId).containsExactly(4L, null);
+    }
+
+    @Test
+    void GIVEN_more_updated_issues_than_returned_WHEN_board_issues_updated_within_requested_THEN_empty_returned() {
+        when(restTemplate.exchange(ArgumentMatchers.anyString(),
+                                   any(HttpMethod.class),
+                                   any(),
+                                   ArgumentMatchers.<Class<JiraIssuesPage>>any()))
+                .thenReturn(new ResponseEntity<>(TestDataGenerator.toIssuesPage(
+                        TestDataGenerator.generateUpdatedBoardIssuesResponse(250)),
+                                                 HttpStatus.OK));
+
+        assertThat(restClient.getIssuesUpdatedWithin(TestDataGenerator.generateJiraInfo(), Duration.ofMinutes(10)))
+                .isEmpty();
+    }
+
     @Test
     void GIVEN_request_error_WHEN_jira_active_sprints_requested_THEN_jira_rest_client_exception_thrown() {
         JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
@@ -1,8 +1,10 @@
 package com.pqd.adapters.jira;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pqd.adapters.jira.model.*;
 import com.pqd.application.domain.connection.ConnectionResult;
 import com.pqd.application.domain.jira.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -16,6 +18,8 @@ import java.util.List;
  */
 public class TestDataGenerator {
 
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
     public static JiraInfo generateJiraInfo() {
         return JiraInfo.builder()
                        .userEmail("user@mail.com")
@@ -89,7 +93,7 @@ public class TestDataGenerator {
                                                                             "issue description",
                                                                             "https://pqdunittest.atlassian.net/blablabla/icon",
                                                                             "issue name"
-                                                  )));
+                                                  ), null));
         issues[1] = new JiraIssueResponse(1002L,
                                           "PT-2",
                                           new JiraIssueFieldsResponse(
@@ -98,8 +102,45 @@ public class TestDataGenerator {
                                                                             "issue description 2",
                                                                             "https://pqdunittest.atlassian.net/blablabla/icon2",
                                                                             "issue name 2"
-                                                  )));
-        return new JiraSprintIssuesResponse(issues);
+                                                  ), null));
+        return new JiraSprintIssuesResponse(issues, issues.length);
+    }
+
+    /**
+     * Page of issues PT-startAt... with page size issues at most
+     */
+    public static JiraSprintIssuesResponse generateSprintIssuesPage(int startAt, int pageSize, int total) {
+        int size = Math.min(pageSize, total - startAt);
+        JiraIssueResponse[] issues = new JiraIssueResponse[size];
+        for (int i = 0; i < size; i++) {
+            long id = startAt + i;
+            issues[i] = new JiraIssueResponse(id,
+                                              "PT-" + id,
+                                              new JiraIssueFieldsResponse(
+                                                      new JiraIssueTypeResponse(1001L,
+                                                                                1001L,
+                                                                                "issue description",
+                                                                                "https://pqdunittest.atlassian.net/blablabla/icon",
+                                                                                "issue name"
+                                                      ), null));
+        }
+        return new JiraSprintIssuesResponse(issues, total);
+    }
+
+    public static JiraSprintIssuesResponse generateUpdatedBoardIssuesResponse(Integer total) {
+        JiraSprintIssuesResponse response = generateSprintIssuesResponse();
+        JiraActiveSprintResponse.JiraSprint sprint = new JiraActiveSprintResponse.JiraSprint();
+        sprint.setId(4L);
+        response.getIssues()[0].getFields().setSprint(sprint);
+        response.setTotal(total);
+        return response;
+    }
+
+    /**
+     * Page read from the JSON of the response, as the Jira gateways get it
+     */
+    public static JiraIssuesPage toIssuesPage(JiraSprintIssuesResponse response) {
+        return OBJECT_MAPPER.convertValue(response, JiraIssuesPage.class);
     }
 
     public static List<JiraIssue> generateSprintIssuesList() {
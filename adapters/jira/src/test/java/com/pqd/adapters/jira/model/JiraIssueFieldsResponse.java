@@ -0,0 +1,20 @@
+package com.pqd.adapters.jira.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class JiraIssueFieldsResponse {
+
+    @JsonProperty(value = "issuetype")
+    JiraIssueTypeResponse issueType;
+
+    /**
+     * Open sprint of the issue, only returned by board issue queries
+     */
+    JiraActiveSprintResponse.JiraSprint sprint;
+}
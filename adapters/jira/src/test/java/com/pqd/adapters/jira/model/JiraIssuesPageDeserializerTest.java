@@ -0,0 +1,54 @@
+package com.pqd.adapters.jira.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.pqd.application.domain.jira.JiraIssue;
+import com.pqd.application.domain.jira.JiraIssueType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JiraIssuesPageDeserializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void GIVEN_jira_search_response_WHEN_read_THEN_only_used_fields_kept() throws IOException {
+        String json = "{\"expand\":\"schema,names\",\"startAt\":0,\"maxResults\":100,\"total\":3,\"issues\":["
+                      + "{\"id\":\"10001\",\"self\":\"https://jira/rest/api/2/issue/10001\",\"key\":\"PT-1\","
+                      + "\"fields\":{\"description\":{\"type\":\"doc\",\"content\":[{\"type\":\"text\"}]},"
+                      + "\"issuetype\":{\"id\":\"10002\",\"description\":\"A task\",\"iconUrl\":\"https://jira/icon\","
+                      + "\"name\":\"Task\",\"subtask\":false,\"avatarId\":10318},"
+                      + "\"sprint\":{\"id\":4,\"state\":\"active\",\"name\":\"Sprint 4\"},"
+                      + "\"customfield_10020\":[{\"id\":4}]}},"
+                      + "{\"id\":\"10002\",\"key\":\"PT-2\",\"fields\":{\"issuetype\":{\"id\":\"10002\","
+                      + "\"description\":\"A task\",\"iconUrl\":\"https://jira/icon\",\"name\":\"Task\"},"
+                      + "\"sprint\":null}},"
+                      + "{\"id\":\"10003\",\"key\":\"PT-3\",\"fields\":{}}]}";
+
+        JiraIssuesPage actual = objectMapper.readValue(json, JiraIssuesPage.class);
+
+        assertThat(actual.getTotal()).isEqualTo(3);
+        assertThat(actual.getIssues()).extracting(JiraIssue::getIssueId).containsExactly(10001L, 10002L, 10003L);
+        assertThat(actual.getIssues()).extracting(JiraIssue::getSprintId).containsExactly(4L, null, null);
+        assertThat(actual.getIssues().get(0).getFields().getIssueType())
+                .isEqualTo(JiraIssueType.builder()
+                                        .issueId(10002L)
+                                        .description("A task")
+                                        .iconUrl("https://jira/icon")
+                                        .name("Task")
+                                        .build());
+        assertThat(actual.getIssues().get(1).getFields()).isSameAs(actual.getIssues().get(0).getFields());
+        assertThat(actual.getIssues().get(2).getFields()).isNull();
+    }
+
+    @Test
+    void GIVEN_response_not_an_object_WHEN_read_THEN_exception_thrown() {
+        assertThatThrownBy(() -> objectMapper.readValue("[]", JiraIssuesPage.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+}
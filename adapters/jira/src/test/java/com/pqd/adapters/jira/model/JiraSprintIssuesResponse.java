@@ -4,10 +4,15 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Jira issue search response as Jira sends it, tests serialize it into the JSON read by {@link JiraIssuesPage}
+ */
 @Data
 @RequiredArgsConstructor
 @AllArgsConstructor
 public class JiraSprintIssuesResponse {
 
     JiraIssueResponse[] issues;
+
+    Integer total;
 }
@@ -1,16 +1,35 @@
 package com.pqd.adapters.messaging;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pqd.adapters.messaging.async.AsyncService;
+import com.pqd.adapters.messaging.async.SonarqubeBackfillService;
+import com.pqd.adapters.messaging.async.SonarqubePrefetchService;
+import com.pqd.adapters.messaging.json.CollectionJobJson;
+import com.pqd.adapters.messaging.json.JiraWebhookJson;
+import com.pqd.adapters.messaging.json.SonarqubeWebhookJson;
+import com.pqd.adapters.messaging.json.TriggerRequestJson;
+import com.pqd.adapters.messaging.json.TriggerResultJson;
+import com.pqd.adapters.messaging.webhook.WebhookProperties;
+import com.pqd.adapters.messaging.webhook.WebhookSignatures;
+import com.pqd.application.domain.collection.CollectionJob;
 import com.pqd.application.domain.product.Product;
+import com.pqd.application.usecase.collection.EnqueueCollectionJob;
+import com.pqd.application.usecase.collection.GetCollectionJob;
+import com.pqd.application.usecase.jira.ApplyJiraBoardEvent;
+import com.pqd.application.usecase.product.FindProducts;
 import com.pqd.application.usecase.product.GetProduct;
+import com.pqd.application.usecase.sonarqube.CollectAnalyzedSonarqubeComponent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.Base64;
-import java.util.Map;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("api/messaging")
@@ -18,25 +37,250 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class MessagingController {
 
+    static final int MAX_BATCH_SIZE = 1000;
+
+    static final String SONARQUBE_SIGNATURE_HEADER = "X-Sonar-Webhook-HMAC-SHA256";
+
+    static final String JIRA_SIGNATURE_HEADER = "X-Hub-Signature";
+
+    static final String JIRA_SIGNATURE_PREFIX = "sha256=";
+
     private final AsyncService asyncService;
 
     private final GetProduct getProduct;
 
+    private final FindProducts findProducts;
+
+    private final GetCollectionJob getCollectionJob;
+
+    private final SonarqubeBackfillService sonarqubeBackfillService;
+
+    private final CollectAnalyzedSonarqubeComponent collectAnalyzedSonarqubeComponent;
+
+    private final SonarqubePrefetchService sonarqubePrefetchService;
+
+    private final ApplyJiraBoardEvent applyJiraBoardEvent;
+
+    private final WebhookProperties webhookProperties;
+
+    private final ObjectMapper objectMapper;
+
     /**
-     * Runs asynchronously. Response 200 means the controller got the request and started async thread
+     * Runs asynchronously. Response 200 means the controller got the request and queued the collection job
      * Requires Basic authorization header
      * @param productId id for which product collection is triggered
-     * @return HTTP status 200 if ok
+     * @return HTTP status 200 with the id of the queued job if ok, 429 with Retry-After header if the collection
+     * queue is full
      */
     @PostMapping("/trigger")
-    public ResponseEntity<String> triggerReleaseInfoCollection(@RequestHeader Map<String, String> headers, @RequestParam Long productId) {
+    public ResponseEntity<TriggerResultJson> triggerReleaseInfoCollection(@RequestHeader Map<String, String> headers, @RequestParam Long productId) {
+        if (!isValidToken(productId, getAuthorizationHeader(headers))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(rejected(productId, "Invalid token"));
+        }
+
+        CollectionJob collectionJob = asyncService.asyncExecution(productId);
+
+        return ResponseEntity.ok(accepted(productId, collectionJob));
+    }
+
+    /**
+     * Status of a collection job with the durations of its stages
+     * Requires Basic authorization header with the token of the product the job collects
+     * @param jobId id returned by the trigger
+     * @return HTTP status 200 with the job status if ok, 401 if the header is missing, the job does not exist or the
+     * token is not the token of the job's product
+     */
+    @GetMapping("/job/{jobId}")
+    public ResponseEntity<CollectionJobJson> getCollectionJob(@RequestHeader Map<String, String> headers,
+                                                              @PathVariable Long jobId) {
+        Optional<String> authorizationHeader = findAuthorizationHeader(headers);
+        if (!authorizationHeader.isPresent()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        GetCollectionJob.Response response;
+        try {
+            response = getCollectionJob.execute(GetCollectionJob.Request.of(jobId));
+        } catch (GetCollectionJob.CollectionJobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!isValidToken(response.getCollectionJob().getProductId(), authorizationHeader.get())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(CollectionJobJson.buildResultJson(response.getCollectionJob(), response.getStages()));
+    }
+
+    /**
+     * Runs asynchronously. Loads the Sonarqube measure history before the first release info of the product into its
+     * release info history, a backfill started again continues after the last saved analyses
+     * Requires Basic authorization header
+     * @param productId id for which product the history is backfilled
+     * @return HTTP status 202 if the backfill was started, 400 if the product has no Sonarqube info
+     */
+    @PostMapping("/backfill/sonarqube")
+    public ResponseEntity<String> backfillSonarqubeHistory(@RequestHeader Map<String, String> headers,
+                                                           @RequestParam Long productId) {
         if (!isValidToken(productId, getAuthorizationHeader(headers))) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
         }
+        Product product = getProduct.execute(GetProduct.Request.of(productId)).getProduct();
+        if (!product.hasValidSonarqubeInfo()) {
+            return ResponseEntity.badRequest()
+                                 .body(String.format("Product with id %s has no Sonarqube info", productId));
+        }
+
+        sonarqubeBackfillService.asyncBackfill(productId);
+
+        return ResponseEntity.accepted()
+                             .body(String.format("Sonarqube history backfill started for product with id %s",
+                                                 productId));
+    }
+
+    /**
+     * Sonarqube webhook, called by Sonarqube when an analysis has been processed. Queues collections for the products
+     * on the sending server with the analyzed project key as component name and prefetches their measures
+     * asynchronously. Failed analyses and analyses of other branches than the main one are ignored.
+     * Requires the X-Sonar-Webhook-HMAC-SHA256 header, the body signed with pqd.webhook.sonarqube.secret
+     * @param body webhook payload, the signature is checked against the raw bytes
+     * @return HTTP status 200 with the accepted/rejected result for every product of the project, 401 if the
+     * signature is invalid
+     */
+    @PostMapping("/webhook/sonarqube")
+    public ResponseEntity<List<TriggerResultJson>> handleSonarqubeWebhook(
+            @RequestHeader(value = SONARQUBE_SIGNATURE_HEADER, required = false) String signature,
+            @RequestBody byte[] body) {
+        if (!WebhookSignatures.isValidHmacSha256(webhookProperties.getSonarqube().getSecret(), body, signature)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        SonarqubeWebhookJson webhook = readWebhook(body, SonarqubeWebhookJson.class);
+        if (!webhook.isSuccessfulMainBranchAnalysis()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        CollectAnalyzedSonarqubeComponent.Response response = collectAnalyzedSonarqubeComponent.execute(
+                CollectAnalyzedSonarqubeComponent.Request.of(webhook.getServerUrl(), webhook.getProject().getKey()));
+        if (response.isPrefetchExpected()) {
+            sonarqubePrefetchService.asyncPrefetch();
+        }
+
+        List<TriggerResultJson> results = new ArrayList<>();
+        response.getCollectionJobs().forEach((productId, collectionJob) -> results.add(accepted(productId,
+                                                                                                collectionJob)));
+        response.getRejected().forEach((productId, message) -> results.add(rejected(productId, message)));
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Jira webhook for the sprint started/updated/closed and issue created/updated/deleted events. Applies the change
+     * to the synced sprints and issues of the boards of the Jira server, which collections use instead of asking Jira
+     * when pqd.collection.jira-webhook-sync is on.
+     * Requires the X-Hub-Signature header, "sha256=" and the body signed with pqd.webhook.jira.secret
+     * @param body webhook payload, the signature is checked against the raw bytes
+     * @return HTTP status 204 if the event was applied or ignored, 401 if the signature is invalid
+     */
+    @PostMapping("/webhook/jira")
+    public ResponseEntity<Void> handleJiraWebhook(
+            @RequestHeader(value = JIRA_SIGNATURE_HEADER, required = false) String signature,
+            @RequestBody byte[] body) {
+        String signatureHex = signature != null && signature.startsWith(JIRA_SIGNATURE_PREFIX)
+                              ? signature.substring(JIRA_SIGNATURE_PREFIX.length()) : null;
+        if (!WebhookSignatures.isValidHmacSha256(webhookProperties.getJira().getSecret(), body, signatureHex)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        readWebhook(body, JiraWebhookJson.class).toJiraBoardEvent()
+                                                .ifPresent(event -> applyJiraBoardEvent.execute(
+                                                        ApplyJiraBoardEvent.Request.of(event)));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Batch version of the trigger for callers that trigger many products at once. All products are looked up with
+     * one query and every distinct product is collected at most once, no matter how many times it is listed.
+     * Does not require authorization header, each product is authorized with the token given next to its id.
+     * @param requestJson product ids with their tokens
+     * @return HTTP status 200 with the accepted/rejected result for every distinct product, 429 with Retry-After
+     * header if some products were rejected because the collection queue is full
+     */
+    @PostMapping("/trigger/batch")
+    public ResponseEntity<List<TriggerResultJson>> triggerBatchReleaseInfoCollection(
+            @RequestBody List<TriggerRequestJson> requestJson) {
+        checkBatchRequest(requestJson);
+
+        Map<Long, List<String>> tokensByProductId =
+                requestJson.stream().collect(Collectors.groupingBy(TriggerRequestJson::getProductId,
+                                                                   LinkedHashMap::new,
+                                                                   Collectors.mapping(TriggerRequestJson::getToken,
+                                                                                      Collectors.toList())));
+        Map<Long, Product> productsById =
+                findProducts.execute(FindProducts.Request.of(new ArrayList<>(tokensByProductId.keySet())))
+                            .getProducts()
+                            .stream()
+                            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<TriggerResultJson> results = new ArrayList<>();
+        List<EnqueueCollectionJob.CollectionQueueFullException> queueFullExceptions = new ArrayList<>();
+        tokensByProductId.forEach((productId, tokens) -> {
+            Product product = productsById.get(productId);
+            if (product == null) {
+                results.add(rejected(productId, String.format("Product with id %s not found", productId)));
+            } else if (!tokens.stream().allMatch(token -> isValidToken(product, token))) {
+                results.add(rejected(productId, "Invalid token"));
+            } else {
+                try {
+                    results.add(accepted(productId, asyncService.asyncExecution(productId)));
+                } catch (EnqueueCollectionJob.CollectionQueueFullException e) {
+                    queueFullExceptions.add(e);
+                    results.add(rejected(productId, e.getMessage()));
+                }
+            }
+        });
+
+        if (!queueFullExceptions.isEmpty()) {
+            long retryAfterSeconds = queueFullExceptions.stream()
+                                                        .mapToLong(EnqueueCollectionJob.CollectionQueueFullException::getRetryAfterSeconds)
+                                                        .max()
+                                                        .getAsLong();
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                 .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                                 .body(results);
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    private void checkBatchRequest(List<TriggerRequestJson> requestJson) {
+        if (requestJson == null || requestJson.isEmpty() || requestJson.size() > MAX_BATCH_SIZE
+            || requestJson.stream().anyMatch(trigger -> trigger == null || trigger.getProductId() == null)) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST,
+                                               String.format("Batch must contain 1 to %s triggers with product ids",
+                                                             MAX_BATCH_SIZE));
+        }
+    }
+
+    private TriggerResultJson accepted(Long productId, CollectionJob collectionJob) {
+        return TriggerResultJson.builder()
+                                .productId(productId)
+                                .accepted(true)
+                                .jobId(collectionJob.getId())
+                                .message(String.format("Release info collection started for product with id %s",
+                                                       productId))
+                                .build();
+    }
+
+    private TriggerResultJson rejected(Long productId, String message) {
+        return TriggerResultJson.builder().productId(productId).accepted(false).message(message).build();
+    }
 
-        asyncService.asyncExecution(productId);
+    private <T> T readWebhook(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Invalid webhook payload");
+        }
+    }
 
-        return ResponseEntity.ok(String.format("Release info collection started for product with id %s", productId));
+    private boolean isValidToken(Product product, String token) {
+        return token != null && token.equals(product.getToken());
     }
 
     private boolean isValidToken(Long productId, String authorizationHeader) {
@@ -47,26 +291,41 @@ public class MessagingController {
     }
 
     private String getAuthorizationHeader(Map<String, String> headers) {
+        return findAuthorizationHeader(headers)
+                .orElseThrow(() -> new RuntimeException("Exception with authorization header"));
+    }
+
+    private Optional<String> findAuthorizationHeader(Map<String, String> headers) {
         String startingUppercase = headers.get(HttpHeaders.AUTHORIZATION);
         String lowercase = headers.get(HttpHeaders.AUTHORIZATION.toLowerCase());
         String uppercase = headers.get(HttpHeaders.AUTHORIZATION.toUpperCase());
 
         if (startingUppercase != null) {
-            return startingUppercase;
+            return Optional.of(startingUppercase);
         } else if (lowercase != null) {
-            return lowercase;
-        } else if (uppercase != null) {
-            return uppercase;
+            return Optional.of(lowercase);
         } else {
-            throw new RuntimeException("Exception with authorization header");
+            return Optional.ofNullable(uppercase);
         }
     }
 
-    @ExceptionHandler({GetProduct.ProductNotFoundException.class})
+    @ExceptionHandler({GetProduct.ProductNotFoundException.class, GetCollectionJob.CollectionJobNotFoundException.class})
     public ResponseEntity<?> handleProductNotFoundException(Exception e) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
+    @ExceptionHandler({EnqueueCollectionJob.CollectionQueueFullException.class})
+    public ResponseEntity<?> handleCollectionQueueFullException(EnqueueCollectionJob.CollectionQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                             .body(e.getMessage());
+    }
+
+    @ExceptionHandler({HttpClientErrorException.class})
+    public ResponseEntity<?> handleClientErrorException(HttpClientErrorException e) {
+        return ResponseEntity.status(e.getStatusCode()).body(e.getStatusText());
+    }
+
     @ExceptionHandler({Exception.class})
     public ResponseEntity<?> handleException(Exception e) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
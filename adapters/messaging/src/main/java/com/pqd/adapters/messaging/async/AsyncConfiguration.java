@@ -1,23 +1,43 @@
 package com.pqd.adapters.messaging.async;
 
+import com.pqd.application.usecase.VirtualThreads;
+import com.pqd.application.usecase.collection.CollectionQueueProperties;
+import com.pqd.application.usecase.release.CollectionProperties;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
+@Slf4j
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsyncConfiguration
 {
     @Bean(name = "asyncExecutor")
-    public Executor asyncExecutor()
+    public Executor asyncExecutor(CollectionProperties collectionProperties, CollectionQueueProperties properties)
     {
+        if (collectionProperties.isVirtualThreads()) {
+            Optional<ExecutorService> virtualThreadExecutor = VirtualThreads.newThreadPerTaskExecutor("AsyncThread-");
+            if (virtualThreadExecutor.isPresent()) {
+                log.info("Running collections on virtual threads");
+                return virtualThreadExecutor.get();
+            }
+            log.warn("Virtual threads requested, but not supported by the JDK. Running collections on {} threads",
+                     properties.getWorkers());
+        }
+
+        // Collection jobs wait in the database queue, the executor only runs the jobs claimed by the workers
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(3);
-        executor.setMaxPoolSize(3);
-        executor.setQueueCapacity(100);
+        executor.setCorePoolSize(properties.getWorkers());
+        executor.setMaxPoolSize(properties.getWorkers());
+        executor.setQueueCapacity(properties.getWorkers());
         executor.setThreadNamePrefix("AsyncThread-");
         executor.initialize();
         return executor;
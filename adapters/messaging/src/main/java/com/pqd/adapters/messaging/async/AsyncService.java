@@ -1,18 +1,58 @@
 package com.pqd.adapters.messaging.async;
 
-import com.pqd.application.usecase.release.CollectAndSaveAllReleaseData;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.usecase.collection.EnqueueCollectionJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
+/**
+ * Queues release info collections into the database backed job queue, where {@link CollectionJobWorker}s of every
+ * application instance pick them up. Triggers are coalesced per product: a product has at most one job queued,
+ * further triggers for it are folded into the queued one. Triggers rejected because the queue is full are counted
+ * too.
+ */
 @Service
 public class AsyncService {
 
-    @Autowired
-    private CollectAndSaveAllReleaseData collectAndSaveAllReleaseData;
+    private final EnqueueCollectionJob enqueueCollectionJob;
 
-    @Async("asyncExecutor")
-    public void asyncExecution(Long productId) {
-        collectAndSaveAllReleaseData.execute(CollectAndSaveAllReleaseData.Request.of(productId));
+    private final Counter queuedTriggers;
+
+    private final Counter coalescedTriggers;
+
+    private final Counter rejectedTriggers;
+
+    public AsyncService(EnqueueCollectionJob enqueueCollectionJob, MeterRegistry meterRegistry) {
+        this.enqueueCollectionJob = enqueueCollectionJob;
+        this.queuedTriggers = Counter.builder("pqd.collection.triggers")
+                                     .description("Collection triggers that queued a new collection")
+                                     .tag("outcome", "queued")
+                                     .register(meterRegistry);
+        this.coalescedTriggers = Counter.builder("pqd.collection.triggers")
+                                        .description("Collection triggers folded into an already waiting collection")
+                                        .tag("outcome", "coalesced")
+                                        .register(meterRegistry);
+        this.rejectedTriggers = Counter.builder("pqd.collection.triggers")
+                                       .description("Collection triggers rejected because the collection queue is full")
+                                       .tag("outcome", "rejected")
+                                       .register(meterRegistry);
+    }
+
+    /**
+     * @param productId product which release info is collected
+     * @return the queued job the trigger created or was folded into
+     * @throws EnqueueCollectionJob.CollectionQueueFullException if the queue is full
+     */
+    public CollectionJob asyncExecution(Long productId) {
+        EnqueueCollectionJob.Response response;
+        try {
+            response = enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(productId));
+        } catch (EnqueueCollectionJob.CollectionQueueFullException e) {
+            rejectedTriggers.increment();
+            throw e;
+        }
+        (response.isQueued() ? queuedTriggers : coalescedTriggers).increment();
+        return response.getCollectionJob();
     }
 }
@@ -0,0 +1,155 @@
+package com.pqd.adapters.messaging.async;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.usecase.VirtualThreads;
+import com.pqd.application.usecase.collection.ClaimNextCollectionJob;
+import com.pqd.application.usecase.collection.CollectionQueueProperties;
+import com.pqd.application.usecase.collection.ExtendCollectionJobLocks;
+import com.pqd.application.usecase.collection.MaintainCollectionJobQueue;
+import com.pqd.application.usecase.collection.RunCollectionJob;
+import com.pqd.application.usecase.release.CollectionProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Polls the collection job queue and runs the claimed jobs on the async executor. Every worker thread keeps claiming
+ * jobs until the queue has no due jobs left, so polling only matters when the queue was empty. Stage durations of the
+ * run jobs are published as the pqd.collection.stage timer, tagged with the stage and the tool host, and the worker
+ * threads running jobs at the moment as the pqd.collection.workers.active gauge. The leases of the running jobs are
+ * extended regularly, so only jobs of stopped instances are queued again as abandoned.
+ */
+@Slf4j
+@Component
+public class CollectionJobWorker {
+
+    private final ClaimNextCollectionJob claimNextCollectionJob;
+
+    private final RunCollectionJob runCollectionJob;
+
+    private final MaintainCollectionJobQueue maintainCollectionJobQueue;
+
+    private final ExtendCollectionJobLocks extendCollectionJobLocks;
+
+    private final Executor asyncExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Semaphore freeWorkers;
+
+    private final String workerId;
+
+    private final Set<Long> runningJobIds = ConcurrentHashMap.newKeySet();
+
+    public CollectionJobWorker(ClaimNextCollectionJob claimNextCollectionJob,
+                               RunCollectionJob runCollectionJob,
+                               MaintainCollectionJobQueue maintainCollectionJobQueue,
+                               ExtendCollectionJobLocks extendCollectionJobLocks,
+                               @Qualifier("asyncExecutor") Executor asyncExecutor,
+                               CollectionQueueProperties properties,
+                               CollectionProperties collectionProperties,
+                               MeterRegistry meterRegistry) {
+        this.claimNextCollectionJob = claimNextCollectionJob;
+        this.runCollectionJob = runCollectionJob;
+        this.maintainCollectionJobQueue = maintainCollectionJobQueue;
+        this.extendCollectionJobLocks = extendCollectionJobLocks;
+        this.asyncExecutor = asyncExecutor;
+        this.meterRegistry = meterRegistry;
+        int workers = collectionProperties.isVirtualThreads() && VirtualThreads.isAvailable()
+                      ? properties.getVirtualThreadWorkers()
+                      : properties.getWorkers();
+        this.freeWorkers = new Semaphore(workers);
+        Gauge.builder("pqd.collection.workers.active", freeWorkers, free -> workers - free.availablePermits())
+             .description("Collection job workers of this instance running jobs")
+             .register(meterRegistry);
+        this.workerId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Scheduled(fixedDelayString = "#{@collectionQueueProperties.pollInterval.toMillis()}")
+    public void poll() {
+        while (freeWorkers.tryAcquire()) {
+            Optional<CollectionJob> collectionJob;
+            try {
+                collectionJob = claimNext();
+            } catch (RuntimeException e) {
+                freeWorkers.release();
+                throw e;
+            }
+            if (collectionJob.isEmpty()) {
+                freeWorkers.release();
+                return;
+            }
+            try {
+                asyncExecutor.execute(() -> work(collectionJob.get()));
+            } catch (RuntimeException e) {
+                // The claimed job stays running until it is requeued as stale
+                freeWorkers.release();
+                throw e;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@collectionQueueProperties.staleAfter.toMillis() / 2}")
+    public void maintain() {
+        MaintainCollectionJobQueue.Response response = maintainCollectionJobQueue.execute();
+        if (response.getRequeued() > 0) {
+            log.warn("Queued {} collection jobs abandoned by stopped workers again", response.getRequeued());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@collectionQueueProperties.staleAfter.toMillis() / 3}")
+    public void heartbeat() {
+        if (!runningJobIds.isEmpty()) {
+            extendCollectionJobLocks.execute(ExtendCollectionJobLocks.Request.of(workerId, Set.copyOf(runningJobIds)));
+        }
+    }
+
+    private void work(CollectionJob firstJob) {
+        try {
+            Optional<CollectionJob> collectionJob = Optional.of(firstJob);
+            while (collectionJob.isPresent()) {
+                Long jobId = collectionJob.get().getId();
+                runningJobIds.add(jobId);
+                try {
+                    recordStages(runCollectionJob.execute(RunCollectionJob.Request.of(collectionJob.get()))
+                                                 .getStages());
+                } finally {
+                    runningJobIds.remove(jobId);
+                }
+                collectionJob = claimNext();
+            }
+        } catch (Exception e) {
+            log.error("Collection job worker {} stopped", workerId, e);
+        } finally {
+            freeWorkers.release();
+        }
+    }
+
+    private void recordStages(List<CollectionStage> stages) {
+        stages.forEach(stage -> Timer.builder("pqd.collection.stage")
+                                     .description("Duration of release info collection stages")
+                                     .tag("stage", stage.getStage().name())
+                                     .tag("host", stage.getHost() != null ? stage.getHost() : "none")
+                                     .tag("outcome", stage.isSucceeded() ? "success" : "failure")
+                                     .register(meterRegistry)
+                                     .record(stage.getDuration()));
+    }
+
+    private Optional<CollectionJob> claimNext() {
+        return claimNextCollectionJob.execute(ClaimNextCollectionJob.Request.of(workerId)).getCollectionJob();
+    }
+}
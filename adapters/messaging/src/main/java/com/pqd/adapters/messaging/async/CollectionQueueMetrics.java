@@ -0,0 +1,47 @@
+package com.pqd.adapters.messaging.async;
+
+import com.pqd.application.usecase.collection.GetCollectionQueueStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the size of the collection job queue of all application instances. The queue is read from the database
+ * once every poll interval instead of on every metrics scrape.
+ */
+@Component
+public class CollectionQueueMetrics {
+
+    private final GetCollectionQueueStats getCollectionQueueStats;
+
+    private final AtomicLong queued = new AtomicLong();
+
+    private final AtomicLong running = new AtomicLong();
+
+    private final AtomicLong estimatedWaitSeconds = new AtomicLong();
+
+    public CollectionQueueMetrics(GetCollectionQueueStats getCollectionQueueStats, MeterRegistry meterRegistry) {
+        this.getCollectionQueueStats = getCollectionQueueStats;
+        Gauge.builder("pqd.collection.queue.depth", queued, AtomicLong::get)
+             .description("Collection jobs waiting in the queue")
+             .register(meterRegistry);
+        Gauge.builder("pqd.collection.queue.running", running, AtomicLong::get)
+             .description("Collection jobs running on all instances")
+             .register(meterRegistry);
+        Gauge.builder("pqd.collection.queue.wait", estimatedWaitSeconds, AtomicLong::get)
+             .description("Estimated time until the queued collection jobs have been started")
+             .baseUnit("seconds")
+             .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "#{@collectionQueueProperties.pollInterval.toMillis()}")
+    public void refresh() {
+        GetCollectionQueueStats.Response response = getCollectionQueueStats.execute();
+        queued.set(response.getStats().getQueued());
+        running.set(response.getStats().getRunning());
+        estimatedWaitSeconds.set(response.getEstimatedWait().toSeconds());
+    }
+}
@@ -0,0 +1,31 @@
+package com.pqd.adapters.messaging.async;
+
+import com.pqd.application.usecase.collection.ScheduleCollections;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues the collections of products due on their collection interval, in addition to the ones triggered through
+ * the messaging controller. The Sonarqube measures of the queued collections are prefetched in batches afterwards on
+ * the prefetch thread, so the scheduler threads do not wait for the Sonarqube servers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CollectionScheduler {
+
+    private final ScheduleCollections scheduleCollections;
+
+    private final SonarqubePrefetchService sonarqubePrefetchService;
+
+    @Scheduled(fixedDelayString = "#{@collectionScheduleProperties.checkInterval.toMillis()}")
+    public void schedule() {
+        int queued = scheduleCollections.execute().getQueued();
+        if (queued > 0) {
+            log.info("Queued {} scheduled release info collections", queued);
+            sonarqubePrefetchService.asyncPrefetch();
+        }
+    }
+}
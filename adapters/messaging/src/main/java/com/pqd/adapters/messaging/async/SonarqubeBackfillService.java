@@ -0,0 +1,50 @@
+package com.pqd.adapters.messaging.async;
+
+import com.pqd.application.usecase.sonarqube.BackfillSonarqubeHistory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Sonarqube history backfills one at a time on their own thread, so long backfills neither hold the collection
+ * workers nor load the Sonarqube servers with several histories at once
+ */
+@Slf4j
+@Service
+public class SonarqubeBackfillService implements DisposableBean {
+
+    private final BackfillSonarqubeHistory backfillSonarqubeHistory;
+
+    private final ExecutorService executorService;
+
+    public SonarqubeBackfillService(BackfillSonarqubeHistory backfillSonarqubeHistory) {
+        this.backfillSonarqubeHistory = backfillSonarqubeHistory;
+        this.executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SonarqubeBackfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the backfill of the product after the backfills started before it
+     */
+    public void asyncBackfill(Long productId) {
+        executorService.execute(() -> {
+            try {
+                backfillSonarqubeHistory.execute(BackfillSonarqubeHistory.Request.of(productId));
+            } catch (Exception e) {
+                // The checkpoint keeps the saved pages, starting the backfill again continues from there
+                log.warn("Sonarqube history backfill of product with id {} failed: {}", productId, e.toString());
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+}
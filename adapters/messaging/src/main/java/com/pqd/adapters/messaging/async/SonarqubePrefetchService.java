@@ -0,0 +1,57 @@
+package com.pqd.adapters.messaging.async;
+
+import com.pqd.application.usecase.sonarqube.PrefetchSonarqubeData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prefetches the expected Sonarqube measures on its own thread, so webhooks answer before the Sonarqube servers do.
+ * A prefetch that has not started yet takes the components expected after it was requested too, so requests made
+ * meanwhile share it.
+ */
+@Slf4j
+@Service
+public class SonarqubePrefetchService implements DisposableBean {
+
+    private final PrefetchSonarqubeData prefetchSonarqubeData;
+
+    private final ExecutorService executorService;
+
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    public SonarqubePrefetchService(PrefetchSonarqubeData prefetchSonarqubeData) {
+        this.prefetchSonarqubeData = prefetchSonarqubeData;
+        this.executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SonarqubePrefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void asyncPrefetch() {
+        if (!pending.compareAndSet(false, true)) {
+            return;
+        }
+        executorService.execute(() -> {
+            pending.set(false);
+            try {
+                PrefetchSonarqubeData.Response prefetched = prefetchSonarqubeData.execute();
+                log.info("Prefetched Sonarqube measures of {} components with {} requests",
+                         prefetched.getFetched(), prefetched.getRequests());
+            } catch (Exception e) {
+                // Components that were not prefetched are fetched by their collections
+                log.warn("Prefetching Sonarqube measures failed: {}", e.toString());
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,63 @@
+package com.pqd.adapters.messaging.json;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionStage;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class CollectionJobJson {
+
+    Long jobId;
+
+    Long productId;
+
+    String status;
+
+    int attempts;
+
+    int triggers;
+
+    LocalDateTime created;
+
+    LocalDateTime startedAt;
+
+    LocalDateTime finishedAt;
+
+    Long durationMs; // duration of the last attempt, null until the job has finished
+
+    String lastError;
+
+    List<CollectionStageJson> stages;
+
+    public static CollectionJobJson buildResultJson(CollectionJob collectionJob, List<CollectionStage> stages) {
+        CollectionJobJson resultJson = CollectionJobJson.builder()
+                                                        .jobId(collectionJob.getId())
+                                                        .productId(collectionJob.getProductId())
+                                                        .status(collectionJob.getStatus().name())
+                                                        .attempts(collectionJob.getAttempts())
+                                                        .triggers(collectionJob.getTriggers())
+                                                        .created(collectionJob.getCreated())
+                                                        .startedAt(collectionJob.getStartedAt())
+                                                        .finishedAt(collectionJob.getFinishedAt())
+                                                        .lastError(collectionJob.getLastError())
+                                                        .stages(stages.stream()
+                                                                      .map(CollectionStageJson::buildResultJson)
+                                                                      .collect(Collectors.toList()))
+                                                        .build();
+
+        if (collectionJob.getStartedAt() != null && collectionJob.getFinishedAt() != null) {
+            resultJson.setDurationMs(Duration.between(collectionJob.getStartedAt(), collectionJob.getFinishedAt())
+                                             .toMillis());
+        }
+        return resultJson;
+    }
+}
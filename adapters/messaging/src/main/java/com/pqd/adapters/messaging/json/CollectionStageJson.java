@@ -0,0 +1,40 @@
+package com.pqd.adapters.messaging.json;
+
+import com.pqd.application.domain.collection.CollectionStage;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class CollectionStageJson {
+
+    int attempt;
+
+    String stage;
+
+    String host;
+
+    String detail;
+
+    LocalDateTime startedAt;
+
+    Long durationMs;
+
+    boolean succeeded;
+
+    public static CollectionStageJson buildResultJson(CollectionStage stage) {
+        return CollectionStageJson.builder()
+                                  .attempt(stage.getAttempt())
+                                  .stage(stage.getStage().name())
+                                  .host(stage.getHost())
+                                  .detail(stage.getDetail())
+                                  .startedAt(stage.getStartedAt())
+                                  .durationMs(stage.getDuration().toMillis())
+                                  .succeeded(stage.isSucceeded())
+                                  .build();
+    }
+}
@@ -0,0 +1,246 @@
+package com.pqd.adapters.messaging.json;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pqd.application.domain.jira.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Payload of the Jira sprint and issue webhooks, only the used fields
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JiraWebhookJson {
+
+    /**
+     * Sprint field value of older Jira servers, like "com.atlassian.greenhopper.service.sprint.Sprint@1f[id=5,
+     * rapidViewId=1,state=ACTIVE,name=Sprint 5,...]"
+     */
+    private static final Pattern LEGACY_SPRINT = Pattern.compile("greenhopper.*\\[id=(\\d+),.*state=(\\w+)");
+
+    @JsonProperty("webhookEvent")
+    String webhookEvent;
+
+    @JsonProperty("sprint")
+    Sprint sprint; // set for sprint events
+
+    @JsonProperty("issue")
+    Issue issue; // set for issue events
+
+    /**
+     * @return the change to apply to the synced boards, empty for events that do not change active sprints
+     */
+    public Optional<JiraBoardEvent> toJiraBoardEvent() {
+        if (webhookEvent == null) {
+            return Optional.empty();
+        }
+        switch (webhookEvent) {
+            case "sprint_started":
+                return sprintEvent(JiraBoardEventType.SPRINT_STARTED);
+            case "sprint_updated":
+                return sprintEvent(JiraBoardEventType.SPRINT_UPDATED);
+            case "sprint_closed":
+            case "sprint_deleted":
+                return sprintEvent(JiraBoardEventType.SPRINT_CLOSED);
+            case "jira:issue_created":
+            case "jira:issue_updated":
+                return issueEvent(JiraBoardEventType.ISSUE_UPDATED);
+            case "jira:issue_deleted":
+                return issueEvent(JiraBoardEventType.ISSUE_DELETED);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private Optional<JiraBoardEvent> sprintEvent(JiraBoardEventType type) {
+        if (sprint == null || sprint.getId() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(JiraBoardEvent.builder()
+                                         .type(type)
+                                         .baseUrl(baseUrlOf(sprint.getSelf()))
+                                         .sprint(JiraSprint.builder()
+                                                           .sprintId(sprint.getId())
+                                                           .name(sprint.getName())
+                                                           .start(sprint.getStart())
+                                                           .end(sprint.getEnd())
+                                                           .boardId(sprint.getBoardId())
+                                                           .goal(sprint.getGoal())
+                                                           .build())
+                                         .build());
+    }
+
+    private Optional<JiraBoardEvent> issueEvent(JiraBoardEventType type) {
+        if (issue == null || issue.getId() == null) {
+            return Optional.empty();
+        }
+        Fields fields = issue.getFields() != null ? issue.getFields() : new Fields();
+        IssueType issueType = fields.getIssueType();
+        return Optional.of(JiraBoardEvent.builder()
+                                         .type(type)
+                                         .baseUrl(baseUrlOf(issue.getSelf()))
+                                         .issue(JiraIssue.builder()
+                                                         .issueId(issue.getId())
+                                                         .key(issue.getKey())
+                                                         .fields(issueType == null ? null : JiraIssueFields.builder()
+                                                                 .issueType(JiraIssueType.builder()
+                                                                                         .issueId(issueType.getId())
+                                                                                         .description(issueType.getDescription())
+                                                                                         .iconUrl(issueType.getIconUrl())
+                                                                                         .name(issueType.getName())
+                                                                                         .build())
+                                                                 .build())
+                                                         .sprintId(fields.activeSprintId())
+                                                         .build())
+                                         .build());
+    }
+
+    /**
+     * Jira does not send its base url, it is the start of the REST url of the sprint or issue
+     */
+    private static String baseUrlOf(String self) {
+        if (self == null || !self.contains("/rest/")) {
+            return self;
+        }
+        return self.substring(0, self.indexOf("/rest/"));
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Sprint {
+
+        @JsonProperty("id")
+        Long id;
+
+        @JsonProperty("self")
+        String self;
+
+        @JsonProperty("name")
+        String name;
+
+        @JsonProperty("startDate")
+        LocalDateTime start;
+
+        @JsonProperty("endDate")
+        LocalDateTime end;
+
+        @JsonProperty("originBoardId")
+        Long boardId;
+
+        @JsonProperty("goal")
+        String goal;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Issue {
+
+        @JsonProperty("id")
+        Long id; // Jira sends ids as strings
+
+        @JsonProperty("self")
+        String self;
+
+        @JsonProperty("key")
+        String key;
+
+        @JsonProperty("fields")
+        Fields fields;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Fields {
+
+        @JsonProperty("issuetype")
+        IssueType issueType;
+
+        /**
+         * The sprint field is a custom field with an id that differs between Jira servers
+         */
+        Map<String, Object> customFields = new HashMap<>();
+
+        @JsonAnySetter
+        void setCustomField(String name, Object value) {
+            if (name.startsWith("customfield_")) {
+                customFields.put(name, value);
+            }
+        }
+
+        /**
+         * @return id of the active sprint in the sprint field, null if the issue is not in an active sprint
+         */
+        Long activeSprintId() {
+            for (Object value : customFields.values()) {
+                if (!(value instanceof List)) {
+                    continue;
+                }
+                for (Object sprint : (List<?>) value) {
+                    Long sprintId = activeSprintId(sprint);
+                    if (sprintId != null) {
+                        return sprintId;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static Long activeSprintId(Object sprint) {
+            if (sprint instanceof Map) {
+                Map<?, ?> fields = (Map<?, ?>) sprint;
+                if (fields.containsKey("boardId") && "active".equalsIgnoreCase(String.valueOf(fields.get("state")))
+                    && fields.get("id") instanceof Number) {
+                    return ((Number) fields.get("id")).longValue();
+                }
+            } else if (sprint instanceof String) {
+                Matcher matcher = LEGACY_SPRINT.matcher((String) sprint);
+                if (matcher.find() && "active".equalsIgnoreCase(matcher.group(2))) {
+                    return Long.valueOf(matcher.group(1));
+                }
+            }
+            return null;
+        }
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class IssueType {
+
+        @JsonProperty("id")
+        Long id;
+
+        @JsonProperty("description")
+        String description;
+
+        @JsonProperty("iconUrl")
+        String iconUrl;
+
+        @JsonProperty("name")
+        String name;
+    }
+}
@@ -0,0 +1,63 @@
+package com.pqd.adapters.messaging.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of the Sonarqube webhook sent when an analysis has been processed, only the used fields
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SonarqubeWebhookJson {
+
+    @JsonProperty("serverUrl")
+    String serverUrl; // base URL of the sending server, as configured in its sonar.core.serverBaseURL
+
+    @JsonProperty("status")
+    String status; // status of the background task processing the analysis, SUCCESS if the measures were computed
+
+    @JsonProperty("project")
+    Project project;
+
+    @JsonProperty("branch")
+    Branch branch; // missing on servers without branch support
+
+    /**
+     * Product measures are of the main branch, analyses of other branches and pull requests do not change them
+     */
+    public boolean isSuccessfulMainBranchAnalysis() {
+        return "SUCCESS".equals(status)
+               && serverUrl != null
+               && project != null && project.getKey() != null
+               && (branch == null || branch.isMain());
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Project {
+
+        @JsonProperty("key")
+        String key;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Branch {
+
+        @JsonProperty("isMain")
+        boolean main;
+    }
+}
@@ -0,0 +1,20 @@
+package com.pqd.adapters.messaging.json;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TriggerRequestJson {
+
+    @JsonProperty("productId")
+    Long productId;
+
+    @JsonProperty("token")
+    String token; // product token, the same one that is used in the authorization header of a single trigger
+}
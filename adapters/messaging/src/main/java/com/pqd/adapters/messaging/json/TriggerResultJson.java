@@ -0,0 +1,19 @@
+package com.pqd.adapters.messaging.json;
+
+import lombok.*;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class TriggerResultJson {
+
+    Long productId;
+
+    boolean accepted;
+
+    Long jobId; // id of the queued collection job, null if the trigger was not accepted
+
+    String message;
+}
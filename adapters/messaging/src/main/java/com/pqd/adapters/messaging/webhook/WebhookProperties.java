@@ -0,0 +1,37 @@
+package com.pqd.adapters.messaging.webhook;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Secrets of the webhooks tool servers call, bound from the pqd.webhook.* properties. Webhooks of a tool without a
+ * secret are rejected.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "pqd.webhook")
+public class WebhookProperties {
+
+    private Sonarqube sonarqube = new Sonarqube();
+
+    private Jira jira = new Jira();
+
+    @Data
+    public static class Sonarqube {
+
+        /**
+         * Secret of the Sonarqube webhook, the requests are signed with it in the X-Sonar-Webhook-HMAC-SHA256 header
+         */
+        private String secret;
+    }
+
+    @Data
+    public static class Jira {
+
+        /**
+         * Secret of the Jira webhook, the requests are signed with it in the X-Hub-Signature header
+         */
+        private String secret;
+    }
+}
@@ -0,0 +1,48 @@
+package com.pqd.adapters.messaging.webhook;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * Verifies the signatures tool servers put on their webhook requests
+ */
+public final class WebhookSignatures {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    private WebhookSignatures() {
+    }
+
+    /**
+     * @param signature hex encoded HMAC-SHA256 of the request body
+     * @return false if the secret is not configured, or the signature is missing or does not match
+     */
+    public static boolean isValidHmacSha256(String secret, byte[] body, String signature) {
+        if (secret == null || secret.isEmpty() || signature == null) {
+            return false;
+        }
+        byte[] expected = hmacSha256Hex(secret, body).getBytes(StandardCharsets.US_ASCII);
+        // Constant time comparison, so the time taken does not tell how much of the signature matched
+        return MessageDigest.isEqual(expected, signature.trim().toLowerCase().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return hex encoded HMAC-SHA256 of the body, as the tool servers sign it
+     */
+    public static String hmacSha256Hex(String secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : mac.doFinal(body)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
@@ -1,36 +1,77 @@
 package com.pqd.adapters.messaging;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pqd.adapters.messaging.async.AsyncService;
+import com.pqd.adapters.messaging.async.SonarqubeBackfillService;
+import com.pqd.adapters.messaging.async.SonarqubePrefetchService;
+import com.pqd.adapters.messaging.json.CollectionJobJson;
+import com.pqd.adapters.messaging.json.TriggerRequestJson;
+import com.pqd.adapters.messaging.json.TriggerResultJson;
+import com.pqd.adapters.messaging.webhook.WebhookProperties;
+import com.pqd.adapters.messaging.webhook.WebhookSignatures;
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.jira.JiraBoardEvent;
+import com.pqd.application.domain.jira.JiraBoardEventType;
 import com.pqd.application.domain.product.Product;
+import com.pqd.application.usecase.collection.EnqueueCollectionJob;
+import com.pqd.application.usecase.collection.GetCollectionJob;
+import com.pqd.application.usecase.jira.ApplyJiraBoardEvent;
+import com.pqd.application.usecase.product.FindProducts;
 import com.pqd.application.usecase.product.GetProduct;
+import com.pqd.application.usecase.sonarqube.CollectAnalyzedSonarqubeComponent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 public class MessagingControllerTest {
 
     private MessagingController controller;
     private GetProduct getProduct;
     private AsyncService asyncService;
+    private FindProducts findProducts;
+    private GetCollectionJob getCollectionJob;
+    private SonarqubeBackfillService sonarqubeBackfillService;
+    private CollectAnalyzedSonarqubeComponent collectAnalyzedSonarqubeComponent;
+    private SonarqubePrefetchService sonarqubePrefetchService;
+    private ApplyJiraBoardEvent applyJiraBoardEvent;
+    private WebhookProperties webhookProperties;
 
     @BeforeEach
     void setup() {
         getProduct = mock(GetProduct.class);
         asyncService = mock(AsyncService.class);
-        controller = new MessagingController(asyncService, getProduct);
+        findProducts = mock(FindProducts.class);
+        getCollectionJob = mock(GetCollectionJob.class);
+        sonarqubeBackfillService = mock(SonarqubeBackfillService.class);
+        collectAnalyzedSonarqubeComponent = mock(CollectAnalyzedSonarqubeComponent.class);
+        sonarqubePrefetchService = mock(SonarqubePrefetchService.class);
+        applyJiraBoardEvent = mock(ApplyJiraBoardEvent.class);
+        webhookProperties = new WebhookProperties();
+        webhookProperties.getSonarqube().setSecret("webhook-secret");
+        webhookProperties.getJira().setSecret("jira-secret");
+        controller = new MessagingController(asyncService, getProduct, findProducts, getCollectionJob,
+                                             sonarqubeBackfillService, collectAnalyzedSonarqubeComponent,
+                                             sonarqubePrefetchService, applyJiraBoardEvent, webhookProperties,
+                                             new ObjectMapper().findAndRegisterModules());
         MockitoAnnotations.initMocks(this);
+        when(asyncService.asyncExecution(any())).thenReturn(TestDataGenerator.generateCollectionJob());
     }
 
     @Test
@@ -40,10 +81,11 @@ public class MessagingControllerTest {
         Map<String, String> headers = TestDataGenerator.generateHeaders(tokenBase, HttpHeaders.AUTHORIZATION);
         when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
 
-        ResponseEntity<String> response = controller.triggerReleaseInfoCollection(headers, product.getId());
+        ResponseEntity<TriggerResultJson> response = controller.triggerReleaseInfoCollection(headers, product.getId());
 
-        assertThat(response.getBody())
+        assertThat(response.getBody().getMessage())
                 .isEqualTo(String.format("Release info collection started for product with id %s", product.getId()));
+        assertThat(response.getBody().getJobId()).isEqualTo(TestDataGenerator.generateCollectionJob().getId());
     }
 
     @Test
@@ -53,10 +95,11 @@ public class MessagingControllerTest {
         Map<String, String> headers = TestDataGenerator.generateHeaders(tokenBase, "authorization");
         when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
 
-        ResponseEntity<String> response = controller.triggerReleaseInfoCollection(headers, product.getId());
+        ResponseEntity<TriggerResultJson> response = controller.triggerReleaseInfoCollection(headers, product.getId());
 
-        assertThat(response.getBody())
+        assertThat(response.getBody().getMessage())
                 .isEqualTo(String.format("Release info collection started for product with id %s", product.getId()));
+        assertThat(response.getBody().getJobId()).isEqualTo(TestDataGenerator.generateCollectionJob().getId());
     }
 
     @Test
@@ -66,10 +109,11 @@ public class MessagingControllerTest {
         Map<String, String> headers = TestDataGenerator.generateHeaders(tokenBase, "AUTHORIZATION");
         when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
 
-        ResponseEntity<String> response = controller.triggerReleaseInfoCollection(headers, product.getId());
+        ResponseEntity<TriggerResultJson> response = controller.triggerReleaseInfoCollection(headers, product.getId());
 
-        assertThat(response.getBody())
+        assertThat(response.getBody().getMessage())
                 .isEqualTo(String.format("Release info collection started for product with id %s", product.getId()));
+        assertThat(response.getBody().getJobId()).isEqualTo(TestDataGenerator.generateCollectionJob().getId());
     }
 
     @Test
@@ -101,10 +145,280 @@ public class MessagingControllerTest {
         Map<String, String> headers = TestDataGenerator.generateHeaders(tokenBase, HttpHeaders.AUTHORIZATION);
         when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
 
-        ResponseEntity<String> response = controller.triggerReleaseInfoCollection(headers, product.getId());
+        ResponseEntity<TriggerResultJson> response = controller.triggerReleaseInfoCollection(headers, product.getId());
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        assertThat(response.getBody()).isEqualTo("Invalid token");
+        assertThat(response.getBody().getMessage()).isEqualTo("Invalid token");
+        assertThat(response.getBody().getJobId()).isNull();
+        verifyNoInteractions(asyncService);
     }
 
+    @Test
+    void GIVEN_valid_token_WHEN_sonarqube_backfill_request_made_THEN_backfill_started_and_accepted_returned() {
+        Product product = TestDataGenerator.generateProduct();
+        Map<String, String> headers =
+                TestDataGenerator.generateHeaders(product.getToken() + ":", HttpHeaders.AUTHORIZATION);
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+
+        ResponseEntity<String> response = controller.backfillSonarqubeHistory(headers, product.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        verify(sonarqubeBackfillService).asyncBackfill(product.getId());
+    }
+
+    @Test
+    void GIVEN_product_without_sonarqube_WHEN_sonarqube_backfill_request_made_THEN_bad_request_returned() {
+        Product product = TestDataGenerator.generateProduct();
+        product.setSonarqubeInfo(Optional.empty());
+        Map<String, String> headers =
+                TestDataGenerator.generateHeaders(product.getToken() + ":", HttpHeaders.AUTHORIZATION);
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+
+        ResponseEntity<String> response = controller.backfillSonarqubeHistory(headers, product.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(sonarqubeBackfillService);
+    }
+
+    @Test
+    void GIVEN_signed_main_branch_analysis_WHEN_sonarqube_webhook_received_THEN_collections_of_component_products_queued() {
+        byte[] body = TestDataGenerator.generateSonarqubeWebhookBody("SUCCESS", true);
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob();
+        when(collectAnalyzedSonarqubeComponent.execute(
+                CollectAnalyzedSonarqubeComponent.Request.of("https://sonarcloud.io", "component-name")))
+                .thenReturn(CollectAnalyzedSonarqubeComponent.Response.of(Map.of(123L, collectionJob),
+                                                                          Map.of(51L, "Collection queue is full"),
+                                                                          true));
+
+        ResponseEntity<List<TriggerResultJson>> response =
+                controller.handleSonarqubeWebhook(WebhookSignatures.hmacSha256Hex("webhook-secret", body), body);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(TriggerResultJson::getProductId).containsExactly(123L, 51L);
+        assertThat(response.getBody().get(0).getJobId()).isEqualTo(collectionJob.getId());
+        assertThat(response.getBody().get(1).isAccepted()).isFalse();
+        verify(sonarqubePrefetchService).asyncPrefetch();
+    }
+
+    @Test
+    void GIVEN_no_collection_newly_queued_WHEN_sonarqube_webhook_received_THEN_nothing_prefetched() {
+        byte[] body = TestDataGenerator.generateSonarqubeWebhookBody("SUCCESS", true);
+        when(collectAnalyzedSonarqubeComponent.execute(any()))
+                .thenReturn(CollectAnalyzedSonarqubeComponent.Response.of(Map.of(), Map.of(), false));
+
+        ResponseEntity<List<TriggerResultJson>> response =
+                controller.handleSonarqubeWebhook(WebhookSignatures.hmacSha256Hex("webhook-secret", body), body);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verifyNoInteractions(sonarqubePrefetchService);
+    }
+
+    @Test
+    void GIVEN_invalid_signature_WHEN_sonarqube_webhook_received_THEN_unauthorized_returned() {
+        byte[] body = TestDataGenerator.generateSonarqubeWebhookBody("SUCCESS", true);
+
+        ResponseEntity<List<TriggerResultJson>> response =
+                controller.handleSonarqubeWebhook(WebhookSignatures.hmacSha256Hex("other-secret", body), body);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(collectAnalyzedSonarqubeComponent);
+    }
+
+    @Test
+    void GIVEN_analysis_of_other_branch_WHEN_sonarqube_webhook_received_THEN_nothing_queued() {
+        byte[] body = TestDataGenerator.generateSonarqubeWebhookBody("SUCCESS", false);
+
+        ResponseEntity<List<TriggerResultJson>> response =
+                controller.handleSonarqubeWebhook(WebhookSignatures.hmacSha256Hex("webhook-secret", body), body);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEmpty();
+        verifyNoInteractions(collectAnalyzedSonarqubeComponent);
+    }
+
+    @Test
+    void GIVEN_batch_with_valid_invalid_and_unknown_products_WHEN_batch_trigger_request_made_THEN_result_per_product_returned() {
+        Product product = TestDataGenerator.generateProduct();
+        Product otherProduct = TestDataGenerator.generateProduct_withId(456L);
+        List<TriggerRequestJson> request = List.of(TestDataGenerator.generateTriggerRequestJson(product),
+                                                   TestDataGenerator.generateTriggerRequestJson(product),
+                                                   TriggerRequestJson.builder()
+                                                                     .productId(otherProduct.getId())
+                                                                     .token("invalid_token")
+                                                                     .build(),
+                                                   TriggerRequestJson.builder().productId(789L).token("token").build());
+        when(findProducts.execute(any())).thenReturn(FindProducts.Response.of(List.of(product, otherProduct)));
+
+        ResponseEntity<List<TriggerResultJson>> response = controller.triggerBatchReleaseInfoCollection(request);
+
+        verify(findProducts, times(1)).execute(FindProducts.Request.of(List.of(product.getId(),
+                                                                              otherProduct.getId(),
+                                                                              789L)));
+        verify(asyncService, times(1)).asyncExecution(product.getId());
+        verifyNoMoreInteractions(asyncService);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(TriggerResultJson::getProductId)
+                                      .containsExactly(product.getId(), otherProduct.getId(), 789L);
+        assertThat(response.getBody()).extracting(TriggerResultJson::isAccepted).containsExactly(true, false, false);
+        assertThat(response.getBody()).extracting(TriggerResultJson::getJobId)
+                                      .containsExactly(TestDataGenerator.generateCollectionJob().getId(), null, null);
+        assertThat(response.getBody().get(1).getMessage()).isEqualTo("Invalid token");
+    }
+
+    @Test
+    void GIVEN_full_collection_queue_WHEN_batch_trigger_request_made_THEN_too_many_requests_with_retry_after_returned() {
+        Product product = TestDataGenerator.generateProduct();
+        Product otherProduct = TestDataGenerator.generateProduct_withId(456L);
+        List<TriggerRequestJson> request = List.of(TestDataGenerator.generateTriggerRequestJson(product),
+                                                   TestDataGenerator.generateTriggerRequestJson(otherProduct));
+        when(findProducts.execute(any())).thenReturn(FindProducts.Response.of(List.of(product, otherProduct)));
+        when(asyncService.asyncExecution(otherProduct.getId()))
+                .thenThrow(new EnqueueCollectionJob.CollectionQueueFullException(100, Duration.ofMillis(90500)));
+
+        ResponseEntity<List<TriggerResultJson>> response = controller.triggerBatchReleaseInfoCollection(request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("91");
+        assertThat(response.getBody()).extracting(TriggerResultJson::isAccepted).containsExactly(true, false);
+        assertThat(response.getBody().get(1).getMessage())
+                .isEqualTo("Collection queue is full with 100 jobs, retry after 91 seconds");
+    }
+
+    @Test
+    void GIVEN_full_collection_queue_WHEN_exception_handled_THEN_too_many_requests_with_retry_after_returned() {
+        ResponseEntity<?> response = controller.handleCollectionQueueFullException(
+                new EnqueueCollectionJob.CollectionQueueFullException(100, Duration.ofSeconds(30)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+    }
+
+    @Test
+    void GIVEN_empty_batch_WHEN_batch_trigger_request_made_THEN_bad_request_thrown() {
+        HttpClientErrorException exception =
+                assertThrows(HttpClientErrorException.class,
+                             () -> controller.triggerBatchReleaseInfoCollection(List.of()));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(findProducts, asyncService);
+    }
+
+    @Test
+    void GIVEN_valid_token_WHEN_job_status_requested_THEN_job_with_stages_returned() {
+        Product product = TestDataGenerator.generateProduct();
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob();
+        Map<String, String> headers = TestDataGenerator.generateHeaders(product.getToken() + ":",
+                                                                        HttpHeaders.AUTHORIZATION);
+        when(getCollectionJob.execute(GetCollectionJob.Request.of(collectionJob.getId())))
+                .thenReturn(GetCollectionJob.Response.of(collectionJob,
+                                                         List.of(TestDataGenerator.generateCollectionStage())));
+        when(getProduct.execute(GetProduct.Request.of(collectionJob.getProductId())))
+                .thenReturn(GetProduct.Response.of(product));
+
+        ResponseEntity<CollectionJobJson> response = controller.getCollectionJob(headers, collectionJob.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(response.getBody().getDurationMs()).isEqualTo(2000L);
+        assertThat(response.getBody().getStages()).hasSize(1);
+        assertThat(response.getBody().getStages().get(0).getDurationMs()).isEqualTo(1500L);
+    }
+
+    @Test
+    void GIVEN_token_of_other_product_WHEN_job_status_requested_THEN_unauthorized_returned() {
+        Product product = TestDataGenerator.generateProduct();
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob();
+        Map<String, String> headers = TestDataGenerator.generateHeaders("invalid_token:", HttpHeaders.AUTHORIZATION);
+        when(getCollectionJob.execute(any())).thenReturn(GetCollectionJob.Response.of(collectionJob, List.of()));
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+
+        ResponseEntity<CollectionJobJson> response = controller.getCollectionJob(headers, collectionJob.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void GIVEN_no_authorization_header_WHEN_job_status_requested_THEN_unauthorized_returned_without_job_lookup() {
+        ResponseEntity<CollectionJobJson> response = controller.getCollectionJob(new HashMap<>(), 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(getCollectionJob, getProduct);
+    }
+
+    @Test
+    void GIVEN_unknown_job_WHEN_job_status_requested_THEN_unauthorized_returned() {
+        Map<String, String> headers = TestDataGenerator.generateHeaders("invalid_token:", HttpHeaders.AUTHORIZATION);
+        when(getCollectionJob.execute(any()))
+                .thenThrow(new GetCollectionJob.CollectionJobNotFoundException("Collection job with id 1 not found"));
+
+        ResponseEntity<CollectionJobJson> response = controller.getCollectionJob(headers, 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getBody()).isNull();
+        verifyNoInteractions(getProduct);
+    }
+
+    @Test
+    void GIVEN_signed_issue_update_WHEN_jira_webhook_received_THEN_issue_event_applied() {
+        byte[] body = TestDataGenerator.generateJiraIssueWebhookBody(
+                "[{\"id\": 4, \"state\": \"closed\", \"boardId\": 1}, "
+                + "{\"id\": 5, \"state\": \"active\", \"boardId\": 1}]");
+        ArgumentCaptor<ApplyJiraBoardEvent.Request> captor = ArgumentCaptor.forClass(ApplyJiraBoardEvent.Request.class);
+
+        ResponseEntity<Void> response = controller.handleJiraWebhook(
+                "sha256=" + WebhookSignatures.hmacSha256Hex("jira-secret", body), body);
+
+        verify(applyJiraBoardEvent).execute(captor.capture());
+        JiraBoardEvent event = captor.getValue().getEvent();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(event.getType()).isEqualTo(JiraBoardEventType.ISSUE_UPDATED);
+        assertThat(event.getBaseUrl()).isEqualTo("https://pqdunittest.atlassian.net");
+        assertThat(event.getIssue().getIssueId()).isEqualTo(10001L);
+        assertThat(event.getIssue().getKey()).isEqualTo("PT-1");
+        assertThat(event.getIssue().getSprintId()).isEqualTo(5L);
+        assertThat(event.getIssue().getFields().getIssueType().getName()).isEqualTo("Task");
+    }
+
+    @Test
+    void GIVEN_issue_in_legacy_sprint_field_WHEN_jira_webhook_received_THEN_active_sprint_read() {
+        byte[] body = TestDataGenerator.generateJiraIssueWebhookBody(
+                "[\"com.atlassian.greenhopper.service.sprint.Sprint@1f[id=7,rapidViewId=1,state=ACTIVE,name=S7]\"]");
+        ArgumentCaptor<ApplyJiraBoardEvent.Request> captor = ArgumentCaptor.forClass(ApplyJiraBoardEvent.Request.class);
+
+        controller.handleJiraWebhook("sha256=" + WebhookSignatures.hmacSha256Hex("jira-secret", body), body);
+
+        verify(applyJiraBoardEvent).execute(captor.capture());
+        assertThat(captor.getValue().getEvent().getIssue().getSprintId()).isEqualTo(7L);
+    }
+
+    @Test
+    void GIVEN_signed_sprint_start_WHEN_jira_webhook_received_THEN_sprint_event_applied() {
+        byte[] body = TestDataGenerator.generateJiraSprintWebhookBody("sprint_started");
+        ArgumentCaptor<ApplyJiraBoardEvent.Request> captor = ArgumentCaptor.forClass(ApplyJiraBoardEvent.Request.class);
+
+        controller.handleJiraWebhook("sha256=" + WebhookSignatures.hmacSha256Hex("jira-secret", body), body);
+
+        verify(applyJiraBoardEvent).execute(captor.capture());
+        JiraBoardEvent event = captor.getValue().getEvent();
+        assertThat(event.getType()).isEqualTo(JiraBoardEventType.SPRINT_STARTED);
+        assertThat(event.getSprint().getSprintId()).isEqualTo(5L);
+        assertThat(event.getSprint().getBoardId()).isEqualTo(1L);
+        assertThat(event.getSprint().getStart()).isEqualTo(LocalDateTime.of(2021, 1, 16, 17, 31, 9, 879000000));
+    }
+
+    @Test
+    void GIVEN_unsigned_or_unknown_event_WHEN_jira_webhook_received_THEN_nothing_applied() {
+        byte[] sprintStarted = TestDataGenerator.generateJiraSprintWebhookBody("sprint_started");
+        byte[] boardCreated = TestDataGenerator.generateJiraSprintWebhookBody("board_created");
+
+        ResponseEntity<Void> unsigned = controller.handleJiraWebhook(
+                WebhookSignatures.hmacSha256Hex("jira-secret", sprintStarted), sprintStarted);
+        ResponseEntity<Void> unknown = controller.handleJiraWebhook(
+                "sha256=" + WebhookSignatures.hmacSha256Hex("jira-secret", boardCreated), boardCreated);
+
+        verify(applyJiraBoardEvent, never()).execute(any());
+        assertThat(unsigned.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(unknown.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
 }
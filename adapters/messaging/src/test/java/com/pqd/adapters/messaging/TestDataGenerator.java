@@ -1,8 +1,16 @@
 package com.pqd.adapters.messaging;
 
+import com.pqd.adapters.messaging.json.TriggerRequestJson;
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.domain.collection.CollectionStageName;
 import com.pqd.application.domain.product.Product;
 import com.pqd.application.domain.sonarqube.SonarqubeInfo;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,6 +27,46 @@ public class TestDataGenerator {
 
     }
 
+    public static Product generateProduct_withId(Long id) {
+        Product product = generateProduct();
+        product.setId(id);
+        return product;
+    }
+
+    public static TriggerRequestJson generateTriggerRequestJson(Product product) {
+        return TriggerRequestJson.builder()
+                                 .productId(product.getId())
+                                 .token(product.getToken())
+                                 .build();
+    }
+
+    public static CollectionJob generateCollectionJob() {
+        LocalDateTime startedAt = LocalDateTime.of(2020, 8, 1, 12, 0);
+        return CollectionJob.builder()
+                            .id(5L)
+                            .productId(123L)
+                            .status(CollectionJobStatus.SUCCEEDED)
+                            .attempts(1)
+                            .triggers(1)
+                            .created(startedAt)
+                            .runAfter(startedAt)
+                            .startedAt(startedAt)
+                            .finishedAt(startedAt.plusSeconds(2))
+                            .build();
+    }
+
+    public static CollectionStage generateCollectionStage() {
+        return CollectionStage.builder()
+                              .jobId(5L)
+                              .attempt(1)
+                              .stage(CollectionStageName.SONARQUBE_FETCH)
+                              .host("sonarcloud.io")
+                              .startedAt(LocalDateTime.of(2020, 8, 1, 12, 0))
+                              .duration(Duration.ofMillis(1500))
+                              .succeeded(true)
+                              .build();
+    }
+
     public static Map<String, String> generateHeaders(String tokenBase, String headerKey) {
         String basicAuth = "Basic " + new String(Base64.getEncoder().encode(tokenBase.getBytes()));
         Map<String, String> headers = new HashMap<>();
@@ -26,6 +74,36 @@ public class TestDataGenerator {
         return headers;
     }
 
+    public static byte[] generateSonarqubeWebhookBody(String status, boolean mainBranch) {
+        return String.format("{\"serverUrl\": \"https://sonarcloud.io\", \"taskId\": \"AXoUPnKG\", "
+                             + "\"status\": \"%s\", \"analysedAt\": \"2020-08-01T12:00:00+0000\", "
+                             + "\"project\": {\"key\": \"component-name\", \"name\": \"Component\"}, "
+                             + "\"branch\": {\"name\": \"feature\", \"type\": \"BRANCH\", \"isMain\": %s}, "
+                             + "\"qualityGate\": {\"status\": \"OK\"}}", status, mainBranch)
+                     .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] generateJiraIssueWebhookBody(String sprintField) {
+        return String.format("{\"timestamp\": 1611000000000, \"webhookEvent\": \"jira:issue_updated\", "
+                             + "\"issue\": {\"id\": \"10001\", "
+                             + "\"self\": \"https://pqdunittest.atlassian.net/rest/api/2/issue/10001\", "
+                             + "\"key\": \"PT-1\", \"fields\": {\"summary\": \"Issue\", "
+                             + "\"issuetype\": {\"id\": \"10002\", \"name\": \"Task\"}, "
+                             + "\"customfield_10020\": %s}}}", sprintField)
+                     .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] generateJiraSprintWebhookBody(String webhookEvent) {
+        return String.format("{\"timestamp\": 1611000000000, \"webhookEvent\": \"%s\", "
+                             + "\"sprint\": {\"id\": 5, "
+                             + "\"self\": \"https://pqdunittest.atlassian.net/rest/agile/1.0/sprint/5\", "
+                             + "\"state\": \"active\", \"name\": \"Sprint 5\", "
+                             + "\"startDate\": \"2021-01-16T17:31:09.879Z\", "
+                             + "\"endDate\": \"2021-01-27T14:30:09.879Z\", \"originBoardId\": 1}}",
+                             webhookEvent)
+                     .getBytes(StandardCharsets.UTF_8);
+    }
+
     private static SonarqubeInfo generateSonarqubeInfo() {
         return SonarqubeInfo.builder()
                             .baseUrl("baseurl")
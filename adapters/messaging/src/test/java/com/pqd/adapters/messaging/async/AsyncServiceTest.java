@@ -0,0 +1,58 @@
+package com.pqd.adapters.messaging.async;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.usecase.collection.EnqueueCollectionJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class AsyncServiceTest {
+
+    private EnqueueCollectionJob enqueueCollectionJob;
+    private MeterRegistry meterRegistry;
+    private AsyncService asyncService;
+
+    @BeforeEach
+    void setup() {
+        enqueueCollectionJob = mock(EnqueueCollectionJob.class);
+        meterRegistry = new SimpleMeterRegistry();
+        asyncService = new AsyncService(enqueueCollectionJob, meterRegistry);
+    }
+
+    @Test
+    void GIVEN_product_triggered_repeatedly_WHEN_triggers_queued_THEN_triggers_counted_by_outcome() {
+        CollectionJob collectionJob = CollectionJob.builder().id(5L).productId(1L).status(CollectionJobStatus.QUEUED).build();
+        when(enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(1L)))
+                .thenReturn(EnqueueCollectionJob.Response.of(collectionJob, true))
+                .thenReturn(EnqueueCollectionJob.Response.of(collectionJob, false))
+                .thenReturn(EnqueueCollectionJob.Response.of(collectionJob, false));
+
+        assertThat(asyncService.asyncExecution(1L)).isEqualTo(collectionJob);
+        assertThat(asyncService.asyncExecution(1L)).isEqualTo(collectionJob);
+        assertThat(asyncService.asyncExecution(1L)).isEqualTo(collectionJob);
+
+        assertThat(meterRegistry.get("pqd.collection.triggers").tag("outcome", "queued").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("pqd.collection.triggers").tag("outcome", "coalesced").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void GIVEN_full_collection_queue_WHEN_trigger_queued_THEN_rejection_counted_and_rethrown() {
+        when(enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(1L)))
+                .thenThrow(new EnqueueCollectionJob.CollectionQueueFullException(10, Duration.ofSeconds(5)));
+
+        assertThrows(EnqueueCollectionJob.CollectionQueueFullException.class, () -> asyncService.asyncExecution(1L));
+
+        assertThat(meterRegistry.get("pqd.collection.triggers").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,159 @@
+package com.pqd.adapters.messaging.async;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.domain.collection.CollectionStageName;
+import com.pqd.application.usecase.collection.ClaimNextCollectionJob;
+import com.pqd.application.usecase.collection.CollectionQueueProperties;
+import com.pqd.application.usecase.collection.ExtendCollectionJobLocks;
+import com.pqd.application.usecase.collection.MaintainCollectionJobQueue;
+import com.pqd.application.usecase.collection.RunCollectionJob;
+import com.pqd.application.usecase.release.CollectionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CollectionJobWorkerTest {
+
+    private ClaimNextCollectionJob claimNextCollectionJob;
+    private RunCollectionJob runCollectionJob;
+    private ExtendCollectionJobLocks extendCollectionJobLocks;
+    private Deque<Runnable> submittedTasks;
+    private MeterRegistry meterRegistry;
+    private CollectionJobWorker worker;
+
+    @BeforeEach
+    void setup() {
+        claimNextCollectionJob = mock(ClaimNextCollectionJob.class);
+        runCollectionJob = mock(RunCollectionJob.class);
+        extendCollectionJobLocks = mock(ExtendCollectionJobLocks.class);
+        submittedTasks = new ArrayDeque<>();
+        CollectionQueueProperties properties = new CollectionQueueProperties();
+        properties.setWorkers(2);
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new CollectionJobWorker(claimNextCollectionJob, runCollectionJob,
+                                         mock(MaintainCollectionJobQueue.class), extendCollectionJobLocks,
+                                         submittedTasks::add, properties,
+                                         new CollectionProperties(), meterRegistry);
+        when(runCollectionJob.execute(any())).thenAnswer(invocation -> RunCollectionJob.Response.of(
+                invocation.<RunCollectionJob.Request>getArgument(0).getCollectionJob(), List.of()));
+    }
+
+    @Test
+    void GIVEN_more_jobs_than_workers_WHEN_polled_THEN_one_job_claimed_per_free_worker() {
+        when(claimNextCollectionJob.execute(any())).thenReturn(claimed(1L), claimed(2L), claimed(3L));
+
+        worker.poll();
+
+        assertThat(submittedTasks).hasSize(2);
+        verify(claimNextCollectionJob, times(2)).execute(any());
+        assertThat(meterRegistry.get("pqd.collection.workers.active").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void GIVEN_empty_queue_WHEN_polled_THEN_nothing_submitted() {
+        when(claimNextCollectionJob.execute(any())).thenReturn(ClaimNextCollectionJob.Response.of(Optional.empty()));
+
+        worker.poll();
+        worker.poll();
+
+        assertThat(submittedTasks).isEmpty();
+    }
+
+    @Test
+    void GIVEN_worker_running_WHEN_job_finished_THEN_next_jobs_claimed_until_queue_empty() {
+        when(claimNextCollectionJob.execute(any())).thenReturn(claimed(1L),
+                                                               claimed(2L),
+                                                               claimed(3L),
+                                                               ClaimNextCollectionJob.Response.of(Optional.empty()));
+        worker.poll();
+        submittedTasks.poll().run();
+
+        verify(runCollectionJob, times(2)).execute(any());
+
+        submittedTasks.poll().run();
+
+        verify(runCollectionJob, times(3)).execute(any());
+    }
+
+    @Test
+    void GIVEN_all_workers_finished_WHEN_polled_THEN_workers_free_again() {
+        when(claimNextCollectionJob.execute(any())).thenReturn(claimed(1L),
+                                                               ClaimNextCollectionJob.Response.of(Optional.empty()),
+                                                               ClaimNextCollectionJob.Response.of(Optional.empty()),
+                                                               claimed(2L),
+                                                               claimed(3L),
+                                                               ClaimNextCollectionJob.Response.of(Optional.empty()));
+        worker.poll();
+        submittedTasks.poll().run();
+
+        worker.poll();
+
+        assertThat(submittedTasks).hasSize(2);
+    }
+
+    @Test
+    void GIVEN_job_with_stages_WHEN_job_run_THEN_stage_durations_published_by_host() {
+        CollectionStage stage = CollectionStage.builder()
+                                               .jobId(1L)
+                                               .attempt(1)
+                                               .stage(CollectionStageName.SONARQUBE_FETCH)
+                                               .host("sonarcloud.io")
+                                               .startedAt(LocalDateTime.now())
+                                               .duration(Duration.ofMillis(1500))
+                                               .succeeded(true)
+                                               .build();
+        doReturn(RunCollectionJob.Response.of(null, List.of(stage))).when(runCollectionJob).execute(any());
+        when(claimNextCollectionJob.execute(any())).thenReturn(claimed(1L),
+                                                               ClaimNextCollectionJob.Response.of(Optional.empty()));
+        worker.poll();
+        submittedTasks.poll().run();
+
+        assertThat(meterRegistry.get("pqd.collection.stage")
+                                .tag("stage", "SONARQUBE_FETCH")
+                                .tag("host", "sonarcloud.io")
+                                .timer()
+                                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1500.0);
+    }
+
+    @Test
+    void GIVEN_job_running_WHEN_heartbeat_THEN_lease_of_running_job_extended() {
+        when(claimNextCollectionJob.execute(any())).thenReturn(claimed(1L),
+                                                               ClaimNextCollectionJob.Response.of(Optional.empty()));
+        doAnswer(invocation -> {
+            worker.heartbeat();
+            return RunCollectionJob.Response.of(null, List.of());
+        }).when(runCollectionJob).execute(any());
+        worker.poll();
+        submittedTasks.poll().run();
+
+        worker.heartbeat();
+
+        verify(extendCollectionJobLocks, times(1)).execute(any());
+        verify(extendCollectionJobLocks).execute(argThat(request -> request.getJobIds().equals(Set.of(1L))));
+    }
+
+    private static ClaimNextCollectionJob.Response claimed(Long jobId) {
+        return ClaimNextCollectionJob.Response.of(Optional.of(CollectionJob.builder()
+                                                                           .id(jobId)
+                                                                           .productId(jobId)
+                                                                           .status(CollectionJobStatus.RUNNING)
+                                                                           .attempts(1)
+                                                                           .build()));
+    }
+}
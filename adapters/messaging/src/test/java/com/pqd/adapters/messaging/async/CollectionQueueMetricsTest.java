@@ -0,0 +1,31 @@
+package com.pqd.adapters.messaging.async;
+
+import com.pqd.application.domain.collection.CollectionQueueStats;
+import com.pqd.application.usecase.collection.GetCollectionQueueStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CollectionQueueMetricsTest {
+
+    @Test
+    void GIVEN_queue_stats_WHEN_refreshed_THEN_gauges_updated() {
+        GetCollectionQueueStats getCollectionQueueStats = mock(GetCollectionQueueStats.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CollectionQueueMetrics metrics = new CollectionQueueMetrics(getCollectionQueueStats, meterRegistry);
+        when(getCollectionQueueStats.execute()).thenReturn(GetCollectionQueueStats.Response.of(
+                CollectionQueueStats.builder().queued(40).running(4).averageRunTime(Duration.ofSeconds(10)).build(),
+                Duration.ofSeconds(100)));
+
+        metrics.refresh();
+
+        assertThat(meterRegistry.get("pqd.collection.queue.depth").gauge().value()).isEqualTo(40.0);
+        assertThat(meterRegistry.get("pqd.collection.queue.running").gauge().value()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("pqd.collection.queue.wait").gauge().value()).isEqualTo(100.0);
+    }
+}
@@ -0,0 +1,41 @@
+package com.pqd.adapters.messaging.async;
+
+import com.pqd.application.usecase.collection.ScheduleCollections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+public class CollectionSchedulerTest {
+
+    private ScheduleCollections scheduleCollections;
+
+    private SonarqubePrefetchService sonarqubePrefetchService;
+
+    private CollectionScheduler collectionScheduler;
+
+    @BeforeEach
+    void setup() {
+        scheduleCollections = mock(ScheduleCollections.class);
+        sonarqubePrefetchService = mock(SonarqubePrefetchService.class);
+        collectionScheduler = new CollectionScheduler(scheduleCollections, sonarqubePrefetchService);
+    }
+
+    @Test
+    void GIVEN_collections_queued_WHEN_schedule_THEN_prefetch_started_on_prefetch_thread() {
+        when(scheduleCollections.execute()).thenReturn(ScheduleCollections.Response.of(3));
+
+        collectionScheduler.schedule();
+
+        verify(sonarqubePrefetchService).asyncPrefetch();
+    }
+
+    @Test
+    void GIVEN_no_collections_queued_WHEN_schedule_THEN_nothing_prefetched() {
+        when(scheduleCollections.execute()).thenReturn(ScheduleCollections.Response.of(0));
+
+        collectionScheduler.schedule();
+
+        verifyNoInteractions(sonarqubePrefetchService);
+    }
+}
@@ -0,0 +1,38 @@
+package com.pqd.adapters.messaging.webhook;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebhookSignaturesTest {
+
+    private static final byte[] BODY = "{\"status\": \"SUCCESS\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void GIVEN_known_secret_and_body_WHEN_signed_THEN_hmac_sha256_hex_returned() {
+        // Known HMAC-SHA256 test vector
+        assertThat(WebhookSignatures.hmacSha256Hex("key", "The quick brown fox jumps over the lazy dog"
+                .getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo("f7bc83f430538424b13298e6aa6fb143ef4d59a14946175997479dbc2d1a3cd8");
+    }
+
+    @Test
+    void GIVEN_matching_signature_WHEN_verified_THEN_valid() {
+        String signature = WebhookSignatures.hmacSha256Hex("secret", BODY);
+
+        assertThat(WebhookSignatures.isValidHmacSha256("secret", BODY, signature)).isTrue();
+        assertThat(WebhookSignatures.isValidHmacSha256("secret", BODY, signature.toUpperCase())).isTrue();
+    }
+
+    @Test
+    void GIVEN_changed_body_or_missing_secret_WHEN_verified_THEN_invalid() {
+        String signature = WebhookSignatures.hmacSha256Hex("secret", BODY);
+        byte[] changedBody = "{\"status\": \"FAILED\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(WebhookSignatures.isValidHmacSha256("secret", changedBody, signature)).isFalse();
+        assertThat(WebhookSignatures.isValidHmacSha256(null, BODY, signature)).isFalse();
+        assertThat(WebhookSignatures.isValidHmacSha256("secret", BODY, null)).isFalse();
+    }
+}
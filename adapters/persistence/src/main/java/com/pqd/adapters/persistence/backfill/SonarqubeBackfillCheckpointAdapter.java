@@ -0,0 +1,27 @@
+package com.pqd.adapters.persistence.backfill;
+
+import com.pqd.application.domain.sonarqube.SonarqubeBackfillCheckpoint;
+import com.pqd.application.usecase.sonarqube.SonarqubeBackfillCheckpointGateway;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.util.Optional;
+
+@Component
+@Transactional
+@AllArgsConstructor
+public class SonarqubeBackfillCheckpointAdapter implements SonarqubeBackfillCheckpointGateway {
+
+    private final SonarqubeBackfillCheckpointRepository repository;
+
+    @Override
+    public Optional<SonarqubeBackfillCheckpoint> findByProductId(Long productId) {
+        return repository.findById(productId).map(SonarqubeBackfillCheckpointEntity::buildCheckpoint);
+    }
+
+    @Override
+    public void save(SonarqubeBackfillCheckpoint checkpoint) {
+        repository.save(SonarqubeBackfillCheckpointEntity.buildCheckpointEntity(checkpoint));
+    }
+}
@@ -0,0 +1,48 @@
+package com.pqd.adapters.persistence.backfill;
+
+import com.pqd.application.domain.sonarqube.SonarqubeBackfillCheckpoint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sonarqube_backfill_checkpoint", schema = "public")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SonarqubeBackfillCheckpointEntity {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "history_end")
+    private LocalDateTime historyEnd;
+
+    @Column(name = "backfilled_until")
+    private LocalDateTime backfilledUntil;
+
+    public static SonarqubeBackfillCheckpoint buildCheckpoint(SonarqubeBackfillCheckpointEntity entity) {
+        return SonarqubeBackfillCheckpoint.builder()
+                                          .productId(entity.getProductId())
+                                          .historyEnd(entity.getHistoryEnd())
+                                          .backfilledUntil(entity.getBackfilledUntil())
+                                          .build();
+    }
+
+    public static SonarqubeBackfillCheckpointEntity buildCheckpointEntity(SonarqubeBackfillCheckpoint checkpoint) {
+        return builder()
+                .productId(checkpoint.getProductId())
+                .historyEnd(checkpoint.getHistoryEnd())
+                .backfilledUntil(checkpoint.getBackfilledUntil())
+                .build();
+    }
+}
@@ -0,0 +1,6 @@
+package com.pqd.adapters.persistence.backfill;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SonarqubeBackfillCheckpointRepository extends JpaRepository<SonarqubeBackfillCheckpointEntity, Long> {
+}
@@ -0,0 +1,120 @@
+package com.pqd.adapters.persistence.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionQueueStats;
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.usecase.collection.CollectionJobGateway;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Component
+@Transactional
+@AllArgsConstructor
+public class CollectionJobAdapter implements CollectionJobGateway {
+
+    private final CollectionJobRepository repository;
+
+    private final CollectionStageRepository stageRepository;
+
+    @Override
+    public CollectionJob enqueue(Long productId, LocalDateTime now) {
+        return CollectionJobEntity.buildCollectionJob(repository.enqueue(productId, now));
+    }
+
+    @Override
+    public Optional<CollectionJob> claimNext(String workerId, LocalDateTime now, LocalDateTime lockedUntil) {
+        return repository.lockNextDue(now).map(entity -> {
+            entity.setStatus(CollectionJobStatus.RUNNING.name());
+            entity.setAttempts(entity.getAttempts() + 1);
+            entity.setStartedAt(now);
+            entity.setFinishedAt(null);
+            entity.setLockedBy(workerId);
+            entity.setLockedUntil(lockedUntil);
+            return CollectionJobEntity.buildCollectionJob(repository.save(entity));
+        });
+    }
+
+    @Override
+    public int extendLocks(String workerId, Collection<Long> jobIds, LocalDateTime lockedUntil) {
+        return jobIds.isEmpty() ? 0 : repository.extendLocks(workerId, jobIds, lockedUntil);
+    }
+
+    @Override
+    public Optional<CollectionJob> findById(Long jobId) {
+        return repository.findById(jobId).map(CollectionJobEntity::buildCollectionJob);
+    }
+
+    @Override
+    public Optional<CollectionJob> findQueuedByProductId(Long productId) {
+        return repository.findByProductIdAndStatus(productId, CollectionJobStatus.QUEUED.name())
+                         .map(CollectionJobEntity::buildCollectionJob);
+    }
+
+    @Override
+    public long countQueued() {
+        return repository.countByStatus(CollectionJobStatus.QUEUED.name());
+    }
+
+    @Override
+    public CollectionQueueStats getQueueStats(LocalDateTime finishedAfter) {
+        Double averageRunSeconds = repository.averageRunSeconds(finishedAfter);
+        return CollectionQueueStats.builder()
+                                   .queued(repository.countByStatus(CollectionJobStatus.QUEUED.name()))
+                                   .running(repository.countByStatus(CollectionJobStatus.RUNNING.name()))
+                                   .averageRunTime(averageRunSeconds != null
+                                                   ? Duration.ofMillis(Math.round(averageRunSeconds * 1000))
+                                                   : null)
+                                   .build();
+    }
+
+    @Override
+    public boolean finish(CollectionJob runningJob, CollectionJobStatus status, LocalDateTime finishedAt,
+                          String error) {
+        return repository.finish(runningJob.getId(), runningJob.getLockedBy(), runningJob.getAttempts(), status.name(),
+                                 finishedAt, error) > 0;
+    }
+
+    @Override
+    public void saveStages(List<CollectionStage> stages) {
+        stageRepository.saveAll(stages.stream()
+                                      .map(CollectionStageEntity::buildCollectionStageEntity)
+                                      .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<CollectionStage> findStagesByJobId(Long jobId) {
+        return stageRepository.findAllByJobIdOrderByAttemptAscStartedAtAsc(jobId)
+                              .stream()
+                              .map(CollectionStageEntity::buildCollectionStage)
+                              .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean retry(CollectionJob runningJob, LocalDateTime runAfter, String error) {
+        return repository.requeue(runningJob.getId(), runningJob.getLockedBy(), runningJob.getAttempts(), runAfter,
+                                  error) > 0;
+    }
+
+    @Override
+    public int requeueStale(int maxAttempts, LocalDateTime now) {
+        repository.killStale(maxAttempts, now);
+        int requeued = repository.requeueStale(now);
+        // Left are the stale jobs of products that got a newer queued job in the meantime
+        repository.failStale(now);
+        return requeued;
+    }
+
+    @Override
+    public int deleteFinishedBefore(LocalDateTime finishedBefore) {
+        return repository.deleteFinishedBefore(finishedBefore);
+    }
+}
@@ -0,0 +1,93 @@
+package com.pqd.adapters.persistence.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "collection_job", schema = "public")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "collection_job_seq")
+    @SequenceGenerator(name = "collection_job_generator", sequenceName = "collection_job_seq", allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "status")
+    private String status;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "triggers")
+    private int triggers;
+
+    @Column(name = "run_after")
+    private LocalDateTime runAfter;
+
+    @Column(name = "created")
+    private LocalDateTime created;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    public static CollectionJob buildCollectionJob(CollectionJobEntity entity) {
+        return CollectionJob.builder()
+                            .id(entity.getId())
+                            .productId(entity.getProductId())
+                            .status(CollectionJobStatus.valueOf(entity.getStatus()))
+                            .attempts(entity.getAttempts())
+                            .triggers(entity.getTriggers())
+                            .runAfter(entity.getRunAfter())
+                            .created(entity.getCreated())
+                            .startedAt(entity.getStartedAt())
+                            .finishedAt(entity.getFinishedAt())
+                            .lockedBy(entity.getLockedBy())
+                            .lockedUntil(entity.getLockedUntil())
+                            .lastError(entity.getLastError())
+                            .build();
+    }
+
+    public static CollectionJobEntity buildCollectionJobEntity(CollectionJob collectionJob) {
+        return builder()
+                .id(collectionJob.getId())
+                .productId(collectionJob.getProductId())
+                .status(collectionJob.getStatus().name())
+                .attempts(collectionJob.getAttempts())
+                .triggers(collectionJob.getTriggers())
+                .runAfter(collectionJob.getRunAfter())
+                .created(collectionJob.getCreated())
+                .startedAt(collectionJob.getStartedAt())
+                .finishedAt(collectionJob.getFinishedAt())
+                .lockedBy(collectionJob.getLockedBy())
+                .lockedUntil(collectionJob.getLockedUntil())
+                .lastError(collectionJob.getLastError())
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.pqd.adapters.persistence.collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface CollectionJobRepository extends JpaRepository<CollectionJobEntity, Long> {
+
+    /**
+     * Inserts a queued job for the product. If the product already has a queued job (collection_job_queued_product
+     * index), its trigger count is increased instead. Returns the inserted or updated row.
+     */
+    @Query(value = "INSERT INTO public.collection_job AS job (product_id, status, attempts, triggers, run_after, created) "
+                   + "VALUES (:productId, 'QUEUED', 0, 1, :now, :now) "
+                   + "ON CONFLICT (product_id) WHERE status = 'QUEUED' DO UPDATE SET triggers = job.triggers + 1 "
+                   + "RETURNING *", nativeQuery = true)
+    CollectionJobEntity enqueue(@Param("productId") Long productId, @Param("now") LocalDateTime now);
+
+    /**
+     * A product has at most one queued job (collection_job_queued_product index)
+     */
+    Optional<CollectionJobEntity> findByProductIdAndStatus(Long productId, String status);
+
+    long countByStatus(String status);
+
+    @Query(value = "SELECT CAST(AVG(EXTRACT(EPOCH FROM finished_at - started_at)) AS double precision) "
+                   + "FROM public.collection_job WHERE finished_at >= :finishedAfter AND started_at IS NOT NULL",
+           nativeQuery = true)
+    Double averageRunSeconds(@Param("finishedAfter") LocalDateTime finishedAfter);
+
+    /**
+     * Locks the next due queued job. Rows locked by other workers are skipped instead of waited for, so every
+     * worker gets a different job.
+     */
+    @Query(value = "SELECT * FROM public.collection_job job WHERE job.status = 'QUEUED' AND job.run_after <= :now "
+                   + "AND NOT EXISTS (SELECT 1 FROM public.collection_job running "
+                   + "WHERE running.product_id = job.product_id AND running.status = 'RUNNING') "
+                   + "ORDER BY job.run_after, job.id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<CollectionJobEntity> lockNextDue(@Param("now") LocalDateTime now);
+
+    /**
+     * Only the attempt still running by the worker is finished, a job requeued as stale in the meantime belongs to
+     * its next attempt
+     */
+    @Modifying
+    @Query(value = "UPDATE public.collection_job SET status = :status, finished_at = :finishedAt, "
+                   + "last_error = :error, locked_by = NULL, locked_until = NULL WHERE id = :id "
+                   + "AND status = 'RUNNING' AND locked_by = :workerId AND attempts = :attempts", nativeQuery = true)
+    int finish(@Param("id") Long id,
+               @Param("workerId") String workerId,
+               @Param("attempts") int attempts,
+               @Param("status") String status,
+               @Param("finishedAt") LocalDateTime finishedAt,
+               @Param("error") String error);
+
+    @Modifying
+    @Query(value = "UPDATE public.collection_job job SET status = 'QUEUED', run_after = :runAfter, "
+                   + "last_error = :error, locked_by = NULL, locked_until = NULL WHERE job.id = :id "
+                   + "AND job.status = 'RUNNING' AND job.locked_by = :workerId AND job.attempts = :attempts "
+                   + "AND NOT EXISTS (SELECT 1 FROM public.collection_job queued "
+                   + "WHERE queued.product_id = job.product_id AND queued.status = 'QUEUED')", nativeQuery = true)
+    int requeue(@Param("id") Long id,
+                @Param("workerId") String workerId,
+                @Param("attempts") int attempts,
+                @Param("runAfter") LocalDateTime runAfter,
+                @Param("error") String error);
+
+    /**
+     * Only jobs still running by the worker are extended, a job requeued as stale in the meantime stays queued
+     */
+    @Modifying
+    @Query(value = "UPDATE public.collection_job SET locked_until = :lockedUntil "
+                   + "WHERE id IN (:ids) AND status = 'RUNNING' AND locked_by = :workerId", nativeQuery = true)
+    int extendLocks(@Param("workerId") String workerId,
+                    @Param("ids") Collection<Long> ids,
+                    @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query(value = "UPDATE public.collection_job SET status = 'DEAD', finished_at = :now, locked_by = NULL, "
+                   + "locked_until = NULL, last_error = 'Abandoned by a stopped worker on the last attempt' "
+                   + "WHERE status = 'RUNNING' AND locked_until < :now AND attempts >= :maxAttempts",
+           nativeQuery = true)
+    int killStale(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE public.collection_job job SET status = 'QUEUED', run_after = :now, locked_by = NULL, "
+                   + "locked_until = NULL, last_error = 'Abandoned by a stopped worker' "
+                   + "WHERE job.status = 'RUNNING' AND job.locked_until < :now "
+                   + "AND NOT EXISTS (SELECT 1 FROM public.collection_job queued "
+                   + "WHERE queued.product_id = job.product_id AND queued.status = 'QUEUED')", nativeQuery = true)
+    int requeueStale(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE public.collection_job SET status = 'FAILED', finished_at = :now, locked_by = NULL, "
+                   + "locked_until = NULL, last_error = 'Abandoned by a stopped worker' "
+                   + "WHERE status = 'RUNNING' AND locked_until < :now", nativeQuery = true)
+    int failStale(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM public.collection_job WHERE status IN ('SUCCEEDED', 'FAILED', 'DEAD') "
+                   + "AND finished_at < :finishedBefore", nativeQuery = true)
+    int deleteFinishedBefore(@Param("finishedBefore") LocalDateTime finishedBefore);
+}
@@ -0,0 +1,50 @@
+package com.pqd.adapters.persistence.collection;
+
+import com.pqd.application.domain.collection.CollectionSchedule;
+import com.pqd.application.usecase.collection.CollectionScheduleGateway;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Transactional
+@AllArgsConstructor
+public class CollectionScheduleAdapter implements CollectionScheduleGateway {
+
+    private final CollectionScheduleRepository repository;
+
+    @Override
+    public List<CollectionSchedule> findAll() {
+        return repository.findAll()
+                         .stream()
+                         .map(CollectionScheduleEntity::buildCollectionSchedule)
+                         .collect(Collectors.toList());
+    }
+
+    @Override
+    public void create(CollectionSchedule collectionSchedule) {
+        repository.insertIfAbsent(collectionSchedule.getProductId(), collectionSchedule.getNextRun());
+    }
+
+    @Override
+    public void update(CollectionSchedule collectionSchedule) {
+        repository.save(CollectionScheduleEntity.buildCollectionScheduleEntity(collectionSchedule));
+    }
+
+    @Override
+    public void deleteAllByProductId(List<Long> productIds) {
+        repository.deleteAllByProductIdIn(productIds);
+    }
+
+    @Override
+    public List<CollectionSchedule> lockDue(LocalDateTime now) {
+        return repository.lockDue(now)
+                         .stream()
+                         .map(CollectionScheduleEntity::buildCollectionSchedule)
+                         .collect(Collectors.toList());
+    }
+}
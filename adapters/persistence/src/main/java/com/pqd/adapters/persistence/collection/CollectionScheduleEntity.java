@@ -0,0 +1,43 @@
+package com.pqd.adapters.persistence.collection;
+
+import com.pqd.application.domain.collection.CollectionSchedule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "collection_schedule", schema = "public")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionScheduleEntity {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "next_run")
+    private LocalDateTime nextRun;
+
+    public static CollectionSchedule buildCollectionSchedule(CollectionScheduleEntity entity) {
+        return CollectionSchedule.builder()
+                                 .productId(entity.getProductId())
+                                 .nextRun(entity.getNextRun())
+                                 .build();
+    }
+
+    public static CollectionScheduleEntity buildCollectionScheduleEntity(CollectionSchedule collectionSchedule) {
+        return builder()
+                .productId(collectionSchedule.getProductId())
+                .nextRun(collectionSchedule.getNextRun())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.pqd.adapters.persistence.collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CollectionScheduleRepository extends JpaRepository<CollectionScheduleEntity, Long> {
+
+    /**
+     * Another instance may have created the schedule in the meantime, its first run is kept then
+     */
+    @Modifying
+    @Query(value = "INSERT INTO public.collection_schedule (product_id, next_run) VALUES (:productId, :nextRun) "
+                   + "ON CONFLICT (product_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("productId") Long productId, @Param("nextRun") LocalDateTime nextRun);
+
+    @Query(value = "SELECT * FROM public.collection_schedule WHERE next_run <= :now ORDER BY next_run "
+                   + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<CollectionScheduleEntity> lockDue(@Param("now") LocalDateTime now);
+
+    void deleteAllByProductIdIn(List<Long> productIds);
+}
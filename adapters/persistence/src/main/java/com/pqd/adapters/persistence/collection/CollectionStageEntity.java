@@ -0,0 +1,77 @@
+package com.pqd.adapters.persistence.collection;
+
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.domain.collection.CollectionStageName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "collection_job_stage", schema = "public")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionStageEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "collection_job_stage_seq")
+    @SequenceGenerator(name = "collection_job_stage_generator", sequenceName = "collection_job_stage_seq", allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "attempt")
+    private int attempt;
+
+    @Column(name = "stage")
+    private String stage;
+
+    @Column(name = "host")
+    private String host;
+
+    @Column(name = "detail")
+    private String detail;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "succeeded")
+    private boolean succeeded;
+
+    public static CollectionStage buildCollectionStage(CollectionStageEntity entity) {
+        return CollectionStage.builder()
+                              .jobId(entity.getJobId())
+                              .attempt(entity.getAttempt())
+                              .stage(CollectionStageName.valueOf(entity.getStage()))
+                              .host(entity.getHost())
+                              .detail(entity.getDetail())
+                              .startedAt(entity.getStartedAt())
+                              .duration(Duration.ofMillis(entity.getDurationMs()))
+                              .succeeded(entity.isSucceeded())
+                              .build();
+    }
+
+    public static CollectionStageEntity buildCollectionStageEntity(CollectionStage stage) {
+        return builder()
+                .jobId(stage.getJobId())
+                .attempt(stage.getAttempt())
+                .stage(stage.getStage().name())
+                .host(stage.getHost())
+                .detail(stage.getDetail())
+                .startedAt(stage.getStartedAt())
+                .durationMs(stage.getDuration().toMillis())
+                .succeeded(stage.isSucceeded())
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+package com.pqd.adapters.persistence.collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CollectionStageRepository extends JpaRepository<CollectionStageEntity, Long> {
+
+    List<CollectionStageEntity> findAllByJobIdOrderByAttemptAscStartedAtAsc(Long jobId);
+}
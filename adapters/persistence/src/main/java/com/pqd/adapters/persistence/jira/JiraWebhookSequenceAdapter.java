@@ -0,0 +1,25 @@
+package com.pqd.adapters.persistence.jira;
+
+import com.pqd.application.usecase.jira.JiraWebhookSequenceGateway;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+
+@Component
+@Transactional
+@AllArgsConstructor
+public class JiraWebhookSequenceAdapter implements JiraWebhookSequenceGateway {
+
+    private final JiraWebhookSequenceRepository repository;
+
+    @Override
+    public long next(String baseUrl) {
+        return repository.increment(baseUrl);
+    }
+
+    @Override
+    public long current(String baseUrl) {
+        return repository.findById(baseUrl).map(JiraWebhookSequenceEntity::getSequence).orElse(0L);
+    }
+}
@@ -0,0 +1,27 @@
+package com.pqd.adapters.persistence.jira;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "jira_webhook_sequence", schema = "public")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JiraWebhookSequenceEntity {
+
+    @Id
+    @Column(name = "base_url")
+    private String baseUrl;
+
+    @Column(name = "sequence")
+    private Long sequence;
+}
@@ -0,0 +1,17 @@
+package com.pqd.adapters.persistence.jira;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface JiraWebhookSequenceRepository extends JpaRepository<JiraWebhookSequenceEntity, String> {
+
+    /**
+     * Increases the sequence of the server in one statement, so events received at once by several instances get
+     * different numbers. Returns the increased sequence.
+     */
+    @Query(value = "INSERT INTO public.jira_webhook_sequence AS server (base_url, sequence) VALUES (:baseUrl, 1) "
+                   + "ON CONFLICT (base_url) DO UPDATE SET sequence = server.sequence + 1 "
+                   + "RETURNING sequence", nativeQuery = true)
+    Long increment(@Param("baseUrl") String baseUrl);
+}
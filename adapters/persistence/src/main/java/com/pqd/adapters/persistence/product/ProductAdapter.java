@@ -9,8 +9,10 @@ import lombok.NoArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import javax.transaction.Transactional;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Component
 @Transactional
@@ -28,6 +30,24 @@ public class ProductAdapter implements ProductGateway {
         return repository.findById(id).map(ProductEntity::buildProduct);
     }
 
+    @Override
+    public List<Product> findAll() {
+        return repository.findAll().stream().map(ProductEntity::buildProduct).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Product> findAllById(List<Long> ids) {
+        return repository.findAllById(ids).stream().map(ProductEntity::buildProduct).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Product> findAllBySonarqubeComponentName(String componentName) {
+        return repository.findAllBySonarqubeInfoEntityComponentName(componentName)
+                         .stream()
+                         .map(ProductEntity::buildProduct)
+                         .collect(Collectors.toList());
+    }
+
     @Override
     public Product save(Product product) {
         ProductEntity savedProductEntity = repository.save(ProductEntity.buildProductEntity(product));
@@ -42,6 +62,7 @@ public class ProductAdapter implements ProductGateway {
                                   String.format("ProductEntity with id %s not found", product.getId())));
         productEntity.setName(product.getName());
         productEntity.setToken(product.getToken());
+        productEntity.setCollectionIntervalMinutes(product.getCollectionIntervalMinutes());
 
         if (product.getSonarqubeInfo().isPresent()) {
             productEntity.getSonarqubeInfoEntity().setToken(product.getSonarqubeInfo().get().getToken());
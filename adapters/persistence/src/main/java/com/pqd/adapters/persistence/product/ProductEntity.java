@@ -33,6 +33,9 @@ public class ProductEntity {
     @Column(name = "token")
     private String token;
 
+    @Column(name = "collection_interval_minutes")
+    private Integer collectionIntervalMinutes;
+
     @OneToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "sq_info_id", referencedColumnName = "id")
     private SonarqubeInfoEntity sonarqubeInfoEntity;
@@ -48,6 +51,7 @@ public class ProductEntity {
                                  .jiraInfo(Optional.empty())
                                  .token(entity.getToken())
                                  .id(entity.getId())
+                                 .collectionIntervalMinutes(entity.getCollectionIntervalMinutes())
                                  .build();
         if (entity.getSonarqubeInfoEntity() != null) {
             product.setSonarqubeInfo(Optional.of(
@@ -76,6 +80,7 @@ public class ProductEntity {
         ProductEntity entity = builder()
                 .name(product.getName())
                 .token(product.getToken())
+                .collectionIntervalMinutes(product.getCollectionIntervalMinutes())
                 .build();
 
         if (product.getSonarqubeInfo().isPresent()) {
@@ -3,6 +3,10 @@ package com.pqd.adapters.persistence.product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.List;
+
 public interface ProductRepository extends JpaRepository<ProductEntity, Long>,
                                            JpaSpecificationExecutor<ProductEntity> {
+
+    List<ProductEntity> findAllBySonarqubeInfoEntityComponentName(String componentName);
 }
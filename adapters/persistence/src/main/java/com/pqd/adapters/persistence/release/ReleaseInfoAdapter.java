@@ -7,7 +7,9 @@ import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
@@ -38,14 +40,34 @@ public class ReleaseInfoAdapter implements ReleaseInfoGateway {
         return ReleaseInfoEntity.buildReleaseInfo(updatedReleaseInfo);
     }
 
+    /**
+     * Without Jira sprints the snapshots are saved at once, the inserts are batched by hibernate.jdbc.batch_size
+     */
+    @Override
+    public void saveAll(List<ReleaseInfo> releaseInfos) {
+        repository.saveAll(releaseInfos.stream()
+                                       .map(ReleaseInfoEntity::buildReleaseInfoEnity)
+                                       .collect(Collectors.toList()));
+    }
+
     @Override
     public List<ReleaseInfo> findAllByProductId(Long productId) {
-        List<ReleaseInfoEntity> entities = repository.findAllByProductIdOrderByIdDesc(productId);
+        List<ReleaseInfoEntity> entities = repository.findAllByProductIdOrderByCreatedDescIdDesc(productId);
         return entities.stream().map(ReleaseInfoEntity::buildReleaseInfo).collect(Collectors.toList());
     }
 
+    @Override
+    public Optional<LocalDateTime> findFirstCreated(Long productId) {
+        return Optional.ofNullable(repository.findFirstCreated(productId));
+    }
+
+    @Override
+    public boolean markUnchanged(Long productId, String fingerprint, LocalDateTime collected) {
+        return repository.markUnchanged(productId, fingerprint, collected) > 0;
+    }
+
     public void deleteAllByProductId(Long productId) {
-        List<ReleaseInfoEntity> releaseInfoEntities = repository.findAllByProductIdOrderByIdDesc(productId);
+        List<ReleaseInfoEntity> releaseInfoEntities = repository.findAllByProductIdOrderByCreatedDescIdDesc(productId);
         repository.deleteAll(releaseInfoEntities);
     }
 
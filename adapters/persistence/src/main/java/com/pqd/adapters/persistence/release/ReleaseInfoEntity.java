@@ -38,6 +38,12 @@ public class ReleaseInfoEntity {
     @Column(name = "quality_level")
     private Double qualityLevel;
 
+    @Column(name = "fingerprint")
+    private String fingerprint;
+
+    @Column(name = "last_collected")
+    private LocalDateTime lastCollected;
+
     @OneToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "release_info_sq_id", referencedColumnName = "id")
     private ReleaseInfoSonarqubeEntity sonarqubeReleaseInfoEntity;
@@ -55,6 +61,8 @@ public class ReleaseInfoEntity {
                                              .releaseInfoSonarqube(Optional.empty())
                                              .releaseInfoJira(Optional.empty())
                                              .created(entity.getCreated())
+                                             .fingerprint(entity.getFingerprint())
+                                             .lastCollected(entity.getLastCollected())
                                              .build();
         if (entity.getSonarqubeReleaseInfoEntity() != null) {
             releaseInfo.setReleaseInfoSonarqube(Optional.of(ReleaseInfoSonarqubeEntity.buildSonarqubeReleaseInfo(
@@ -78,6 +86,8 @@ public class ReleaseInfoEntity {
                 .created(releaseInfo.getCreated())
                 .productId(releaseInfo.getProductId())
                 .qualityLevel(releaseInfo.getQualityLevel())
+                .fingerprint(releaseInfo.getFingerprint())
+                .lastCollected(releaseInfo.getLastCollected())
                 .build();
 
         if (releaseInfo.getReleaseInfoSonarqube().isPresent()) {
@@ -2,12 +2,31 @@ package com.pqd.adapters.persistence.release;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReleaseInfoRepository extends JpaRepository<ReleaseInfoEntity, Long>,
                                            JpaSpecificationExecutor<ReleaseInfoEntity> {
 
-    List<ReleaseInfoEntity> findAllByProductIdOrderByIdDesc(@Param("product_id") Long productId);
+    /**
+     * Backfilled snapshots have newer ids than the collected snapshots after them, so snapshots are ordered by their
+     * creation time
+     */
+    List<ReleaseInfoEntity> findAllByProductIdOrderByCreatedDescIdDesc(@Param("product_id") Long productId);
+
+    @Query("SELECT MIN(r.created) FROM ReleaseInfoEntity r WHERE r.productId = :productId")
+    LocalDateTime findFirstCreated(@Param("productId") Long productId);
+
+    @Modifying
+    @Query(value = "UPDATE public.release_info SET last_collected = :collected "
+                   + "WHERE id = (SELECT id FROM public.release_info WHERE product_id = :productId "
+                   + "ORDER BY created DESC, id DESC LIMIT 1) "
+                   + "AND fingerprint = :fingerprint", nativeQuery = true)
+    int markUnchanged(@Param("productId") Long productId,
+                      @Param("fingerprint") String fingerprint,
+                      @Param("collected") LocalDateTime collected);
 }
@@ -0,0 +1,35 @@
+package com.pqd.adapters.persistence.backfill;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class SonarqubeBackfillCheckpointAdapterTest {
+
+    private SonarqubeBackfillCheckpointRepository repository;
+    private SonarqubeBackfillCheckpointAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(SonarqubeBackfillCheckpointRepository.class);
+        adapter = new SonarqubeBackfillCheckpointAdapter(repository);
+    }
+
+    @Test
+    void GIVEN_checkpoint_exists_WHEN_finding_by_product_id_THEN_checkpoint_returned() {
+        when(repository.findById(1L)).thenReturn(Optional.of(TestDataGenerator.generateCheckpointEntity()));
+
+        assertThat(adapter.findByProductId(1L)).contains(TestDataGenerator.generateCheckpoint());
+    }
+
+    @Test
+    void GIVEN_checkpoint_WHEN_saving_THEN_entity_saved() {
+        adapter.save(TestDataGenerator.generateCheckpoint());
+
+        verify(repository).save(TestDataGenerator.generateCheckpointEntity());
+    }
+}
@@ -0,0 +1,24 @@
+package com.pqd.adapters.persistence.backfill;
+
+import com.pqd.application.domain.sonarqube.SonarqubeBackfillCheckpoint;
+
+import java.time.LocalDateTime;
+
+public class TestDataGenerator {
+
+    public static SonarqubeBackfillCheckpoint generateCheckpoint() {
+        return SonarqubeBackfillCheckpoint.builder()
+                                          .productId(1L)
+                                          .historyEnd(LocalDateTime.of(2021, 1, 1, 12, 0))
+                                          .backfilledUntil(LocalDateTime.of(2020, 6, 1, 10, 0))
+                                          .build();
+    }
+
+    public static SonarqubeBackfillCheckpointEntity generateCheckpointEntity() {
+        return SonarqubeBackfillCheckpointEntity.builder()
+                                                .productId(1L)
+                                                .historyEnd(LocalDateTime.of(2021, 1, 1, 12, 0))
+                                                .backfilledUntil(LocalDateTime.of(2020, 6, 1, 10, 0))
+                                                .build();
+    }
+}
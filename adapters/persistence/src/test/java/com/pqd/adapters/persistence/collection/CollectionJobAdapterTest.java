@@ -0,0 +1,155 @@
+package com.pqd.adapters.persistence.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionQueueStats;
+import com.pqd.application.domain.collection.CollectionStage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CollectionJobAdapterTest {
+
+    private CollectionJobRepository repository;
+    private CollectionStageRepository stageRepository;
+    private CollectionJobAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(CollectionJobRepository.class);
+        stageRepository = mock(CollectionStageRepository.class);
+        adapter = new CollectionJobAdapter(repository, stageRepository);
+    }
+
+    @Test
+    void GIVEN_product_id_WHEN_job_enqueued_THEN_queued_job_returned() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.enqueue(1L, now)).thenReturn(TestDataGenerator.generateCollectionJobEntity());
+
+        CollectionJob actual = adapter.enqueue(1L, now);
+
+        verify(repository, times(1)).enqueue(1L, now);
+        assertThat(actual).isEqualTo(TestDataGenerator.generateCollectionJob());
+    }
+
+    @Test
+    void GIVEN_due_job_WHEN_job_claimed_THEN_job_saved_as_running_by_worker() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.lockNextDue(now)).thenReturn(Optional.of(TestDataGenerator.generateCollectionJobEntity()));
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Optional<CollectionJob> actual = adapter.claimNext("worker", now, now.plusMinutes(10));
+
+        assertThat(actual).isPresent();
+        assertThat(actual.get().getStatus()).isEqualTo(CollectionJobStatus.RUNNING);
+        assertThat(actual.get().getAttempts()).isEqualTo(1);
+        assertThat(actual.get().getStartedAt()).isEqualTo(now);
+        assertThat(actual.get().getLockedBy()).isEqualTo("worker");
+        assertThat(actual.get().getLockedUntil()).isEqualTo(now.plusMinutes(10));
+    }
+
+    @Test
+    void GIVEN_no_due_job_WHEN_job_claimed_THEN_empty_returned() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.lockNextDue(now)).thenReturn(Optional.empty());
+
+        Optional<CollectionJob> actual = adapter.claimNext("worker", now, now.plusMinutes(10));
+
+        verify(repository, never()).save(any());
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void GIVEN_newer_job_queued_or_lease_lost_WHEN_job_retried_THEN_false_returned() {
+        LocalDateTime runAfter = LocalDateTime.now();
+        CollectionJob runningJob = CollectionJob.builder().id(5L).lockedBy("worker").attempts(2).build();
+        when(repository.requeue(5L, "worker", 2, runAfter, "failed")).thenReturn(0);
+
+        assertThat(adapter.retry(runningJob, runAfter, "failed")).isFalse();
+    }
+
+    @Test
+    void GIVEN_job_running_by_worker_WHEN_job_finished_THEN_attempt_of_worker_updated() {
+        LocalDateTime finishedAt = LocalDateTime.now();
+        CollectionJob runningJob = CollectionJob.builder().id(5L).lockedBy("worker").attempts(2).build();
+        when(repository.finish(5L, "worker", 2, "SUCCEEDED", finishedAt, null)).thenReturn(1);
+
+        assertThat(adapter.finish(runningJob, CollectionJobStatus.SUCCEEDED, finishedAt, null)).isTrue();
+    }
+
+    @Test
+    void GIVEN_lease_lost_WHEN_job_finished_THEN_false_returned() {
+        LocalDateTime finishedAt = LocalDateTime.now();
+        CollectionJob runningJob = CollectionJob.builder().id(5L).lockedBy("worker").attempts(2).build();
+        when(repository.finish(5L, "worker", 2, "DEAD", finishedAt, "failed")).thenReturn(0);
+
+        assertThat(adapter.finish(runningJob, CollectionJobStatus.DEAD, finishedAt, "failed")).isFalse();
+    }
+
+    @Test
+    void GIVEN_stale_jobs_WHEN_requeued_THEN_dead_requeued_and_failed_updates_run() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.requeueStale(now)).thenReturn(2);
+
+        int actual = adapter.requeueStale(5, now);
+
+        verify(repository, times(1)).killStale(5, now);
+        verify(repository, times(1)).failStale(now);
+        assertThat(actual).isEqualTo(2);
+    }
+
+    @Test
+    void GIVEN_no_running_jobs_WHEN_locks_extended_THEN_nothing_updated() {
+        int actual = adapter.extendLocks("worker", Set.of(), LocalDateTime.now());
+
+        verifyNoInteractions(repository);
+        assertThat(actual).isZero();
+    }
+
+    @Test
+    void GIVEN_queued_running_and_finished_jobs_WHEN_queue_stats_requested_THEN_counts_and_average_run_time_returned() {
+        LocalDateTime finishedAfter = LocalDateTime.now().minusHours(1);
+        when(repository.countByStatus("QUEUED")).thenReturn(7L);
+        when(repository.countByStatus("RUNNING")).thenReturn(3L);
+        when(repository.averageRunSeconds(finishedAfter)).thenReturn(12.5);
+
+        CollectionQueueStats actual = adapter.getQueueStats(finishedAfter);
+
+        assertThat(actual.getQueued()).isEqualTo(7L);
+        assertThat(actual.getRunning()).isEqualTo(3L);
+        assertThat(actual.getAverageRunTime()).isEqualTo(Duration.ofMillis(12500));
+    }
+
+    @Test
+    void GIVEN_no_finished_jobs_WHEN_queue_stats_requested_THEN_average_run_time_null() {
+        when(repository.averageRunSeconds(any())).thenReturn(null);
+
+        assertThat(adapter.getQueueStats(LocalDateTime.now()).getAverageRunTime()).isNull();
+    }
+
+    @Test
+    void GIVEN_stages_WHEN_saving_stages_THEN_entities_passed_and_saved() {
+        adapter.saveStages(List.of(TestDataGenerator.generateCollectionStage()));
+
+        verify(stageRepository, times(1)).saveAll(List.of(TestDataGenerator.generateCollectionStageEntity()));
+    }
+
+    @Test
+    void GIVEN_job_with_stages_WHEN_stages_requested_THEN_stages_returned_in_order() {
+        when(stageRepository.findAllByJobIdOrderByAttemptAscStartedAtAsc(5L))
+                .thenReturn(List.of(TestDataGenerator.generateCollectionStageEntity()));
+
+        List<CollectionStage> actual = adapter.findStagesByJobId(5L);
+
+        assertThat(actual).containsExactly(TestDataGenerator.generateCollectionStage());
+    }
+}
@@ -0,0 +1,47 @@
+package com.pqd.adapters.persistence.collection;
+
+import com.pqd.application.domain.collection.CollectionSchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CollectionScheduleAdapterTest {
+
+    private CollectionScheduleRepository repository;
+    private CollectionScheduleAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(CollectionScheduleRepository.class);
+        adapter = new CollectionScheduleAdapter(repository);
+    }
+
+    @Test
+    void GIVEN_schedule_WHEN_schedule_created_THEN_inserted_if_absent() {
+        LocalDateTime nextRun = LocalDateTime.now();
+
+        adapter.create(CollectionSchedule.builder().productId(1L).nextRun(nextRun).build());
+
+        verify(repository, times(1)).insertIfAbsent(1L, nextRun);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void GIVEN_due_schedules_WHEN_locked_THEN_schedules_returned() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.lockDue(now)).thenReturn(List.of(CollectionScheduleEntity.builder()
+                                                                                 .productId(1L)
+                                                                                 .nextRun(now)
+                                                                                 .build()));
+
+        List<CollectionSchedule> actual = adapter.lockDue(now);
+
+        assertThat(actual).containsExactly(CollectionSchedule.builder().productId(1L).nextRun(now).build());
+    }
+}
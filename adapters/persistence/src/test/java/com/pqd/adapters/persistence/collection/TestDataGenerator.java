@@ -0,0 +1,64 @@
+package com.pqd.adapters.persistence.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.domain.collection.CollectionStageName;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class TestDataGenerator {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2020, 8, 1, 12, 0);
+
+    public static CollectionJob generateCollectionJob() {
+        return CollectionJob.builder()
+                            .id(5L)
+                            .productId(1L)
+                            .status(CollectionJobStatus.QUEUED)
+                            .attempts(0)
+                            .triggers(1)
+                            .runAfter(CREATED)
+                            .created(CREATED)
+                            .build();
+    }
+
+    public static CollectionJobEntity generateCollectionJobEntity() {
+        return CollectionJobEntity.builder()
+                                  .id(5L)
+                                  .productId(1L)
+                                  .status("QUEUED")
+                                  .attempts(0)
+                                  .triggers(1)
+                                  .runAfter(CREATED)
+                                  .created(CREATED)
+                                  .build();
+    }
+
+    public static CollectionStage generateCollectionStage() {
+        return CollectionStage.builder()
+                              .jobId(5L)
+                              .attempt(1)
+                              .stage(CollectionStageName.JIRA_ISSUE_FETCH)
+                              .host("pqdunittest.atlassian.net")
+                              .detail("1")
+                              .startedAt(CREATED)
+                              .duration(Duration.ofMillis(1500))
+                              .succeeded(true)
+                              .build();
+    }
+
+    public static CollectionStageEntity generateCollectionStageEntity() {
+        return CollectionStageEntity.builder()
+                                    .jobId(5L)
+                                    .attempt(1)
+                                    .stage("JIRA_ISSUE_FETCH")
+                                    .host("pqdunittest.atlassian.net")
+                                    .detail("1")
+                                    .startedAt(CREATED)
+                                    .durationMs(1500L)
+                                    .succeeded(true)
+                                    .build();
+    }
+}
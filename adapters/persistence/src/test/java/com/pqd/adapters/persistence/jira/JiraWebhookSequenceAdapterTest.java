@@ -0,0 +1,43 @@
+package com.pqd.adapters.persistence.jira;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class JiraWebhookSequenceAdapterTest {
+
+    private JiraWebhookSequenceRepository repository;
+    private JiraWebhookSequenceAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(JiraWebhookSequenceRepository.class);
+        adapter = new JiraWebhookSequenceAdapter(repository);
+    }
+
+    @Test
+    void GIVEN_event_received_WHEN_next_THEN_increased_sequence_returned() {
+        when(repository.increment(TestDataGenerator.BASE_URL)).thenReturn(8L);
+
+        assertThat(adapter.next(TestDataGenerator.BASE_URL)).isEqualTo(8L);
+    }
+
+    @Test
+    void GIVEN_events_received_before_WHEN_current_THEN_sequence_returned() {
+        when(repository.findById(TestDataGenerator.BASE_URL))
+                .thenReturn(Optional.of(TestDataGenerator.generateSequenceEntity()));
+
+        assertThat(adapter.current(TestDataGenerator.BASE_URL)).isEqualTo(7L);
+    }
+
+    @Test
+    void GIVEN_no_events_received_WHEN_current_THEN_zero_returned() {
+        when(repository.findById(TestDataGenerator.BASE_URL)).thenReturn(Optional.empty());
+
+        assertThat(adapter.current(TestDataGenerator.BASE_URL)).isZero();
+    }
+}
@@ -0,0 +1,13 @@
+package com.pqd.adapters.persistence.jira;
+
+public class TestDataGenerator {
+
+    public static final String BASE_URL = "https://pqdunittest.atlassian.net";
+
+    public static JiraWebhookSequenceEntity generateSequenceEntity() {
+        return JiraWebhookSequenceEntity.builder()
+                                        .baseUrl(BASE_URL)
+                                        .sequence(7L)
+                                        .build();
+    }
+}
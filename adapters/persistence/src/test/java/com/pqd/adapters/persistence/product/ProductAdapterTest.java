@@ -9,6 +9,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -56,6 +57,28 @@ public class ProductAdapterTest {
         assertThat(result.isPresent()).isFalse();
     }
 
+    @Test
+    void GIVEN_product_entities_exist_WHEN_products_searched_by_ids_THEN_existing_products_returned() {
+        ProductEntity productEntity = TestDataGenerator.generateProductEntity();
+        List<Long> ids = List.of(productEntity.getId(), 123L);
+        when(repository.findAllById(ids)).thenReturn(List.of(productEntity));
+
+        List<Product> result = adapter.findAllById(ids);
+
+        assertThat(result).containsExactly(TestDataGenerator.generateProduct());
+    }
+
+    @Test
+    void GIVEN_product_entities_of_component_exist_WHEN_products_searched_by_component_name_THEN_products_returned() {
+        ProductEntity productEntity = TestDataGenerator.generateProductEntity();
+        String componentName = productEntity.getSonarqubeInfoEntity().getComponentName();
+        when(repository.findAllBySonarqubeInfoEntityComponentName(componentName)).thenReturn(List.of(productEntity));
+
+        List<Product> result = adapter.findAllBySonarqubeComponentName(componentName);
+
+        assertThat(result).containsExactly(TestDataGenerator.generateProduct());
+    }
+
     @Test
     void GIVEN_product_WHEN_saving_entity_THEN_entity_passed_and_saved() {
         Product product = TestDataGenerator.generateProduct();
@@ -7,6 +7,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -66,13 +67,32 @@ public class ReleaseInfoAdapterTest {
         assertThat(actual).isEqualTo(releaseInfo);
     }
 
+    @Test
+    void GIVEN_release_infos_without_jira_WHEN_saving_all_THEN_entities_saved_at_once() {
+        ReleaseInfo releaseInfo = TestDataGenerator.generateReleaseInfo_withoutJira();
+        ReleaseInfo releaseInfo2 = TestDataGenerator.generateReleaseInfo_withoutJira();
+
+        adapter.saveAll(List.of(releaseInfo, releaseInfo2));
+
+        verify(repository).saveAll(List.of(ReleaseInfoEntity.buildReleaseInfoEnity(releaseInfo),
+                                           ReleaseInfoEntity.buildReleaseInfoEnity(releaseInfo2)));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void GIVEN_product_without_release_infos_WHEN_finding_first_created_THEN_empty_returned() {
+        when(repository.findFirstCreated(1L)).thenReturn(null);
+
+        assertThat(adapter.findFirstCreated(1L)).isEmpty();
+    }
+
     @Test
     void GIVEN_release_info_exist_WHEN_finding_all_release_info_by_id_THEN_release_info_list_returned() {
         ReleaseInfoEntity releaseInfoEntity = TestDataGenerator.generateReleaseInfoEntity();
         ReleaseInfoEntity releaseInfoEntity2 = TestDataGenerator.generateReleaseInfoEntity2();
         ReleaseInfo expected = TestDataGenerator.generateReleaseInfo();
         ReleaseInfo expected2 = TestDataGenerator.generateReleaseInfo2();
-        when(repository.findAllByProductIdOrderByIdDesc(any()))
+        when(repository.findAllByProductIdOrderByCreatedDescIdDesc(any()))
                 .thenReturn(List.of(releaseInfoEntity, releaseInfoEntity2));
 
         List<ReleaseInfo> actual = adapter.findAllByProductId(1L);
@@ -84,10 +104,26 @@ public class ReleaseInfoAdapterTest {
 
     @Test
     void GIVEN_release_info_doesnt_exist_WHEN_finding_all_release_info_by_id_THEN_empty_list_returned() {
-        when(repository.findAllByProductIdOrderByIdDesc(any())).thenReturn(List.of());
+        when(repository.findAllByProductIdOrderByCreatedDescIdDesc(any())).thenReturn(List.of());
 
         List<ReleaseInfo> actual = adapter.findAllByProductId(1L);
 
         assertThat(actual.size()).isEqualTo(0);
     }
+
+    @Test
+    void GIVEN_latest_snapshot_with_other_fingerprint_WHEN_marking_unchanged_THEN_false_returned() {
+        LocalDateTime collected = LocalDateTime.now();
+        when(repository.markUnchanged(1L, "fingerprint", collected)).thenReturn(0);
+
+        assertThat(adapter.markUnchanged(1L, "fingerprint", collected)).isFalse();
+    }
+
+    @Test
+    void GIVEN_latest_snapshot_with_same_fingerprint_WHEN_marking_unchanged_THEN_true_returned() {
+        LocalDateTime collected = LocalDateTime.now();
+        when(repository.markUnchanged(1L, "fingerprint", collected)).thenReturn(1);
+
+        assertThat(adapter.markUnchanged(1L, "fingerprint", collected)).isTrue();
+    }
 }
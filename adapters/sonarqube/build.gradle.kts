@@ -1,5 +1,6 @@
 dependencies {
     implementation(project(":application"))
+    implementation(project(":adapters:common"))
 
     api("org.springframework.boot:spring-boot-starter-web") {
         exclude(module = "spring-boot-starter-tomcat")
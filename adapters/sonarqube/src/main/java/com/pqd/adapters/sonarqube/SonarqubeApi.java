@@ -0,0 +1,191 @@
+package com.pqd.adapters.sonarqube;
+
+import com.pqd.application.domain.connection.ConnectionResult;
+import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeAnalysis;
+import com.pqd.application.domain.sonarqube.SonarqubeHistoryPage;
+import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Sonarqube web API requests and response mapping shared by the Sonarqube gateway implementations
+ */
+final class SonarqubeApi {
+
+    private SonarqubeApi() {
+    }
+
+    private static final String METRIC_KEYS =
+            "security_rating,vulnerabilities,reliability_rating,bugs,sqale_rating,sqale_index,code_smells";
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssZ");
+
+    static String measuresUri(SonarqubeInfo sonarqubeInfo) {
+        return sonarqubeInfo.getBaseUrl()
+               + "/api/measures/component?component="
+               + sonarqubeInfo.getComponentName()
+               + "&metricKeys=" + METRIC_KEYS;
+    }
+
+    /**
+     * Measures of up to 100 components of one server
+     * @param sonarqubeInfos components with the same base URL
+     */
+    static String measuresSearchUri(List<SonarqubeInfo> sonarqubeInfos) {
+        return sonarqubeInfos.get(0).getBaseUrl()
+               + "/api/measures/search?projectKeys="
+               + sonarqubeInfos.stream().map(SonarqubeInfo::getComponentName).collect(Collectors.joining(","))
+               + "&metricKeys=" + METRIC_KEYS;
+    }
+
+    /**
+     * Measure history of the component, oldest analysis first. Sonarqube includes the analyses of the whole days of
+     * the given times.
+     * @param from null for the first analysis
+     * @param page page number, starting from 1
+     */
+    static String measuresHistoryUri(SonarqubeInfo sonarqubeInfo, LocalDateTime from, LocalDateTime to, int page,
+                                     int pageSize) {
+        return sonarqubeInfo.getBaseUrl()
+               + "/api/measures/search_history?component="
+               + sonarqubeInfo.getComponentName()
+               + "&metrics=" + METRIC_KEYS
+               + (from != null ? "&from=" + from.toLocalDate() : "")
+               + "&to=" + to.toLocalDate()
+               + "&p=" + page
+               + "&ps=" + pageSize;
+    }
+
+    /**
+     * Only the latest analysis of the component, a much smaller response than the measures
+     */
+    static String latestAnalysisUri(SonarqubeInfo sonarqubeInfo) {
+        return sonarqubeInfo.getBaseUrl()
+               + "/api/project_analyses/search?project="
+               + sonarqubeInfo.getComponentName()
+               + "&ps=1";
+    }
+
+    static String basicAuth(SonarqubeInfo sonarqubeInfo) {
+        String tokenBase = sonarqubeInfo.getToken() + ":";
+        return "Basic " + new String(Base64.getEncoder().encode(tokenBase.getBytes()));
+    }
+
+    static ReleaseInfoSonarqube toReleaseInfo(SonarqubeMeasureResponse response) {
+        return toReleaseInfo(response::getMetricValue);
+    }
+
+    /**
+     * @return release info per component name, components missing any of the metrics are left out
+     */
+    static Map<String, ReleaseInfoSonarqube> toReleaseInfos(SonarqubeMeasuresSearchResponse response) {
+        Map<String, Map<String, Double>> metricsByComponent = new LinkedHashMap<>();
+        for (SonarqubeMeasuresSearchResponse.Measure measure : response.getMeasures()) {
+            if (measure.getValue() != null) {
+                metricsByComponent.computeIfAbsent(measure.getComponent(), component -> new HashMap<>())
+                                  .put(measure.getMetric(), measure.getValue());
+            }
+        }
+        Map<String, ReleaseInfoSonarqube> releaseInfos = new LinkedHashMap<>();
+        metricsByComponent.forEach((component, metrics) -> {
+            if (metrics.keySet().containsAll(Arrays.asList(METRIC_KEYS.split(",")))) {
+                releaseInfos.put(component, toReleaseInfo(metrics::get));
+            }
+        });
+        return releaseInfos;
+    }
+
+    /**
+     * Analyses missing any of the metrics are left out, like the components of the measures search
+     */
+    static SonarqubeHistoryPage toHistoryPage(SonarqubeMeasuresHistoryResponse response) {
+        Map<String, Map<String, Double>> metricsByDate = new LinkedHashMap<>();
+        for (SonarqubeMeasuresHistoryResponse.Measure measure : response.getMeasures()) {
+            for (SonarqubeMeasuresHistoryResponse.History history : measure.getHistory()) {
+                Map<String, Double> metrics = metricsByDate.computeIfAbsent(history.getDate(), date -> new HashMap<>());
+                if (history.getValue() != null) {
+                    metrics.put(measure.getMetric(), history.getValue());
+                }
+            }
+        }
+        List<SonarqubeAnalysis> analyses = new ArrayList<>();
+        metricsByDate.forEach((date, metrics) -> {
+            if (metrics.keySet().containsAll(Arrays.asList(METRIC_KEYS.split(",")))) {
+                analyses.add(SonarqubeAnalysis.builder()
+                                              .date(toLocalDateTime(date))
+                                              .releaseInfo(toReleaseInfo(metrics::get))
+                                              .build());
+            }
+        });
+        return SonarqubeHistoryPage.builder().analyses(analyses).total(response.getPaging().getTotal()).build();
+    }
+
+    /**
+     * @return empty if the component has not been analyzed
+     */
+    static Optional<LocalDateTime> toLatestAnalysisDate(SonarqubeProjectAnalysesResponse response) {
+        if (response.getAnalyses() == null || response.getAnalyses().length == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(toLocalDateTime(response.getAnalyses()[0].getDate()));
+    }
+
+    /**
+     * Sonarqube dates have an offset, release info times are local to the application
+     */
+    private static LocalDateTime toLocalDateTime(String date) {
+        return OffsetDateTime.parse(date, DATE_TIME_FORMAT)
+                             .atZoneSameInstant(ZoneId.systemDefault())
+                             .toLocalDateTime();
+    }
+
+    private static ReleaseInfoSonarqube toReleaseInfo(ToDoubleFunction<String> metricValue) {
+        return ReleaseInfoSonarqube.builder()
+                                   .securityRating(metricValue.applyAsDouble("security_rating"))
+                                   .reliabilityRating(metricValue.applyAsDouble("reliability_rating"))
+                                   .maintainabilityRating(metricValue.applyAsDouble("sqale_rating"))
+                                   .maintainabilityDebt(metricValue.applyAsDouble("sqale_index"))
+                                   .maintainabilitySmells(metricValue.applyAsDouble("code_smells"))
+                                   .securityVulnerabilities(metricValue.applyAsDouble("vulnerabilities"))
+                                   .reliabilityBugs(metricValue.applyAsDouble("bugs"))
+                                   .build();
+    }
+
+    /**
+     * @param request request to the Sonarqube server, failing with the exceptions of SonarqubeRestClient
+     */
+    static ConnectionResult testConnection(Runnable request) {
+        ConnectionResult connectionResult = ConnectionResult.builder()
+                                                            .connectionOk(true)
+                                                            .message("Connection successful")
+                                                            .build();
+        try {
+            request.run();
+        } catch (SonarqubeRestClient.SonarqubeConnectionRefusedException e) {
+            connectionResult.setConnectionOk(false);
+            connectionResult.setMessage("Could not connect to Sonarqube server: " + e.getMessage());
+        } catch (SonarqubeRestClient.SonarqubeRestClientException e) {
+            connectionResult.setConnectionOk(false);
+            connectionResult.setMessage("Connection established, but something went wrong: " + e.getMessage());
+        } catch (Exception e) {
+            connectionResult.setConnectionOk(false);
+            connectionResult.setMessage(e.getMessage());
+        }
+
+        return connectionResult;
+    }
+}
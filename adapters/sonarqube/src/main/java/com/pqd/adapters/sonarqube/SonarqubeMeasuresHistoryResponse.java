@@ -0,0 +1,47 @@
+package com.pqd.adapters.sonarqube;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Response of /api/measures/search_history, the values of each metric for one page of analyses
+ */
+@Data
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class SonarqubeMeasuresHistoryResponse {
+
+    Paging paging;
+
+    Measure[] measures;
+
+    @Data
+    @RequiredArgsConstructor
+    @AllArgsConstructor
+    public static class Paging {
+        int pageIndex;
+        int pageSize;
+        int total;
+    }
+
+    @Data
+    @RequiredArgsConstructor
+    @AllArgsConstructor
+    public static class Measure {
+        String metric;
+        History[] history;
+    }
+
+    @Data
+    @RequiredArgsConstructor
+    @AllArgsConstructor
+    public static class History {
+        String date;
+
+        /**
+         * Null if the metric was not computed by the analysis
+         */
+        Double value;
+    }
+}
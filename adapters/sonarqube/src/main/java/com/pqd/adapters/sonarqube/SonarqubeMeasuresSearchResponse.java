@@ -0,0 +1,26 @@
+package com.pqd.adapters.sonarqube;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Response of /api/measures/search, the measures of all requested components in one list
+ */
+@Data
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class SonarqubeMeasuresSearchResponse {
+
+    Measure[] measures;
+
+    @Data
+    @RequiredArgsConstructor
+    @AllArgsConstructor
+    public static class Measure {
+        String metric;
+        Double value;
+        String component;
+        boolean bestValue;
+    }
+}
@@ -0,0 +1,24 @@
+package com.pqd.adapters.sonarqube;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Response of /api/project_analyses/search, the analyses of the component, latest first
+ */
+@Data
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class SonarqubeProjectAnalysesResponse {
+
+    Analysis[] analyses;
+
+    @Data
+    @RequiredArgsConstructor
+    @AllArgsConstructor
+    public static class Analysis {
+        String key;
+        String date;
+    }
+}
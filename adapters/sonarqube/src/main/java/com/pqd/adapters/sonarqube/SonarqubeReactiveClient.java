@@ -0,0 +1,115 @@
+package com.pqd.adapters.sonarqube;
+
+import com.pqd.adapters.common.circuit.ToolCircuitOpenException;
+import com.pqd.adapters.common.reactive.ToolWebClients;
+import com.pqd.adapters.common.retry.ToolRequestRetryFilter;
+import com.pqd.application.domain.connection.ConnectionResult;
+import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeHistoryPage;
+import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+import com.pqd.application.usecase.sonarqube.SonarqubeGateway;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Non-blocking Sonarqube gateway, enabled by pqd.tools.reactive. The request runs on the event loop of the reactive
+ * tool client, the calling thread only waits for the result.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pqd.tools", name = "reactive", havingValue = "true")
+@AllArgsConstructor
+public class SonarqubeReactiveClient implements SonarqubeGateway {
+
+    private final WebClient toolWebClient;
+
+    @Override
+    public ReleaseInfoSonarqube getSonarqubeReleaseInfo(SonarqubeInfo sonarqubeInfo) {
+        return await(sonarqubeInfo, requestMeasures(sonarqubeInfo).map(SonarqubeApi::toReleaseInfo));
+    }
+
+    /**
+     * One /api/measures/search request for all components
+     */
+    @Override
+    public Map<String, ReleaseInfoSonarqube> getSonarqubeReleaseInfos(List<SonarqubeInfo> sonarqubeInfos) {
+        return await(sonarqubeInfos.get(0), get(sonarqubeInfos.get(0), SonarqubeApi.measuresSearchUri(sonarqubeInfos),
+                                                SonarqubeMeasuresSearchResponse.class)
+                .map(SonarqubeApi::toReleaseInfos));
+    }
+
+    @Override
+    public SonarqubeHistoryPage getSonarqubeHistory(SonarqubeInfo sonarqubeInfo, LocalDateTime from, LocalDateTime to,
+                                                    int page, int pageSize) {
+        return await(sonarqubeInfo, get(sonarqubeInfo,
+                                         SonarqubeApi.measuresHistoryUri(sonarqubeInfo, from, to, page, pageSize),
+                                         SonarqubeMeasuresHistoryResponse.class)
+                .map(SonarqubeApi::toHistoryPage));
+    }
+
+    @Override
+    public Optional<LocalDateTime> getLatestAnalysisDate(SonarqubeInfo sonarqubeInfo) {
+        return await(sonarqubeInfo, get(sonarqubeInfo, SonarqubeApi.latestAnalysisUri(sonarqubeInfo),
+                                        SonarqubeProjectAnalysesResponse.class)
+                .map(SonarqubeApi::toLatestAnalysisDate));
+    }
+
+    @Override
+    public ConnectionResult testSonarqubeConnection(SonarqubeInfo sonarqubeInfo) {
+        return SonarqubeApi.testConnection(() -> await(sonarqubeInfo, requestMeasures(sonarqubeInfo)));
+    }
+
+    private Mono<SonarqubeMeasureResponse> requestMeasures(SonarqubeInfo sonarqubeInfo) {
+        return get(sonarqubeInfo, SonarqubeApi.measuresUri(sonarqubeInfo), SonarqubeMeasureResponse.class);
+    }
+
+    private <T> Mono<T> get(SonarqubeInfo sonarqubeInfo, String uri, Class<T> responseType) {
+        return toolWebClient.get()
+                            .uri(uri)
+                            .header(HttpHeaders.AUTHORIZATION, SonarqubeApi.basicAuth(sonarqubeInfo))
+                            .accept(MediaType.APPLICATION_JSON)
+                            .attributes(ToolRequestRetryFilter.currentBudget())
+                            .retrieve()
+                            .bodyToMono(responseType);
+    }
+
+    private <T> T await(SonarqubeInfo sonarqubeInfo, Mono<T> request) {
+        return ToolWebClients.await(request, e -> toGatewayException(sonarqubeInfo, e));
+    }
+
+    /**
+     * Same exceptions as SonarqubeRestClient throws
+     */
+    private static RuntimeException toGatewayException(SonarqubeInfo sonarqubeInfo, Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            WebClientResponseException responseException = (WebClientResponseException) e;
+            if (responseException.getStatusCode().equals(HttpStatus.UNAUTHORIZED)) {
+                return new SonarqubeRestClient.SonarqubeRestClientException(
+                        "Connection unauthorized, probably invalid Sonarqube API token");
+            }
+            if (responseException.getStatusCode().is4xxClientError()) {
+                return new SonarqubeRestClient.SonarqubeRestClientException(responseException.getMessage());
+            }
+            return responseException;
+        }
+        if (e instanceof ToolCircuitOpenException) {
+            return new SonarqubeRestClient.SonarqubeConnectionRefusedException(e.getMessage());
+        }
+        if (ToolWebClients.isConnectionError(e)) {
+            return new SonarqubeRestClient.SonarqubeConnectionRefusedException(
+                    String.format("Connection refused for baseurl %s", sonarqubeInfo.getBaseUrl()));
+        }
+        return e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+    }
+}
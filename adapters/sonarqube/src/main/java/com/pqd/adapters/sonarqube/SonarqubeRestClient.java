@@ -1,21 +1,28 @@
 package com.pqd.adapters.sonarqube;
 
+import com.pqd.adapters.common.circuit.ToolCircuitOpenException;
 import com.pqd.application.domain.connection.ConnectionResult;
 import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeHistoryPage;
 import com.pqd.application.domain.sonarqube.SonarqubeInfo;
 import com.pqd.application.usecase.sonarqube.SonarqubeGateway;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Base64;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 @Component
+@ConditionalOnProperty(prefix = "pqd.tools", name = "reactive", havingValue = "false", matchIfMissing = true)
 @AllArgsConstructor
 public class SonarqubeRestClient implements SonarqubeGateway {
 
@@ -25,57 +32,63 @@ public class SonarqubeRestClient implements SonarqubeGateway {
     public ReleaseInfoSonarqube getSonarqubeReleaseInfo(SonarqubeInfo sonarqubeInfo) {
         ResponseEntity<SonarqubeMeasureResponse> response = makeHttpRequest(sonarqubeInfo);
 
-        return ReleaseInfoSonarqube.builder()
-                                   .securityRating(Objects.requireNonNull(response.getBody()).getMetricValue("security_rating"))
-                                   .reliabilityRating(Objects.requireNonNull(response.getBody()).getMetricValue("reliability_rating"))
-                                   .maintainabilityRating(Objects.requireNonNull(response.getBody()).getMetricValue("sqale_rating"))
-                                   .maintainabilityDebt(Objects.requireNonNull(response.getBody()).getMetricValue("sqale_index"))
-                                   .maintainabilitySmells(Objects.requireNonNull(response.getBody()).getMetricValue("code_smells"))
-                                   .securityVulnerabilities(Objects.requireNonNull(response.getBody()).getMetricValue("vulnerabilities"))
-                                   .reliabilityBugs(Objects.requireNonNull(response.getBody()).getMetricValue("bugs"))
-                                   .build();
+        return SonarqubeApi.toReleaseInfo(Objects.requireNonNull(response.getBody()));
     }
 
+    /**
+     * One /api/measures/search request for all components
+     */
     @Override
-    public ConnectionResult testSonarqubeConnection(SonarqubeInfo sonarqubeInfo) {
-        ConnectionResult connectionResult = ConnectionResult.builder()
-                                                            .connectionOk(true)
-                                                            .message("Connection successful")
-                                                            .build();
-        try {
-            makeHttpRequest(sonarqubeInfo);
-        } catch (SonarqubeConnectionRefusedException e) {
-            connectionResult.setConnectionOk(false);
-            connectionResult.setMessage("Could not connect to Sonarqube server: " + e.getMessage());
-        } catch (SonarqubeRestClientException e) {
-            connectionResult.setConnectionOk(false);
-            connectionResult.setMessage("Connection established, but something went wrong: " + e.getMessage());
-        } catch (Exception e) {
-            connectionResult.setConnectionOk(false);
-            connectionResult.setMessage(e.getMessage());
-        }
+    public Map<String, ReleaseInfoSonarqube> getSonarqubeReleaseInfos(List<SonarqubeInfo> sonarqubeInfos) {
+        ResponseEntity<SonarqubeMeasuresSearchResponse> response =
+                makeHttpRequest(sonarqubeInfos.get(0), SonarqubeApi.measuresSearchUri(sonarqubeInfos),
+                                SonarqubeMeasuresSearchResponse.class);
 
-        return connectionResult;
+        return SonarqubeApi.toReleaseInfos(Objects.requireNonNull(response.getBody()));
+    }
+
+    @Override
+    public SonarqubeHistoryPage getSonarqubeHistory(SonarqubeInfo sonarqubeInfo, LocalDateTime from, LocalDateTime to,
+                                                    int page, int pageSize) {
+        ResponseEntity<SonarqubeMeasuresHistoryResponse> response =
+                makeHttpRequest(sonarqubeInfo, SonarqubeApi.measuresHistoryUri(sonarqubeInfo, from, to, page, pageSize),
+                                SonarqubeMeasuresHistoryResponse.class);
+
+        return SonarqubeApi.toHistoryPage(Objects.requireNonNull(response.getBody()));
+    }
+
+    @Override
+    public Optional<LocalDateTime> getLatestAnalysisDate(SonarqubeInfo sonarqubeInfo) {
+        ResponseEntity<SonarqubeProjectAnalysesResponse> response =
+                makeHttpRequest(sonarqubeInfo, SonarqubeApi.latestAnalysisUri(sonarqubeInfo),
+                                SonarqubeProjectAnalysesResponse.class);
+
+        return SonarqubeApi.toLatestAnalysisDate(Objects.requireNonNull(response.getBody()));
+    }
+
+    @Override
+    public ConnectionResult testSonarqubeConnection(SonarqubeInfo sonarqubeInfo) {
+        return SonarqubeApi.testConnection(() -> makeHttpRequest(sonarqubeInfo));
     }
 
     private ResponseEntity<SonarqubeMeasureResponse> makeHttpRequest(SonarqubeInfo sonarqubeInfo) {
-        String tokenBase = sonarqubeInfo.getToken() + ":";
-        String basicAuth = "Basic " + new String(Base64.getEncoder().encode(tokenBase.getBytes()));
-        String uri = sonarqubeInfo.getBaseUrl()
-                     + "/api/measures/component?component="
-                     + sonarqubeInfo.getComponentName()
-                     + "&metricKeys=security_rating,vulnerabilities,reliability_rating,bugs,sqale_rating,sqale_index,code_smells";
+        return makeHttpRequest(sonarqubeInfo, SonarqubeApi.measuresUri(sonarqubeInfo), SonarqubeMeasureResponse.class);
+    }
 
+    private <T> ResponseEntity<T> makeHttpRequest(SonarqubeInfo sonarqubeInfo, String uri, Class<T> responseType) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set(HttpHeaders.AUTHORIZATION, basicAuth);
+        headers.set(HttpHeaders.AUTHORIZATION, SonarqubeApi.basicAuth(sonarqubeInfo));
         HttpEntity<String> entity = new HttpEntity<>(headers);
 
-        ResponseEntity<SonarqubeMeasureResponse> response;
+        ResponseEntity<T> response;
 
         try {
-            response = restTemplate.exchange(uri, HttpMethod.GET, entity, SonarqubeMeasureResponse.class);
+            response = restTemplate.exchange(uri, HttpMethod.GET, entity, responseType);
         } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof ToolCircuitOpenException) {
+                throw new SonarqubeConnectionRefusedException(e.getCause().getMessage());
+            }
             throw new SonarqubeConnectionRefusedException(String.format("Connection refused for baseurl %s", sonarqubeInfo.getBaseUrl()));
         } catch (HttpClientErrorException exception) {
             if (exception.getStatusCode().equals(HttpStatus.UNAUTHORIZED)) {
@@ -1,14 +0,0 @@
-package com.pqd.adapters.sonarqube;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
-
-// TODO move to common
-@Configuration
-public class SonarqubeRestConfiguration {
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
-}
@@ -0,0 +1,100 @@
+package com.pqd.adapters.sonarqube;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SonarqubeReactiveClientTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void GIVEN_measures_response_WHEN_release_info_requested_THEN_release_info_returned() throws JsonProcessingException {
+        String body = objectMapper.writeValueAsString(TestDataGenerator.generateSonarqubeMeasureResponse());
+        SonarqubeReactiveClient client = client(request -> Mono.just(
+                ClientResponse.create(HttpStatus.OK)
+                              .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                              .body(body)
+                              .build()));
+
+        assertThat(client.getSonarqubeReleaseInfo(TestDataGenerator.generateSonarqubeInfo()))
+                .isEqualTo(TestDataGenerator.generateReleaseInfoSonarqube());
+    }
+
+    @Test
+    void GIVEN_several_components_WHEN_release_infos_requested_THEN_release_infos_of_complete_components_returned()
+            throws JsonProcessingException {
+        String body = objectMapper.writeValueAsString(TestDataGenerator.generateMeasuresSearchResponse());
+        SonarqubeReactiveClient client = client(request -> Mono.just(
+                ClientResponse.create(HttpStatus.OK)
+                              .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                              .body(body)
+                              .build()));
+
+        assertThat(client.getSonarqubeReleaseInfos(TestDataGenerator.generateSonarqubeInfos("component-a",
+                                                                                            "component-b")))
+                .containsExactly(Map.entry("component-a", TestDataGenerator.generateReleaseInfoSonarqube()));
+    }
+
+    @Test
+    void GIVEN_measure_history_WHEN_history_requested_THEN_analyses_with_all_measures_returned()
+            throws JsonProcessingException {
+        String body = objectMapper.writeValueAsString(TestDataGenerator.generateMeasuresHistoryResponse());
+        SonarqubeReactiveClient client = client(request -> Mono.just(
+                ClientResponse.create(HttpStatus.OK)
+                              .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                              .body(body)
+                              .build()));
+
+        assertThat(client.getSonarqubeHistory(TestDataGenerator.generateSonarqubeInfo(), null,
+                                              LocalDateTime.of(2020, 3, 1, 12, 0), 1, 100))
+                .isEqualTo(TestDataGenerator.generateSonarqubeHistoryPage());
+    }
+
+    @Test
+    void GIVEN_component_without_analyses_WHEN_latest_analysis_date_requested_THEN_empty_returned() {
+        SonarqubeReactiveClient client = client(request -> Mono.just(
+                ClientResponse.create(HttpStatus.OK)
+                              .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                              .body("{\"paging\": {\"pageIndex\": 1, \"pageSize\": 1, \"total\": 0}, "
+                                    + "\"analyses\": []}")
+                              .build()));
+
+        assertThat(client.getLatestAnalysisDate(TestDataGenerator.generateSonarqubeInfo())).isEmpty();
+    }
+
+    @Test
+    void GIVEN_unreachable_server_WHEN_sonarqube_connection_tested_THEN_corresponding_result_returned() {
+        SonarqubeReactiveClient client = client(request -> Mono.error(new ConnectException("Connection refused")));
+
+        assertThat(client.testSonarqubeConnection(TestDataGenerator.generateSonarqubeInfo()))
+                .isEqualTo(TestDataGenerator.generateSonarqubeConnectionResult_wrongBaseUrl());
+    }
+
+    @Test
+    void GIVEN_invalid_token_WHEN_sonarqube_connection_tested_THEN_corresponding_result_returned() {
+        SonarqubeReactiveClient client = client(request -> Mono.just(ClientResponse.create(HttpStatus.UNAUTHORIZED)
+                                                                                   .build()));
+
+        assertThat(client.testSonarqubeConnection(TestDataGenerator.generateSonarqubeInfo()))
+                .isEqualTo(TestDataGenerator.generateSonarqubeConnectionResult_wrongToken());
+    }
+
+    private SonarqubeReactiveClient client(ExchangeFunction exchangeFunction) {
+        return new SonarqubeReactiveClient(WebClient.builder().exchangeFunction(exchangeFunction).build());
+    }
+}
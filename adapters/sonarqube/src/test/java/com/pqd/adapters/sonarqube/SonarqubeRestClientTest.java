@@ -1,7 +1,9 @@
 package com.pqd.adapters.sonarqube;
 
+import com.pqd.adapters.common.circuit.ToolCircuitOpenException;
 import com.pqd.application.domain.connection.ConnectionResult;
 import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeHistoryPage;
 import com.pqd.application.domain.sonarqube.SonarqubeInfo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +17,18 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SonarqubeRestClientTest {
@@ -52,6 +61,65 @@ public class SonarqubeRestClientTest {
         assertThat(result).isEqualTo(generatedReleaseInfoSonarqube);
     }
 
+    @Test
+    void GIVEN_several_components_WHEN_sonarqube_release_infos_requested_THEN_one_search_request_made() {
+        when(restTemplate.exchange(ArgumentMatchers.anyString(),
+                                   any(HttpMethod.class),
+                                   any(),
+                                   ArgumentMatchers.<Class<SonarqubeMeasuresSearchResponse>>any()))
+                .thenReturn(new ResponseEntity<>(TestDataGenerator.generateMeasuresSearchResponse(), HttpStatus.OK));
+
+        Map<String, ReleaseInfoSonarqube> result =
+                restClient.getSonarqubeReleaseInfos(TestDataGenerator.generateSonarqubeInfos("component-a",
+                                                                                             "component-b"));
+
+        verify(restTemplate).exchange(eq("base-url/api/measures/search?projectKeys=component-a,component-b"
+                                         + "&metricKeys=security_rating,vulnerabilities,reliability_rating,bugs,"
+                                         + "sqale_rating,sqale_index,code_smells"),
+                                      eq(HttpMethod.GET), any(), eq(SonarqubeMeasuresSearchResponse.class));
+        // Component without all metrics is left to its collection
+        assertThat(result).containsOnlyKeys("component-a");
+        assertThat(result.get("component-a")).isEqualTo(TestDataGenerator.generateReleaseInfoSonarqube());
+    }
+
+    @Test
+    void GIVEN_measure_history_WHEN_sonarqube_history_requested_THEN_analyses_with_all_measures_returned() {
+        when(restTemplate.exchange(ArgumentMatchers.anyString(),
+                                   any(HttpMethod.class),
+                                   any(),
+                                   ArgumentMatchers.<Class<SonarqubeMeasuresHistoryResponse>>any()))
+                .thenReturn(new ResponseEntity<>(TestDataGenerator.generateMeasuresHistoryResponse(), HttpStatus.OK));
+
+        SonarqubeHistoryPage result =
+                restClient.getSonarqubeHistory(TestDataGenerator.generateSonarqubeInfo(),
+                                               LocalDateTime.of(2019, 12, 31, 23, 0),
+                                               LocalDateTime.of(2020, 3, 1, 12, 0), 2, 100);
+
+        verify(restTemplate).exchange(eq("base-url/api/measures/search_history?component=component"
+                                         + "&metrics=security_rating,vulnerabilities,reliability_rating,bugs,"
+                                         + "sqale_rating,sqale_index,code_smells"
+                                         + "&from=2019-12-31&to=2020-03-01&p=2&ps=100"),
+                                      eq(HttpMethod.GET), any(), eq(SonarqubeMeasuresHistoryResponse.class));
+        // Analysis without all metrics is left out
+        assertThat(result).isEqualTo(TestDataGenerator.generateSonarqubeHistoryPage());
+    }
+
+    @Test
+    void GIVEN_analyzed_component_WHEN_latest_analysis_date_requested_THEN_date_of_latest_analysis_returned() {
+        when(restTemplate.exchange(ArgumentMatchers.anyString(),
+                                   any(HttpMethod.class),
+                                   any(),
+                                   ArgumentMatchers.<Class<SonarqubeProjectAnalysesResponse>>any()))
+                .thenReturn(new ResponseEntity<>(TestDataGenerator.generateProjectAnalysesResponse(), HttpStatus.OK));
+
+        Optional<LocalDateTime> result = restClient.getLatestAnalysisDate(TestDataGenerator.generateSonarqubeInfo());
+
+        verify(restTemplate).exchange(eq("base-url/api/project_analyses/search?project=component&ps=1"),
+                                      eq(HttpMethod.GET), any(), eq(SonarqubeProjectAnalysesResponse.class));
+        assertThat(result).contains(LocalDateTime.ofInstant(Instant.parse("2020-02-01T10:00:00Z"),
+                                                            ZoneId.systemDefault()));
+    }
+
     @Test
     void GIVEN_request_error_WHEN_sonarqube_measures_requested_THEN_sonarqube_rest_client_exception_thrown() {
         SonarqubeInfo sonarqubeInfo = TestDataGenerator.generateSonarqubeInfo();
@@ -116,6 +184,21 @@ public class SonarqubeRestClientTest {
         assertThat(actual).isEqualTo(connectionResult);
     }
 
+    @Test
+    void GIVEN_open_circuit_WHEN_sonarqube_connection_tested_THEN_circuit_reported() {
+        SonarqubeInfo sonarqubeInfo = TestDataGenerator.generateSonarqubeInfo();
+        when(restTemplate.exchange(ArgumentMatchers.anyString(),
+                                   any(HttpMethod.class),
+                                   any(),
+                                   ArgumentMatchers.<Class<SonarqubeMeasureResponse>>any()))
+                .thenThrow(new ResourceAccessException("", new ToolCircuitOpenException("Circuit is open")));
+
+        ConnectionResult actual = restClient.testSonarqubeConnection(sonarqubeInfo);
+
+        assertThat(actual.isConnectionOk()).isFalse();
+        assertThat(actual.getMessage()).isEqualTo("Could not connect to Sonarqube server: Circuit is open");
+    }
+
     @Test
     void GIVEN_invalid_component_WHEN_sonarqube_connection_tested_THEN_corresponding_result_returned() {
         SonarqubeInfo sonarqubeInfo = TestDataGenerator.generateSonarqubeInfo();
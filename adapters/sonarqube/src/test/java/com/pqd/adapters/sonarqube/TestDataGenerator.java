@@ -2,8 +2,17 @@ package com.pqd.adapters.sonarqube;
 
 import com.pqd.application.domain.connection.ConnectionResult;
 import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeAnalysis;
+import com.pqd.application.domain.sonarqube.SonarqubeHistoryPage;
 import com.pqd.application.domain.sonarqube.SonarqubeInfo;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class TestDataGenerator {
 
     public static SonarqubeInfo generateSonarqubeInfo() {
@@ -72,6 +81,64 @@ public class TestDataGenerator {
                                    .build();
     }
 
+    /**
+     * All metrics of component-a and only the bugs of component-b, in the metric order Sonarqube returns them
+     */
+    public static SonarqubeMeasuresSearchResponse generateMeasuresSearchResponse() {
+        String[] metrics = {"security_rating", "vulnerabilities", "reliability_rating", "bugs", "sqale_rating",
+                            "sqale_index", "code_smells"};
+        SonarqubeMeasuresSearchResponse.Measure[] measures = new SonarqubeMeasuresSearchResponse.Measure[8];
+        for (int i = 0; i < metrics.length; i++) {
+            measures[i] = new SonarqubeMeasuresSearchResponse.Measure(metrics[i], i + 1.0, "component-a", false);
+        }
+        measures[7] = new SonarqubeMeasuresSearchResponse.Measure("bugs", 1.0, "component-b", false);
+        return new SonarqubeMeasuresSearchResponse(measures);
+    }
+
+    /**
+     * All metrics of the first analysis, the second analysis did not compute the bugs
+     */
+    public static SonarqubeMeasuresHistoryResponse generateMeasuresHistoryResponse() {
+        String[] metrics = {"security_rating", "vulnerabilities", "reliability_rating", "bugs", "sqale_rating",
+                            "sqale_index", "code_smells"};
+        SonarqubeMeasuresHistoryResponse.Measure[] measures = new SonarqubeMeasuresHistoryResponse.Measure[7];
+        for (int i = 0; i < metrics.length; i++) {
+            SonarqubeMeasuresHistoryResponse.History[] history = {
+                    new SonarqubeMeasuresHistoryResponse.History("2020-01-01T10:00:00+0000", i + 1.0),
+                    new SonarqubeMeasuresHistoryResponse.History("2020-02-01T10:00:00+0000",
+                                                                 metrics[i].equals("bugs") ? null : i + 1.0)};
+            measures[i] = new SonarqubeMeasuresHistoryResponse.Measure(metrics[i], history);
+        }
+        return new SonarqubeMeasuresHistoryResponse(new SonarqubeMeasuresHistoryResponse.Paging(1, 100, 2), measures);
+    }
+
+    public static SonarqubeProjectAnalysesResponse generateProjectAnalysesResponse() {
+        return new SonarqubeProjectAnalysesResponse(new SonarqubeProjectAnalysesResponse.Analysis[]{
+                new SonarqubeProjectAnalysesResponse.Analysis("AXoUPnKG", "2020-02-01T10:00:00+0000")});
+    }
+
+    public static SonarqubeHistoryPage generateSonarqubeHistoryPage() {
+        return SonarqubeHistoryPage.builder()
+                                   .analyses(List.of(SonarqubeAnalysis.builder()
+                                                                      .date(LocalDateTime.ofInstant(
+                                                                              Instant.parse("2020-01-01T10:00:00Z"),
+                                                                              ZoneId.systemDefault()))
+                                                                      .releaseInfo(generateReleaseInfoSonarqube())
+                                                                      .build()))
+                                   .total(2)
+                                   .build();
+    }
+
+    public static List<SonarqubeInfo> generateSonarqubeInfos(String... componentNames) {
+        return Arrays.stream(componentNames)
+                     .map(componentName -> SonarqubeInfo.builder()
+                                                        .baseUrl("base-url")
+                                                        .componentName(componentName)
+                                                        .token("token123")
+                                                        .build())
+                     .collect(Collectors.toList());
+    }
+
     private static SonarqubeMeasureResponse.Component.Measure[] generateInvalidMeasures() {
         SonarqubeMeasureResponse.Component.Measure[] measures = new SonarqubeMeasureResponse.Component.Measure[7];
         measures[0] = new SonarqubeMeasureResponse.Component.Measure("security_rating", 1.0, false);
@@ -0,0 +1,32 @@
+package com.pqd.adapters.web;
+
+import com.pqd.application.usecase.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Handles web requests on virtual threads instead of the Undertow worker pool when pqd.web.virtual-threads is set
+ * and the JDK has virtual threads (21+). Requests blocking on the database then do not hold a worker thread, the
+ * database connection pool still limits how many of them run queries at the same time.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "pqd.web.virtual-threads", havingValue = "true")
+public class VirtualThreadWebConfiguration implements WebServerFactoryCustomizer<UndertowServletWebServerFactory> {
+
+    @Override
+    public void customize(UndertowServletWebServerFactory factory) {
+        Optional<ExecutorService> executor = VirtualThreads.newThreadPerTaskExecutor("WebThread-");
+        if (executor.isEmpty()) {
+            log.warn("Virtual threads requested for web requests, but not supported by the JDK");
+            return;
+        }
+        factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(executor.get()));
+    }
+}
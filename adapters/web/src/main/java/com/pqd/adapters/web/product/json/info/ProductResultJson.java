@@ -22,11 +22,15 @@ public class ProductResultJson {
 
     JiraInfoResultJson jiraInfo;
 
+    Integer collectionIntervalMinutes;
+
     public static ProductResultJson buildResultJson(Product product) {
         ProductResultJson resultJson = ProductResultJson.builder()
                                                         .id(product.getId())
                                                         .name(product.getName())
                                                         .token(product.getToken())
+                                                        .collectionIntervalMinutes(
+                                                                product.getCollectionIntervalMinutes())
                                                         .build();
 
         if (product.getSonarqubeInfo().isPresent()) {
@@ -33,10 +33,14 @@ public class SaveProductRequestJson {
     @Builder.Default
     Optional<JiraInfoRequestJson> jiraInfo = Optional.empty();
 
+    @JsonProperty("collectionIntervalMinutes")
+    Integer collectionIntervalMinutes;
+
     public SaveProduct.Request toSaveProductRequest() {
         return SaveProduct.Request.of(name,
                                       sonarqubeInfo.map(SonarqubeInfoRequestJson::toSonarqubeInfo),
-                                      jiraInfo.map(JiraInfoRequestJson::toJiraInfo));
+                                      jiraInfo.map(JiraInfoRequestJson::toJiraInfo),
+                                      collectionIntervalMinutes);
     }
 
     public SaveClaim.Request toSaveClaimRequest(Long productId, ClaimLevel claimLevel) {
@@ -49,6 +49,9 @@ public class UpdateProductRequestJson {
         @JsonProperty("jiraInfo")
         JiraInfoRequestJson jiraInfo;
 
+        @JsonProperty("collectionIntervalMinutes")
+        Integer collectionIntervalMinutes;
+
         public Product toProduct() {
             Product product = Product.builder()
                                    .id(id)
@@ -56,6 +59,7 @@ public class UpdateProductRequestJson {
                                    .token(token)
                                    .sonarqubeInfo(Optional.empty())
                                    .jiraInfo(Optional.empty())
+                                   .collectionIntervalMinutes(collectionIntervalMinutes)
                                    .build();
             if (sonarqubeInfo != null) {
                 product.setSonarqubeInfo(Optional.of(sonarqubeInfo.toSonarqubeInfo()));
@@ -21,6 +21,8 @@ public class ReleaseInfoResultJson {
 
     String created;
 
+    String lastCollected;
+
     Double qualityLevel;
 
     ReleaseInfoSonarqubeResultJson releaseInfoSonarqube;
@@ -32,6 +34,9 @@ public class ReleaseInfoResultJson {
                                                                 .id(releaseInfo.getId())
                                                                 .productId(releaseInfo.getProductId())
                                                                 .created(releaseInfo.getCreated().toString())
+                                                                .lastCollected(releaseInfo.getLastCollected() != null
+                                                                               ? releaseInfo.getLastCollected().toString()
+                                                                               : null)
                                                                 .qualityLevel(releaseInfo.getQualityLevel())
                                                                 .build();
 
@@ -0,0 +1,46 @@
+package com.pqd.application.domain.collection;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class CollectionJob {
+
+    Long id;
+
+    Long productId;
+
+    CollectionJobStatus status;
+
+    /**
+     * Times the job has been claimed by a worker
+     */
+    int attempts;
+
+    /**
+     * Triggers folded into this job while it was queued, including the one that created it
+     */
+    int triggers;
+
+    LocalDateTime runAfter;
+
+    LocalDateTime created;
+
+    LocalDateTime startedAt;
+
+    LocalDateTime finishedAt;
+
+    String lockedBy;
+
+    /**
+     * Time until which the running job is leased to its worker, extended by the worker while the job runs
+     */
+    LocalDateTime lockedUntil;
+
+    String lastError;
+}
@@ -0,0 +1,15 @@
+package com.pqd.application.domain.collection;
+
+public enum CollectionJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    /**
+     * Failed and not retried, because a newer job of the same product was already queued
+     */
+    FAILED,
+    /**
+     * Failed on every attempt or can never succeed, not retried anymore
+     */
+    DEAD
+}
@@ -0,0 +1,22 @@
+package com.pqd.application.domain.collection;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.Duration;
+
+@Builder
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class CollectionQueueStats {
+
+    long queued;
+
+    long running;
+
+    /**
+     * Average run time of recently finished jobs, null if no job finished recently
+     */
+    Duration averageRunTime;
+}
@@ -0,0 +1,17 @@
+package com.pqd.application.domain.collection;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class CollectionSchedule {
+
+    Long productId;
+
+    LocalDateTime nextRun;
+}
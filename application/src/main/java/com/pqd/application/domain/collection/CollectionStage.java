@@ -0,0 +1,33 @@
+package com.pqd.application.domain.collection;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Builder
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class CollectionStage {
+
+    Long jobId;
+
+    int attempt;
+
+    CollectionStageName stage;
+
+    /**
+     * Host of the tool called in the stage, null for stages not calling a tool
+     */
+    String host;
+
+    String detail;
+
+    LocalDateTime startedAt;
+
+    Duration duration;
+
+    boolean succeeded;
+}
@@ -0,0 +1,11 @@
+package com.pqd.application.domain.collection;
+
+public enum CollectionStageName {
+    SONARQUBE_FETCH,
+    JIRA_SPRINT_FETCH,
+    /**
+     * Fetching the issues of one sprint, the sprint id is kept as the stage detail
+     */
+    JIRA_ISSUE_FETCH,
+    PERSIST
+}
@@ -0,0 +1,31 @@
+package com.pqd.application.domain.jira;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Sprint or issue change received from a Jira webhook
+ */
+@Builder
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class JiraBoardEvent {
+
+    private final JiraBoardEventType type;
+
+    /**
+     * Base url of the Jira server that sent the event
+     */
+    private final String baseUrl;
+
+    /**
+     * Set for sprint events, the board id is the board the sprint was created on
+     */
+    private final JiraSprint sprint;
+
+    /**
+     * Set for issue events
+     */
+    private final JiraIssue issue;
+}
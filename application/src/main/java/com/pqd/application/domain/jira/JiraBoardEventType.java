@@ -0,0 +1,15 @@
+package com.pqd.application.domain.jira;
+
+public enum JiraBoardEventType {
+    SPRINT_STARTED,
+    /**
+     * Name, goal or dates of a sprint changed
+     */
+    SPRINT_UPDATED,
+    SPRINT_CLOSED,
+    /**
+     * Issue created or updated, it belongs to the active sprint given as its sprint id or to none
+     */
+    ISSUE_UPDATED,
+    ISSUE_DELETED
+}
@@ -19,6 +19,11 @@ public class JiraIssue {
 
     private final String browserUrl;
 
+    /**
+     * Open sprint the issue belongs to, only known for issues fetched from the board instead of a sprint
+     */
+    private final Long sprintId;
+
     public static String createBrowserUrl(String baseUrl, String issueKey) {
         return String.format("%s/browse/%s", baseUrl, issueKey);
     }
@@ -23,6 +23,8 @@ public class Product {
 
     Optional<JiraInfo> jiraInfo;
 
+    Integer collectionIntervalMinutes; // null for the default schedule interval, 0 to not collect on a schedule
+
     public boolean hasValidSonarqubeInfo() {
         return sonarqubeInfo.isPresent()
                && sonarqubeInfo.get().getBaseUrl() != null
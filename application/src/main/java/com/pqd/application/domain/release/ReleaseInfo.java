@@ -21,6 +21,18 @@ public class ReleaseInfo {
 
     Double qualityLevel;
 
+    /**
+     * Fingerprint of the collected tool data, same for snapshots with the same content
+     */
+    @EqualsAndHashCode.Exclude
+    String fingerprint;
+
+    /**
+     * Last time a collection found the same content, null if never collected again since created
+     */
+    @EqualsAndHashCode.Exclude
+    LocalDateTime lastCollected;
+
     Optional<ReleaseInfoSonarqube> releaseInfoSonarqube;
 
     Optional<ReleaseInfoJira> releaseInfoJira;
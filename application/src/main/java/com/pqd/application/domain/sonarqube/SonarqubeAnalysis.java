@@ -0,0 +1,21 @@
+package com.pqd.application.domain.sonarqube;
+
+import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * Measures of one past analysis of a Sonarqube component
+ */
+@Builder
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class SonarqubeAnalysis {
+
+    LocalDateTime date;
+
+    ReleaseInfoSonarqube releaseInfo;
+}
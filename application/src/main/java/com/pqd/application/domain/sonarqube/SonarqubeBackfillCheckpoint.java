@@ -0,0 +1,28 @@
+package com.pqd.application.domain.sonarqube;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of loading the Sonarqube measure history of a product into its release info history
+ */
+@Builder
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class SonarqubeBackfillCheckpoint {
+
+    Long productId;
+
+    /**
+     * Analyses up to this time are backfilled, the collections of the product continue the history after it
+     */
+    LocalDateTime historyEnd;
+
+    /**
+     * Date of the last backfilled analysis, null if none backfilled yet
+     */
+    LocalDateTime backfilledUntil;
+}
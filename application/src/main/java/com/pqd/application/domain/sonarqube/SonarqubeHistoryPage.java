@@ -0,0 +1,23 @@
+package com.pqd.application.domain.sonarqube;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Builder
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class SonarqubeHistoryPage {
+
+    /**
+     * Analyses of the page with all measures, oldest first
+     */
+    List<SonarqubeAnalysis> analyses;
+
+    /**
+     * Analyses of all pages, including the ones missing measures
+     */
+    int total;
+}
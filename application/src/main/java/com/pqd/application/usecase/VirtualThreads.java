@@ -0,0 +1,44 @@
+package com.pqd.application.usecase;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual thread executors when the application runs on a JDK that has them (21+). The project is built for
+ * older JDKs, so the virtual thread API is looked up by reflection.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isAvailable() {
+        try {
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param namePrefix prefix of the thread names, followed by a running number
+     * @return executor starting a new virtual thread for every task, empty if the JDK has no virtual threads
+     */
+    public static Optional<ExecutorService> newThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return Optional.of((ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor",
+                                                                          ThreadFactory.class)
+                                                                .invoke(null, threadFactory));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Missing before JDK 19, preview only (not enabled) on JDK 19 and 20
+            return Optional.empty();
+        }
+    }
+}
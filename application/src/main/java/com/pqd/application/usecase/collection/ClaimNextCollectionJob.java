@@ -0,0 +1,41 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+@UseCase
+@Transactional
+public class ClaimNextCollectionJob {
+
+    private final CollectionJobGateway gateway;
+
+    private final CollectionQueueProperties properties;
+
+    public Response execute(Request request) {
+        LocalDateTime now = LocalDateTime.now();
+        return Response.of(gateway.claimNext(request.getWorkerId(), now, now.plus(properties.getStaleAfter())));
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Request {
+        String workerId;
+
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+        Optional<CollectionJob> collectionJob;
+
+    }
+}
@@ -0,0 +1,80 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionQueueStats;
+import com.pqd.application.domain.collection.CollectionStage;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CollectionJobGateway {
+
+    /**
+     * Queues a job for the product, or folds the trigger into the job already queued for it
+     * @return the queued job
+     */
+    CollectionJob enqueue(Long productId, LocalDateTime now);
+
+    /**
+     * Marks the next due job as running by the worker. Jobs locked by other workers and jobs of products that
+     * already have a running job are skipped.
+     * @param lockedUntil end of the lease of the claimed job, the worker has to extend it while the job runs
+     */
+    Optional<CollectionJob> claimNext(String workerId, LocalDateTime now, LocalDateTime lockedUntil);
+
+    /**
+     * Extends the leases of the given jobs that are still running by the worker
+     * @return number of leases extended
+     */
+    int extendLocks(String workerId, Collection<Long> jobIds, LocalDateTime lockedUntil);
+
+    Optional<CollectionJob> findById(Long jobId);
+
+    Optional<CollectionJob> findQueuedByProductId(Long productId);
+
+    /**
+     * @return number of queued jobs of all instances, one count query
+     */
+    long countQueued();
+
+    /**
+     * @param finishedAfter jobs finished after this time are used for the average run time
+     */
+    CollectionQueueStats getQueueStats(LocalDateTime finishedAfter);
+
+    /**
+     * Marks the job finished if it is still running by the worker that claimed it
+     * @param runningJob the job as claimed, its worker and attempt are checked against the stored job
+     * @return false if the worker lost the lease of the job, the stored job is then left as it is
+     */
+    boolean finish(CollectionJob runningJob, CollectionJobStatus status, LocalDateTime finishedAt, String error);
+
+    void saveStages(List<CollectionStage> stages);
+
+    /**
+     * @return stages of all attempts of the job in the order they were started
+     */
+    List<CollectionStage> findStagesByJobId(Long jobId);
+
+    /**
+     * Queues the failed job again to be run after the given time, if it is still running by the worker that claimed it
+     * @param runningJob the job as claimed, its worker and attempt are checked against the stored job
+     * @return false if the job was not queued again, because a newer job of the same product is already queued or
+     * the worker lost the lease of the job
+     */
+    boolean retry(CollectionJob runningJob, LocalDateTime runAfter, String error);
+
+    /**
+     * Queues running jobs whose lease ended before now again, or marks them dead if they have no attempts left
+     * @return number of jobs queued again
+     */
+    int requeueStale(int maxAttempts, LocalDateTime now);
+
+    /**
+     * @return number of finished jobs deleted
+     */
+    int deleteFinishedBefore(LocalDateTime finishedBefore);
+}
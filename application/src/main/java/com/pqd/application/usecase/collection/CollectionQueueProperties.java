@@ -0,0 +1,67 @@
+package com.pqd.application.usecase.collection;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Collection job queue settings, bound from the pqd.collection.queue.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "pqd.collection.queue")
+public class CollectionQueueProperties {
+
+    /**
+     * Collection jobs one application instance runs at the same time
+     */
+    private int workers = 3;
+
+    /**
+     * Collection jobs one application instance runs at the same time when collections run on virtual threads
+     */
+    private int virtualThreadWorkers = 1000;
+
+    /**
+     * Delay between checks for new jobs when all queued jobs have been run
+     */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /**
+     * Queued jobs of all instances after which triggers of products that have no job queued yet are rejected
+     */
+    private int maxQueued = 10000;
+
+    /**
+     * Jobs finished within this time are used to estimate how long it takes to run the queued jobs
+     */
+    private Duration runTimeWindow = Duration.ofHours(1);
+
+    /**
+     * Attempts after which a failing job is marked dead
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Delay before the first retry of a failed job, doubled on every following attempt
+     */
+    private Duration retryBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Upper bound for the delay between retries
+     */
+    private Duration maxRetryBackoff = Duration.ofHours(1);
+
+    /**
+     * Lease of a running job. The worker running it extends the lease every third of this time, jobs whose lease
+     * ended are considered abandoned by a stopped instance and queued again.
+     */
+    private Duration staleAfter = Duration.ofMinutes(10);
+
+    /**
+     * Time finished jobs are kept before they are deleted
+     */
+    private Duration retention = Duration.ofDays(7);
+}
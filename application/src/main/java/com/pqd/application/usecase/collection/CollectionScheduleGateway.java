@@ -0,0 +1,25 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionSchedule;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CollectionScheduleGateway {
+
+    List<CollectionSchedule> findAll();
+
+    /**
+     * Creates the schedule, unless the product already has one
+     */
+    void create(CollectionSchedule collectionSchedule);
+
+    void update(CollectionSchedule collectionSchedule);
+
+    void deleteAllByProductId(List<Long> productIds);
+
+    /**
+     * Locks the schedules due at the given time. Schedules locked by other application instances are skipped.
+     */
+    List<CollectionSchedule> lockDue(LocalDateTime now);
+}
@@ -0,0 +1,33 @@
+package com.pqd.application.usecase.collection;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Scheduled collection settings, bound from the pqd.collection.schedule.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "pqd.collection.schedule")
+public class CollectionScheduleProperties {
+
+    /**
+     * Interval for products without their own collection interval. Not set means such products are collected only
+     * when triggered.
+     */
+    private Duration defaultInterval;
+
+    /**
+     * Delay between checks for products due for collection
+     */
+    private Duration checkInterval = Duration.ofMinutes(1);
+
+    /**
+     * Every next run is moved randomly by up to this share of the interval, so products scheduled at the same time
+     * drift apart instead of being collected together forever
+     */
+    private double jitter = 0.1;
+}
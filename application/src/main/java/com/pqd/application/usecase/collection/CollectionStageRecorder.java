@@ -0,0 +1,109 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.domain.collection.CollectionStageName;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Collects the durations of the stages of one collection attempt. Stages may be recorded from several threads.
+ */
+public class CollectionStageRecorder {
+
+    private final Long jobId;
+
+    private final int attempt;
+
+    private final List<CollectionStage> stages = new ArrayList<>();
+
+    public CollectionStageRecorder(Long jobId, int attempt) {
+        this.jobId = jobId;
+        this.attempt = attempt;
+    }
+
+    /**
+     * Recorder for collections not run as a job, the stages are not kept anywhere
+     */
+    public CollectionStageRecorder() {
+        this(null, 0);
+    }
+
+    public <T> T record(CollectionStageName stage, String host, String detail, Supplier<T> action) {
+        Started started = start(stage, host, detail);
+        boolean succeeded = false;
+        try {
+            T result = action.get();
+            succeeded = true;
+            return result;
+        } finally {
+            started.finish(succeeded);
+        }
+    }
+
+    public Started start(CollectionStageName stage, String host, String detail) {
+        return new Started(stage, host, detail);
+    }
+
+    public synchronized List<CollectionStage> getStages() {
+        return new ArrayList<>(stages);
+    }
+
+    private synchronized void add(CollectionStage stage) {
+        stages.add(stage);
+    }
+
+    /**
+     * @return host of the tool base url, or the base url itself if it has no host
+     */
+    public static String hostOf(String baseUrl) {
+        if (baseUrl == null) {
+            return null;
+        }
+        try {
+            String host = URI.create(baseUrl).getHost();
+            return host != null ? host : baseUrl;
+        } catch (IllegalArgumentException e) {
+            return baseUrl;
+        }
+    }
+
+    /**
+     * Stage which has started, but has not been recorded yet
+     */
+    public class Started {
+
+        private final CollectionStageName stage;
+
+        private final String host;
+
+        private final String detail;
+
+        private final LocalDateTime startedAt = LocalDateTime.now();
+
+        private final long startNanos = System.nanoTime();
+
+        private Started(CollectionStageName stage, String host, String detail) {
+            this.stage = stage;
+            this.host = host;
+            this.detail = detail;
+        }
+
+        public void finish(boolean succeeded) {
+            add(CollectionStage.builder()
+                               .jobId(jobId)
+                               .attempt(attempt)
+                               .stage(stage)
+                               .host(host)
+                               .detail(detail)
+                               .startedAt(startedAt)
+                               .duration(Duration.ofNanos(System.nanoTime() - startNanos))
+                               .succeeded(succeeded)
+                               .build());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import javax.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Queues a collection job for the product. When the queue is full, only triggers that can be folded into a job
+ * already queued for the product are accepted.
+ */
+@RequiredArgsConstructor
+@UseCase
+@Transactional
+public class EnqueueCollectionJob {
+
+    private final CollectionJobGateway gateway;
+
+    private final CollectionQueueProperties properties;
+
+    private final GetCollectionQueueStats getCollectionQueueStats;
+
+    public Response execute(Request request) {
+        if (!request.isCapacityChecked() && gateway.findQueuedByProductId(request.getProductId()).isEmpty()) {
+            long queued = gateway.countQueued();
+            if (queued >= properties.getMaxQueued()) {
+                // Full queue stats only for the estimated wait of rejected triggers
+                throw new CollectionQueueFullException(queued, getCollectionQueueStats.execute().getEstimatedWait());
+            }
+        }
+        CollectionJob collectionJob = gateway.enqueue(request.getProductId(), LocalDateTime.now());
+        return Response.of(collectionJob, collectionJob.getTriggers() == 1);
+    }
+
+    /**
+     * @return jobs that can still be queued before the queue is full, for callers queuing many jobs in one
+     * transaction that check the capacity once instead of having a full queue thrown at them
+     */
+    public long remainingCapacity() {
+        return Math.max(0, properties.getMaxQueued() - gateway.countQueued());
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Request {
+        Long productId;
+
+        /**
+         * The caller checked the remaining capacity itself, the job is queued without checking it again
+         */
+        boolean capacityChecked;
+
+        public static Request of(Long productId) {
+            return of(productId, false);
+        }
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+        CollectionJob collectionJob;
+
+        /**
+         * False if the trigger was folded into a job already queued for the product
+         */
+        boolean queued;
+
+    }
+
+    @Getter
+    public static class CollectionQueueFullException extends RuntimeException {
+
+        /**
+         * Estimated time until the queued jobs have been started
+         */
+        private final Duration retryAfter;
+
+        public CollectionQueueFullException(long queued, Duration retryAfter) {
+            super(String.format("Collection queue is full with %s jobs, retry after %s seconds",
+                                queued, toSecondsRoundedUp(retryAfter)));
+            this.retryAfter = retryAfter;
+        }
+
+        public long getRetryAfterSeconds() {
+            return toSecondsRoundedUp(retryAfter);
+        }
+
+        private static long toSecondsRoundedUp(Duration duration) {
+            return (duration.toMillis() + 999) / 1000;
+        }
+    }
+}
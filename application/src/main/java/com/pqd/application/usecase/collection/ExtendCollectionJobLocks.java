@@ -0,0 +1,49 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Heartbeat of a worker, extends the leases of the jobs it is running so they are not queued again as abandoned
+ */
+@RequiredArgsConstructor
+@UseCase
+@Transactional
+public class ExtendCollectionJobLocks {
+
+    private final CollectionJobGateway gateway;
+
+    private final CollectionQueueProperties properties;
+
+    public Response execute(Request request) {
+        LocalDateTime lockedUntil = LocalDateTime.now().plus(properties.getStaleAfter());
+        return Response.of(gateway.extendLocks(request.getWorkerId(), request.getJobIds(), lockedUntil));
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Request {
+        String workerId;
+
+        Set<Long> jobIds;
+
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+
+        /**
+         * Jobs whose lease was extended, jobs queued again as abandoned in the meantime are not
+         */
+        int extended;
+
+    }
+}
@@ -0,0 +1,49 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+@RequiredArgsConstructor
+@UseCase
+@Transactional
+public class GetCollectionJob {
+
+    private final CollectionJobGateway gateway;
+
+    public Response execute(Request request) {
+        CollectionJob collectionJob = gateway.findById(request.getJobId()).orElseThrow(
+                () -> new CollectionJobNotFoundException(
+                        String.format("Collection job with id %s not found", request.getJobId())));
+        return Response.of(collectionJob, gateway.findStagesByJobId(request.getJobId()));
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Request {
+        Long jobId;
+
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+        CollectionJob collectionJob;
+
+        List<CollectionStage> stages;
+
+    }
+
+    public static class CollectionJobNotFoundException extends RuntimeException {
+        public CollectionJobNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionQueueStats;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Size of the collection job queue of all application instances, with the estimated time it takes to run the
+ * queued jobs
+ */
+@RequiredArgsConstructor
+@UseCase
+public class GetCollectionQueueStats {
+
+    private final CollectionJobGateway gateway;
+
+    private final CollectionQueueProperties properties;
+
+    public Response execute() {
+        CollectionQueueStats stats =
+                gateway.getQueueStats(LocalDateTime.now().minus(properties.getRunTimeWindow()));
+        return Response.of(stats, estimateWait(stats));
+    }
+
+    /**
+     * Queued jobs are run by at least the workers of this instance, or by as many workers as there are jobs running
+     * if other instances run jobs too. Without recently finished jobs every job is expected to take a poll interval.
+     */
+    Duration estimateWait(CollectionQueueStats stats) {
+        Duration runTime = stats.getAverageRunTime() != null ? stats.getAverageRunTime() : properties.getPollInterval();
+        long workers = Math.max(1, Math.max(stats.getRunning(), properties.getWorkers()));
+        Duration wait = runTime.multipliedBy(stats.getQueued()).dividedBy(workers);
+        return wait.compareTo(properties.getPollInterval()) < 0 ? properties.getPollInterval() : wait;
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+        CollectionQueueStats stats;
+
+        /**
+         * Estimated time until the currently queued jobs have been started, at least one poll interval
+         */
+        Duration estimatedWait;
+
+    }
+}
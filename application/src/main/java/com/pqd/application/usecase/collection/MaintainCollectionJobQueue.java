@@ -0,0 +1,40 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+
+/**
+ * Queues again the jobs left running by stopped application instances, whose leases were not extended any more, and
+ * deletes old finished jobs
+ */
+@RequiredArgsConstructor
+@UseCase
+@Transactional
+public class MaintainCollectionJobQueue {
+
+    private final CollectionJobGateway gateway;
+
+    private final CollectionQueueProperties properties;
+
+    public Response execute() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = gateway.requeueStale(properties.getMaxAttempts(), now);
+        int deleted = gateway.deleteFinishedBefore(now.minus(properties.getRetention()));
+        return Response.of(requeued, deleted);
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+        int requeued;
+
+        int deleted;
+
+    }
+}
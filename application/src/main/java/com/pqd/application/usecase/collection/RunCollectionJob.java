@@ -0,0 +1,113 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import com.pqd.application.usecase.product.GetProduct;
+import com.pqd.application.usecase.release.CollectAndSaveAllReleaseData;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs a claimed collection job and records its outcome. Failed jobs are queued again with exponential backoff
+ * until they run out of attempts and are marked dead. The stage durations of every attempt are saved with the job.
+ * A worker that lost the lease of the job, which was then queued again for another worker, leaves the job alone.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@UseCase
+public class RunCollectionJob {
+
+    private final CollectAndSaveAllReleaseData collectAndSaveAllReleaseData;
+
+    private final CollectionJobGateway gateway;
+
+    private final CollectionQueueProperties properties;
+
+    public Response execute(Request request) {
+        CollectionJob collectionJob = request.getCollectionJob();
+        CollectionStageRecorder stageRecorder =
+                new CollectionStageRecorder(collectionJob.getId(), collectionJob.getAttempts());
+        CollectionJob finishedJob;
+        try {
+            collectAndSaveAllReleaseData.execute(CollectAndSaveAllReleaseData.Request.of(collectionJob.getProductId(),
+                                                                                         stageRecorder));
+            finishedJob = finish(collectionJob, CollectionJobStatus.SUCCEEDED, null);
+        } catch (GetProduct.ProductNotFoundException e) {
+            return Response.of(finish(collectionJob, CollectionJobStatus.DEAD, e.getMessage()), List.of());
+        } catch (Exception e) {
+            finishedJob = handleFailure(collectionJob, e);
+        }
+
+        List<CollectionStage> stages = stageRecorder.getStages();
+        gateway.saveStages(stages);
+        return Response.of(finishedJob, stages);
+    }
+
+    private CollectionJob handleFailure(CollectionJob collectionJob, Exception e) {
+        String error = e.getMessage() != null ? e.getMessage() : e.toString();
+        if (collectionJob.getAttempts() >= properties.getMaxAttempts()) {
+            log.error("Collection job {} of product with id {} failed on all {} attempts",
+                      collectionJob.getId(), collectionJob.getProductId(), collectionJob.getAttempts(), e);
+            return finish(collectionJob, CollectionJobStatus.DEAD, error);
+        }
+
+        LocalDateTime runAfter = LocalDateTime.now().plus(backoff(collectionJob.getAttempts()));
+        log.warn("Collection job {} of product with id {} failed on attempt {}, retrying after {}: {}",
+                 collectionJob.getId(), collectionJob.getProductId(), collectionJob.getAttempts(), runAfter, error);
+        if (!gateway.retry(collectionJob, runAfter, error)) {
+            // A newer job of the product is already queued and collects the same data, or the lease was lost
+            return finish(collectionJob, CollectionJobStatus.FAILED, error);
+        }
+        collectionJob.setStatus(CollectionJobStatus.QUEUED);
+        collectionJob.setRunAfter(runAfter);
+        collectionJob.setLastError(error);
+        collectionJob.setLockedBy(null);
+        collectionJob.setLockedUntil(null);
+        return collectionJob;
+    }
+
+    private CollectionJob finish(CollectionJob collectionJob, CollectionJobStatus status, String error) {
+        LocalDateTime finishedAt = LocalDateTime.now();
+        if (!gateway.finish(collectionJob, status, finishedAt, error)) {
+            log.warn("Collection job {} of product with id {} lost its lease on attempt {}, dropping its outcome {}",
+                     collectionJob.getId(), collectionJob.getProductId(), collectionJob.getAttempts(), status);
+            return collectionJob;
+        }
+        collectionJob.setStatus(status);
+        collectionJob.setFinishedAt(finishedAt);
+        collectionJob.setLastError(error);
+        collectionJob.setLockedBy(null);
+        collectionJob.setLockedUntil(null);
+        return collectionJob;
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return backoff.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : backoff;
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Request {
+        CollectionJob collectionJob;
+
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+        CollectionJob collectionJob;
+
+        List<CollectionStage> stages;
+
+    }
+}
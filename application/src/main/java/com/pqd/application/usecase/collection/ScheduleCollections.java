@@ -0,0 +1,157 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionSchedule;
+import com.pqd.application.domain.product.Product;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import com.pqd.application.usecase.product.ProductGateway;
+import com.pqd.application.usecase.sonarqube.SonarqubePrefetch;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import javax.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Queues collection jobs for the products due on their collection interval. Only products with a valid tool config
+ * are scheduled. A newly scheduled product gets its first run at a random point within its interval and every next
+ * run is moved by a random jitter, so the collections spread evenly over time. The Sonarqube components of the
+ * queued collections are registered for the next Sonarqube prefetch. When the queue is full, the schedules not
+ * queued stay due.
+ */
+@RequiredArgsConstructor
+@UseCase
+@Transactional
+public class ScheduleCollections {
+
+    private final ProductGateway productGateway;
+
+    private final CollectionScheduleGateway scheduleGateway;
+
+    private final EnqueueCollectionJob enqueueCollectionJob;
+
+    private final CollectionScheduleProperties properties;
+
+    private final SonarqubePrefetch sonarqubePrefetch;
+
+    public Response execute() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Product> scheduledProducts = findScheduledProducts();
+        Map<Long, Duration> intervals = scheduledProducts.values()
+                                                         .stream()
+                                                         .collect(Collectors.toMap(Product::getId, this::interval));
+        syncSchedules(intervals, now);
+
+        int queued = 0;
+        List<CollectionSchedule> dueSchedules = scheduleGateway.lockDue(now);
+        // Checked once, a full queue thrown from the enqueue would roll back the whole run
+        long capacity = dueSchedules.isEmpty() ? 0 : enqueueCollectionJob.remainingCapacity();
+        for (CollectionSchedule schedule : dueSchedules) {
+            Duration interval = intervals.get(schedule.getProductId());
+            if (interval == null) {
+                continue;
+            }
+            if (capacity <= 0) {
+                // The remaining schedules stay due and are queued once the queue has room
+                break;
+            }
+            if (enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(schedule.getProductId(), true))
+                                    .isQueued()) {
+                queued++;
+                capacity--;
+                Product product = scheduledProducts.get(schedule.getProductId());
+                if (product.hasValidSonarqubeInfo()) {
+                    sonarqubePrefetch.expect(product.getSonarqubeInfo().get());
+                }
+            }
+            LocalDateTime nextRun = schedule.getNextRun().plus(interval);
+            if (nextRun.isBefore(now)) {
+                // Schedule fell behind, e.g. while no instance was running
+                nextRun = now.plus(interval);
+            }
+            nextRun = nextRun.plus(jitter(interval));
+            if (!nextRun.isAfter(now)) {
+                nextRun = now.plus(interval);
+            }
+            schedule.setNextRun(nextRun);
+            scheduleGateway.update(schedule);
+        }
+        return Response.of(queued);
+    }
+
+    private Map<Long, Product> findScheduledProducts() {
+        return productGateway.findAll()
+                             .stream()
+                             .filter(product -> product.hasValidSonarqubeInfo() || product.hasValidJiraInfo())
+                             .filter(product -> interval(product) != null)
+                             .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private Duration interval(Product product) {
+        if (product.getCollectionIntervalMinutes() == null) {
+            return properties.getDefaultInterval();
+        }
+        return product.getCollectionIntervalMinutes() > 0
+               ? Duration.ofMinutes(product.getCollectionIntervalMinutes())
+               : null;
+    }
+
+    /**
+     * Creates schedules for the newly scheduled products and removes the schedules of products not scheduled anymore
+     */
+    private void syncSchedules(Map<Long, Duration> intervals, LocalDateTime now) {
+        Map<Long, CollectionSchedule> schedules =
+                scheduleGateway.findAll()
+                               .stream()
+                               .collect(Collectors.toMap(CollectionSchedule::getProductId, Function.identity()));
+
+        List<Long> unscheduledProductIds = schedules.keySet()
+                                                    .stream()
+                                                    .filter(productId -> !intervals.containsKey(productId))
+                                                    .collect(Collectors.toList());
+        if (!unscheduledProductIds.isEmpty()) {
+            scheduleGateway.deleteAllByProductId(unscheduledProductIds);
+        }
+
+        intervals.forEach((productId, interval) -> {
+            CollectionSchedule schedule = schedules.get(productId);
+            LocalDateTime firstRun = now.plus(randomShare(interval));
+            if (schedule == null) {
+                scheduleGateway.create(CollectionSchedule.builder().productId(productId).nextRun(firstRun).build());
+            } else if (schedule.getNextRun().isAfter(now.plus(interval))) {
+                // Interval was shortened
+                schedule.setNextRun(firstRun);
+                scheduleGateway.update(schedule);
+            }
+        });
+    }
+
+    /**
+     * @return random duration between -jitter and +jitter share of the interval
+     */
+    private Duration jitter(Duration interval) {
+        double share = properties.getJitter() * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Duration.ofMillis((long) (interval.toMillis() * share));
+    }
+
+    private static Duration randomShare(Duration interval) {
+        return Duration.ofMillis((long) (interval.toMillis() * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+        /**
+         * Jobs queued, not counting the products that already had a job queued
+         */
+        int queued;
+
+    }
+}
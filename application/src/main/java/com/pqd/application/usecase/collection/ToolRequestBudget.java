@@ -0,0 +1,92 @@
+package com.pqd.application.usecase.collection;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Retries and deadline of the tool requests of one collection. The budget is bound to the thread running a tool
+ * fetch, so the tool adapters can retry failed requests without exceeding either. Requests made outside of a
+ * collection (like connection tests) have no budget and are not retried.
+ */
+public final class ToolRequestBudget {
+
+    private static final ThreadLocal<ToolRequestBudget> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger retriesLeft;
+
+    private final long deadlineNanos;
+
+    private ToolRequestBudget(AtomicInteger retriesLeft, long deadlineNanos) {
+        this.retriesLeft = retriesLeft;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @param retries retries shared by all tool fetches of the collection
+     */
+    public static ToolRequestBudget of(int retries) {
+        return new ToolRequestBudget(new AtomicInteger(retries), Long.MAX_VALUE);
+    }
+
+    /**
+     * @return budget of the tool fetch running on this thread
+     */
+    public static Optional<ToolRequestBudget> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @return budget sharing the retries of this one, with a deadline after the given time from now
+     */
+    public ToolRequestBudget withTimeout(Duration timeout) {
+        return new ToolRequestBudget(retriesLeft, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Runs the fetch with this budget bound to the current thread
+     */
+    public <T> T call(Supplier<T> fetch) {
+        ToolRequestBudget previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return fetch.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Takes one retry from the budget if one is left and the retry would start before the deadline
+     * @param delay time to wait before the retry
+     */
+    public boolean tryRetry(Duration delay) {
+        if (delay.compareTo(getRemaining()) >= 0) {
+            return false;
+        }
+        return retriesLeft.getAndUpdate(retries -> Math.max(0, retries - 1)) > 0;
+    }
+
+    public boolean hasDeadline() {
+        return deadlineNanos != Long.MAX_VALUE;
+    }
+
+    public int getRetriesLeft() {
+        return retriesLeft.get();
+    }
+
+    /**
+     * @return time left until the deadline, zero when passed
+     */
+    public Duration getRemaining() {
+        if (!hasDeadline()) {
+            return Duration.ofSeconds(Long.MAX_VALUE);
+        }
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+}
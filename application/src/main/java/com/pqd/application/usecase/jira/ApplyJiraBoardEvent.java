@@ -0,0 +1,161 @@
+package com.pqd.application.usecase.jira;
+
+import com.pqd.application.domain.jira.JiraBoardEvent;
+import com.pqd.application.domain.jira.JiraIssue;
+import com.pqd.application.domain.jira.JiraSprint;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a sprint or issue change received from a Jira webhook to the synced state of the boards of the Jira
+ * server. Started sprints are added without issues, their issues are fetched by the next collection of the board.
+ * Issues are only kept in sprints whose issues are known, as the events do not tell which boards show them. Every event
+ * is numbered first, boards of other instances see from the number that they missed it. Issue updates without the
+ * issue type are numbered but not applied, so the boards see them as missed and are synced from Jira again.
+ */
+@RequiredArgsConstructor
+@UseCase
+public class ApplyJiraBoardEvent {
+
+    private final JiraBoardSyncState syncState;
+
+    private final JiraWebhookSequenceGateway sequenceGateway;
+
+    public Response execute(Request request) {
+        JiraBoardEvent event = request.getEvent();
+        long sequence = sequenceGateway.next(JiraBoardSyncState.serverOf(event.getBaseUrl()));
+        switch (event.getType()) {
+            case SPRINT_STARTED:
+                return Response.of(syncState.update(event.getBaseUrl(), event.getSprint().getBoardId(), sequence,
+                                                    (baseUrl, sync) -> startSprint(sync, event.getSprint(), baseUrl)));
+            case SPRINT_UPDATED:
+                return Response.of(syncState.update(event.getBaseUrl(), null, sequence,
+                                                    (baseUrl, sync) -> updateSprint(sync, event.getSprint(), baseUrl)));
+            case SPRINT_CLOSED:
+                return Response.of(syncState.update(event.getBaseUrl(), null, sequence,
+                                                    (baseUrl, sync) -> closeSprint(sync, event.getSprint())));
+            case ISSUE_UPDATED:
+                if (event.getIssue().getFields() == null) {
+                    return Response.of(0);
+                }
+                return Response.of(syncState.update(event.getBaseUrl(), null, sequence,
+                                                    (baseUrl, sync) -> updateIssue(sync, event.getIssue(), baseUrl)));
+            case ISSUE_DELETED:
+                return Response.of(syncState.update(event.getBaseUrl(), null, sequence,
+                                                    (baseUrl, sync) -> updateIssue(sync, event.getIssue(), null)));
+            default:
+                throw new IllegalArgumentException("Unknown Jira board event " + event.getType());
+        }
+    }
+
+    private JiraBoardSyncState.BoardSync startSprint(JiraBoardSyncState.BoardSync sync, JiraSprint sprint,
+                                                     String baseUrl) {
+        if (containsSprint(sync, sprint.getSprintId())) {
+            return updateSprint(sync, sprint, baseUrl);
+        }
+        List<JiraSprint> activeSprints = new ArrayList<>(sync.getActiveSprints());
+        activeSprints.add(withBrowserUrl(sprint, baseUrl));
+        return JiraBoardSyncState.BoardSync.of(sync.getSyncedAt(), sync.getFullSyncAt(), List.copyOf(activeSprints),
+                                               sync.getIssuesBySprintId(), sync.getEventSequence());
+    }
+
+    private JiraBoardSyncState.BoardSync updateSprint(JiraBoardSyncState.BoardSync sync, JiraSprint sprint,
+                                                      String baseUrl) {
+        if (!containsSprint(sync, sprint.getSprintId())) {
+            return sync;
+        }
+        List<JiraSprint> activeSprints =
+                sync.getActiveSprints().stream()
+                    .map(active -> active.getSprintId().equals(sprint.getSprintId())
+                                   ? withBrowserUrl(sprint, baseUrl) : active)
+                    .collect(Collectors.toUnmodifiableList());
+        return JiraBoardSyncState.BoardSync.of(sync.getSyncedAt(), sync.getFullSyncAt(), activeSprints,
+                                               sync.getIssuesBySprintId(), sync.getEventSequence());
+    }
+
+    private JiraBoardSyncState.BoardSync closeSprint(JiraBoardSyncState.BoardSync sync, JiraSprint sprint) {
+        List<JiraSprint> activeSprints =
+                sync.getActiveSprints().stream()
+                    .filter(active -> !active.getSprintId().equals(sprint.getSprintId()))
+                    .collect(Collectors.toUnmodifiableList());
+        Map<Long, List<JiraIssue>> issuesBySprintId = new HashMap<>(sync.getIssuesBySprintId());
+        issuesBySprintId.remove(sprint.getSprintId());
+        return JiraBoardSyncState.BoardSync.of(sync.getSyncedAt(), sync.getFullSyncAt(), activeSprints,
+                                               Map.copyOf(issuesBySprintId), sync.getEventSequence());
+    }
+
+    /**
+     * Removes the issue from all sprints and adds it to its sprint again if the issues of that sprint are known
+     *
+     * @param baseUrl null if the issue was deleted
+     */
+    private JiraBoardSyncState.BoardSync updateIssue(JiraBoardSyncState.BoardSync sync, JiraIssue issue,
+                                                     String baseUrl) {
+        Map<Long, List<JiraIssue>> issuesBySprintId = new HashMap<>();
+        sync.getIssuesBySprintId().forEach(
+                (sprintId, issues) -> issuesBySprintId.put(sprintId,
+                                                           issues.stream()
+                                                                 .filter(known -> !known.getIssueId().equals(issue.getIssueId()))
+                                                                 .collect(Collectors.toList())));
+        if (baseUrl != null && issue.getSprintId() != null && issuesBySprintId.containsKey(issue.getSprintId())) {
+            issuesBySprintId.get(issue.getSprintId()).add(withBrowserUrl(issue, baseUrl));
+        }
+        issuesBySprintId.replaceAll((sprintId, issues) -> List.copyOf(issues));
+        return JiraBoardSyncState.BoardSync.of(sync.getSyncedAt(), sync.getFullSyncAt(), sync.getActiveSprints(),
+                                               Map.copyOf(issuesBySprintId), sync.getEventSequence());
+    }
+
+    private boolean containsSprint(JiraBoardSyncState.BoardSync sync, Long sprintId) {
+        return sync.getActiveSprints().stream().anyMatch(active -> active.getSprintId().equals(sprintId));
+    }
+
+    /**
+     * Browser urls are built from the base url the board was synced with, like for sprints fetched from Jira
+     */
+    private JiraSprint withBrowserUrl(JiraSprint sprint, String baseUrl) {
+        return JiraSprint.builder()
+                         .sprintId(sprint.getSprintId())
+                         .name(sprint.getName())
+                         .start(sprint.getStart())
+                         .end(sprint.getEnd())
+                         .boardId(sprint.getBoardId())
+                         .goal(sprint.getGoal())
+                         .browserUrl(JiraSprint.createBrowserUrl(baseUrl, sprint.getSprintId()))
+                         .build();
+    }
+
+    private JiraIssue withBrowserUrl(JiraIssue issue, String baseUrl) {
+        return JiraIssue.builder()
+                        .issueId(issue.getIssueId())
+                        .key(issue.getKey())
+                        .fields(issue.getFields())
+                        .browserUrl(JiraIssue.createBrowserUrl(baseUrl, issue.getKey()))
+                        .sprintId(issue.getSprintId())
+                        .build();
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+
+        /**
+         * Synced boards the event was applied to
+         */
+        int boards;
+    }
+
+    @Value(staticConstructor = "of")
+    public static class Request {
+
+        JiraBoardEvent event;
+    }
+}
@@ -0,0 +1,124 @@
+package com.pqd.application.usecase.jira;
+
+import com.pqd.application.domain.jira.JiraInfo;
+import com.pqd.application.domain.jira.JiraIssue;
+import com.pqd.application.domain.jira.JiraSprint;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Active sprints of every board and their issues as of its last sync, kept in memory so that later collections fetch
+ * only the issues updated since, or nothing if the state is kept up to date from Jira webhooks. Boards are told apart
+ * by the Jira user too, as users may see different issues. The state is lost on restart, the first collection of a
+ * board after it fetches all issues again. Webhook events may reach any instance, so the sync remembers the number of
+ * the last event of the server it reflects, see {@link JiraWebhookSequenceGateway}.
+ */
+@Component
+public class JiraBoardSyncState {
+
+    private final Map<BoardKey, BoardSync> syncs = new ConcurrentHashMap<>();
+
+    Optional<BoardSync> find(JiraInfo jiraInfo) {
+        return Optional.ofNullable(syncs.get(BoardKey.of(jiraInfo)));
+    }
+
+    void save(JiraInfo jiraInfo, BoardSync boardSync) {
+        syncs.put(BoardKey.of(jiraInfo), boardSync);
+    }
+
+    /**
+     * Applies the event to the synced boards of the Jira server, boards not synced yet are left alone. Every synced
+     * board of the server takes the event number if it reflects all events before it, otherwise it keeps its number
+     * and is synced from Jira again by its next collection.
+     *
+     * @param boardId       board to change, all boards of the server if null
+     * @param eventSequence number of the event
+     * @param change        gets the base url the board was synced with and its sync, returns the changed sync
+     * @return number of boards changed
+     */
+    int update(String baseUrl, Long boardId, long eventSequence, BiFunction<String, BoardSync, BoardSync> change) {
+        AtomicInteger updated = new AtomicInteger();
+        syncs.keySet().stream()
+             .filter(key -> sameServer(key.getBaseUrl(), baseUrl))
+             .forEach(key -> syncs.computeIfPresent(key, (boardKey, sync) -> {
+                 BoardSync changed = sync;
+                 if (boardId == null || boardId.equals(boardKey.getBoardId())) {
+                     updated.incrementAndGet();
+                     changed = change.apply(boardKey.getBaseUrl(), sync);
+                 }
+                 return sync.getEventSequence() + 1 == eventSequence ? changed.withEventSequence(eventSequence)
+                                                                     : changed.withEventSequence(sync.getEventSequence());
+             }));
+        return updated.get();
+    }
+
+    /**
+     * @return the base url the events of a Jira server are counted by
+     */
+    static String serverOf(String baseUrl) {
+        return stripTrailingSlash(baseUrl);
+    }
+
+    private static boolean sameServer(String first, String second) {
+        return Objects.equals(stripTrailingSlash(first), stripTrailingSlash(second));
+    }
+
+    private static String stripTrailingSlash(String baseUrl) {
+        return baseUrl != null && baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Value(staticConstructor = "of")
+    static class BoardSync {
+
+        /**
+         * Time the sync started, issues updated after it are fetched on the next sync
+         */
+        LocalDateTime syncedAt;
+
+        /**
+         * Time of the last sync that fetched all issues of the board
+         */
+        LocalDateTime fullSyncAt;
+
+        /**
+         * Active sprints of the board without their issues
+         */
+        List<JiraSprint> activeSprints;
+
+        /**
+         * Issues per active sprint, sprints started after the sync have no entry until their issues are fetched
+         */
+        Map<Long, List<JiraIssue>> issuesBySprintId;
+
+        /**
+         * Number of the last webhook event of the server the sync reflects
+         */
+        long eventSequence;
+
+        BoardSync withEventSequence(long eventSequence) {
+            return of(syncedAt, fullSyncAt, activeSprints, issuesBySprintId, eventSequence);
+        }
+    }
+
+    @Value
+    private static class BoardKey {
+        String baseUrl;
+
+        Long boardId;
+
+        String userEmail;
+
+        static BoardKey of(JiraInfo jiraInfo) {
+            return new BoardKey(jiraInfo.getBaseUrl(), jiraInfo.getBoardId(), jiraInfo.getUserEmail());
+        }
+    }
+}
@@ -5,7 +5,11 @@ import com.pqd.application.domain.jira.JiraInfo;
 import com.pqd.application.domain.jira.JiraIssue;
 import com.pqd.application.domain.jira.JiraSprint;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface JiraGateway {
 
@@ -13,5 +17,27 @@ public interface JiraGateway {
 
     List<JiraIssue> getSprintIssues(JiraInfo jiraInfo, Long sprintId);
 
+    /**
+     * Issues of several sprints, fetched one after another unless the implementation can fetch them concurrently
+     * @return issues per sprint id, in the order of the given sprint ids
+     */
+    default Map<Long, List<JiraIssue>> getIssuesOfSprints(JiraInfo jiraInfo, List<Long> sprintIds) {
+        Map<Long, List<JiraIssue>> issuesBySprintId = new LinkedHashMap<>();
+        sprintIds.forEach(sprintId -> issuesBySprintId.put(sprintId, getSprintIssues(jiraInfo, sprintId)));
+        return issuesBySprintId;
+    }
+
+    /**
+     * Issues of all open sprints of the board, fetched with one paginated board query instead of a query per sprint
+     * @return issues per sprint id, sprints without issues are left out
+     */
+    Map<Long, List<JiraIssue>> getIssuesOfOpenSprints(JiraInfo jiraInfo);
+
+    /**
+     * Issues of the board updated within the given time, with the open sprint they belong to now
+     * @return empty if more issues were updated than fit into one response, then all issues have to be fetched again
+     */
+    Optional<List<JiraIssue>> getIssuesUpdatedWithin(JiraInfo jiraInfo, Duration within);
+
     ConnectionResult testJiraConnection(JiraInfo jiraInfo);
 }
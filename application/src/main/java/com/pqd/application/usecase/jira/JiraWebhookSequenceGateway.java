@@ -0,0 +1,20 @@
+package com.pqd.application.usecase.jira;
+
+/**
+ * Numbers the webhook events of every Jira server across all instances, so that an instance can tell whether its
+ * board state has seen every event
+ */
+public interface JiraWebhookSequenceGateway {
+
+    /**
+     * Counts an event received from the Jira server
+     *
+     * @return number of the event, the events of a server are numbered from 1
+     */
+    long next(String baseUrl);
+
+    /**
+     * @return number of the last event received from the Jira server, 0 if none
+     */
+    long current(String baseUrl);
+}
@@ -1,33 +1,192 @@
 package com.pqd.application.usecase.jira;
 
+import com.pqd.application.domain.collection.CollectionStageName;
 import com.pqd.application.domain.jira.JiraInfo;
 import com.pqd.application.domain.jira.JiraIssue;
 import com.pqd.application.domain.jira.JiraSprint;
 import com.pqd.application.usecase.AbstractResponse;
 import com.pqd.application.usecase.UseCase;
+import com.pqd.application.usecase.collection.CollectionStageRecorder;
+import com.pqd.application.usecase.release.CollectionProperties;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 
-import javax.transaction.Transactional;
-import java.util.List;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
+/**
+ * Fetches the active sprints of the board with their issues. In incremental mode only the issues updated since the
+ * previous sync of the board are fetched and merged into the issues of the previous sync, sprints that were not
+ * active back then get all their issues fetched. In webhook mode the sprints and issues of a board kept up to date
+ * from Jira webhooks are used without asking Jira, until a full sync is due. Boards that missed a webhook event, as it
+ * was received by another instance, are synced incrementally instead.
+ */
 @RequiredArgsConstructor
 @UseCase
-@Transactional
 public class RetrieveReleaseInfoJira {
 
+    /**
+     * Added to the time since the previous sync, covers clock differences and the minute precision of Jira queries
+     */
+    static final Duration SYNC_OVERLAP = Duration.ofMinutes(5);
+
     private final JiraGateway jiraGateway;
 
+    private final CollectionProperties properties;
+
+    private final JiraBoardSyncState syncState;
+
+    private final JiraWebhookSequenceGateway sequenceGateway;
+
     public Response execute(Request request) {
-        List<JiraSprint> activeSprints = jiraGateway.getActiveSprints(request.getJiraInfo());
+        CollectionStageRecorder stageRecorder = request.getStageRecorder();
+        String host = CollectionStageRecorder.hostOf(request.getJiraInfo().getBaseUrl());
+        LocalDateTime syncStarted = LocalDateTime.now();
+        long eventSequence = 0;
+        if (properties.isJiraWebhookSync()) {
+            // read before syncing, events received meanwhile make the next collection sync again
+            eventSequence = sequenceGateway.current(JiraBoardSyncState.serverOf(request.getJiraInfo().getBaseUrl()));
+            long currentSequence = eventSequence;
+            Optional<JiraBoardSyncState.BoardSync> webhookSync =
+                    findRecentSync(request.getJiraInfo(), syncStarted)
+                            .filter(sync -> sync.getEventSequence() == currentSequence);
+            if (webhookSync.isPresent()) {
+                return Response.of(sprintsOfWebhookSync(request.getJiraInfo(), webhookSync.get(), syncStarted,
+                                                        stageRecorder, host));
+            }
+        }
+        List<JiraSprint> activeSprints =
+                stageRecorder.record(CollectionStageName.JIRA_SPRINT_FETCH, host, null,
+                                     () -> jiraGateway.getActiveSprints(request.getJiraInfo()));
+
+        Optional<JiraBoardSyncState.BoardSync> previousSync =
+                properties.isJiraIncrementalSync() || properties.isJiraWebhookSync()
+                ? findRecentSync(request.getJiraInfo(), syncStarted) : Optional.empty();
+        Optional<Map<Long, List<JiraIssue>>> mergedIssues =
+                previousSync.flatMap(sync -> fetchUpdatedIssues(request.getJiraInfo(), sync, syncStarted,
+                                                                stageRecorder, host));
+        setIssues(request.getJiraInfo(), activeSprints, mergedIssues.orElse(Map.of()), stageRecorder, host);
+
+        if (properties.isJiraIncrementalSync() || properties.isJiraWebhookSync()) {
+            LocalDateTime fullSyncAt = mergedIssues.isPresent() ? previousSync.get().getFullSyncAt() : syncStarted;
+            syncState.save(request.getJiraInfo(),
+                           JiraBoardSyncState.BoardSync.of(syncStarted, fullSyncAt, withoutIssues(activeSprints),
+                                                           issuesBySprintId(activeSprints), eventSequence));
+        }
+        return Response.of(activeSprints);
+    }
+
+    /**
+     * Sprints of a sync kept up to date from webhooks, only the issues of sprints started since are fetched
+     */
+    private List<JiraSprint> sprintsOfWebhookSync(JiraInfo jiraInfo, JiraBoardSyncState.BoardSync webhookSync,
+                                                  LocalDateTime now, CollectionStageRecorder stageRecorder,
+                                                  String host) {
+        List<JiraSprint> activeSprints = withoutIssues(webhookSync.getActiveSprints());
+        boolean issuesFetched = setIssues(jiraInfo, activeSprints, webhookSync.getIssuesBySprintId(), stageRecorder,
+                                          host);
+        if (issuesFetched) {
+            syncState.save(jiraInfo, JiraBoardSyncState.BoardSync.of(now, webhookSync.getFullSyncAt(),
+                                                                     webhookSync.getActiveSprints(),
+                                                                     issuesBySprintId(activeSprints),
+                                                                     webhookSync.getEventSequence()));
+        }
+        return activeSprints;
+    }
+
+    /**
+     * Sets the known issues of the sprints and fetches the issues of the other sprints
+     *
+     * @return true if any issues were fetched
+     */
+    private boolean setIssues(JiraInfo jiraInfo, List<JiraSprint> activeSprints,
+                              Map<Long, List<JiraIssue>> knownIssues, CollectionStageRecorder stageRecorder,
+                              String host) {
+        List<Long> unknownSprintIds = activeSprints.stream()
+                                                   .map(JiraSprint::getSprintId)
+                                                   .filter(sprintId -> !knownIssues.containsKey(sprintId))
+                                                   .collect(Collectors.toList());
+        Map<Long, List<JiraIssue>> fetchedIssues =
+                unknownSprintIds.isEmpty() ? Map.of()
+                                           : fetchIssuesOfSprints(jiraInfo, unknownSprintIds, stageRecorder, host);
 
         activeSprints.forEach(sprint -> {
-            List<JiraIssue> sprintIssues = jiraGateway.getSprintIssues(request.getJiraInfo(), sprint.getSprintId());
-            sprint.setIssues(sprintIssues);
+            List<JiraIssue> sprintIssues = knownIssues.get(sprint.getSprintId());
+            sprint.setIssues(sprintIssues != null ? new ArrayList<>(sprintIssues)
+                                                  : fetchedIssues.getOrDefault(sprint.getSprintId(), List.of()));
         });
+        return !unknownSprintIds.isEmpty();
+    }
 
-        return Response.of(activeSprints);
+    /**
+     * Issues of several sprints come from one board query if enabled, otherwise the sprints are requested at once,
+     * so the gateway can fetch them concurrently
+     */
+    private Map<Long, List<JiraIssue>> fetchIssuesOfSprints(JiraInfo jiraInfo, List<Long> sprintIds,
+                                                            CollectionStageRecorder stageRecorder, String host) {
+        if (properties.isJiraBoardIssueQuery() && sprintIds.size() > 1) {
+            return stageRecorder.record(CollectionStageName.JIRA_ISSUE_FETCH, host, "board",
+                                        () -> jiraGateway.getIssuesOfOpenSprints(jiraInfo));
+        }
+        return stageRecorder.record(CollectionStageName.JIRA_ISSUE_FETCH, host,
+                                    sprintIds.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                                    () -> jiraGateway.getIssuesOfSprints(jiraInfo, sprintIds));
+    }
+
+    private Optional<JiraBoardSyncState.BoardSync> findRecentSync(JiraInfo jiraInfo, LocalDateTime now) {
+        return syncState.find(jiraInfo)
+                        .filter(sync -> sync.getFullSyncAt().plus(properties.getJiraFullSyncInterval()).isAfter(now));
+    }
+
+    /**
+     * @return issues of the previous sync per sprint with the updated issues moved to the sprint they belong to now,
+     * empty if too many issues were updated
+     */
+    private Optional<Map<Long, List<JiraIssue>>> fetchUpdatedIssues(JiraInfo jiraInfo,
+                                                                    JiraBoardSyncState.BoardSync previousSync,
+                                                                    LocalDateTime now,
+                                                                    CollectionStageRecorder stageRecorder,
+                                                                    String host) {
+        Duration within = Duration.between(previousSync.getSyncedAt(), now).plus(SYNC_OVERLAP);
+        Optional<List<JiraIssue>> updatedIssues =
+                stageRecorder.record(CollectionStageName.JIRA_ISSUE_FETCH, host, "updated",
+                                     () -> jiraGateway.getIssuesUpdatedWithin(jiraInfo, within));
+
+        return updatedIssues.map(updated -> {
+            Set<Long> updatedIds = updated.stream().map(JiraIssue::getIssueId).collect(Collectors.toSet());
+            Map<Long, List<JiraIssue>> merged = new HashMap<>();
+            previousSync.getIssuesBySprintId().forEach(
+                    (sprintId, issues) -> merged.put(sprintId, issues.stream()
+                                                                     .filter(issue -> !updatedIds.contains(issue.getIssueId()))
+                                                                     .collect(Collectors.toList())));
+            updated.stream()
+                   .filter(issue -> issue.getSprintId() != null && merged.containsKey(issue.getSprintId()))
+                   .forEach(issue -> merged.get(issue.getSprintId()).add(issue));
+            return merged;
+        });
+    }
+
+    private List<JiraSprint> withoutIssues(List<JiraSprint> sprints) {
+        return sprints.stream()
+                      .map(sprint -> JiraSprint.builder()
+                                               .id(sprint.getId())
+                                               .sprintId(sprint.getSprintId())
+                                               .name(sprint.getName())
+                                               .start(sprint.getStart())
+                                               .end(sprint.getEnd())
+                                               .boardId(sprint.getBoardId())
+                                               .goal(sprint.getGoal())
+                                               .browserUrl(sprint.getBrowserUrl())
+                                               .build())
+                      .collect(Collectors.toList());
+    }
+
+    private Map<Long, List<JiraIssue>> issuesBySprintId(List<JiraSprint> sprints) {
+        return sprints.stream()
+                      .collect(Collectors.toMap(JiraSprint::getSprintId, sprint -> List.copyOf(sprint.getIssues())));
     }
 
     @Value(staticConstructor = "of")
@@ -42,6 +201,13 @@ public class RetrieveReleaseInfoJira {
     public static class Request {
 
         JiraInfo jiraInfo;
+
+        @EqualsAndHashCode.Exclude
+        CollectionStageRecorder stageRecorder;
+
+        public static Request of(JiraInfo jiraInfo) {
+            return of(jiraInfo, new CollectionStageRecorder());
+        }
     }
 
 }
@@ -0,0 +1,38 @@
+package com.pqd.application.usecase.product;
+
+import com.pqd.application.domain.product.Product;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+/**
+ * Looks up many products with one query. Unlike {@link GetProductList}, ids that do not exist are left out of the
+ * response instead of failing the whole request.
+ */
+@RequiredArgsConstructor
+@UseCase
+@Transactional
+public class FindProducts {
+
+    private final ProductGateway productGateway;
+
+    public Response execute(Request request) {
+        return Response.of(productGateway.findAllById(request.getProductIds()));
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+        List<Product> products;
+    }
+
+    @Value(staticConstructor = "of")
+    public static class Request {
+        List<Long> productIds;
+    }
+}
@@ -2,12 +2,22 @@ package com.pqd.application.usecase.product;
 
 import com.pqd.application.domain.product.Product;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductGateway {
 
     Optional<Product> findById(Long id);
 
+    List<Product> findAll();
+
+    List<Product> findAllById(List<Long> ids);
+
+    /**
+     * Products whose Sonarqube info has the component name (project key), on any Sonarqube server
+     */
+    List<Product> findAllBySonarqubeComponentName(String componentName);
+
     Product save(Product product);
 
     Product update(Product product);
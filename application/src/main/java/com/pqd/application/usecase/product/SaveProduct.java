@@ -27,6 +27,7 @@ public class SaveProduct {
                                  .name(request.getName())
                                  .sonarqubeInfo(request.getSonarqubeInfo())
                                  .jiraInfo(request.getJiraInfo())
+                                 .collectionIntervalMinutes(request.getCollectionIntervalMinutes())
                                  .build();
 
         return Response.of(productGateway.save(product));
@@ -46,6 +47,8 @@ public class SaveProduct {
         Optional<SonarqubeInfo> sonarqubeInfo;
 
         Optional<JiraInfo> jiraInfo;
+
+        Integer collectionIntervalMinutes;
     }
 
     private void checkIfToolInfoExists(Request request) {
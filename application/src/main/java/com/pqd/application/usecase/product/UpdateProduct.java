@@ -27,6 +27,7 @@ public class UpdateProduct {
                                  .token(token)
                                  .sonarqubeInfo(request.getProduct().getSonarqubeInfo())
                                  .jiraInfo(request.product.getJiraInfo())
+                                 .collectionIntervalMinutes(request.getProduct().getCollectionIntervalMinutes())
                                  .build();
 
         return Response.of(productGateway.update(product));
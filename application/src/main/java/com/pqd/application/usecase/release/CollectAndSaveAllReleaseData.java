@@ -1,5 +1,6 @@
 package com.pqd.application.usecase.release;
 
+import com.pqd.application.domain.collection.CollectionStageName;
 import com.pqd.application.domain.jira.JiraInfo;
 import com.pqd.application.domain.jira.JiraSprint;
 import com.pqd.application.domain.product.Product;
@@ -8,19 +9,24 @@ import com.pqd.application.domain.release.ReleaseInfoJira;
 import com.pqd.application.domain.release.ReleaseInfoSonarqube;
 import com.pqd.application.usecase.AbstractResponse;
 import com.pqd.application.usecase.UseCase;
+import com.pqd.application.usecase.collection.CollectionStageRecorder;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
 import com.pqd.application.usecase.jira.RetrieveReleaseInfoJira;
 import com.pqd.application.usecase.product.GetProduct;
 import com.pqd.application.usecase.sonarqube.RetrieveSonarqubeData;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 
-import javax.transaction.Transactional;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+@Slf4j
 @RequiredArgsConstructor
 @UseCase
-@Transactional
 public class CollectAndSaveAllReleaseData {
 
     private final RetrieveSonarqubeData retrieveSonarqubeData;
@@ -31,35 +37,121 @@ public class CollectAndSaveAllReleaseData {
 
     private final RetrieveReleaseInfoJira retrieveReleaseInfoJira;
 
+    private final ReleaseDataFetchExecutor fetchExecutor;
+
+    private final CollectionProperties properties;
+
     public void execute(Request request) {
         Product product = getProduct.execute(GetProduct.Request.of(request.getProductId())).getProduct();
+        CollectionStageRecorder stageRecorder = request.getStageRecorder();
+        ToolRequestBudget budget = ToolRequestBudget.of(properties.getToolRetryBudget());
 
-        ReleaseInfoSonarqube releaseInfoSonarqube = ReleaseInfoSonarqube.builder().build();
-
+        ToolFetch<ReleaseInfoSonarqube> sonarqubeFetch = ToolFetch.skipped(ReleaseInfoSonarqube.builder().build());
         if (product.hasValidSonarqubeInfo() && product.getSonarqubeInfo().isPresent()) {
             RetrieveSonarqubeData.Request retrieveSqDataRequest =
                     RetrieveSonarqubeData.Request.of(product.getSonarqubeInfo().get());
-            releaseInfoSonarqube = retrieveSonarqubeData.execute(retrieveSqDataRequest)
-                                                        .getReleaseInfo();
+            String host = CollectionStageRecorder.hostOf(product.getSonarqubeInfo().get().getBaseUrl());
+            CollectionStageRecorder.Started sonarqubeStage =
+                    stageRecorder.start(CollectionStageName.SONARQUBE_FETCH, host, null);
+            sonarqubeFetch = startFetch(budget,
+                                        () -> retrieveSonarqubeData.execute(retrieveSqDataRequest).getReleaseInfo(),
+                                        properties.getSonarqubeTimeout(),
+                                        ReleaseInfoSonarqube.builder().build(),
+                                        sonarqubeStage);
         }
 
-        List<JiraSprint> activeSprints = List.of();
+        ToolFetch<List<JiraSprint>> jiraFetch = ToolFetch.skipped(List.of());
         if (product.hasValidJiraInfo() && product.getJiraInfo().isPresent()) {
-            activeSprints =
-                    retrieveReleaseInfoJira.execute(
-                            RetrieveReleaseInfoJira
-                                    .Request.of(JiraInfo.builder()
-                                                        .baseUrl(product.getJiraInfo().get().getBaseUrl())
-                                                        .boardId(product.getJiraInfo().get().getBoardId())
-                                                        .token(product.getJiraInfo().get().getToken())
-                                                        .userEmail(product.getJiraInfo().get().getUserEmail())
-                                                        .build()))
-                                           .getActiveSprints();
+            RetrieveReleaseInfoJira.Request retrieveJiraRequest =
+                    RetrieveReleaseInfoJira.Request.of(JiraInfo.builder()
+                                                               .baseUrl(product.getJiraInfo().get().getBaseUrl())
+                                                               .boardId(product.getJiraInfo().get().getBoardId())
+                                                               .token(product.getJiraInfo().get().getToken())
+                                                               .userEmail(product.getJiraInfo().get().getUserEmail())
+                                                               .build(),
+                                                       stageRecorder);
+            jiraFetch = startFetch(budget,
+                                   () -> retrieveReleaseInfoJira.execute(retrieveJiraRequest).getActiveSprints(),
+                                   properties.getJiraTimeout(),
+                                   List.of(),
+                                   null);
+        }
+
+        ReleaseInfoSonarqube releaseInfoSonarqube = sonarqubeFetch.await("Sonarqube", request.getProductId());
+        List<JiraSprint> activeSprints = jiraFetch.await("Jira", request.getProductId());
+
+        if ((sonarqubeFetch.isFailed() || jiraFetch.isFailed())
+            && !sonarqubeFetch.isSucceeded() && !jiraFetch.isSucceeded()) {
+            throw new ReleaseDataCollectionException(
+                    String.format("Could not collect release info for product with id %s, all tool requests failed",
+                                  request.getProductId()));
         }
 
-        saveReleaseInfo.execute(SaveReleaseInfo.Request.of(releaseInfoSonarqube,
-                                                           ReleaseInfoJira.builder().jiraSprints(activeSprints).build(),
-                                                           request.getProductId()));
+        // Tool requests above run without a transaction, only saving the snapshot holds a database connection
+        stageRecorder.record(CollectionStageName.PERSIST, null, null, () -> saveReleaseInfo.execute(
+                SaveReleaseInfo.Request.of(releaseInfoSonarqube,
+                                           ReleaseInfoJira.builder().jiraSprints(activeSprints).build(),
+                                           request.getProductId())));
+    }
+
+    /**
+     * A fetch that times out is cancelled. The requests of the fetch wait for their tool host in the tool adapters.
+     * Retries of failed tool requests come from the budget of the collection and end with the timeout.
+     * @param stage stage finished when the fetch completes or times out, so slow hosts show up in the stage
+     *              durations. Null if the fetch records its stages itself.
+     */
+    private <T> ToolFetch<T> startFetch(ToolRequestBudget budget, Supplier<T> fetch, Duration timeout, T fallback,
+                                        CollectionStageRecorder.Started stage) {
+        Supplier<T> budgetedFetch = () -> budget.withTimeout(timeout).call(fetch);
+        CompletableFuture<T> future = fetchExecutor.supply(budgetedFetch, timeout);
+        if (stage != null) {
+            future = future.whenComplete((value, e) -> stage.finish(e == null));
+        }
+        return new ToolFetch<>(future, fallback);
+    }
+
+    /**
+     * Tool request started in the background. Awaiting it gives the fetched value, or the fallback value if the
+     * request failed or did not finish within its timeout.
+     */
+    private static class ToolFetch<T> {
+
+        private final CompletableFuture<T> future;
+
+        private final T fallback;
+
+        private boolean failed;
+
+        private ToolFetch(CompletableFuture<T> future, T fallback) {
+            this.future = future;
+            this.fallback = fallback;
+        }
+
+        static <T> ToolFetch<T> skipped(T value) {
+            return new ToolFetch<>(null, value);
+        }
+
+        T await(String toolName, Long productId) {
+            if (future == null) {
+                return fallback;
+            }
+            try {
+                return future.join();
+            } catch (Exception e) {
+                log.warn("{} data collection failed for product with id {}: {}",
+                         toolName, productId, e.getCause() != null ? e.getCause().toString() : e.toString());
+                failed = true;
+                return fallback;
+            }
+        }
+
+        boolean isSucceeded() {
+            return future != null && !failed;
+        }
+
+        boolean isFailed() {
+            return failed;
+        }
     }
 
     @Value(staticConstructor = "of")
@@ -67,6 +159,12 @@ public class CollectAndSaveAllReleaseData {
     public static class Request {
         Long productId;
 
+        @EqualsAndHashCode.Exclude
+        CollectionStageRecorder stageRecorder;
+
+        public static Request of(Long productId) {
+            return of(productId, new CollectionStageRecorder());
+        }
     }
 
     @Value(staticConstructor = "of")
@@ -75,4 +173,10 @@ public class CollectAndSaveAllReleaseData {
         ReleaseInfo releaseInfo;
 
     }
+
+    public static class ReleaseDataCollectionException extends RuntimeException {
+        public ReleaseDataCollectionException(String message) {
+            super(message);
+        }
+    }
 }
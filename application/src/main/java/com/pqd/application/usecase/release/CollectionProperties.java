@@ -0,0 +1,98 @@
+package com.pqd.application.usecase.release;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Release info collection settings, bound from the pqd.collection.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "pqd.collection")
+public class CollectionProperties {
+
+    /**
+     * Time given for fetching the Sonarqube measures of one product
+     */
+    private Duration sonarqubeTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Components of one Sonarqube server whose measures are prefetched with one request for the scheduled
+     * collections, larger values are lowered to the 100 components Sonarqube accepts
+     */
+    private int sonarqubeBatchSize = 50;
+
+    /**
+     * Prefetched Sonarqube measures are used by collections starting within this time after they were queued,
+     * later collections fetch their measures themselves
+     */
+    private Duration sonarqubePrefetchMaxAge = Duration.ofMinutes(5);
+
+    /**
+     * Time a collection waits for the prefetch of its measures in progress before it fetches them itself, at most
+     * the Sonarqube timeout
+     */
+    private Duration sonarqubePrefetchWait = Duration.ofSeconds(5);
+
+    /**
+     * Analyses per Sonarqube measure history request of a backfill, saved in one transaction, at most 1000
+     */
+    private int sonarqubeHistoryPageSize = 500;
+
+    /**
+     * Ask Sonarqube for the time of the latest analysis of a component before fetching its measures, and reuse the
+     * measures fetched before if no new analysis has run since
+     */
+    private boolean sonarqubeAnalysisProbe = true;
+
+    /**
+     * Time given for fetching the Jira sprints and their issues of one product
+     */
+    private Duration jiraTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Retries of failed tool requests shared by all tool fetches of one collection. Retries also stop when the
+     * fetch timeout would be exceeded.
+     */
+    private int toolRetryBudget = 6;
+
+    /**
+     * Run collections and their tool fetches on virtual threads when the JDK has them (21+). Collections are then
+     * limited by the per-host fetch limit instead of the thread count.
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * Store a new release info snapshot only if the collected data differs from the latest snapshot of the product.
+     * Otherwise only the time the latest snapshot was collected again is updated.
+     */
+    private boolean skipUnchanged = false;
+
+    /**
+     * Fetch the issues of boards with several active sprints with one paginated query for all open sprints of the
+     * board instead of one query per sprint
+     */
+    private boolean jiraBoardIssueQuery = true;
+
+    /**
+     * Fetch only the Jira issues updated since the previous collection of the board and merge them into the issues
+     * fetched before. The first collection of a board after a restart fetches all issues.
+     */
+    private boolean jiraIncrementalSync = true;
+
+    /**
+     * Time after which all issues of a board are fetched again even in incremental mode, so that issues changed in
+     * ways the updated time does not show (like deleted issues) are not kept forever
+     */
+    private Duration jiraFullSyncInterval = Duration.ofHours(24);
+
+    /**
+     * Take the Jira sprints and issues of a board from the state kept up to date by Jira webhooks instead of asking
+     * Jira, once the board was synced. Boards that missed an event received by another instance are synced
+     * incrementally, and all issues are still fetched again after the full sync interval.
+     */
+    private boolean jiraWebhookSync = false;
+}
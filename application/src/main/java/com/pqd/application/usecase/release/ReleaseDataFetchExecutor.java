@@ -0,0 +1,91 @@
+package com.pqd.application.usecase.release;
+
+import com.pqd.application.usecase.VirtualThreads;
+import com.pqd.application.usecase.collection.CollectionQueueProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the tool fetches of one collection (Sonarqube, Jira) concurrently.
+ * Platform threads are limited to one per tool for every collection worker, fetches beyond it wait for a free thread.
+ * With virtual threads enabled every fetch gets a new virtual thread instead.
+ */
+@Component
+public class ReleaseDataFetchExecutor implements DisposableBean {
+
+    private final ExecutorService executorService;
+
+    /**
+     * Tools fetched by one collection
+     */
+    private static final int TOOLS = 2;
+
+    public ReleaseDataFetchExecutor(CollectionProperties properties, CollectionQueueProperties queueProperties) {
+        int threads = Math.max(1, queueProperties.getWorkers() * TOOLS);
+        this.executorService = properties.isVirtualThreads()
+                               ? VirtualThreads.newThreadPerTaskExecutor("FetchThread-")
+                                               .orElseGet(() -> newPlatformThreadPool(threads))
+                               : newPlatformThreadPool(threads);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executorService);
+    }
+
+    /**
+     * Like {@link #supply(Supplier)}, but the returned future fails with a TimeoutException after the timeout and
+     * the fetch is cancelled, interrupting its thread so a hanging fetch does not keep it
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> fetch = executorService.submit(() -> {
+            try {
+                result.complete(supplier.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                     .whenComplete((value, e) -> {
+                         if (e instanceof TimeoutException) {
+                             fetch.cancel(true);
+                         }
+                     });
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    private static ExecutorService newPlatformThreadPool(int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(), new FetchThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class FetchThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "FetchThread-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
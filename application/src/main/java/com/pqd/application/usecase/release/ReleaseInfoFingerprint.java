@@ -0,0 +1,78 @@
+package com.pqd.application.usecase.release;
+
+import com.pqd.application.domain.jira.JiraIssue;
+import com.pqd.application.domain.jira.JiraIssueType;
+import com.pqd.application.domain.jira.JiraSprint;
+import com.pqd.application.domain.release.ReleaseInfoJira;
+import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * SHA-256 of the collected tool data that is stored in a release info snapshot. Database ids are left out, and sprints
+ * and issues are ordered by their tool ids, so the same data collected twice gives the same fingerprint.
+ */
+final class ReleaseInfoFingerprint {
+
+    private ReleaseInfoFingerprint() {
+    }
+
+    static String of(ReleaseInfoSonarqube sonarqube, ReleaseInfoJira jira) {
+        StringBuilder content = new StringBuilder();
+        if (sonarqube != null) {
+            append(content, "sonarqube", sonarqube.getSecurityRating(), sonarqube.getReliabilityRating(),
+                   sonarqube.getMaintainabilityRating(), sonarqube.getSecurityVulnerabilities(),
+                   sonarqube.getReliabilityBugs(), sonarqube.getMaintainabilityDebt(),
+                   sonarqube.getMaintainabilitySmells());
+        }
+        if (jira != null && jira.getJiraSprints() != null) {
+            jira.getJiraSprints().stream()
+                .sorted(Comparator.comparing(JiraSprint::getSprintId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(sprint -> appendSprint(content, sprint));
+        }
+        return sha256(content.toString());
+    }
+
+    private static void appendSprint(StringBuilder content, JiraSprint sprint) {
+        append(content, "sprint", sprint.getSprintId(), sprint.getBoardId(), sprint.getName(), sprint.getStart(),
+               sprint.getEnd(), sprint.getGoal(), sprint.getBrowserUrl());
+        List<JiraIssue> issues = sprint.getIssues() != null ? sprint.getIssues() : List.of();
+        issues.stream()
+              .sorted(Comparator.comparing(JiraIssue::getIssueId, Comparator.nullsFirst(Comparator.naturalOrder())))
+              .forEach(issue -> {
+                  JiraIssueType issueType = issue.getFields() != null ? issue.getFields().getIssueType() : null;
+                  append(content, "issue", issue.getIssueId(), issue.getKey(), issue.getBrowserUrl(),
+                         issueType != null ? issueType.getDescription() : null,
+                         issueType != null ? issueType.getIconUrl() : null,
+                         issueType != null ? issueType.getName() : null);
+              });
+    }
+
+    private static void append(StringBuilder content, String type, Object... values) {
+        content.append(type);
+        for (Object value : values) {
+            // Length prefix keeps values containing the separator from shifting into the next value
+            String text = Objects.toString(value, "");
+            content.append('|').append(value == null ? -1 : text.length()).append(':').append(text);
+        }
+        content.append('\n');
+    }
+
+    private static String sha256(String content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JDK", e);
+        }
+    }
+}
@@ -2,11 +2,32 @@ package com.pqd.application.usecase.release;
 
 import com.pqd.application.domain.release.ReleaseInfo;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ReleaseInfoGateway {
 
     ReleaseInfo save(ReleaseInfo releaseInfo);
 
+    /**
+     * Saves snapshots without Jira data in batches
+     */
+    void saveAll(List<ReleaseInfo> releaseInfos);
+
+    /**
+     * @return snapshots of the product, latest created first
+     */
     List<ReleaseInfo> findAllByProductId(Long productId);
+
+    /**
+     * @return creation time of the first snapshot of the product, empty if the product has none
+     */
+    Optional<LocalDateTime> findFirstCreated(Long productId);
+
+    /**
+     * Sets the last collected time of the latest created snapshot of the product, if that snapshot has the given fingerprint
+     * @return false if the product has no snapshot or its latest snapshot has different content
+     */
+    boolean markUnchanged(Long productId, String fingerprint, LocalDateTime collected);
 }
@@ -0,0 +1,85 @@
+package com.pqd.application.usecase.release;
+
+import com.pqd.application.domain.release.ReleaseInfo;
+import com.pqd.application.domain.release.ReleaseInfoJira;
+import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeAnalysis;
+import com.pqd.application.domain.sonarqube.SonarqubeBackfillCheckpoint;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import com.pqd.application.usecase.sonarqube.SonarqubeBackfillCheckpointGateway;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Saves past Sonarqube analyses as snapshots created at the analysis dates. The checkpoint is saved in the same
+ * transaction, so a backfill stopped midway continues after the last saved analyses.
+ */
+@RequiredArgsConstructor
+@UseCase
+@Transactional
+public class SaveBackfilledReleaseInfos {
+
+    private final ReleaseInfoGateway gateway;
+    private final SonarqubeBackfillCheckpointGateway checkpointGateway;
+    private final CalculateQualityLevel calculateQualityLevel;
+
+    public Response execute(Request request) {
+        List<ReleaseInfo> releaseInfos = request.getAnalyses()
+                                                .stream()
+                                                .map(analysis -> toReleaseInfo(request.getProductId(), analysis))
+                                                .collect(Collectors.toList());
+        gateway.saveAll(releaseInfos);
+        checkpointGateway.save(request.getCheckpoint());
+        return Response.of(releaseInfos.size());
+    }
+
+    private ReleaseInfo toReleaseInfo(Long productId, SonarqubeAnalysis analysis) {
+        ReleaseInfoSonarqube releaseInfoSonarqube = analysis.getReleaseInfo();
+        // Same Jira data as collections of products without Jira
+        ReleaseInfoJira releaseInfoJira = ReleaseInfoJira.builder().jiraSprints(List.of()).build();
+
+        Double qualityLevel = null;
+        if (releaseInfoSonarqube.getMaintainabilityRating() != null) {
+            qualityLevel = calculateQualityLevel.execute(CalculateQualityLevel.Request.of(releaseInfoSonarqube))
+                                                .getQualityLevel();
+        }
+
+        return ReleaseInfo.builder()
+                          .created(analysis.getDate())
+                          .releaseInfoSonarqube(Optional.of(releaseInfoSonarqube))
+                          .releaseInfoJira(Optional.of(releaseInfoJira))
+                          .productId(productId)
+                          .qualityLevel(qualityLevel)
+                          .fingerprint(ReleaseInfoFingerprint.of(releaseInfoSonarqube, releaseInfoJira))
+                          .build();
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Request {
+        Long productId;
+
+        /**
+         * Analyses with all measures, oldest first
+         */
+        List<SonarqubeAnalysis> analyses;
+
+        /**
+         * Checkpoint after the analyses
+         */
+        SonarqubeBackfillCheckpoint checkpoint;
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+        int saved;
+    }
+}
@@ -20,8 +20,15 @@ public class SaveReleaseInfo {
 
     private final ReleaseInfoGateway gateway;
     private final CalculateQualityLevel calculateQualityLevel;
+    private final CollectionProperties properties;
 
     public Response execute(Request request) {
+        LocalDateTime now = LocalDateTime.now();
+        String fingerprint = ReleaseInfoFingerprint.of(request.getReleaseInfoSonarqube(), request.getReleaseInfoJira());
+        if (properties.isSkipUnchanged() && gateway.markUnchanged(request.getProductId(), fingerprint, now)) {
+            return Response.of(null, true);
+        }
+
         Double qualityLevel = null;
         if (request.getReleaseInfoSonarqube() != null
             && request.getReleaseInfoSonarqube().getMaintainabilityRating() != null) {
@@ -31,15 +38,16 @@ public class SaveReleaseInfo {
         }
 
         ReleaseInfo releaseInfo = ReleaseInfo.builder()
-                                             .created(LocalDateTime.now())
+                                             .created(now)
                                              .releaseInfoSonarqube(Optional.of(request.getReleaseInfoSonarqube()))
                                              .releaseInfoJira(Optional.of(request.getReleaseInfoJira()))
                                              .productId(request.getProductId())
                                              .qualityLevel(qualityLevel)
+                                             .fingerprint(fingerprint)
                                              .build();
 
         ReleaseInfo savedReleaseInfo = gateway.save(releaseInfo);
-        return Response.of(savedReleaseInfo);
+        return Response.of(savedReleaseInfo, false);
     }
 
     @Value(staticConstructor = "of")
@@ -53,7 +61,15 @@ public class SaveReleaseInfo {
     @Value(staticConstructor = "of")
     @EqualsAndHashCode(callSuper = false)
     public static class Response extends AbstractResponse {
+        /**
+         * The saved snapshot, null if nothing was saved because the data was unchanged
+         */
         ReleaseInfo releaseInfo;
 
+        /**
+         * True if the latest snapshot had the same content and was only marked as collected again
+         */
+        boolean unchanged;
+
     }
 }
@@ -0,0 +1,141 @@
+package com.pqd.application.usecase.sonarqube;
+
+import com.pqd.application.domain.product.Product;
+import com.pqd.application.domain.sonarqube.SonarqubeAnalysis;
+import com.pqd.application.domain.sonarqube.SonarqubeBackfillCheckpoint;
+import com.pqd.application.domain.sonarqube.SonarqubeHistoryPage;
+import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import com.pqd.application.usecase.product.GetProduct;
+import com.pqd.application.usecase.release.CollectionProperties;
+import com.pqd.application.usecase.release.ReleaseInfoGateway;
+import com.pqd.application.usecase.release.SaveBackfilledReleaseInfos;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the Sonarqube measure history of a product into its release info history, one page of analyses per
+ * transaction. The history before the first snapshot of the product is backfilled, a backfill started again resumes
+ * after the last saved page.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@UseCase
+public class BackfillSonarqubeHistory {
+
+    private final SonarqubeGateway sonarqubeGateway;
+
+    private final SonarqubeBackfillCheckpointGateway checkpointGateway;
+
+    private final ReleaseInfoGateway releaseInfoGateway;
+
+    private final SaveBackfilledReleaseInfos saveBackfilledReleaseInfos;
+
+    private final GetProduct getProduct;
+
+    private final CollectionProperties properties;
+
+    private final Set<Long> runningProductIds = ConcurrentHashMap.newKeySet();
+
+    public Response execute(Request request) {
+        Long productId = request.getProductId();
+        Product product = getProduct.execute(GetProduct.Request.of(productId)).getProduct();
+        if (!product.hasValidSonarqubeInfo()) {
+            throw new SonarqubeInfoMissingException(
+                    String.format("Product with id %s has no Sonarqube info", productId));
+        }
+        if (!runningProductIds.add(productId)) {
+            log.info("Sonarqube history backfill of product with id {} is already running", productId);
+            return Response.of(0, null);
+        }
+        try {
+            return backfill(productId, product.getSonarqubeInfo().get());
+        } finally {
+            runningProductIds.remove(productId);
+        }
+    }
+
+    private Response backfill(Long productId, SonarqubeInfo sonarqubeInfo) {
+        SonarqubeBackfillCheckpoint checkpoint =
+                checkpointGateway.findByProductId(productId)
+                                 .orElseGet(() -> SonarqubeBackfillCheckpoint.builder()
+                                                                             .productId(productId)
+                                                                             .historyEnd(firstCreated(productId))
+                                                                             .build());
+        // Pages are requested from the checkpoint the backfill started at, so saving pages does not shift them
+        LocalDateTime from = checkpoint.getBackfilledUntil();
+        int pageSize = properties.getSonarqubeHistoryPageSize();
+        int saved = 0;
+        int page = 1;
+        SonarqubeHistoryPage historyPage;
+        do {
+            historyPage = sonarqubeGateway.getSonarqubeHistory(sonarqubeInfo, from, checkpoint.getHistoryEnd(),
+                                                               page, pageSize);
+            List<SonarqubeAnalysis> analyses = newAnalyses(historyPage, checkpoint);
+            if (!analyses.isEmpty()) {
+                checkpoint = SonarqubeBackfillCheckpoint.builder()
+                                                        .productId(productId)
+                                                        .historyEnd(checkpoint.getHistoryEnd())
+                                                        .backfilledUntil(analyses.get(analyses.size() - 1).getDate())
+                                                        .build();
+                saved += saveBackfilledReleaseInfos.execute(
+                        SaveBackfilledReleaseInfos.Request.of(productId, analyses, checkpoint)).getSaved();
+            }
+        } while ((long) page++ * pageSize < historyPage.getTotal());
+
+        log.info("Backfilled {} Sonarqube analyses of product with id {}", saved, productId);
+        return Response.of(saved, checkpoint.getBackfilledUntil());
+    }
+
+    private LocalDateTime firstCreated(Long productId) {
+        return releaseInfoGateway.findFirstCreated(productId).orElseGet(LocalDateTime::now);
+    }
+
+    /**
+     * Analyses after the checkpoint, the time bounds of the history request include the boundary analyses
+     */
+    private static List<SonarqubeAnalysis> newAnalyses(SonarqubeHistoryPage historyPage,
+                                                       SonarqubeBackfillCheckpoint checkpoint) {
+        return historyPage.getAnalyses()
+                          .stream()
+                          .filter(analysis -> checkpoint.getBackfilledUntil() == null
+                                              || analysis.getDate().isAfter(checkpoint.getBackfilledUntil()))
+                          .filter(analysis -> analysis.getDate().isBefore(checkpoint.getHistoryEnd()))
+                          .collect(Collectors.toList());
+    }
+
+    @Value(staticConstructor = "of")
+    public static class Request {
+        Long productId;
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+
+        /**
+         * Analyses saved as release infos by this backfill
+         */
+        int saved;
+
+        /**
+         * Date of the last backfilled analysis, null if nothing was backfilled
+         */
+        LocalDateTime backfilledUntil;
+    }
+
+    public static class SonarqubeInfoMissingException extends RuntimeException {
+        public SonarqubeInfoMissingException(String message) {
+            super(message);
+        }
+    }
+}
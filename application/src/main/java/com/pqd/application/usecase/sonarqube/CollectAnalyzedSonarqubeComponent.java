@@ -0,0 +1,96 @@
+package com.pqd.application.usecase.sonarqube;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.product.Product;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import com.pqd.application.usecase.collection.EnqueueCollectionJob;
+import com.pqd.application.usecase.product.ProductGateway;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Queues collections of the products of a Sonarqube component that finished an analysis, instead of waiting for
+ * their next trigger. Only products on the server that sent the analysis are queued, the measures of the newly
+ * queued ones are expected in the Sonarqube prefetch and fetched by the caller, outside of the webhook request.
+ */
+@RequiredArgsConstructor
+@UseCase
+public class CollectAnalyzedSonarqubeComponent {
+
+    private final ProductGateway productGateway;
+
+    private final EnqueueCollectionJob enqueueCollectionJob;
+
+    private final SonarqubePrefetch sonarqubePrefetch;
+
+    public Response execute(Request request) {
+        Map<Long, CollectionJob> collectionJobs = new LinkedHashMap<>();
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        boolean expected = false;
+        for (Product product : productGateway.findAllBySonarqubeComponentName(request.getComponentName())) {
+            if (!product.hasValidSonarqubeInfo()
+                || !isSameServer(product.getSonarqubeInfo().get().getBaseUrl(), request.getServerUrl())) {
+                continue;
+            }
+            try {
+                EnqueueCollectionJob.Response response =
+                        enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(product.getId()));
+                collectionJobs.put(product.getId(), response.getCollectionJob());
+                if (response.isQueued()) {
+                    sonarqubePrefetch.expect(product.getSonarqubeInfo().get());
+                    expected = true;
+                }
+            } catch (EnqueueCollectionJob.CollectionQueueFullException e) {
+                rejected.put(product.getId(), e.getMessage());
+            }
+        }
+        return Response.of(collectionJobs, rejected, expected);
+    }
+
+    private static boolean isSameServer(String baseUrl, String serverUrl) {
+        return serverUrl != null && withoutTrailingSlash(baseUrl).equalsIgnoreCase(withoutTrailingSlash(serverUrl));
+    }
+
+    private static String withoutTrailingSlash(String url) {
+        return url.replaceAll("/+$", "");
+    }
+
+    @Value(staticConstructor = "of")
+    public static class Request {
+
+        /**
+         * Base URL of the Sonarqube server that analyzed the component
+         */
+        String serverUrl;
+
+        /**
+         * Project key of the analyzed component
+         */
+        String componentName;
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+
+        /**
+         * Queued jobs per product id, including the jobs the collections were folded into
+         */
+        Map<Long, CollectionJob> collectionJobs;
+
+        /**
+         * Reasons per product id, for products whose collection could not be queued
+         */
+        Map<Long, String> rejected;
+
+        /**
+         * True if newly queued collections wait for their measures to be prefetched
+         */
+        boolean prefetchExpected;
+    }
+}
@@ -0,0 +1,87 @@
+package com.pqd.application.usecase.sonarqube;
+
+import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+import com.pqd.application.usecase.AbstractResponse;
+import com.pqd.application.usecase.UseCase;
+import com.pqd.application.usecase.release.CollectionProperties;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Fetches the Sonarqube release infos of the queued collections, grouped by server and token so that up to
+ * pqd.collection.sonarqube-batch-size components share one request. Components that could not be fetched are left
+ * to their collections.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@UseCase
+public class PrefetchSonarqubeData {
+
+    /**
+     * Components Sonarqube accepts in one /api/measures/search request
+     */
+    static final int MAX_BATCH_SIZE = 100;
+
+    private final SonarqubeGateway sonarqubeGateway;
+
+    private final SonarqubePrefetch prefetch;
+
+    private final CollectionProperties properties;
+
+    public Response execute() {
+        prefetch.evictOlderThan(properties.getSonarqubePrefetchMaxAge());
+        Map<List<String>, List<SonarqubeInfo>> infosByServer =
+                prefetch.startFetch()
+                        .stream()
+                        .collect(Collectors.groupingBy(info -> Arrays.asList(info.getBaseUrl(), info.getToken()),
+                                                       LinkedHashMap::new,
+                                                       Collectors.toList()));
+        int batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, properties.getSonarqubeBatchSize()));
+        int requests = 0;
+        int fetched = 0;
+        for (List<SonarqubeInfo> serverInfos : infosByServer.values()) {
+            for (int from = 0; from < serverInfos.size(); from += batchSize) {
+                List<SonarqubeInfo> batch = serverInfos.subList(from, Math.min(from + batchSize, serverInfos.size()));
+                Map<String, ReleaseInfoSonarqube> releaseInfos = fetchBatch(batch);
+                batch.forEach(info -> prefetch.complete(info, releaseInfos.get(info.getComponentName())));
+                requests++;
+                fetched += releaseInfos.size();
+            }
+        }
+        return Response.of(requests, fetched);
+    }
+
+    private Map<String, ReleaseInfoSonarqube> fetchBatch(List<SonarqubeInfo> batch) {
+        try {
+            return sonarqubeGateway.getSonarqubeReleaseInfos(batch);
+        } catch (Exception e) {
+            log.warn("Prefetching Sonarqube measures of {} components from {} failed: {}",
+                     batch.size(), batch.get(0).getBaseUrl(), e.toString());
+            return Map.of();
+        }
+    }
+
+    @Value(staticConstructor = "of")
+    @EqualsAndHashCode(callSuper = false)
+    public static class Response extends AbstractResponse {
+
+        /**
+         * Batch requests made to the Sonarqube servers
+         */
+        int requests;
+
+        /**
+         * Components whose release info was prefetched
+         */
+        int fetched;
+    }
+}
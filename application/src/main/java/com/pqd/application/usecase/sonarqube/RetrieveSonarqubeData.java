@@ -4,24 +4,77 @@ import com.pqd.application.domain.release.ReleaseInfoSonarqube;
 import com.pqd.application.domain.sonarqube.SonarqubeInfo;
 import com.pqd.application.usecase.AbstractResponse;
 import com.pqd.application.usecase.UseCase;
+import com.pqd.application.usecase.release.CollectionProperties;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 
-import javax.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
+@Slf4j
 @RequiredArgsConstructor
 @UseCase
-@Transactional
 public class RetrieveSonarqubeData {
 
     private final SonarqubeGateway sonarqubeGateway;
 
+    private final SonarqubePrefetch prefetch;
+
+    private final SonarqubeAnalysisState analysisState;
+
+    private final CollectionProperties properties;
+
+    /**
+     * Uses the release info prefetched for the scheduled collection if there is one. A prefetch in progress is
+     * waited for only briefly, so a slow batch leaves the collection enough of its timeout to fetch on its own.
+     */
     public Response execute(Request request) {
-        ReleaseInfoSonarqube releaseInfoSonarqube = sonarqubeGateway.getSonarqubeReleaseInfo(request.getSonarqubeInfo());
+        ReleaseInfoSonarqube releaseInfoSonarqube =
+                prefetch.take(request.getSonarqubeInfo(), properties.getSonarqubePrefetchMaxAge(), prefetchWait())
+                        .orElseGet(() -> fetchReleaseInfo(request.getSonarqubeInfo()));
         return Response.of(releaseInfoSonarqube);
     }
 
+    private Duration prefetchWait() {
+        Duration wait = properties.getSonarqubePrefetchWait();
+        return wait.compareTo(properties.getSonarqubeTimeout()) < 0 ? wait : properties.getSonarqubeTimeout();
+    }
+
+    /**
+     * With the analysis probe the measures are only fetched if the latest analysis of the component differs from the
+     * one they were last fetched for
+     */
+    private ReleaseInfoSonarqube fetchReleaseInfo(SonarqubeInfo sonarqubeInfo) {
+        if (!properties.isSonarqubeAnalysisProbe()) {
+            return sonarqubeGateway.getSonarqubeReleaseInfo(sonarqubeInfo);
+        }
+        Optional<LocalDateTime> analysisDate = findLatestAnalysisDate(sonarqubeInfo);
+        Optional<ReleaseInfoSonarqube> unchanged =
+                analysisDate.flatMap(date -> analysisState.find(sonarqubeInfo, date));
+        if (unchanged.isPresent()) {
+            return unchanged.get();
+        }
+        ReleaseInfoSonarqube releaseInfo = sonarqubeGateway.getSonarqubeReleaseInfo(sonarqubeInfo);
+        analysisDate.ifPresent(date -> analysisState.save(sonarqubeInfo, date, releaseInfo));
+        return releaseInfo;
+    }
+
+    /**
+     * @return empty if the probe failed, the measures are then fetched like without the probe
+     */
+    private Optional<LocalDateTime> findLatestAnalysisDate(SonarqubeInfo sonarqubeInfo) {
+        try {
+            return sonarqubeGateway.getLatestAnalysisDate(sonarqubeInfo);
+        } catch (RuntimeException e) {
+            log.warn("Fetching the latest analysis of Sonarqube component {} failed: {}",
+                     sonarqubeInfo.getComponentName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     @Value(staticConstructor = "of")
     @EqualsAndHashCode(callSuper = false)
     public static class Response extends AbstractResponse {
@@ -0,0 +1,76 @@
+package com.pqd.application.usecase.sonarqube;
+
+import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sonarqube release info of every product as of the latest analysis it was fetched for, kept in memory so that
+ * collections reuse it while no new analysis has run. Every Sonarqube info has one entry, replaced by the next fetch.
+ * Sonarqube infos that are not saved yet are not remembered. The state is lost on restart, the first collection of a
+ * product after it fetches the measures again.
+ */
+@Component
+public class SonarqubeAnalysisState {
+
+    private final Map<Long, Analysis> analyses = new ConcurrentHashMap<>();
+
+    /**
+     * @return release info fetched for the analysis of the given time, empty if it was fetched for another analysis
+     * or with other settings
+     */
+    Optional<ReleaseInfoSonarqube> find(SonarqubeInfo sonarqubeInfo, LocalDateTime analysisDate) {
+        if (sonarqubeInfo.getId() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(analyses.get(sonarqubeInfo.getId()))
+                       .filter(analysis -> analysis.getSettings().equals(Settings.of(sonarqubeInfo)))
+                       .filter(analysis -> analysis.getDate().equals(analysisDate))
+                       .map(Analysis::getReleaseInfo);
+    }
+
+    void save(SonarqubeInfo sonarqubeInfo, LocalDateTime analysisDate, ReleaseInfoSonarqube releaseInfo) {
+        if (sonarqubeInfo.getId() == null) {
+            return;
+        }
+        analyses.put(sonarqubeInfo.getId(), Analysis.of(Settings.of(sonarqubeInfo), analysisDate, releaseInfo));
+    }
+
+    int size() {
+        return analyses.size();
+    }
+
+    @Value(staticConstructor = "of")
+    private static class Analysis {
+
+        Settings settings;
+
+        LocalDateTime date;
+
+        ReleaseInfoSonarqube releaseInfo;
+    }
+
+    /**
+     * Settings the release info was fetched with, so that changed settings are not answered with the release info of
+     * the old component
+     */
+    @Value(staticConstructor = "of")
+    private static class Settings {
+
+        String baseUrl;
+
+        String token;
+
+        String componentName;
+
+        static Settings of(SonarqubeInfo sonarqubeInfo) {
+            return of(sonarqubeInfo.getBaseUrl(), sonarqubeInfo.getToken(), sonarqubeInfo.getComponentName());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pqd.application.usecase.sonarqube;
+
+import com.pqd.application.domain.sonarqube.SonarqubeBackfillCheckpoint;
+
+import java.util.Optional;
+
+public interface SonarqubeBackfillCheckpointGateway {
+
+    Optional<SonarqubeBackfillCheckpoint> findByProductId(Long productId);
+
+    void save(SonarqubeBackfillCheckpoint checkpoint);
+}
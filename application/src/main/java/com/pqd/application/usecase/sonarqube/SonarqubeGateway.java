@@ -2,11 +2,45 @@ package com.pqd.application.usecase.sonarqube;
 
 import com.pqd.application.domain.connection.ConnectionResult;
 import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeHistoryPage;
 import com.pqd.application.domain.sonarqube.SonarqubeInfo;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 public interface SonarqubeGateway { //REST Gateway
 
     ReleaseInfoSonarqube getSonarqubeReleaseInfo(SonarqubeInfo sonarqubeInfo);
 
+    /**
+     * Release infos of several components of one Sonarqube server, fetched one after another unless the
+     * implementation can fetch them with one request
+     * @param sonarqubeInfos components with the same base URL and token
+     * @return release info per component name, components the server returned no measures for are left out
+     */
+    default Map<String, ReleaseInfoSonarqube> getSonarqubeReleaseInfos(List<SonarqubeInfo> sonarqubeInfos) {
+        Map<String, ReleaseInfoSonarqube> releaseInfos = new LinkedHashMap<>();
+        sonarqubeInfos.forEach(info -> releaseInfos.put(info.getComponentName(), getSonarqubeReleaseInfo(info)));
+        return releaseInfos;
+    }
+
+    /**
+     * One page of the measure history of the component
+     * @param from analyses at or after this time, null for the first analysis
+     * @param to analyses at or before this time
+     * @param page page number, starting from 1
+     */
+    SonarqubeHistoryPage getSonarqubeHistory(SonarqubeInfo sonarqubeInfo, LocalDateTime from, LocalDateTime to,
+                                             int page, int pageSize);
+
+    /**
+     * Time of the latest analysis of the component, a cheap request to tell whether the measures may have changed
+     * @return empty if the component has not been analyzed
+     */
+    Optional<LocalDateTime> getLatestAnalysisDate(SonarqubeInfo sonarqubeInfo);
+
     ConnectionResult testSonarqubeConnection(SonarqubeInfo sonarqubeInfo);
 }
@@ -0,0 +1,116 @@
+package com.pqd.application.usecase.sonarqube;
+
+import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Sonarqube release infos of queued collections, fetched for many components of a server at once before the
+ * collections run. Every prefetched release info is used by one collection only. The state is kept in memory,
+ * collections running on another instance fetch their release info themselves.
+ */
+@Component
+public class SonarqubePrefetch {
+
+    private final Map<ComponentKey, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a component whose collection was queued, its release info is fetched by the next prefetch
+     */
+    public void expect(SonarqubeInfo sonarqubeInfo) {
+        entries.putIfAbsent(ComponentKey.of(sonarqubeInfo), new Entry(sonarqubeInfo, LocalDateTime.now()));
+    }
+
+    /**
+     * @return expected components not fetched yet, from now on they count as being fetched
+     */
+    List<SonarqubeInfo> startFetch() {
+        return entries.values()
+                      .stream()
+                      .filter(entry -> entry.getStarted().compareAndSet(false, true))
+                      .map(Entry::getSonarqubeInfo)
+                      .collect(Collectors.toList());
+    }
+
+    /**
+     * @param releaseInfo null if the release info was not fetched, the collection then fetches it itself
+     */
+    void complete(SonarqubeInfo sonarqubeInfo, ReleaseInfoSonarqube releaseInfo) {
+        Entry entry = entries.get(ComponentKey.of(sonarqubeInfo));
+        if (entry != null) {
+            entry.getReleaseInfo().complete(releaseInfo);
+        }
+    }
+
+    /**
+     * Removes the release info of the component, waiting for a prefetch in progress
+     * @param maxAge release infos of components expected longer ago are not used
+     * @param maxWait time to wait for a prefetch in progress
+     * @return empty if the release info has to be fetched by the collection
+     */
+    Optional<ReleaseInfoSonarqube> take(SonarqubeInfo sonarqubeInfo, Duration maxAge, Duration maxWait) {
+        Entry entry = entries.remove(ComponentKey.of(sonarqubeInfo));
+        if (entry == null || entry.getExpectedAt().plus(maxAge).isBefore(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(entry.getReleaseInfo().get(maxWait.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException | TimeoutException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Drops the entries expected longer ago than the given time, like the ones of collections that never ran here
+     */
+    void evictOlderThan(Duration maxAge) {
+        LocalDateTime oldest = LocalDateTime.now().minus(maxAge);
+        entries.values().removeIf(entry -> entry.getExpectedAt().isBefore(oldest));
+    }
+
+    @Value
+    private static class Entry {
+
+        SonarqubeInfo sonarqubeInfo;
+
+        LocalDateTime expectedAt;
+
+        AtomicBoolean started = new AtomicBoolean();
+
+        CompletableFuture<ReleaseInfoSonarqube> releaseInfo = new CompletableFuture<>();
+    }
+
+    /**
+     * Components are told apart by the token too, as tokens may see different measures
+     */
+    @Value(staticConstructor = "of")
+    private static class ComponentKey {
+
+        String baseUrl;
+
+        String token;
+
+        String componentName;
+
+        static ComponentKey of(SonarqubeInfo sonarqubeInfo) {
+            return of(sonarqubeInfo.getBaseUrl(), sonarqubeInfo.getToken(), sonarqubeInfo.getComponentName());
+        }
+    }
+}
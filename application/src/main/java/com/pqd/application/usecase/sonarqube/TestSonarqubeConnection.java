@@ -8,11 +8,8 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 
-import javax.transaction.Transactional;
-
 @RequiredArgsConstructor
 @UseCase
-@Transactional
 public class TestSonarqubeConnection {
 
     private final SonarqubeGateway gateway;
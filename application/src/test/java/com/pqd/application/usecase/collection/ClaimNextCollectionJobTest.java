@@ -0,0 +1,53 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ClaimNextCollectionJobTest {
+
+    private CollectionJobGateway gateway;
+    private ClaimNextCollectionJob claimNextCollectionJob;
+
+    @BeforeEach
+    void setup() {
+        gateway = mock(CollectionJobGateway.class);
+        claimNextCollectionJob = new ClaimNextCollectionJob(gateway, TestDataGenerator.generateProperties());
+    }
+
+    @Test
+    void GIVEN_due_job_WHEN_job_claimed_THEN_job_claimed_by_worker() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.RUNNING, 1);
+        when(gateway.claimNext(eq("worker"), any(), any())).thenReturn(Optional.of(collectionJob));
+
+        Optional<CollectionJob> actual =
+                claimNextCollectionJob.execute(ClaimNextCollectionJob.Request.of("worker")).getCollectionJob();
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> lockedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(gateway, times(1)).claimNext(eq("worker"), now.capture(), lockedUntil.capture());
+        assertThat(Duration.between(now.getValue(), lockedUntil.getValue())).isEqualTo(Duration.ofMinutes(10));
+        assertThat(actual).contains(collectionJob);
+    }
+
+    @Test
+    void GIVEN_no_due_job_WHEN_job_claimed_THEN_empty_returned() {
+        when(gateway.claimNext(eq("worker"), any(), any())).thenReturn(Optional.empty());
+
+        Optional<CollectionJob> actual =
+                claimNextCollectionJob.execute(ClaimNextCollectionJob.Request.of("worker")).getCollectionJob();
+
+        assertThat(actual).isEmpty();
+    }
+}
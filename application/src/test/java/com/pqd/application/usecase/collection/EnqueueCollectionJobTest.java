@@ -0,0 +1,102 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class EnqueueCollectionJobTest {
+
+    private CollectionJobGateway gateway;
+    private GetCollectionQueueStats getCollectionQueueStats;
+    private EnqueueCollectionJob enqueueCollectionJob;
+
+    @BeforeEach
+    void setup() {
+        gateway = mock(CollectionJobGateway.class);
+        getCollectionQueueStats = mock(GetCollectionQueueStats.class);
+        CollectionQueueProperties properties = new CollectionQueueProperties();
+        properties.setMaxQueued(10);
+        enqueueCollectionJob = new EnqueueCollectionJob(gateway, properties, getCollectionQueueStats);
+        when(gateway.countQueued()).thenReturn(9L);
+    }
+
+    @Test
+    void GIVEN_no_queued_job_WHEN_job_enqueued_THEN_new_job_returned_as_queued() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.QUEUED, 0);
+        when(gateway.enqueue(eq(1L), any())).thenReturn(collectionJob);
+
+        EnqueueCollectionJob.Response response = enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(1L));
+
+        verify(gateway, times(1)).enqueue(eq(1L), any());
+        verifyNoInteractions(getCollectionQueueStats);
+        assertThat(response.getCollectionJob()).isEqualTo(collectionJob);
+        assertThat(response.isQueued()).isTrue();
+    }
+
+    @Test
+    void GIVEN_queued_job_WHEN_job_enqueued_THEN_trigger_folded_into_queued_job() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.QUEUED, 0);
+        collectionJob.setTriggers(2);
+        when(gateway.enqueue(eq(1L), any())).thenReturn(collectionJob);
+
+        EnqueueCollectionJob.Response response = enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(1L));
+
+        assertThat(response.getCollectionJob()).isEqualTo(collectionJob);
+        assertThat(response.isQueued()).isFalse();
+    }
+
+    @Test
+    void GIVEN_full_queue_WHEN_job_enqueued_for_product_without_queued_job_THEN_rejected_with_estimated_wait() {
+        when(gateway.countQueued()).thenReturn(10L);
+        when(getCollectionQueueStats.execute()).thenReturn(
+                GetCollectionQueueStats.Response.of(TestDataGenerator.generateCollectionQueueStats(10),
+                                                    Duration.ofSeconds(42)));
+
+        EnqueueCollectionJob.CollectionQueueFullException exception =
+                assertThrows(EnqueueCollectionJob.CollectionQueueFullException.class,
+                             () -> enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(1L)));
+
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofSeconds(42));
+        verify(gateway, never()).enqueue(any(), any());
+    }
+
+    @Test
+    void GIVEN_full_queue_WHEN_job_enqueued_for_product_with_queued_job_THEN_trigger_folded_into_queued_job() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.QUEUED, 0);
+        collectionJob.setTriggers(2);
+        when(gateway.findQueuedByProductId(1L)).thenReturn(Optional.of(collectionJob));
+        when(gateway.enqueue(eq(1L), any())).thenReturn(collectionJob);
+        when(gateway.countQueued()).thenReturn(10L);
+
+        EnqueueCollectionJob.Response response = enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(1L));
+
+        assertThat(response.getCollectionJob()).isEqualTo(collectionJob);
+        verify(gateway, never()).countQueued();
+        verifyNoInteractions(getCollectionQueueStats);
+    }
+
+    @Test
+    void GIVEN_capacity_checked_by_caller_WHEN_job_enqueued_THEN_queued_without_counting_again() {
+        when(gateway.countQueued()).thenReturn(10L);
+        when(gateway.enqueue(eq(1L), any()))
+                .thenReturn(TestDataGenerator.generateCollectionJob(CollectionJobStatus.QUEUED, 0));
+
+        long capacity = enqueueCollectionJob.remainingCapacity();
+        EnqueueCollectionJob.Response response =
+                enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(1L, true));
+
+        assertThat(capacity).isZero();
+        assertThat(response.isQueued()).isTrue();
+        verify(gateway, times(1)).countQueued();
+    }
+}
@@ -0,0 +1,39 @@
+package com.pqd.application.usecase.collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ExtendCollectionJobLocksTest {
+
+    private CollectionJobGateway gateway;
+    private ExtendCollectionJobLocks extendCollectionJobLocks;
+
+    @BeforeEach
+    void setup() {
+        gateway = mock(CollectionJobGateway.class);
+        extendCollectionJobLocks = new ExtendCollectionJobLocks(gateway, TestDataGenerator.generateProperties());
+    }
+
+    @Test
+    void GIVEN_running_jobs_of_worker_WHEN_locks_extended_THEN_leases_extended_by_stale_after() {
+        ArgumentCaptor<LocalDateTime> lockedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(gateway.extendLocks(eq("worker"), eq(Set.of(1L, 2L)), lockedUntil.capture())).thenReturn(2);
+        LocalDateTime before = LocalDateTime.now();
+
+        ExtendCollectionJobLocks.Response response =
+                extendCollectionJobLocks.execute(ExtendCollectionJobLocks.Request.of("worker", Set.of(1L, 2L)));
+
+        assertThat(response.getExtended()).isEqualTo(2);
+        assertThat(lockedUntil.getValue()).isBetween(before.plus(Duration.ofMinutes(10)),
+                                                     LocalDateTime.now().plus(Duration.ofMinutes(10)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionStage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class GetCollectionJobTest {
+
+    private CollectionJobGateway gateway;
+    private GetCollectionJob getCollectionJob;
+
+    @BeforeEach
+    void setup() {
+        gateway = mock(CollectionJobGateway.class);
+        getCollectionJob = new GetCollectionJob(gateway);
+    }
+
+    @Test
+    void GIVEN_job_exists_WHEN_job_requested_THEN_job_with_stages_returned() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.SUCCEEDED, 1);
+        List<CollectionStage> stages = List.of(TestDataGenerator.generateCollectionStage());
+        when(gateway.findById(5L)).thenReturn(Optional.of(collectionJob));
+        when(gateway.findStagesByJobId(5L)).thenReturn(stages);
+
+        GetCollectionJob.Response response = getCollectionJob.execute(GetCollectionJob.Request.of(5L));
+
+        assertThat(response.getCollectionJob()).isEqualTo(collectionJob);
+        assertThat(response.getStages()).isEqualTo(stages);
+    }
+
+    @Test
+    void GIVEN_job_does_not_exist_WHEN_job_requested_THEN_exception_thrown() {
+        when(gateway.findById(5L)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(GetCollectionJob.CollectionJobNotFoundException.class,
+                                           () -> getCollectionJob.execute(GetCollectionJob.Request.of(5L)));
+
+        assertThat(exception.getMessage()).isEqualTo("Collection job with id 5 not found");
+    }
+}
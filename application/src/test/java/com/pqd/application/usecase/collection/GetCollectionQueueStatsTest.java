@@ -0,0 +1,62 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionQueueStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class GetCollectionQueueStatsTest {
+
+    private CollectionJobGateway gateway;
+    private GetCollectionQueueStats getCollectionQueueStats;
+
+    @BeforeEach
+    void setup() {
+        gateway = mock(CollectionJobGateway.class);
+        CollectionQueueProperties properties = TestDataGenerator.generateProperties();
+        properties.setWorkers(3);
+        properties.setPollInterval(Duration.ofSeconds(5));
+        getCollectionQueueStats = new GetCollectionQueueStats(gateway, properties);
+    }
+
+    @Test
+    void GIVEN_queued_jobs_WHEN_stats_requested_THEN_wait_estimated_from_average_run_time_per_worker() {
+        CollectionQueueStats stats = TestDataGenerator.generateCollectionQueueStats(12);
+        when(gateway.getQueueStats(any())).thenReturn(stats);
+
+        GetCollectionQueueStats.Response response = getCollectionQueueStats.execute();
+
+        assertThat(response.getStats()).isEqualTo(stats);
+        assertThat(response.getEstimatedWait()).isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    void GIVEN_more_jobs_running_than_local_workers_WHEN_wait_estimated_THEN_running_jobs_used_as_workers() {
+        CollectionQueueStats stats = CollectionQueueStats.builder()
+                                                         .queued(12)
+                                                         .running(6)
+                                                         .averageRunTime(Duration.ofSeconds(30))
+                                                         .build();
+
+        assertThat(getCollectionQueueStats.estimateWait(stats)).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void GIVEN_no_recently_finished_jobs_WHEN_wait_estimated_THEN_poll_interval_used_as_run_time() {
+        CollectionQueueStats stats = CollectionQueueStats.builder().queued(6).running(0).build();
+
+        assertThat(getCollectionQueueStats.estimateWait(stats)).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void GIVEN_empty_queue_WHEN_wait_estimated_THEN_at_least_poll_interval_returned() {
+        CollectionQueueStats stats = TestDataGenerator.generateCollectionQueueStats(0);
+
+        assertThat(getCollectionQueueStats.estimateWait(stats)).isEqualTo(Duration.ofSeconds(5));
+    }
+}
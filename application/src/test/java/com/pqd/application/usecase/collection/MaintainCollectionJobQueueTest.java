@@ -0,0 +1,32 @@
+package com.pqd.application.usecase.collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class MaintainCollectionJobQueueTest {
+
+    private CollectionJobGateway gateway;
+    private MaintainCollectionJobQueue maintainCollectionJobQueue;
+
+    @BeforeEach
+    void setup() {
+        gateway = mock(CollectionJobGateway.class);
+        maintainCollectionJobQueue = new MaintainCollectionJobQueue(gateway, TestDataGenerator.generateProperties());
+    }
+
+    @Test
+    void GIVEN_stale_and_old_jobs_WHEN_queue_maintained_THEN_stale_jobs_requeued_and_old_jobs_deleted() {
+        when(gateway.requeueStale(eq(3), any())).thenReturn(2);
+        when(gateway.deleteFinishedBefore(any())).thenReturn(10);
+
+        MaintainCollectionJobQueue.Response response = maintainCollectionJobQueue.execute();
+
+        assertThat(response.getRequeued()).isEqualTo(2);
+        assertThat(response.getDeleted()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,147 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.domain.collection.CollectionStageName;
+import com.pqd.application.usecase.product.GetProduct;
+import com.pqd.application.usecase.release.CollectAndSaveAllReleaseData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RunCollectionJobTest {
+
+    private CollectAndSaveAllReleaseData collectAndSaveAllReleaseData;
+    private CollectionJobGateway gateway;
+    private RunCollectionJob runCollectionJob;
+
+    @BeforeEach
+    void setup() {
+        collectAndSaveAllReleaseData = mock(CollectAndSaveAllReleaseData.class);
+        gateway = mock(CollectionJobGateway.class);
+        runCollectionJob = new RunCollectionJob(collectAndSaveAllReleaseData, gateway,
+                                                TestDataGenerator.generateProperties());
+        when(gateway.finish(any(), any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void GIVEN_collection_succeeds_WHEN_job_run_THEN_job_saved_as_succeeded() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.RUNNING, 1);
+
+        CollectionJob actual = runCollectionJob.execute(RunCollectionJob.Request.of(collectionJob)).getCollectionJob();
+
+        verify(collectAndSaveAllReleaseData, times(1)).execute(CollectAndSaveAllReleaseData.Request.of(1L));
+        verify(gateway, times(1)).finish(eq(collectionJob), eq(CollectionJobStatus.SUCCEEDED), any(), isNull());
+        assertThat(actual.getStatus()).isEqualTo(CollectionJobStatus.SUCCEEDED);
+        assertThat(actual.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void GIVEN_collection_records_stages_WHEN_job_run_THEN_stages_saved_with_job_and_attempt() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.RUNNING, 2);
+        doAnswer(invocation -> {
+            CollectAndSaveAllReleaseData.Request request = invocation.getArgument(0);
+            return request.getStageRecorder().record(CollectionStageName.PERSIST, null, null, () -> null);
+        }).when(collectAndSaveAllReleaseData).execute(any());
+
+        RunCollectionJob.Response response = runCollectionJob.execute(RunCollectionJob.Request.of(collectionJob));
+
+        verify(gateway, times(1)).saveStages(response.getStages());
+        assertThat(response.getStages()).hasSize(1);
+        CollectionStage stage = response.getStages().get(0);
+        assertThat(stage.getJobId()).isEqualTo(5L);
+        assertThat(stage.getAttempt()).isEqualTo(2);
+        assertThat(stage.getStage()).isEqualTo(CollectionStageName.PERSIST);
+    }
+
+    @Test
+    void GIVEN_collection_fails_with_attempts_left_WHEN_job_run_THEN_job_retried_with_backoff() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.RUNNING, 2);
+        doThrow(new CollectAndSaveAllReleaseData.ReleaseDataCollectionException("all tool requests failed"))
+                .when(collectAndSaveAllReleaseData).execute(any());
+        when(gateway.retry(eq(collectionJob), any(), eq("all tool requests failed"))).thenReturn(true);
+
+        CollectionJob actual = runCollectionJob.execute(RunCollectionJob.Request.of(collectionJob)).getCollectionJob();
+
+        verify(gateway, never()).finish(any(), any(), any(), any());
+        assertThat(actual.getStatus()).isEqualTo(CollectionJobStatus.QUEUED);
+        assertThat(actual.getRunAfter()).isAfter(LocalDateTime.now().plusMinutes(1));
+    }
+
+    @Test
+    void GIVEN_collection_fails_and_newer_job_queued_WHEN_job_run_THEN_job_saved_as_failed() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.RUNNING, 1);
+        doThrow(new RuntimeException("failed")).when(collectAndSaveAllReleaseData).execute(any());
+        when(gateway.retry(eq(collectionJob), any(), any())).thenReturn(false);
+
+        CollectionJob actual = runCollectionJob.execute(RunCollectionJob.Request.of(collectionJob)).getCollectionJob();
+
+        verify(gateway, times(1)).finish(eq(collectionJob), eq(CollectionJobStatus.FAILED), any(), eq("failed"));
+        assertThat(actual.getStatus()).isEqualTo(CollectionJobStatus.FAILED);
+        assertThat(actual.getLastError()).isEqualTo("failed");
+    }
+
+    @Test
+    void GIVEN_collection_fails_on_last_attempt_WHEN_job_run_THEN_job_saved_as_dead() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.RUNNING, 3);
+        doThrow(new RuntimeException("failed")).when(collectAndSaveAllReleaseData).execute(any());
+
+        CollectionJob actual = runCollectionJob.execute(RunCollectionJob.Request.of(collectionJob)).getCollectionJob();
+
+        verify(gateway, never()).retry(any(), any(), any());
+        assertThat(actual.getStatus()).isEqualTo(CollectionJobStatus.DEAD);
+    }
+
+    @Test
+    void GIVEN_product_deleted_WHEN_job_run_THEN_job_saved_as_dead_without_retry() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.RUNNING, 1);
+        doThrow(new GetProduct.ProductNotFoundException("Product with id 1 not found"))
+                .when(collectAndSaveAllReleaseData).execute(any());
+
+        CollectionJob actual = runCollectionJob.execute(RunCollectionJob.Request.of(collectionJob)).getCollectionJob();
+
+        verify(gateway, never()).retry(any(), any(), any());
+        assertThat(actual.getStatus()).isEqualTo(CollectionJobStatus.DEAD);
+    }
+
+    @Test
+    void GIVEN_lease_lost_WHEN_job_finishes_THEN_job_left_to_its_next_attempt() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.RUNNING, 1);
+        when(gateway.finish(any(), any(), any(), any())).thenReturn(false);
+
+        RunCollectionJob.Response response = runCollectionJob.execute(RunCollectionJob.Request.of(collectionJob));
+
+        assertThat(response.getCollectionJob().getStatus()).isEqualTo(CollectionJobStatus.RUNNING);
+        assertThat(response.getCollectionJob().getFinishedAt()).isNull();
+        verify(gateway, times(1)).saveStages(response.getStages());
+    }
+
+    @Test
+    void GIVEN_lease_lost_WHEN_failed_job_retried_THEN_job_neither_queued_nor_finished() {
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.RUNNING, 1);
+        doThrow(new RuntimeException("failed")).when(collectAndSaveAllReleaseData).execute(any());
+        when(gateway.retry(eq(collectionJob), any(), any())).thenReturn(false);
+        when(gateway.finish(any(), any(), any(), any())).thenReturn(false);
+
+        CollectionJob actual = runCollectionJob.execute(RunCollectionJob.Request.of(collectionJob)).getCollectionJob();
+
+        assertThat(actual.getStatus()).isEqualTo(CollectionJobStatus.RUNNING);
+        assertThat(actual.getRunAfter()).isBefore(LocalDateTime.now().plusSeconds(1));
+    }
+
+    @Test
+    void GIVEN_attempts_WHEN_backoff_calculated_THEN_backoff_doubled_until_max() {
+        assertThat(runCollectionJob.backoff(1)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(runCollectionJob.backoff(2)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(runCollectionJob.backoff(3)).isEqualTo(Duration.ofMinutes(3));
+        assertThat(runCollectionJob.backoff(100)).isEqualTo(Duration.ofMinutes(3));
+    }
+}
@@ -0,0 +1,140 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionSchedule;
+import com.pqd.application.domain.product.Product;
+import com.pqd.application.usecase.product.ProductGateway;
+import com.pqd.application.usecase.sonarqube.SonarqubePrefetch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ScheduleCollectionsTest {
+
+    private ProductGateway productGateway;
+    private CollectionScheduleGateway scheduleGateway;
+    private EnqueueCollectionJob enqueueCollectionJob;
+    private CollectionScheduleProperties properties;
+    private SonarqubePrefetch sonarqubePrefetch;
+    private ScheduleCollections scheduleCollections;
+
+    @BeforeEach
+    void setup() {
+        productGateway = mock(ProductGateway.class);
+        scheduleGateway = mock(CollectionScheduleGateway.class);
+        enqueueCollectionJob = mock(EnqueueCollectionJob.class);
+        properties = TestDataGenerator.generateScheduleProperties();
+        sonarqubePrefetch = mock(SonarqubePrefetch.class);
+        scheduleCollections = new ScheduleCollections(productGateway, scheduleGateway, enqueueCollectionJob, properties,
+                                                      sonarqubePrefetch);
+        CollectionJob collectionJob = TestDataGenerator.generateCollectionJob(CollectionJobStatus.QUEUED, 0);
+        when(enqueueCollectionJob.execute(any())).thenReturn(EnqueueCollectionJob.Response.of(collectionJob, true));
+        when(enqueueCollectionJob.remainingCapacity()).thenReturn(10L);
+    }
+
+    @Test
+    void GIVEN_new_product_with_interval_WHEN_collections_scheduled_THEN_first_run_within_interval() {
+        when(productGateway.findAll()).thenReturn(List.of(TestDataGenerator.generateProduct(1L, 60)));
+        ArgumentCaptor<CollectionSchedule> captor = ArgumentCaptor.forClass(CollectionSchedule.class);
+        LocalDateTime before = LocalDateTime.now();
+
+        scheduleCollections.execute();
+
+        verify(scheduleGateway, times(1)).create(captor.capture());
+        assertThat(captor.getValue().getProductId()).isEqualTo(1L);
+        assertThat(captor.getValue().getNextRun()).isBetween(before, LocalDateTime.now().plusMinutes(60));
+        verifyNoInteractions(enqueueCollectionJob);
+    }
+
+    @Test
+    void GIVEN_due_schedule_WHEN_collections_scheduled_THEN_job_queued_and_next_run_jittered_around_interval() {
+        LocalDateTime due = LocalDateTime.now().minusMinutes(1);
+        CollectionSchedule schedule = TestDataGenerator.generateCollectionSchedule(1L, due);
+        when(productGateway.findAll()).thenReturn(List.of(TestDataGenerator.generateProduct(1L, 60)));
+        when(scheduleGateway.findAll()).thenReturn(List.of(TestDataGenerator.generateCollectionSchedule(1L, due)));
+        when(scheduleGateway.lockDue(any())).thenReturn(List.of(schedule));
+        ArgumentCaptor<CollectionSchedule> captor = ArgumentCaptor.forClass(CollectionSchedule.class);
+
+        int queued = scheduleCollections.execute().getQueued();
+
+        assertThat(queued).isEqualTo(1);
+        verify(enqueueCollectionJob, times(1)).execute(EnqueueCollectionJob.Request.of(1L, true));
+        verify(scheduleGateway, times(1)).update(captor.capture());
+        assertThat(captor.getValue().getNextRun()).isBetween(due.plusMinutes(54), due.plusMinutes(66));
+        verify(sonarqubePrefetch).expect(TestDataGenerator.generateProduct(1L, 60).getSonarqubeInfo().get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void GIVEN_products_not_to_schedule_WHEN_collections_scheduled_THEN_their_schedules_deleted() {
+        Product withoutTools = TestDataGenerator.generateProduct(1L, 60);
+        withoutTools.setSonarqubeInfo(Optional.empty());
+        Product disabled = TestDataGenerator.generateProduct(2L, 0);
+        Product withoutInterval = TestDataGenerator.generateProduct(3L, null);
+        LocalDateTime nextRun = LocalDateTime.now().plusMinutes(10);
+        when(productGateway.findAll()).thenReturn(List.of(withoutTools, disabled, withoutInterval));
+        when(scheduleGateway.findAll()).thenReturn(List.of(TestDataGenerator.generateCollectionSchedule(1L, nextRun),
+                                                           TestDataGenerator.generateCollectionSchedule(2L, nextRun),
+                                                           TestDataGenerator.generateCollectionSchedule(3L, nextRun)));
+
+        scheduleCollections.execute();
+
+        ArgumentCaptor<List<Long>> captor = ArgumentCaptor.forClass(List.class);
+        verify(scheduleGateway, times(1)).deleteAllByProductId(captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(scheduleGateway, never()).create(any());
+    }
+
+    @Test
+    void GIVEN_default_interval_WHEN_product_has_no_interval_THEN_product_scheduled_with_default_interval() {
+        properties.setDefaultInterval(Duration.ofHours(1));
+        when(productGateway.findAll()).thenReturn(List.of(TestDataGenerator.generateProduct(1L, null)));
+
+        scheduleCollections.execute();
+
+        verify(scheduleGateway, times(1)).create(any());
+    }
+
+    @Test
+    void GIVEN_shortened_interval_WHEN_collections_scheduled_THEN_next_run_moved_within_new_interval() {
+        when(productGateway.findAll()).thenReturn(List.of(TestDataGenerator.generateProduct(1L, 60)));
+        when(scheduleGateway.findAll()).thenReturn(List.of(TestDataGenerator.generateCollectionSchedule(
+                1L, LocalDateTime.now().plusDays(1))));
+        ArgumentCaptor<CollectionSchedule> captor = ArgumentCaptor.forClass(CollectionSchedule.class);
+
+        scheduleCollections.execute();
+
+        verify(scheduleGateway, times(1)).update(captor.capture());
+        assertThat(captor.getValue().getNextRun()).isBefore(LocalDateTime.now().plusMinutes(60));
+    }
+
+    @Test
+    void GIVEN_queue_with_room_for_one_job_WHEN_two_schedules_due_THEN_one_queued_and_other_left_due() {
+        LocalDateTime due = LocalDateTime.now().minusMinutes(1);
+        when(enqueueCollectionJob.remainingCapacity()).thenReturn(1L);
+        when(productGateway.findAll()).thenReturn(List.of(TestDataGenerator.generateProduct(1L, 60),
+                                                          TestDataGenerator.generateProduct(2L, 60)));
+        when(scheduleGateway.findAll()).thenReturn(List.of(TestDataGenerator.generateCollectionSchedule(1L, due),
+                                                           TestDataGenerator.generateCollectionSchedule(2L, due)));
+        when(scheduleGateway.lockDue(any())).thenReturn(List.of(TestDataGenerator.generateCollectionSchedule(1L, due),
+                                                                TestDataGenerator.generateCollectionSchedule(2L, due)));
+        ArgumentCaptor<CollectionSchedule> captor = ArgumentCaptor.forClass(CollectionSchedule.class);
+
+        int queued = scheduleCollections.execute().getQueued();
+
+        assertThat(queued).isEqualTo(1);
+        verify(enqueueCollectionJob, never()).execute(EnqueueCollectionJob.Request.of(2L, true));
+        verify(scheduleGateway, times(1)).update(captor.capture());
+        assertThat(captor.getValue().getProductId()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.pqd.application.usecase.collection;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.collection.CollectionSchedule;
+import com.pqd.application.domain.collection.CollectionJobStatus;
+import com.pqd.application.domain.collection.CollectionQueueStats;
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.domain.collection.CollectionStageName;
+import com.pqd.application.domain.product.Product;
+import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public class TestDataGenerator {
+
+    public static CollectionJob generateCollectionJob(CollectionJobStatus status, int attempts) {
+        return CollectionJob.builder()
+                            .id(5L)
+                            .productId(1L)
+                            .status(status)
+                            .attempts(attempts)
+                            .triggers(1)
+                            .created(LocalDateTime.now())
+                            .runAfter(LocalDateTime.now())
+                            .build();
+    }
+
+    public static CollectionStage generateCollectionStage() {
+        return CollectionStage.builder()
+                              .jobId(5L)
+                              .attempt(1)
+                              .stage(CollectionStageName.SONARQUBE_FETCH)
+                              .host("sonarcloud.io")
+                              .startedAt(LocalDateTime.now())
+                              .duration(Duration.ofMillis(1500))
+                              .succeeded(true)
+                              .build();
+    }
+
+    public static CollectionQueueStats generateCollectionQueueStats(long queued) {
+        return CollectionQueueStats.builder().queued(queued).running(2).averageRunTime(Duration.ofSeconds(30)).build();
+    }
+
+    public static CollectionQueueProperties generateProperties() {
+        CollectionQueueProperties properties = new CollectionQueueProperties();
+        properties.setMaxAttempts(3);
+        properties.setRetryBackoff(Duration.ofMinutes(1));
+        properties.setMaxRetryBackoff(Duration.ofMinutes(3));
+        return properties;
+    }
+
+    public static Product generateProduct(Long id, Integer collectionIntervalMinutes) {
+        return Product.builder()
+                      .id(id)
+                      .name("test-product")
+                      .token("8257cc3a6b0610da1357f73e03524b090658553a")
+                      .sonarqubeInfo(Optional.of(SonarqubeInfo.builder()
+                                                              .baseUrl("https://sonarcloud.io")
+                                                              .componentName("component-name")
+                                                              .token("token")
+                                                              .build()))
+                      .jiraInfo(Optional.empty())
+                      .collectionIntervalMinutes(collectionIntervalMinutes)
+                      .build();
+    }
+
+    public static CollectionSchedule generateCollectionSchedule(Long productId, LocalDateTime nextRun) {
+        return CollectionSchedule.builder().productId(productId).nextRun(nextRun).build();
+    }
+
+    public static CollectionScheduleProperties generateScheduleProperties() {
+        CollectionScheduleProperties properties = new CollectionScheduleProperties();
+        properties.setJitter(0.1);
+        return properties;
+    }
+}
@@ -0,0 +1,128 @@
+package com.pqd.application.usecase.jira;
+
+import com.pqd.application.domain.jira.JiraBoardEventType;
+import com.pqd.application.domain.jira.JiraInfo;
+import com.pqd.application.domain.jira.JiraIssue;
+import com.pqd.application.domain.jira.JiraSprint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ApplyJiraBoardEventTest {
+
+    private JiraBoardSyncState syncState;
+    private JiraWebhookSequenceGateway sequenceGateway;
+    private ApplyJiraBoardEvent applyJiraBoardEvent;
+    private JiraInfo jiraInfo;
+
+    @BeforeEach
+    void setup() {
+        syncState = new JiraBoardSyncState();
+        sequenceGateway = mock(JiraWebhookSequenceGateway.class);
+        when(sequenceGateway.next(any())).thenReturn(1L, 2L, 3L);
+        applyJiraBoardEvent = new ApplyJiraBoardEvent(syncState, sequenceGateway);
+        jiraInfo = TestDataGenerator.generateJiraInfo();
+        LocalDateTime now = LocalDateTime.now();
+        syncState.save(jiraInfo, JiraBoardSyncState.BoardSync.of(
+                now, now,
+                List.of(TestDataGenerator.generateJiraSprint_withoutIssues(4L),
+                        TestDataGenerator.generateJiraSprint_withoutIssues(5L)),
+                Map.of(4L, List.of(TestDataGenerator.generateJiraIssue(1L, null),
+                                   TestDataGenerator.generateJiraIssue(2L, null)),
+                       5L, List.of()),
+                0));
+    }
+
+    @Test
+    void GIVEN_sprint_started_on_synced_board_WHEN_event_applied_THEN_sprint_added_without_issues() {
+        JiraSprint started = TestDataGenerator.generateJiraSprint_withoutIssues(6L);
+
+        ApplyJiraBoardEvent.Response response = applyJiraBoardEvent.execute(ApplyJiraBoardEvent.Request.of(
+                TestDataGenerator.generateJiraBoardEvent(JiraBoardEventType.SPRINT_STARTED, started)));
+
+        JiraBoardSyncState.BoardSync sync = syncState.find(jiraInfo).get();
+        assertThat(response.getBoards()).isEqualTo(1);
+        assertThat(sync.getActiveSprints()).extracting(JiraSprint::getSprintId).containsExactly(4L, 5L, 6L);
+        assertThat(sync.getActiveSprints().get(2).getBrowserUrl())
+                .isEqualTo("https://pqdunittest.atlassian.net/issues/?jql=Sprint%3D6");
+        assertThat(sync.getIssuesBySprintId()).doesNotContainKey(6L);
+    }
+
+    @Test
+    void GIVEN_sprint_started_on_other_board_WHEN_event_applied_THEN_synced_board_not_changed() {
+        JiraSprint started = JiraSprint.builder().sprintId(6L).boardId(2L).build();
+
+        ApplyJiraBoardEvent.Response response = applyJiraBoardEvent.execute(ApplyJiraBoardEvent.Request.of(
+                TestDataGenerator.generateJiraBoardEvent(JiraBoardEventType.SPRINT_STARTED, started)));
+
+        assertThat(response.getBoards()).isZero();
+        assertThat(syncState.find(jiraInfo).get().getActiveSprints()).hasSize(2);
+    }
+
+    @Test
+    void GIVEN_issue_moved_to_other_sprint_WHEN_event_applied_THEN_issue_moved() {
+        JiraIssue moved = TestDataGenerator.generateJiraIssue(2L, 5L);
+
+        applyJiraBoardEvent.execute(ApplyJiraBoardEvent.Request.of(
+                TestDataGenerator.generateJiraBoardEvent(JiraBoardEventType.ISSUE_UPDATED, moved)));
+
+        Map<Long, List<JiraIssue>> issuesBySprintId = syncState.find(jiraInfo).get().getIssuesBySprintId();
+        assertThat(issuesBySprintId.get(4L)).extracting(JiraIssue::getIssueId).containsExactly(1L);
+        assertThat(issuesBySprintId.get(5L)).extracting(JiraIssue::getBrowserUrl)
+                                            .containsExactly("https://pqdunittest.atlassian.net/browse/PT-2");
+    }
+
+    @Test
+    void GIVEN_issue_update_without_issue_type_WHEN_event_applied_THEN_not_applied_and_board_left_for_resync() {
+        JiraIssue withoutFields = JiraIssue.builder().issueId(2L).key("PT-2").sprintId(5L).build();
+
+        ApplyJiraBoardEvent.Response response = applyJiraBoardEvent.execute(ApplyJiraBoardEvent.Request.of(
+                TestDataGenerator.generateJiraBoardEvent(JiraBoardEventType.ISSUE_UPDATED, withoutFields)));
+
+        JiraBoardSyncState.BoardSync sync = syncState.find(jiraInfo).get();
+        assertThat(response.getBoards()).isZero();
+        assertThat(sync.getEventSequence()).isZero();
+        assertThat(sync.getIssuesBySprintId().get(4L)).extracting(JiraIssue::getIssueId).containsExactly(1L, 2L);
+        assertThat(sync.getIssuesBySprintId().get(5L)).isEmpty();
+        verify(sequenceGateway).next("https://pqdunittest.atlassian.net");
+    }
+
+    @Test
+    void GIVEN_sprint_closed_and_issue_deleted_WHEN_events_applied_THEN_both_removed() {
+        applyJiraBoardEvent.execute(ApplyJiraBoardEvent.Request.of(
+                TestDataGenerator.generateJiraBoardEvent(JiraBoardEventType.SPRINT_CLOSED,
+                                                         TestDataGenerator.generateJiraSprint_withoutIssues(5L))));
+        applyJiraBoardEvent.execute(ApplyJiraBoardEvent.Request.of(
+                TestDataGenerator.generateJiraBoardEvent(JiraBoardEventType.ISSUE_DELETED,
+                                                         TestDataGenerator.generateJiraIssue(1L, null))));
+
+        JiraBoardSyncState.BoardSync sync = syncState.find(jiraInfo).get();
+        assertThat(sync.getActiveSprints()).extracting(JiraSprint::getSprintId).containsExactly(4L);
+        assertThat(sync.getIssuesBySprintId()).containsOnlyKeys(4L);
+        assertThat(sync.getIssuesBySprintId().get(4L)).extracting(JiraIssue::getIssueId).containsExactly(2L);
+    }
+
+    @Test
+    void GIVEN_events_numbered_WHEN_event_missed_THEN_board_keeps_number_of_last_event_without_gap() {
+        when(sequenceGateway.next("https://pqdunittest.atlassian.net")).thenReturn(1L, 3L);
+        JiraSprint started = JiraSprint.builder().sprintId(6L).boardId(2L).build();
+
+        applyJiraBoardEvent.execute(ApplyJiraBoardEvent.Request.of(
+                TestDataGenerator.generateJiraBoardEvent(JiraBoardEventType.SPRINT_STARTED, started)));
+        long afterFirst = syncState.find(jiraInfo).get().getEventSequence();
+        applyJiraBoardEvent.execute(ApplyJiraBoardEvent.Request.of(
+                TestDataGenerator.generateJiraBoardEvent(JiraBoardEventType.ISSUE_DELETED,
+                                                         TestDataGenerator.generateJiraIssue(1L, null))));
+
+        JiraBoardSyncState.BoardSync sync = syncState.find(jiraInfo).get();
+        assertThat(afterFirst).isEqualTo(1);
+        assertThat(sync.getEventSequence()).isEqualTo(1);
+        assertThat(sync.getIssuesBySprintId().get(4L)).extracting(JiraIssue::getIssueId).containsExactly(2L);
+    }
+}
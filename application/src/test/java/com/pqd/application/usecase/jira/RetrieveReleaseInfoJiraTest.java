@@ -1,12 +1,21 @@
 package com.pqd.application.usecase.jira;
 
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.domain.collection.CollectionStageName;
+import com.pqd.application.domain.jira.JiraBoardEventType;
 import com.pqd.application.domain.jira.JiraInfo;
 import com.pqd.application.domain.jira.JiraIssue;
 import com.pqd.application.domain.jira.JiraSprint;
+import com.pqd.application.usecase.collection.CollectionStageRecorder;
+import com.pqd.application.usecase.release.CollectionProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -14,12 +23,21 @@ import static org.mockito.Mockito.*;
 public class RetrieveReleaseInfoJiraTest {
 
     private JiraGateway gateway;
+    private CollectionProperties properties;
+    private AtomicLong eventSequence;
+    private JiraWebhookSequenceGateway sequenceGateway;
     private RetrieveReleaseInfoJira retrieveReleaseInfoJira;
 
     @BeforeEach
     void setup() {
-        gateway = mock(JiraGateway.class);
-        retrieveReleaseInfoJira = new RetrieveReleaseInfoJira(gateway);
+        gateway = mock(JiraGateway.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        properties = new CollectionProperties();
+        eventSequence = new AtomicLong();
+        sequenceGateway = mock(JiraWebhookSequenceGateway.class);
+        when(sequenceGateway.next(any())).thenAnswer(invocation -> eventSequence.incrementAndGet());
+        when(sequenceGateway.current(any())).thenAnswer(invocation -> eventSequence.get());
+        retrieveReleaseInfoJira = new RetrieveReleaseInfoJira(gateway, properties, new JiraBoardSyncState(),
+                                                              sequenceGateway);
     }
 
     @Test
@@ -53,4 +71,196 @@ public class RetrieveReleaseInfoJiraTest {
         verify(gateway).getSprintIssues(jiraInfo, jiraSprint.getSprintId());
         assertThat(response.get(0)).isEqualTo(jiraSprint);
     }
+
+    @Test
+    void GIVEN_stage_recorder_WHEN_request_executed_THEN_sprint_and_issue_fetches_recorded() {
+        JiraSprint jiraSprint = TestDataGenerator.generateJiraSprint_withoutIssues();
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        CollectionStageRecorder stageRecorder = new CollectionStageRecorder(5L, 1);
+        when(gateway.getActiveSprints(any())).thenReturn(List.of(jiraSprint));
+        when(gateway.getSprintIssues(any(), any())).thenReturn(List.of());
+
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo, stageRecorder));
+
+        assertThat(stageRecorder.getStages()).extracting(CollectionStage::getStage)
+                                             .containsExactly(CollectionStageName.JIRA_SPRINT_FETCH,
+                                                              CollectionStageName.JIRA_ISSUE_FETCH);
+        assertThat(stageRecorder.getStages().get(1).getDetail()).isEqualTo(String.valueOf(jiraSprint.getSprintId()));
+        assertThat(stageRecorder.getStages()).allMatch(CollectionStage::isSucceeded);
+    }
+
+    @Test
+    void GIVEN_several_sprints_WHEN_request_executed_THEN_issues_of_all_sprints_requested_at_once() {
+        properties.setJiraIncrementalSync(false);
+        properties.setJiraBoardIssueQuery(false);
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        CollectionStageRecorder stageRecorder = new CollectionStageRecorder(5L, 1);
+        when(gateway.getActiveSprints(any()))
+                .thenReturn(List.of(TestDataGenerator.generateJiraSprint_withoutIssues(4L),
+                                    TestDataGenerator.generateJiraSprint_withoutIssues(5L)));
+        doReturn(Map.of(4L, List.of(TestDataGenerator.generateJiraIssue(1L, null)), 5L, List.of()))
+                .when(gateway).getIssuesOfSprints(jiraInfo, List.of(4L, 5L));
+
+        List<JiraSprint> response = retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo,
+                                                                                                      stageRecorder))
+                                                           .getActiveSprints();
+
+        verify(gateway, never()).getSprintIssues(any(), any());
+        assertThat(response).extracting(sprint -> sprint.getIssues().size()).containsExactly(1, 0);
+        assertThat(stageRecorder.getStages().get(1).getDetail()).isEqualTo("4,5");
+    }
+
+    @Test
+    void GIVEN_several_sprints_and_board_query_WHEN_request_executed_THEN_issues_fetched_with_one_board_query() {
+        properties.setJiraIncrementalSync(false);
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        CollectionStageRecorder stageRecorder = new CollectionStageRecorder(5L, 1);
+        when(gateway.getActiveSprints(any()))
+                .thenReturn(List.of(TestDataGenerator.generateJiraSprint_withoutIssues(4L),
+                                    TestDataGenerator.generateJiraSprint_withoutIssues(5L),
+                                    TestDataGenerator.generateJiraSprint_withoutIssues(6L)));
+        // Issues of future sprints are returned by the board query too
+        when(gateway.getIssuesOfOpenSprints(jiraInfo))
+                .thenReturn(Map.of(5L, List.of(TestDataGenerator.generateJiraIssue(1L, 5L),
+                                               TestDataGenerator.generateJiraIssue(2L, 5L)),
+                                   4L, List.of(TestDataGenerator.generateJiraIssue(3L, 4L)),
+                                   9L, List.of(TestDataGenerator.generateJiraIssue(4L, 9L))));
+
+        List<JiraSprint> response = retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo,
+                                                                                                      stageRecorder))
+                                                           .getActiveSprints();
+
+        verify(gateway, never()).getSprintIssues(any(), any());
+        verify(gateway, never()).getIssuesOfSprints(any(), any());
+        assertThat(response).extracting(sprint -> sprint.getIssues().size()).containsExactly(1, 2, 0);
+        assertThat(stageRecorder.getStages().get(1).getDetail()).isEqualTo("board");
+    }
+
+    @Test
+    void GIVEN_board_synced_before_WHEN_request_executed_THEN_only_updated_issues_fetched_and_merged() {
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        when(gateway.getActiveSprints(any())).thenAnswer(invocation -> List.of(
+                TestDataGenerator.generateJiraSprint_withoutIssues(4L)));
+        when(gateway.getSprintIssues(jiraInfo, 4L)).thenReturn(List.of(TestDataGenerator.generateJiraIssue(1L, null),
+                                                                       TestDataGenerator.generateJiraIssue(2L, null),
+                                                                       TestDataGenerator.generateJiraIssue(3L, null)));
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo));
+        JiraIssue updated = TestDataGenerator.generateJiraIssue(2L, 4L);
+        JiraIssue added = TestDataGenerator.generateJiraIssue(4L, 4L);
+        JiraIssue movedToFutureSprint = TestDataGenerator.generateJiraIssue(3L, 5L);
+        when(gateway.getIssuesUpdatedWithin(eq(jiraInfo), any()))
+                .thenReturn(Optional.of(List.of(updated, added, movedToFutureSprint)));
+
+        List<JiraSprint> response =
+                retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo)).getActiveSprints();
+
+        verify(gateway, times(1)).getSprintIssues(jiraInfo, 4L);
+        verify(gateway).getIssuesUpdatedWithin(eq(jiraInfo),
+                                               argThat(within -> within.compareTo(RetrieveReleaseInfoJira.SYNC_OVERLAP) >= 0
+                                                                 && within.compareTo(Duration.ofMinutes(6)) < 0));
+        assertThat(response.get(0).getIssues()).extracting(JiraIssue::getIssueId).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(response.get(0).getIssues()).contains(updated);
+    }
+
+    @Test
+    void GIVEN_too_many_updated_issues_WHEN_request_executed_THEN_all_issues_fetched_again() {
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        when(gateway.getActiveSprints(any())).thenAnswer(invocation -> List.of(
+                TestDataGenerator.generateJiraSprint_withoutIssues(4L)));
+        when(gateway.getSprintIssues(jiraInfo, 4L)).thenReturn(List.of(TestDataGenerator.generateJiraIssue(1L, null)));
+        when(gateway.getIssuesUpdatedWithin(any(), any())).thenReturn(Optional.empty());
+
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo));
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo));
+
+        verify(gateway, times(1)).getIssuesUpdatedWithin(any(), any());
+        verify(gateway, times(2)).getSprintIssues(jiraInfo, 4L);
+    }
+
+    @Test
+    void GIVEN_sprint_started_since_last_sync_WHEN_request_executed_THEN_all_issues_of_new_sprint_fetched() {
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        when(gateway.getActiveSprints(any()))
+                .thenAnswer(invocation -> List.of(TestDataGenerator.generateJiraSprint_withoutIssues(4L)))
+                .thenAnswer(invocation -> List.of(TestDataGenerator.generateJiraSprint_withoutIssues(4L),
+                                                  TestDataGenerator.generateJiraSprint_withoutIssues(5L)));
+        when(gateway.getSprintIssues(jiraInfo, 4L)).thenReturn(List.of(TestDataGenerator.generateJiraIssue(1L, null)));
+        when(gateway.getSprintIssues(jiraInfo, 5L)).thenReturn(List.of(TestDataGenerator.generateJiraIssue(2L, null)));
+        when(gateway.getIssuesUpdatedWithin(any(), any())).thenReturn(Optional.of(List.of()));
+
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo));
+        List<JiraSprint> response =
+                retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo)).getActiveSprints();
+
+        verify(gateway, times(1)).getSprintIssues(jiraInfo, 4L);
+        verify(gateway, times(1)).getSprintIssues(jiraInfo, 5L);
+        assertThat(response).extracting(sprint -> sprint.getIssues().size()).containsExactly(1, 1);
+    }
+
+    @Test
+    void GIVEN_full_sync_interval_passed_WHEN_request_executed_THEN_all_issues_fetched_again() {
+        properties.setJiraFullSyncInterval(Duration.ZERO);
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        when(gateway.getActiveSprints(any())).thenAnswer(invocation -> List.of(
+                TestDataGenerator.generateJiraSprint_withoutIssues(4L)));
+        when(gateway.getSprintIssues(jiraInfo, 4L)).thenReturn(List.of(TestDataGenerator.generateJiraIssue(1L, null)));
+
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo));
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo));
+
+        verify(gateway, never()).getIssuesUpdatedWithin(any(), any());
+        verify(gateway, times(2)).getSprintIssues(jiraInfo, 4L);
+    }
+
+    @Test
+    void GIVEN_webhook_sync_and_board_synced_before_WHEN_request_executed_THEN_only_issues_of_started_sprint_fetched() {
+        properties.setJiraWebhookSync(true);
+        JiraBoardSyncState syncState = new JiraBoardSyncState();
+        retrieveReleaseInfoJira = new RetrieveReleaseInfoJira(gateway, properties, syncState, sequenceGateway);
+        ApplyJiraBoardEvent applyJiraBoardEvent = new ApplyJiraBoardEvent(syncState, sequenceGateway);
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        when(gateway.getActiveSprints(any())).thenAnswer(invocation -> List.of(
+                TestDataGenerator.generateJiraSprint_withoutIssues(4L)));
+        when(gateway.getSprintIssues(jiraInfo, 4L)).thenReturn(List.of(TestDataGenerator.generateJiraIssue(1L, null)));
+        when(gateway.getSprintIssues(jiraInfo, 5L)).thenReturn(List.of(TestDataGenerator.generateJiraIssue(2L, null)));
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo));
+        applyJiraBoardEvent.execute(ApplyJiraBoardEvent.Request.of(
+                TestDataGenerator.generateJiraBoardEvent(JiraBoardEventType.SPRINT_STARTED,
+                                                         TestDataGenerator.generateJiraSprint_withoutIssues(5L))));
+
+        List<JiraSprint> first =
+                retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo)).getActiveSprints();
+        List<JiraSprint> second =
+                retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo)).getActiveSprints();
+
+        verify(gateway, times(1)).getActiveSprints(jiraInfo);
+        verify(gateway, times(1)).getSprintIssues(jiraInfo, 4L);
+        verify(gateway, times(1)).getSprintIssues(jiraInfo, 5L);
+        verify(gateway, never()).getIssuesUpdatedWithin(any(), any());
+        assertThat(first).isEqualTo(second);
+        assertThat(second).extracting(JiraSprint::getSprintId).containsExactly(4L, 5L);
+        assertThat(second).extracting(sprint -> sprint.getIssues().size()).containsExactly(1, 1);
+    }
+
+    @Test
+    void GIVEN_webhook_sync_and_event_received_by_other_instance_WHEN_request_executed_THEN_board_synced_incrementally() {
+        properties.setJiraWebhookSync(true);
+        JiraInfo jiraInfo = TestDataGenerator.generateJiraInfo();
+        when(gateway.getActiveSprints(any())).thenAnswer(invocation -> List.of(
+                TestDataGenerator.generateJiraSprint_withoutIssues(4L)));
+        when(gateway.getSprintIssues(jiraInfo, 4L)).thenReturn(List.of(TestDataGenerator.generateJiraIssue(1L, null)));
+        when(gateway.getIssuesUpdatedWithin(eq(jiraInfo), any()))
+                .thenReturn(Optional.of(List.of(TestDataGenerator.generateJiraIssue(2L, 4L))));
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo));
+        eventSequence.incrementAndGet();
+
+        List<JiraSprint> second =
+                retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo)).getActiveSprints();
+        retrieveReleaseInfoJira.execute(RetrieveReleaseInfoJira.Request.of(jiraInfo));
+
+        verify(gateway, times(2)).getActiveSprints(jiraInfo);
+        verify(gateway, times(1)).getIssuesUpdatedWithin(eq(jiraInfo), any());
+        verify(gateway, times(1)).getSprintIssues(jiraInfo, 4L);
+        assertThat(second.get(0).getIssues()).extracting(JiraIssue::getIssueId).containsExactlyInAnyOrder(1L, 2L);
+    }
 }
@@ -61,6 +61,25 @@ public class TestDataGenerator {
                          .build();
     }
 
+    public static JiraSprint generateJiraSprint_withoutIssues(Long sprintId) {
+        return JiraSprint.builder()
+                         .sprintId(sprintId)
+                         .name("sprint " + sprintId)
+                         .boardId(1L)
+                         .build();
+    }
+
+    public static JiraIssue generateJiraIssue(Long issueId, Long sprintId) {
+        return JiraIssue.builder()
+                        .issueId(issueId)
+                        .key("PT-" + issueId)
+                        .fields(JiraIssueFields.builder()
+                                               .issueType(JiraIssueType.builder().issueId(10001L).name("Story").build())
+                                               .build())
+                        .sprintId(sprintId)
+                        .build();
+    }
+
     public static JiraIssue generateJiraIssue() {
         return JiraIssue.builder()
                         .issueId(1001L)
@@ -78,4 +97,20 @@ public class TestDataGenerator {
                                                .build())
                         .build();
     }
+
+    public static JiraBoardEvent generateJiraBoardEvent(JiraBoardEventType type, JiraSprint sprint) {
+        return JiraBoardEvent.builder()
+                             .type(type)
+                             .baseUrl("https://pqdunittest.atlassian.net")
+                             .sprint(sprint)
+                             .build();
+    }
+
+    public static JiraBoardEvent generateJiraBoardEvent(JiraBoardEventType type, JiraIssue issue) {
+        return JiraBoardEvent.builder()
+                             .type(type)
+                             .baseUrl("https://pqdunittest.atlassian.net")
+                             .issue(issue)
+                             .build();
+    }
 }
@@ -0,0 +1,35 @@
+package com.pqd.application.usecase.product;
+
+import com.pqd.application.domain.product.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class FindProductsTest {
+
+    private ProductGateway gateway;
+    private FindProducts findProducts;
+
+    @BeforeEach
+    void setup() {
+        gateway = mock(ProductGateway.class);
+        findProducts = new FindProducts(gateway);
+    }
+
+    @Test
+    void GIVEN_some_products_exist_WHEN_products_requested_THEN_existing_products_returned_with_one_lookup() {
+        Product existingProduct = TestDataGenerator.generateProduct();
+        List<Long> productIds = List.of(existingProduct.getId(), 404L);
+        when(gateway.findAllById(productIds)).thenReturn(List.of(existingProduct));
+
+        List<Product> actual = findProducts.execute(FindProducts.Request.of(productIds)).getProducts();
+
+        verify(gateway, times(1)).findAllById(productIds);
+        verify(gateway, never()).findById(any());
+        assertThat(actual).containsExactly(existingProduct);
+    }
+}
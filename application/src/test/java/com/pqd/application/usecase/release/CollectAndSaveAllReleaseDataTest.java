@@ -1,18 +1,32 @@
 package com.pqd.application.usecase.release;
 
+import com.pqd.application.domain.collection.CollectionStage;
+import com.pqd.application.domain.collection.CollectionStageName;
 import com.pqd.application.domain.product.Product;
 import com.pqd.application.domain.release.ReleaseInfoJira;
 import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.usecase.collection.CollectionQueueProperties;
+import com.pqd.application.usecase.collection.CollectionStageRecorder;
+import com.pqd.application.usecase.collection.ToolRequestBudget;
 import com.pqd.application.usecase.jira.RetrieveReleaseInfoJira;
 import com.pqd.application.usecase.product.GetProduct;
 import com.pqd.application.usecase.sonarqube.RetrieveSonarqubeData;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
 
+import javax.transaction.Transactional;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -23,6 +37,8 @@ public class CollectAndSaveAllReleaseDataTest {
     private CollectAndSaveAllReleaseData collectAndSaveAllReleaseData;
     private RetrieveSonarqubeData retrieveSonarqubeData;
     private RetrieveReleaseInfoJira retrieveReleaseInfoJira;
+    private ReleaseDataFetchExecutor fetchExecutor;
+    private CollectionProperties properties;
 
     @Captor
     private ArgumentCaptor<SaveReleaseInfo.Request> captor;
@@ -33,11 +49,21 @@ public class CollectAndSaveAllReleaseDataTest {
         saveReleaseInfo = mock(SaveReleaseInfo.class);
         retrieveSonarqubeData = mock(RetrieveSonarqubeData.class);
         retrieveReleaseInfoJira = mock(RetrieveReleaseInfoJira.class);
+        properties = new CollectionProperties();
+        properties.setSonarqubeTimeout(Duration.ofMillis(500));
+        properties.setJiraTimeout(Duration.ofMillis(500));
+        fetchExecutor = new ReleaseDataFetchExecutor(properties, new CollectionQueueProperties());
         collectAndSaveAllReleaseData =
-                new CollectAndSaveAllReleaseData(retrieveSonarqubeData, saveReleaseInfo, getProduct, retrieveReleaseInfoJira);
+                new CollectAndSaveAllReleaseData(retrieveSonarqubeData, saveReleaseInfo, getProduct,
+                                                 retrieveReleaseInfoJira, fetchExecutor, properties);
         MockitoAnnotations.initMocks(this);
     }
 
+    @AfterEach
+    void teardown() {
+        fetchExecutor.destroy();
+    }
+
     @Test
     void GIVEN_correct_request_WHEN_collect_and_save_all_release_data_executed_THEN_related_use_cases_executed() {
         CollectAndSaveAllReleaseData.Request request = TestDataGenerator.generateCollectAndSaveAllReleaseDataRequest();
@@ -52,7 +78,7 @@ public class CollectAndSaveAllReleaseDataTest {
         when(retrieveReleaseInfoJira.execute(any()))
                 .thenReturn(RetrieveReleaseInfoJira.Response.of(releaseInfoJira.getJiraSprints()));
         when(saveReleaseInfo.execute(any())).thenReturn(
-                SaveReleaseInfo.Response.of(TestDataGenerator.generateReleaseInfo()));
+                SaveReleaseInfo.Response.of(TestDataGenerator.generateReleaseInfo(), false));
 
         collectAndSaveAllReleaseData.execute(request);
 
@@ -62,4 +88,133 @@ public class CollectAndSaveAllReleaseDataTest {
         assertThat(releaseInfoJira).isEqualTo(captor.getValue().getReleaseInfoJira());
     }
 
+    @Test
+    void GIVEN_retry_budget_WHEN_collect_and_save_all_release_data_executed_THEN_tool_fetches_share_budget() {
+        properties.setToolRetryBudget(1);
+        CollectAndSaveAllReleaseData.Request request = TestDataGenerator.generateCollectAndSaveAllReleaseDataRequest();
+        Product product = TestDataGenerator.generateProduct();
+        AtomicInteger retries = new AtomicInteger();
+
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+        when(retrieveSonarqubeData.execute(any())).thenAnswer(invocation -> {
+            ToolRequestBudget.current().filter(budget -> budget.tryRetry(Duration.ZERO))
+                             .ifPresent(budget -> retries.incrementAndGet());
+            return RetrieveSonarqubeData.Response.of(TestDataGenerator.generateReleaseInfoSonarqube());
+        });
+        when(retrieveReleaseInfoJira.execute(any())).thenAnswer(invocation -> {
+            ToolRequestBudget.current().filter(budget -> budget.tryRetry(Duration.ZERO))
+                             .ifPresent(budget -> retries.incrementAndGet());
+            return RetrieveReleaseInfoJira.Response.of(TestDataGenerator.generateReleaseInfoJira().getJiraSprints());
+        });
+
+        collectAndSaveAllReleaseData.execute(request);
+
+        assertThat(retries.get()).isEqualTo(1);
+        assertThat(ToolRequestBudget.current()).isEmpty();
+    }
+
+    @Test
+    void GIVEN_jira_request_fails_WHEN_collect_and_save_all_release_data_executed_THEN_sonarqube_data_saved() {
+        CollectAndSaveAllReleaseData.Request request = TestDataGenerator.generateCollectAndSaveAllReleaseDataRequest();
+        Product product = TestDataGenerator.generateProduct();
+        ReleaseInfoSonarqube releaseInfoSonarqube = TestDataGenerator.generateReleaseInfoSonarqube();
+
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+        when(retrieveSonarqubeData.execute(any())).thenReturn(RetrieveSonarqubeData.Response.of(releaseInfoSonarqube));
+        when(retrieveReleaseInfoJira.execute(any())).thenThrow(new RuntimeException("Jira is down"));
+
+        collectAndSaveAllReleaseData.execute(request);
+
+        verify(saveReleaseInfo).execute(captor.capture());
+        assertThat(captor.getValue().getReleaseInfoSonarqube()).isEqualTo(releaseInfoSonarqube);
+        assertThat(captor.getValue().getReleaseInfoJira().getJiraSprints()).isEmpty();
+    }
+
+    @Test
+    void GIVEN_sonarqube_request_times_out_WHEN_collect_and_save_all_release_data_executed_THEN_jira_data_saved() {
+        CollectAndSaveAllReleaseData.Request request = TestDataGenerator.generateCollectAndSaveAllReleaseDataRequest();
+        Product product = TestDataGenerator.generateProduct();
+        ReleaseInfoJira releaseInfoJira = TestDataGenerator.generateReleaseInfoJira();
+
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+        when(retrieveSonarqubeData.execute(any())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return RetrieveSonarqubeData.Response.of(TestDataGenerator.generateReleaseInfoSonarqube());
+        });
+        when(retrieveReleaseInfoJira.execute(any()))
+                .thenReturn(RetrieveReleaseInfoJira.Response.of(releaseInfoJira.getJiraSprints()));
+
+        collectAndSaveAllReleaseData.execute(request);
+
+        verify(saveReleaseInfo).execute(captor.capture());
+        assertThat(captor.getValue().getReleaseInfoSonarqube()).isEqualTo(ReleaseInfoSonarqube.builder().build());
+        assertThat(captor.getValue().getReleaseInfoJira()).isEqualTo(releaseInfoJira);
+    }
+
+    @Test
+    void GIVEN_sonarqube_request_times_out_WHEN_collect_and_save_all_release_data_executed_THEN_fetch_interrupted()
+            throws InterruptedException {
+        Product product = TestDataGenerator.generateProduct();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+        when(retrieveSonarqubeData.execute(any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return RetrieveSonarqubeData.Response.of(TestDataGenerator.generateReleaseInfoSonarqube());
+        });
+        when(retrieveReleaseInfoJira.execute(any())).thenReturn(
+                RetrieveReleaseInfoJira.Response.of(TestDataGenerator.generateReleaseInfoJira().getJiraSprints()));
+
+        collectAndSaveAllReleaseData.execute(TestDataGenerator.generateCollectAndSaveAllReleaseDataRequest());
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void GIVEN_all_tool_requests_fail_WHEN_collect_and_save_all_release_data_executed_THEN_nothing_saved() {
+        CollectAndSaveAllReleaseData.Request request = TestDataGenerator.generateCollectAndSaveAllReleaseDataRequest();
+        Product product = TestDataGenerator.generateProduct();
+
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+        when(retrieveSonarqubeData.execute(any())).thenThrow(new RuntimeException("Sonarqube is down"));
+        when(retrieveReleaseInfoJira.execute(any())).thenThrow(new RuntimeException("Jira is down"));
+
+        assertThrows(CollectAndSaveAllReleaseData.ReleaseDataCollectionException.class,
+                     () -> collectAndSaveAllReleaseData.execute(request));
+        verify(saveReleaseInfo, never()).execute(any());
+    }
+
+    @Test
+    void GIVEN_collection_use_cases_WHEN_inspected_THEN_only_saving_is_transactional() {
+        assertThat(CollectAndSaveAllReleaseData.class.isAnnotationPresent(Transactional.class)).isFalse();
+        assertThat(RetrieveSonarqubeData.class.isAnnotationPresent(Transactional.class)).isFalse();
+        assertThat(RetrieveReleaseInfoJira.class.isAnnotationPresent(Transactional.class)).isFalse();
+        assertThat(SaveReleaseInfo.class.isAnnotationPresent(Transactional.class)).isTrue();
+    }
+
+    @Test
+    void GIVEN_stage_recorder_WHEN_sonarqube_fetch_times_out_THEN_failed_fetch_and_persist_recorded() {
+        Product product = TestDataGenerator.generateProduct();
+        CollectionStageRecorder stageRecorder = new CollectionStageRecorder(5L, 1);
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+        when(retrieveSonarqubeData.execute(any())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return RetrieveSonarqubeData.Response.of(TestDataGenerator.generateReleaseInfoSonarqube());
+        });
+        when(retrieveReleaseInfoJira.execute(any())).thenReturn(
+                RetrieveReleaseInfoJira.Response.of(TestDataGenerator.generateReleaseInfoJira().getJiraSprints()));
+
+        collectAndSaveAllReleaseData.execute(CollectAndSaveAllReleaseData.Request.of(product.getId(), stageRecorder));
+
+        assertThat(stageRecorder.getStages()).extracting(CollectionStage::getStage)
+                                             .containsExactlyInAnyOrder(CollectionStageName.SONARQUBE_FETCH,
+                                                                        CollectionStageName.PERSIST);
+        assertThat(stageRecorder.getStages()).filteredOn(stage -> stage.getStage() == CollectionStageName.SONARQUBE_FETCH)
+                                             .extracting(CollectionStage::isSucceeded)
+                                             .containsExactly(false);
+    }
 }
@@ -0,0 +1,60 @@
+package com.pqd.application.usecase.release;
+
+import com.pqd.application.domain.jira.JiraIssue;
+import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReleaseInfoFingerprintTest {
+
+    @Test
+    void GIVEN_same_data_in_different_order_WHEN_fingerprinted_THEN_fingerprints_equal() {
+        JiraIssue first = TestDataGenerator.generateJiraIssue(1001L, "PT-1");
+        JiraIssue second = TestDataGenerator.generateJiraIssue(1002L, "PT-2");
+
+        String fingerprint = ReleaseInfoFingerprint.of(TestDataGenerator.generateReleaseInfoSonarqube(),
+                                                       TestDataGenerator.generateReleaseInfoJira(List.of(first, second)));
+        String reordered = ReleaseInfoFingerprint.of(TestDataGenerator.generateReleaseInfoSonarqube(),
+                                                     TestDataGenerator.generateReleaseInfoJira(List.of(second, first)));
+
+        assertThat(fingerprint).isEqualTo(reordered).hasSize(64);
+    }
+
+    @Test
+    void GIVEN_changed_issue_WHEN_fingerprinted_THEN_fingerprints_differ() {
+        String fingerprint = ReleaseInfoFingerprint.of(
+                TestDataGenerator.generateReleaseInfoSonarqube(),
+                TestDataGenerator.generateReleaseInfoJira(List.of(TestDataGenerator.generateJiraIssue(1001L, "PT-1"))));
+        String changed = ReleaseInfoFingerprint.of(
+                TestDataGenerator.generateReleaseInfoSonarqube(),
+                TestDataGenerator.generateReleaseInfoJira(List.of(TestDataGenerator.generateJiraIssue(1001L, "PT-11"))));
+
+        assertThat(fingerprint).isNotEqualTo(changed);
+    }
+
+    @Test
+    void GIVEN_changed_measure_WHEN_fingerprinted_THEN_fingerprints_differ() {
+        ReleaseInfoSonarqube sonarqube = TestDataGenerator.generateReleaseInfoSonarqube();
+        ReleaseInfoSonarqube changed = ReleaseInfoSonarqube.builder()
+                                                           .securityRating(sonarqube.getSecurityRating())
+                                                           .reliabilityRating(sonarqube.getReliabilityRating())
+                                                           .maintainabilityRating(sonarqube.getMaintainabilityRating())
+                                                           .securityVulnerabilities(sonarqube.getSecurityVulnerabilities())
+                                                           .reliabilityBugs(sonarqube.getReliabilityBugs())
+                                                           .maintainabilityDebt(sonarqube.getMaintainabilityDebt())
+                                                           .maintainabilitySmells(sonarqube.getMaintainabilitySmells() + 1)
+                                                           .build();
+
+        assertThat(ReleaseInfoFingerprint.of(sonarqube, TestDataGenerator.generateReleaseInfoJira()))
+                .isNotEqualTo(ReleaseInfoFingerprint.of(changed, TestDataGenerator.generateReleaseInfoJira()));
+    }
+
+    @Test
+    void GIVEN_no_collected_data_WHEN_fingerprinted_THEN_empty_snapshots_equal() {
+        assertThat(ReleaseInfoFingerprint.of(ReleaseInfoSonarqube.builder().build(), null))
+                .isEqualTo(ReleaseInfoFingerprint.of(ReleaseInfoSonarqube.builder().build(), null));
+    }
+}
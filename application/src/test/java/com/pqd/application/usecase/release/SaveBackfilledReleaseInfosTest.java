@@ -0,0 +1,70 @@
+package com.pqd.application.usecase.release;
+
+import com.pqd.application.domain.release.ReleaseInfo;
+import com.pqd.application.domain.sonarqube.SonarqubeAnalysis;
+import com.pqd.application.domain.sonarqube.SonarqubeBackfillCheckpoint;
+import com.pqd.application.usecase.sonarqube.SonarqubeBackfillCheckpointGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SaveBackfilledReleaseInfosTest {
+
+    private SaveBackfilledReleaseInfos saveBackfilledReleaseInfos;
+    private ReleaseInfoGateway gateway;
+    private SonarqubeBackfillCheckpointGateway checkpointGateway;
+    private CalculateQualityLevel calculateQualityLevel;
+
+    @Captor
+    private ArgumentCaptor<List<ReleaseInfo>> captor;
+
+    @BeforeEach
+    void setup() {
+        gateway = mock(ReleaseInfoGateway.class);
+        checkpointGateway = mock(SonarqubeBackfillCheckpointGateway.class);
+        calculateQualityLevel = mock(CalculateQualityLevel.class);
+        saveBackfilledReleaseInfos = new SaveBackfilledReleaseInfos(gateway, checkpointGateway, calculateQualityLevel);
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    void GIVEN_analyses_WHEN_saving_backfilled_release_infos_THEN_dated_release_infos_and_checkpoint_saved() {
+        LocalDateTime analysisDate = LocalDateTime.of(2020, 1, 1, 10, 0);
+        SonarqubeAnalysis analysis = SonarqubeAnalysis.builder()
+                                                      .date(analysisDate)
+                                                      .releaseInfo(TestDataGenerator.generateReleaseInfoSonarqube())
+                                                      .build();
+        SonarqubeBackfillCheckpoint checkpoint = SonarqubeBackfillCheckpoint.builder()
+                                                                            .productId(123L)
+                                                                            .historyEnd(LocalDateTime.now())
+                                                                            .backfilledUntil(analysisDate)
+                                                                            .build();
+        when(calculateQualityLevel.execute(any()))
+                .thenReturn(TestDataGenerator.generateCalculateQualityLevelResponse());
+
+        SaveBackfilledReleaseInfos.Response response = saveBackfilledReleaseInfos.execute(
+                SaveBackfilledReleaseInfos.Request.of(123L, List.of(analysis), checkpoint));
+
+        verify(gateway).saveAll(captor.capture());
+        ReleaseInfo saved = captor.getValue().get(0);
+        assertThat(saved.getCreated()).isEqualTo(analysisDate);
+        assertThat(saved.getProductId()).isEqualTo(123L);
+        assertThat(saved.getQualityLevel())
+                .isEqualTo(TestDataGenerator.generateCalculateQualityLevelResponse().getQualityLevel());
+        assertThat(saved.getReleaseInfoSonarqube()).contains(analysis.getReleaseInfo());
+        // Same content collected later is recognized as unchanged
+        assertThat(saved.getFingerprint())
+                .isEqualTo(ReleaseInfoFingerprint.of(analysis.getReleaseInfo(), saved.getReleaseInfoJira().get()));
+        verify(checkpointGateway).save(checkpoint);
+        assertThat(response.getSaved()).isEqualTo(1);
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.MockitoAnnotations;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class SaveReleaseInfoTest {
@@ -16,6 +17,7 @@ public class SaveReleaseInfoTest {
     private SaveReleaseInfo saveReleaseInfo;
     private ReleaseInfoGateway gateway;
     private CalculateQualityLevel calculateQualityLevel;
+    private CollectionProperties properties;
 
     @Captor
     private ArgumentCaptor<ReleaseInfo> captor;
@@ -24,7 +26,8 @@ public class SaveReleaseInfoTest {
     void setup() {
         gateway = mock(ReleaseInfoGateway.class);
         calculateQualityLevel = mock(CalculateQualityLevel.class);
-        saveReleaseInfo = new SaveReleaseInfo(gateway, calculateQualityLevel);
+        properties = new CollectionProperties();
+        saveReleaseInfo = new SaveReleaseInfo(gateway, calculateQualityLevel, properties);
         MockitoAnnotations.initMocks(this);
     }
 
@@ -40,7 +43,37 @@ public class SaveReleaseInfoTest {
 
         verify(gateway).save(captor.capture());
         assertThat(response.getReleaseInfo()).isEqualTo(captor.getValue());
+        assertThat(captor.getValue().getFingerprint()).isNotNull();
+        verify(gateway, never()).markUnchanged(any(), any(), any());
     }
 
+    @Test
+    void GIVEN_skip_unchanged_and_same_content_as_latest_WHEN_saving_release_info_THEN_latest_only_marked_collected() {
+        properties.setSkipUnchanged(true);
+        SaveReleaseInfo.Request request = TestDataGenerator.generateSaveReleaseInfoRequest();
+        when(gateway.markUnchanged(eq(request.getProductId()), any(), any())).thenReturn(true);
 
+        SaveReleaseInfo.Response response = saveReleaseInfo.execute(request);
+
+        verify(gateway, never()).save(any());
+        assertThat(response.isUnchanged()).isTrue();
+        assertThat(response.getReleaseInfo()).isNull();
+    }
+
+    @Test
+    void GIVEN_skip_unchanged_and_changed_content_WHEN_saving_release_info_THEN_snapshot_saved_with_fingerprint() {
+        properties.setSkipUnchanged(true);
+        SaveReleaseInfo.Request request = TestDataGenerator.generateSaveReleaseInfoRequest();
+        ArgumentCaptor<String> fingerprintCaptor = ArgumentCaptor.forClass(String.class);
+        when(gateway.markUnchanged(eq(request.getProductId()), fingerprintCaptor.capture(), any())).thenReturn(false);
+        when(gateway.save(any())).thenReturn(TestDataGenerator.generateReleaseInfo());
+        when(calculateQualityLevel.execute(any()))
+                .thenReturn(TestDataGenerator.generateCalculateQualityLevelResponse());
+
+        SaveReleaseInfo.Response response = saveReleaseInfo.execute(request);
+
+        verify(gateway).save(captor.capture());
+        assertThat(captor.getValue().getFingerprint()).isEqualTo(fingerprintCaptor.getValue());
+        assertThat(response.isUnchanged()).isFalse();
+    }
 }
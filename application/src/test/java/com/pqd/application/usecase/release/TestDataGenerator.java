@@ -20,7 +20,7 @@ public class TestDataGenerator {
     }
 
     public static SaveReleaseInfo.Response generateSaveReleaseInfoResponse() {
-        return SaveReleaseInfo.Response.of(generateReleaseInfo());
+        return SaveReleaseInfo.Response.of(generateReleaseInfo(), false);
     }
 
     public static CalculateQualityLevel.Request generateCalculateQualityLevelRequest() {
@@ -106,6 +106,12 @@ public class TestDataGenerator {
                               .build();
     }
 
+    public static ReleaseInfoJira generateReleaseInfoJira(List<JiraIssue> issues) {
+        JiraSprint sprint = generateJiraSprint();
+        sprint.setIssues(issues);
+        return ReleaseInfoJira.builder().jiraSprints(List.of(sprint)).build();
+    }
+
     private static JiraSprint generateJiraSprint() {
         return JiraSprint.builder()
                          .id(null)
@@ -121,10 +127,14 @@ public class TestDataGenerator {
     }
 
     private static JiraIssue generateJiraIssue() {
+        return generateJiraIssue(1001L, "PT-1");
+    }
+
+    public static JiraIssue generateJiraIssue(Long issueId, String key) {
         return JiraIssue.builder()
-                        .issueId(1001L)
-                        .key("PT-1")
-                        .browserUrl("https://pqdunittest.atlassian.net/browse/PT-1")
+                        .issueId(issueId)
+                        .key(key)
+                        .browserUrl("https://pqdunittest.atlassian.net/browse/" + key)
                         .id(null)
                         .fields(JiraIssueFields.builder()
                                                .issueType(JiraIssueType.builder()
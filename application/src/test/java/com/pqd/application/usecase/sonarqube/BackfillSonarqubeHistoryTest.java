@@ -0,0 +1,137 @@
+package com.pqd.application.usecase.sonarqube;
+
+import com.pqd.application.domain.product.Product;
+import com.pqd.application.domain.sonarqube.SonarqubeBackfillCheckpoint;
+import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+import com.pqd.application.usecase.product.GetProduct;
+import com.pqd.application.usecase.release.CollectionProperties;
+import com.pqd.application.usecase.release.ReleaseInfoGateway;
+import com.pqd.application.usecase.release.SaveBackfilledReleaseInfos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class BackfillSonarqubeHistoryTest {
+
+    private static final LocalDateTime FIRST_SNAPSHOT = LocalDateTime.of(2021, 1, 1, 12, 0);
+
+    private SonarqubeGateway sonarqubeGateway;
+    private SonarqubeBackfillCheckpointGateway checkpointGateway;
+    private ReleaseInfoGateway releaseInfoGateway;
+    private SaveBackfilledReleaseInfos saveBackfilledReleaseInfos;
+    private GetProduct getProduct;
+    private BackfillSonarqubeHistory backfillSonarqubeHistory;
+    private Product product;
+
+    @Captor
+    private ArgumentCaptor<SaveBackfilledReleaseInfos.Request> captor;
+
+    @BeforeEach
+    void setup() {
+        sonarqubeGateway = mock(SonarqubeGateway.class);
+        checkpointGateway = mock(SonarqubeBackfillCheckpointGateway.class);
+        releaseInfoGateway = mock(ReleaseInfoGateway.class);
+        saveBackfilledReleaseInfos = mock(SaveBackfilledReleaseInfos.class);
+        getProduct = mock(GetProduct.class);
+        CollectionProperties properties = new CollectionProperties();
+        properties.setSonarqubeHistoryPageSize(2);
+        backfillSonarqubeHistory = new BackfillSonarqubeHistory(sonarqubeGateway, checkpointGateway,
+                                                                releaseInfoGateway, saveBackfilledReleaseInfos,
+                                                                getProduct, properties);
+        MockitoAnnotations.initMocks(this);
+        product = TestDataGenerator.generateProduct();
+        when(getProduct.execute(any())).thenReturn(GetProduct.Response.of(product));
+        when(releaseInfoGateway.findFirstCreated(product.getId())).thenReturn(Optional.of(FIRST_SNAPSHOT));
+        when(saveBackfilledReleaseInfos.execute(any())).thenAnswer(invocation -> {
+            SaveBackfilledReleaseInfos.Request request = invocation.getArgument(0);
+            return SaveBackfilledReleaseInfos.Response.of(request.getAnalyses().size());
+        });
+    }
+
+    @Test
+    void GIVEN_no_checkpoint_WHEN_backfilled_THEN_history_before_first_snapshot_saved_page_by_page() {
+        SonarqubeInfo info = product.getSonarqubeInfo().get();
+        LocalDateTime first = LocalDateTime.of(2020, 1, 1, 10, 0);
+        LocalDateTime second = LocalDateTime.of(2020, 2, 1, 10, 0);
+        LocalDateTime third = LocalDateTime.of(2020, 3, 1, 10, 0);
+        when(checkpointGateway.findByProductId(product.getId())).thenReturn(Optional.empty());
+        when(sonarqubeGateway.getSonarqubeHistory(info, null, FIRST_SNAPSHOT, 1, 2))
+                .thenReturn(TestDataGenerator.generateSonarqubeHistoryPage(4, first, second));
+        // Sonarqube returns the analyses of the whole day of the first snapshot
+        when(sonarqubeGateway.getSonarqubeHistory(info, null, FIRST_SNAPSHOT, 2, 2))
+                .thenReturn(TestDataGenerator.generateSonarqubeHistoryPage(4, third, FIRST_SNAPSHOT.plusHours(1)));
+
+        BackfillSonarqubeHistory.Response response =
+                backfillSonarqubeHistory.execute(BackfillSonarqubeHistory.Request.of(product.getId()));
+
+        verify(saveBackfilledReleaseInfos, times(2)).execute(captor.capture());
+        List<SaveBackfilledReleaseInfos.Request> requests = captor.getAllValues();
+        assertThat(requests.get(0).getAnalyses()).hasSize(2);
+        assertThat(requests.get(0).getCheckpoint().getBackfilledUntil()).isEqualTo(second);
+        assertThat(requests.get(1).getAnalyses()).hasSize(1);
+        assertThat(requests.get(1).getCheckpoint().getBackfilledUntil()).isEqualTo(third);
+        assertThat(requests.get(1).getCheckpoint().getHistoryEnd()).isEqualTo(FIRST_SNAPSHOT);
+        assertThat(response.getSaved()).isEqualTo(3);
+        assertThat(response.getBackfilledUntil()).isEqualTo(third);
+        verify(sonarqubeGateway, times(2)).getSonarqubeHistory(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void GIVEN_checkpoint_WHEN_backfilled_THEN_resumed_after_last_saved_analysis() {
+        SonarqubeInfo info = product.getSonarqubeInfo().get();
+        LocalDateTime saved = LocalDateTime.of(2020, 2, 1, 10, 0);
+        LocalDateTime next = LocalDateTime.of(2020, 2, 1, 16, 0);
+        when(checkpointGateway.findByProductId(product.getId()))
+                .thenReturn(Optional.of(SonarqubeBackfillCheckpoint.builder()
+                                                                   .productId(product.getId())
+                                                                   .historyEnd(FIRST_SNAPSHOT)
+                                                                   .backfilledUntil(saved)
+                                                                   .build()));
+        when(sonarqubeGateway.getSonarqubeHistory(info, saved, FIRST_SNAPSHOT, 1, 2))
+                .thenReturn(TestDataGenerator.generateSonarqubeHistoryPage(2, saved, next));
+
+        BackfillSonarqubeHistory.Response response =
+                backfillSonarqubeHistory.execute(BackfillSonarqubeHistory.Request.of(product.getId()));
+
+        verify(saveBackfilledReleaseInfos).execute(captor.capture());
+        assertThat(captor.getValue().getAnalyses()).extracting("date").containsExactly(next);
+        assertThat(response.getSaved()).isEqualTo(1);
+        verify(releaseInfoGateway, never()).findFirstCreated(any());
+    }
+
+    @Test
+    void GIVEN_no_new_analyses_WHEN_backfilled_THEN_nothing_saved() {
+        when(checkpointGateway.findByProductId(product.getId())).thenReturn(Optional.empty());
+        when(sonarqubeGateway.getSonarqubeHistory(any(), any(), any(), eq(1), eq(2)))
+                .thenReturn(TestDataGenerator.generateSonarqubeHistoryPage(0));
+
+        BackfillSonarqubeHistory.Response response =
+                backfillSonarqubeHistory.execute(BackfillSonarqubeHistory.Request.of(product.getId()));
+
+        verifyNoInteractions(saveBackfilledReleaseInfos);
+        assertThat(response.getSaved()).isEqualTo(0);
+        assertThat(response.getBackfilledUntil()).isNull();
+    }
+
+    @Test
+    void GIVEN_product_without_sonarqube_WHEN_backfilled_THEN_exception_thrown() {
+        product.setSonarqubeInfo(Optional.empty());
+
+        assertThrows(BackfillSonarqubeHistory.SonarqubeInfoMissingException.class,
+                     () -> backfillSonarqubeHistory.execute(BackfillSonarqubeHistory.Request.of(product.getId())));
+        verifyNoInteractions(sonarqubeGateway);
+    }
+}
@@ -0,0 +1,108 @@
+package com.pqd.application.usecase.sonarqube;
+
+import com.pqd.application.domain.collection.CollectionJob;
+import com.pqd.application.domain.product.Product;
+import com.pqd.application.usecase.collection.EnqueueCollectionJob;
+import com.pqd.application.usecase.product.ProductGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CollectAnalyzedSonarqubeComponentTest {
+
+    private ProductGateway productGateway;
+    private EnqueueCollectionJob enqueueCollectionJob;
+    private SonarqubePrefetch sonarqubePrefetch;
+    private CollectAnalyzedSonarqubeComponent collectAnalyzedSonarqubeComponent;
+
+    @BeforeEach
+    void setup() {
+        productGateway = mock(ProductGateway.class);
+        enqueueCollectionJob = mock(EnqueueCollectionJob.class);
+        sonarqubePrefetch = mock(SonarqubePrefetch.class);
+        collectAnalyzedSonarqubeComponent = new CollectAnalyzedSonarqubeComponent(productGateway, enqueueCollectionJob,
+                                                                                  sonarqubePrefetch);
+    }
+
+    @Test
+    void GIVEN_products_of_component_WHEN_analysis_collected_THEN_collections_queued_and_measures_expected() {
+        Product product = TestDataGenerator.generateProduct();
+        Product withoutSonarqube = TestDataGenerator.generateProduct();
+        withoutSonarqube.setId(51L);
+        withoutSonarqube.setSonarqubeInfo(Optional.empty());
+        CollectionJob collectionJob = CollectionJob.builder().id(7L).productId(product.getId()).build();
+        when(productGateway.findAllBySonarqubeComponentName("component"))
+                .thenReturn(List.of(product, withoutSonarqube));
+        when(enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(product.getId())))
+                .thenReturn(EnqueueCollectionJob.Response.of(collectionJob, true));
+
+        CollectAnalyzedSonarqubeComponent.Response response =
+                collectAnalyzedSonarqubeComponent.execute(CollectAnalyzedSonarqubeComponent.Request.of("base-url", "component"));
+
+        assertThat(response.getCollectionJobs()).containsOnlyKeys(product.getId());
+        assertThat(response.getRejected()).isEmpty();
+        assertThat(response.isPrefetchExpected()).isTrue();
+        verify(enqueueCollectionJob, times(1)).execute(any());
+        verify(sonarqubePrefetch).expect(product.getSonarqubeInfo().get());
+    }
+
+    @Test
+    void GIVEN_products_of_component_on_other_server_WHEN_analysis_collected_THEN_only_products_of_server_queued() {
+        Product product = TestDataGenerator.generateProduct();
+        product.setSonarqubeInfo(Optional.of(TestDataGenerator.generateSonarqubeInfo("https://sonar.example.com/",
+                                                                                      "token", "component")));
+        Product otherServer = TestDataGenerator.generateProduct();
+        otherServer.setId(51L);
+        otherServer.setSonarqubeInfo(Optional.of(TestDataGenerator.generateSonarqubeInfo("https://sonarcloud.io",
+                                                                                          "token", "component")));
+        CollectionJob collectionJob = CollectionJob.builder().id(7L).productId(product.getId()).build();
+        when(productGateway.findAllBySonarqubeComponentName("component")).thenReturn(List.of(product, otherServer));
+        when(enqueueCollectionJob.execute(EnqueueCollectionJob.Request.of(product.getId())))
+                .thenReturn(EnqueueCollectionJob.Response.of(collectionJob, true));
+
+        CollectAnalyzedSonarqubeComponent.Response response = collectAnalyzedSonarqubeComponent.execute(
+                CollectAnalyzedSonarqubeComponent.Request.of("https://sonar.example.com", "component"));
+
+        assertThat(response.getCollectionJobs()).containsOnlyKeys(product.getId());
+        verify(enqueueCollectionJob, times(1)).execute(any());
+        verify(sonarqubePrefetch, times(1)).expect(any());
+    }
+
+    @Test
+    void GIVEN_collection_already_queued_WHEN_analysis_collected_THEN_nothing_prefetched() {
+        Product product = TestDataGenerator.generateProduct();
+        CollectionJob collectionJob = CollectionJob.builder().id(7L).productId(product.getId()).build();
+        when(productGateway.findAllBySonarqubeComponentName("component")).thenReturn(List.of(product));
+        when(enqueueCollectionJob.execute(any())).thenReturn(EnqueueCollectionJob.Response.of(collectionJob, false));
+
+        CollectAnalyzedSonarqubeComponent.Response response =
+                collectAnalyzedSonarqubeComponent.execute(CollectAnalyzedSonarqubeComponent.Request.of("base-url", "component"));
+
+        assertThat(response.getCollectionJobs()).containsEntry(product.getId(), collectionJob);
+        assertThat(response.isPrefetchExpected()).isFalse();
+        verifyNoInteractions(sonarqubePrefetch);
+    }
+
+    @Test
+    void GIVEN_full_collection_queue_WHEN_analysis_collected_THEN_product_rejected() {
+        Product product = TestDataGenerator.generateProduct();
+        when(productGateway.findAllBySonarqubeComponentName("component")).thenReturn(List.of(product));
+        when(enqueueCollectionJob.execute(any()))
+                .thenThrow(new EnqueueCollectionJob.CollectionQueueFullException(10, Duration.ofSeconds(30)));
+
+        CollectAnalyzedSonarqubeComponent.Response response =
+                collectAnalyzedSonarqubeComponent.execute(CollectAnalyzedSonarqubeComponent.Request.of("base-url", "component"));
+
+        assertThat(response.getCollectionJobs()).isEmpty();
+        assertThat(response.getRejected()).containsOnlyKeys(product.getId());
+        assertThat(response.isPrefetchExpected()).isFalse();
+        verifyNoInteractions(sonarqubePrefetch);
+    }
+}
@@ -0,0 +1,91 @@
+package com.pqd.application.usecase.sonarqube;
+
+import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+import com.pqd.application.usecase.release.CollectionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class PrefetchSonarqubeDataTest {
+
+    private SonarqubeGateway gateway;
+    private SonarqubePrefetch prefetch;
+    private CollectionProperties properties;
+    private PrefetchSonarqubeData prefetchSonarqubeData;
+
+    @BeforeEach
+    void setup() {
+        gateway = mock(SonarqubeGateway.class);
+        prefetch = new SonarqubePrefetch();
+        properties = new CollectionProperties();
+        properties.setSonarqubeBatchSize(2);
+        prefetchSonarqubeData = new PrefetchSonarqubeData(gateway, prefetch, properties);
+        when(gateway.getSonarqubeReleaseInfos(any())).thenAnswer(invocation -> {
+            List<SonarqubeInfo> infos = invocation.getArgument(0);
+            return infos.stream().collect(Collectors.toMap(SonarqubeInfo::getComponentName,
+                                                           info -> TestDataGenerator.generateReleaseInfoSonarqube()));
+        });
+    }
+
+    @Test
+    void GIVEN_expected_components_WHEN_prefetched_THEN_components_of_same_server_and_token_fetched_in_batches() {
+        SonarqubeInfo a1 = TestDataGenerator.generateSonarqubeInfo("https://a", "token", "a1");
+        SonarqubeInfo a2 = TestDataGenerator.generateSonarqubeInfo("https://a", "token", "a2");
+        SonarqubeInfo a3 = TestDataGenerator.generateSonarqubeInfo("https://a", "token", "a3");
+        SonarqubeInfo otherToken = TestDataGenerator.generateSonarqubeInfo("https://a", "other", "a4");
+        SonarqubeInfo b1 = TestDataGenerator.generateSonarqubeInfo("https://b", "token", "b1");
+        List.of(a1, a2, a3, otherToken, b1).forEach(prefetch::expect);
+
+        PrefetchSonarqubeData.Response response = prefetchSonarqubeData.execute();
+
+        assertThat(response.getRequests()).isEqualTo(4);
+        assertThat(response.getFetched()).isEqualTo(5);
+        verify(gateway, never()).getSonarqubeReleaseInfo(any());
+        assertThat(prefetch.take(a3, Duration.ofMinutes(1), Duration.ZERO)).isPresent();
+        assertThat(prefetch.take(otherToken, Duration.ofMinutes(1), Duration.ZERO)).isPresent();
+    }
+
+    @Test
+    void GIVEN_batch_size_above_sonarqube_limit_WHEN_prefetched_THEN_batches_of_at_most_limit_requested() {
+        properties.setSonarqubeBatchSize(500);
+        IntStream.range(0, 150).forEach(i -> prefetch.expect(
+                TestDataGenerator.generateSonarqubeInfo("https://a", "token", "component" + i)));
+
+        PrefetchSonarqubeData.Response response = prefetchSonarqubeData.execute();
+
+        assertThat(response.getRequests()).isEqualTo(2);
+        assertThat(response.getFetched()).isEqualTo(150);
+        verify(gateway).getSonarqubeReleaseInfos(argThat(batch -> batch.size() == PrefetchSonarqubeData.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    void GIVEN_failing_batch_WHEN_prefetched_THEN_components_left_to_their_collections() {
+        SonarqubeInfo info = TestDataGenerator.generateSonarqubeInfo();
+        prefetch.expect(info);
+        doThrow(new IllegalStateException("Sonarqube down")).when(gateway).getSonarqubeReleaseInfos(any());
+
+        PrefetchSonarqubeData.Response response = prefetchSonarqubeData.execute();
+
+        assertThat(response.getFetched()).isZero();
+        assertThat(prefetch.take(info, Duration.ofMinutes(1), Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    void GIVEN_components_already_prefetched_WHEN_prefetched_again_THEN_not_fetched_twice() {
+        prefetch.expect(TestDataGenerator.generateSonarqubeInfo());
+        prefetchSonarqubeData.execute();
+
+        PrefetchSonarqubeData.Response response = prefetchSonarqubeData.execute();
+
+        assertThat(response.getRequests()).isZero();
+        verify(gateway, times(1)).getSonarqubeReleaseInfos(any());
+    }
+}
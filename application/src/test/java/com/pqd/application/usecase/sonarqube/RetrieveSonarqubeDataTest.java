@@ -2,21 +2,32 @@ package com.pqd.application.usecase.sonarqube;
 
 import com.pqd.application.domain.release.ReleaseInfoSonarqube;
 import com.pqd.application.domain.sonarqube.SonarqubeInfo;
+import com.pqd.application.usecase.release.CollectionProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 public class RetrieveSonarqubeDataTest {
 
     private SonarqubeGateway sonarqubeGateway;
+    private SonarqubePrefetch prefetch;
+    private CollectionProperties properties;
+    private SonarqubeAnalysisState analysisState;
     private RetrieveSonarqubeData retrieveSonarqubeData;
 
     @BeforeEach
     void setup() {
         sonarqubeGateway = mock(SonarqubeGateway.class);
-        retrieveSonarqubeData = new RetrieveSonarqubeData(sonarqubeGateway);
+        prefetch = new SonarqubePrefetch();
+        properties = new CollectionProperties();
+        analysisState = new SonarqubeAnalysisState();
+        retrieveSonarqubeData = new RetrieveSonarqubeData(sonarqubeGateway, prefetch, analysisState, properties);
     }
 
     @Test
@@ -31,4 +42,105 @@ public class RetrieveSonarqubeDataTest {
         verify(sonarqubeGateway).getSonarqubeReleaseInfo(sonarqubeInfo);
         assertThat(response.getReleaseInfo()).isEqualTo(releaseInfoSonarqube);
     }
+
+    @Test
+    void GIVEN_prefetched_release_info_WHEN_request_executed_THEN_prefetched_release_info_returned_once() {
+        ReleaseInfoSonarqube releaseInfoSonarqube = TestDataGenerator.generateReleaseInfoSonarqube();
+        SonarqubeInfo sonarqubeInfo = TestDataGenerator.generateSonarqubeInfo();
+        prefetch.expect(sonarqubeInfo);
+        prefetch.startFetch();
+        prefetch.complete(sonarqubeInfo, releaseInfoSonarqube);
+
+        RetrieveSonarqubeData.Response first =
+                retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+        retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+
+        assertThat(first.getReleaseInfo()).isSameAs(releaseInfoSonarqube);
+        verify(sonarqubeGateway, times(1)).getSonarqubeReleaseInfo(sonarqubeInfo);
+    }
+
+    @Test
+    void GIVEN_prefetch_in_progress_WHEN_request_executed_THEN_waited_for_prefetch_wait_only() {
+        ReleaseInfoSonarqube releaseInfoSonarqube = TestDataGenerator.generateReleaseInfoSonarqube();
+        SonarqubeInfo sonarqubeInfo = TestDataGenerator.generateSonarqubeInfo();
+        properties.setSonarqubeAnalysisProbe(false);
+        properties.setSonarqubePrefetchWait(Duration.ofMillis(100));
+        when(sonarqubeGateway.getSonarqubeReleaseInfo(sonarqubeInfo)).thenReturn(releaseInfoSonarqube);
+        prefetch.expect(sonarqubeInfo);
+        prefetch.startFetch();
+        long start = System.nanoTime();
+
+        RetrieveSonarqubeData.Response response =
+                retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(response.getReleaseInfo()).isEqualTo(releaseInfoSonarqube);
+        verify(sonarqubeGateway).getSonarqubeReleaseInfo(sonarqubeInfo);
+    }
+
+    @Test
+    void GIVEN_no_new_analysis_since_last_fetch_WHEN_request_executed_THEN_measures_not_fetched_again() {
+        ReleaseInfoSonarqube releaseInfoSonarqube = TestDataGenerator.generateReleaseInfoSonarqube();
+        SonarqubeInfo sonarqubeInfo = TestDataGenerator.generateSonarqubeInfo();
+        LocalDateTime analysisDate = LocalDateTime.of(2021, 1, 16, 17, 31, 9);
+        when(sonarqubeGateway.getLatestAnalysisDate(sonarqubeInfo)).thenReturn(Optional.of(analysisDate));
+        when(sonarqubeGateway.getSonarqubeReleaseInfo(sonarqubeInfo)).thenReturn(releaseInfoSonarqube);
+
+        retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+        RetrieveSonarqubeData.Response second =
+                retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+
+        verify(sonarqubeGateway, times(2)).getLatestAnalysisDate(sonarqubeInfo);
+        verify(sonarqubeGateway, times(1)).getSonarqubeReleaseInfo(sonarqubeInfo);
+        assertThat(second.getReleaseInfo()).isSameAs(releaseInfoSonarqube);
+    }
+
+    @Test
+    void GIVEN_new_analysis_since_last_fetch_WHEN_request_executed_THEN_measures_fetched_again() {
+        SonarqubeInfo sonarqubeInfo = TestDataGenerator.generateSonarqubeInfo();
+        LocalDateTime analysisDate = LocalDateTime.of(2021, 1, 16, 17, 31, 9);
+        when(sonarqubeGateway.getLatestAnalysisDate(sonarqubeInfo))
+                .thenReturn(Optional.of(analysisDate))
+                .thenReturn(Optional.of(analysisDate.plusHours(1)));
+        when(sonarqubeGateway.getSonarqubeReleaseInfo(sonarqubeInfo))
+                .thenReturn(TestDataGenerator.generateReleaseInfoSonarqube());
+
+        retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+        retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+
+        verify(sonarqubeGateway, times(2)).getSonarqubeReleaseInfo(sonarqubeInfo);
+    }
+
+    @Test
+    void GIVEN_settings_changed_since_last_fetch_WHEN_request_executed_THEN_measures_fetched_and_entry_replaced() {
+        SonarqubeInfo sonarqubeInfo = TestDataGenerator.generateSonarqubeInfo();
+        SonarqubeInfo changedInfo = TestDataGenerator.generateSonarqubeInfo();
+        changedInfo.setComponentName("other-component");
+        LocalDateTime analysisDate = LocalDateTime.of(2021, 1, 16, 17, 31, 9);
+        when(sonarqubeGateway.getLatestAnalysisDate(any())).thenReturn(Optional.of(analysisDate));
+        when(sonarqubeGateway.getSonarqubeReleaseInfo(any()))
+                .thenReturn(TestDataGenerator.generateReleaseInfoSonarqube());
+
+        retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+        retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(changedInfo));
+
+        verify(sonarqubeGateway, times(1)).getSonarqubeReleaseInfo(sonarqubeInfo);
+        verify(sonarqubeGateway, times(1)).getSonarqubeReleaseInfo(changedInfo);
+        assertThat(analysisState.size()).isEqualTo(1);
+    }
+
+    @Test
+    void GIVEN_failing_probe_or_probe_disabled_WHEN_request_executed_THEN_measures_fetched() {
+        SonarqubeInfo sonarqubeInfo = TestDataGenerator.generateSonarqubeInfo();
+        when(sonarqubeGateway.getLatestAnalysisDate(sonarqubeInfo)).thenThrow(new IllegalStateException("down"));
+        when(sonarqubeGateway.getSonarqubeReleaseInfo(sonarqubeInfo))
+                .thenReturn(TestDataGenerator.generateReleaseInfoSonarqube());
+
+        retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+        properties.setSonarqubeAnalysisProbe(false);
+        retrieveSonarqubeData.execute(RetrieveSonarqubeData.Request.of(sonarqubeInfo));
+
+        verify(sonarqubeGateway, times(1)).getLatestAnalysisDate(sonarqubeInfo);
+        verify(sonarqubeGateway, times(2)).getSonarqubeReleaseInfo(sonarqubeInfo);
+    }
 }
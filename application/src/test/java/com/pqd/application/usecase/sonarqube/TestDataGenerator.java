@@ -1,9 +1,17 @@
 package com.pqd.application.usecase.sonarqube;
 
 import com.pqd.application.domain.connection.ConnectionResult;
+import com.pqd.application.domain.product.Product;
 import com.pqd.application.domain.release.ReleaseInfoSonarqube;
+import com.pqd.application.domain.sonarqube.SonarqubeAnalysis;
+import com.pqd.application.domain.sonarqube.SonarqubeHistoryPage;
 import com.pqd.application.domain.sonarqube.SonarqubeInfo;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 public class TestDataGenerator {
 
     public static ReleaseInfoSonarqube generateReleaseInfoSonarqube() {
@@ -28,9 +36,40 @@ public class TestDataGenerator {
 
     public static SonarqubeInfo generateSonarqubeInfo() {
         return SonarqubeInfo.builder()
+                            .id(1L)
                             .baseUrl("base-url")
                             .componentName("component")
                             .token("token123")
                             .build();
     }
+
+    public static SonarqubeInfo generateSonarqubeInfo(String baseUrl, String token, String componentName) {
+        return SonarqubeInfo.builder()
+                            .baseUrl(baseUrl)
+                            .componentName(componentName)
+                            .token(token)
+                            .build();
+    }
+
+    public static Product generateProduct() {
+        return Product.builder()
+                      .id(123L)
+                      .name("test-product")
+                      .sonarqubeInfo(Optional.of(generateSonarqubeInfo()))
+                      .jiraInfo(Optional.empty())
+                      .build();
+    }
+
+    public static SonarqubeAnalysis generateSonarqubeAnalysis(LocalDateTime date) {
+        return SonarqubeAnalysis.builder().date(date).releaseInfo(generateReleaseInfoSonarqube()).build();
+    }
+
+    public static SonarqubeHistoryPage generateSonarqubeHistoryPage(int total, LocalDateTime... dates) {
+        return SonarqubeHistoryPage.builder()
+                                   .analyses(Arrays.stream(dates)
+                                                   .map(TestDataGenerator::generateSonarqubeAnalysis)
+                                                   .collect(Collectors.toList()))
+                                   .total(total)
+                                   .build();
+    }
 }
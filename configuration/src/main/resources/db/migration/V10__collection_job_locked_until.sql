@@ -0,0 +1,7 @@
+-- running jobs are leased to their worker until locked_until, the worker extends the lease while the job runs
+ALTER TABLE public.collection_job ADD COLUMN locked_until TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE public.collection_job SET locked_until = started_at + INTERVAL '10 minutes' WHERE status = 'RUNNING';
+
+-- queue maintenance looks up running jobs with an expired lease
+CREATE INDEX collection_job_running_locked_until ON public.collection_job (locked_until) WHERE status = 'RUNNING';
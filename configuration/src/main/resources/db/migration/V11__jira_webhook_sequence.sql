@@ -0,0 +1,7 @@
+-- number of the last webhook event received from a jira server by any instance, board states kept in memory of an
+-- instance that did not see every event are synced from jira again
+CREATE TABLE public.jira_webhook_sequence
+(
+    base_url    VARCHAR PRIMARY KEY NOT NULL,
+    sequence    BIGINT              NOT NULL
+);
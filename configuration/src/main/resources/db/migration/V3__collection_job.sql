@@ -0,0 +1,22 @@
+CREATE SEQUENCE collection_job_seq INCREMENT 50;
+
+CREATE TABLE public.collection_job
+(
+    id              BIGINT  PRIMARY KEY     NOT NULL    DEFAULT nextval('collection_job_seq'),
+    product_id      BIGINT                  NOT NULL    REFERENCES public.product(id) ON DELETE CASCADE,
+    status          TEXT                    NOT NULL,
+    attempts        INTEGER                 NOT NULL    DEFAULT 0,
+    triggers        INTEGER                 NOT NULL    DEFAULT 1,
+    run_after       TIMESTAMP   WITHOUT     TIME ZONE   NOT NULL,
+    created         TIMESTAMP   WITHOUT     TIME ZONE   NOT NULL,
+    started_at      TIMESTAMP   WITHOUT     TIME ZONE,
+    finished_at     TIMESTAMP   WITHOUT     TIME ZONE,
+    locked_by       TEXT,
+    last_error      TEXT
+);
+
+-- a product has at most one queued job, further triggers are folded into it
+CREATE UNIQUE INDEX collection_job_queued_product ON public.collection_job (product_id) WHERE status = 'QUEUED';
+
+-- workers look up due queued jobs
+CREATE INDEX collection_job_status_run_after ON public.collection_job (status, run_after);
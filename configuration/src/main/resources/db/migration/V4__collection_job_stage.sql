@@ -0,0 +1,16 @@
+CREATE SEQUENCE collection_job_stage_seq INCREMENT 50;
+
+CREATE TABLE public.collection_job_stage
+(
+    id              BIGINT  PRIMARY KEY     NOT NULL    DEFAULT nextval('collection_job_stage_seq'),
+    job_id          BIGINT                  NOT NULL    REFERENCES public.collection_job(id) ON DELETE CASCADE,
+    attempt         INTEGER                 NOT NULL,
+    stage           TEXT                    NOT NULL,
+    host            TEXT,
+    detail          TEXT,
+    started_at      TIMESTAMP   WITHOUT     TIME ZONE   NOT NULL,
+    duration_ms     BIGINT                  NOT NULL,
+    succeeded       BOOLEAN                 NOT NULL
+);
+
+CREATE INDEX collection_job_stage_job_id ON public.collection_job_stage (job_id);
@@ -0,0 +1,10 @@
+-- minutes between scheduled collections, NULL for the default interval, 0 to collect only when triggered
+ALTER TABLE public.product ADD COLUMN collection_interval_minutes INTEGER;
+
+CREATE TABLE public.collection_schedule
+(
+    product_id      BIGINT  PRIMARY KEY     NOT NULL    REFERENCES public.product(id) ON DELETE CASCADE,
+    next_run        TIMESTAMP   WITHOUT     TIME ZONE   NOT NULL
+);
+
+CREATE INDEX collection_schedule_next_run ON public.collection_schedule (next_run);
@@ -0,0 +1,2 @@
+-- queue statistics and the retention cleanup look up finished jobs by their finish time
+CREATE INDEX collection_job_finished_at ON public.collection_job (finished_at) WHERE finished_at IS NOT NULL;
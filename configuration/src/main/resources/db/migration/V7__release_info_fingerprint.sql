@@ -0,0 +1,7 @@
+-- fingerprint of the collected tool data, collections with unchanged data only update last_collected of the latest
+-- snapshot instead of storing a new one
+ALTER TABLE public.release_info ADD COLUMN fingerprint TEXT;
+ALTER TABLE public.release_info ADD COLUMN last_collected TIMESTAMP WITHOUT TIME ZONE;
+
+-- latest snapshot of a product is looked up on every collection
+CREATE INDEX release_info_product_id ON public.release_info (product_id, id);
@@ -0,0 +1,11 @@
+-- progress of loading the sonarqube measure history of a product into its release info history, analyses up to
+-- history_end are backfilled and backfilled_until is the last saved one
+CREATE TABLE public.sonarqube_backfill_checkpoint
+(
+    product_id          BIGINT  PRIMARY KEY     NOT NULL    REFERENCES public.product(id) ON DELETE CASCADE,
+    history_end         TIMESTAMP   WITHOUT     TIME ZONE   NOT NULL,
+    backfilled_until    TIMESTAMP   WITHOUT     TIME ZONE
+);
+
+-- backfilled snapshots are older than their ids, snapshots of a product are ordered by creation time
+CREATE INDEX release_info_product_id_created ON public.release_info (product_id, created);
@@ -0,0 +1,2 @@
+-- sonarqube webhooks name the analyzed component by its project key
+CREATE INDEX sq_info_component_name ON public.sq_info (component_name);
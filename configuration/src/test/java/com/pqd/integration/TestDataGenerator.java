@@ -1,5 +1,6 @@
 package com.pqd.integration;
 
+import com.pqd.adapters.messaging.json.TriggerRequestJson;
 import com.pqd.adapters.web.authentication.RegisterUserRequestJson;
 import com.pqd.adapters.web.product.json.info.SaveProductRequestJson;
 import com.pqd.adapters.web.product.json.info.UpdateProductRequestJson;
@@ -12,6 +13,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 
 public class TestDataGenerator {
@@ -122,6 +124,17 @@ public class TestDataGenerator {
         return headers;
     }
 
+    public static List<TriggerRequestJson> generateBatchTriggerRequestJson() {
+        return List.of(TriggerRequestJson.builder()
+                                         .productId(1L)
+                                         .token("8257cc3a6b0610da1357f73e03524b090658553a")
+                                         .build(),
+                       TriggerRequestJson.builder()
+                                         .productId(123654L)
+                                         .token("8257cc3a6b0610da1357f73e03524b090658553a")
+                                         .build());
+    }
+
     public static HttpHeaders generateInvalidTokenHttpHeadersForMessagingController() {
         String tokenBase = "invalid" + ":";
         String basicAuth = "Basic " + new String(Base64.getEncoder().encode(tokenBase.getBytes()));
@@ -10,10 +10,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
 import javax.transaction.Transactional;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -23,6 +27,8 @@ public class MessagingControllerIntegrationTest extends TestContainerBase {
     @Autowired
     MockMvc mvc;
 
+    ObjectMapper mapper = new ObjectMapper();
+
     @Test
     @Transactional
     void GIVEN_valid_token_WHEN_release_info_collect_triggered_THEN_ok_returned() throws Exception {
@@ -31,7 +37,35 @@ public class MessagingControllerIntegrationTest extends TestContainerBase {
         mvc.perform(post("/api/messaging/trigger?productId=1")
                             .headers(httpHeaders)
                             .contentType(MediaType.APPLICATION_JSON))
-           .andExpect(status().isOk());
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.accepted").value(true))
+           .andExpect(jsonPath("$.jobId").isNumber());
+    }
+
+    @Test
+    void GIVEN_triggered_collection_WHEN_job_status_requested_THEN_job_returned() throws Exception {
+        HttpHeaders httpHeaders = TestDataGenerator.generateValidHttpHeadersForMessagingController();
+        MvcResult triggerResult = mvc.perform(post("/api/messaging/trigger?productId=1")
+                                                      .headers(httpHeaders)
+                                                      .contentType(MediaType.APPLICATION_JSON))
+                                     .andExpect(status().isOk())
+                                     .andReturn();
+        long jobId = mapper.readTree(triggerResult.getResponse().getContentAsString()).get("jobId").asLong();
+
+        mvc.perform(get("/api/messaging/job/" + jobId)
+                            .headers(httpHeaders))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.jobId").value(jobId))
+           .andExpect(jsonPath("$.productId").value(1))
+           .andExpect(jsonPath("$.status").isString())
+           .andExpect(jsonPath("$.stages").isArray());
+    }
+
+    @Test
+    void GIVEN_unknown_job_WHEN_job_status_requested_THEN_404_returned() throws Exception {
+        mvc.perform(get("/api/messaging/job/123654")
+                            .headers(TestDataGenerator.generateValidHttpHeadersForMessagingController()))
+           .andExpect(status().isNotFound());
     }
 
     @Test
@@ -66,4 +100,18 @@ public class MessagingControllerIntegrationTest extends TestContainerBase {
                             .contentType(MediaType.APPLICATION_JSON))
            .andExpect(status().is5xxServerError());
     }
+
+    @Test
+    @Transactional
+    void GIVEN_batch_with_valid_and_unknown_product_WHEN_batch_collect_triggered_THEN_result_per_product_returned()
+            throws Exception {
+        mvc.perform(post("/api/messaging/trigger/batch")
+                            .content(mapper.writeValueAsString(TestDataGenerator.generateBatchTriggerRequestJson()))
+                            .contentType(MediaType.APPLICATION_JSON))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[0].productId").value(1))
+           .andExpect(jsonPath("$[0].accepted").value(true))
+           .andExpect(jsonPath("$[1].productId").value(123654))
+           .andExpect(jsonPath("$[1].accepted").value(false));
+    }
 }
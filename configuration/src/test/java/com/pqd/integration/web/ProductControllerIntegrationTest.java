@@ -71,7 +71,7 @@ public class ProductControllerIntegrationTest extends TestContainerBase {
                                  .andReturn();
 
         ProductEntity productEntityFromDb = productRepository.findById(1L).orElse(null);
-        List<ReleaseInfoEntity> releaseInfoEntityList = releaseInfoRepository.findAllByProductIdOrderByIdDesc(1L);
+        List<ReleaseInfoEntity> releaseInfoEntityList = releaseInfoRepository.findAllByProductIdOrderByCreatedDescIdDesc(1L);
         List<UserProductClaimEntity> claimEntities = userProductClaimRepository.findAllByProductId(1L);
 
         assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo("Product with id 1 deleted");
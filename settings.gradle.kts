@@ -6,6 +6,7 @@ include(
         "adapters:web",
         "adapters:persistence",
         "adapters:messaging",
+        "adapters:common",
         "adapters:sonarqube",
         "adapters:jira"
 )